@@ -0,0 +1,85 @@
+package com.coworking.reservationsystem.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for the reference data read on almost every request:
+ * tenants, locations, spaces and restaurant tables, plus the query cache and its
+ * update-timestamps region. Each region is a bounded Caffeine cache whose size and time
+ * to live are set with {@code booking.reference-cache.<region>.max-size} and
+ * {@code .ttl-seconds}. The entities are cached READ_WRITE, so Hibernate updates or evicts
+ * an entry when its row is updated or deleted through JPA.
+ */
+@Configuration
+public class ReferenceCacheConfig {
+
+    public static final String TENANTS = "tenants";
+    public static final String LOCATIONS = "locations";
+    public static final String SPACES = "spaces";
+    public static final String RESTAURANT_TABLES = "restaurant-tables";
+    public static final String QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    /** The bounded regions reported by the cache statistics, in display order. */
+    public static final List<String> REGIONS = List.of(TENANTS, LOCATIONS, SPACES, RESTAURANT_TABLES, QUERY_RESULTS);
+
+    private static final String PREFIX = "booking.reference-cache.";
+
+    /**
+     * A cache manager of its own rather than the provider's shared default, so application
+     * contexts in the same JVM (as in the tests) never see each other's entries.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager referenceCacheManager(Environment environment) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("reference-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        createRegion(cacheManager, environment, TENANTS, "tenants", 1_000, 3_600);
+        createRegion(cacheManager, environment, LOCATIONS, "locations", 5_000, 3_600);
+        createRegion(cacheManager, environment, SPACES, "spaces", 20_000, 900);
+        createRegion(cacheManager, environment, RESTAURANT_TABLES, "restaurant-tables", 20_000, 900);
+        createRegion(cacheManager, environment, QUERY_RESULTS, "query-results", 10_000, 300);
+        // Must outlive every cached query result, so it is neither bounded nor expired
+        cacheManager.createCache(UPDATE_TIMESTAMPS, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer referenceCacheCustomizer(CacheManager referenceCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, referenceCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Feeds the hit ratios of /api/v1/cache/stats
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private void createRegion(CacheManager cacheManager, Environment environment, String name, String key,
+                              long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(
+                environment.getProperty(PREFIX + key + ".max-size", Long.class, maxSize)));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(
+                environment.getProperty(PREFIX + key + ".ttl-seconds", Long.class, ttlSeconds))));
+        cacheManager.createCache(name, configuration);
+    }
+}
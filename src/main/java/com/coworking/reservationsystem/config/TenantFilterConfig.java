@@ -0,0 +1,25 @@
+package com.coworking.reservationsystem.config;
+
+import com.coworking.reservationsystem.service.tenant.TenantDirectory;
+import com.coworking.reservationsystem.service.tenant.TenantResolutionFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class TenantFilterConfig {
+
+    @Bean
+    public FilterRegistrationBean<TenantResolutionFilter> tenantResolutionFilter(
+            TenantDirectory tenantDirectory,
+            @Value("${booking.tenant.base-domain:}") String baseDomain) {
+        FilterRegistrationBean<TenantResolutionFilter> registration =
+                new FilterRegistrationBean<>(new TenantResolutionFilter(tenantDirectory, baseDomain));
+        registration.addUrlPatterns("/api/*");
+        // Early, so everything after it in the chain sees the tenant
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
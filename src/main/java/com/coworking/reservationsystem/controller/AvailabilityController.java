@@ -1,6 +1,9 @@
 package com.coworking.reservationsystem.controller;
 
+import com.coworking.reservationsystem.exception.ResourceNotFoundException;
+import com.coworking.reservationsystem.exception.ValidationException;
 import com.coworking.reservationsystem.model.dto.AvailabilityDto;
+import com.coworking.reservationsystem.model.dto.FreeSlotDto;
 import com.coworking.reservationsystem.service.AvailabilityService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +11,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -37,6 +42,28 @@ public class AvailabilityController {
         return ResponseEntity.ok(availabilityService.getAvailabilitiesBySpaceId(spaceId));
     }
 
+    @GetMapping("/space/{spaceId}/check")
+    public ResponseEntity<Boolean> isSpaceAvailable(@PathVariable Long spaceId,
+                                                    @RequestParam LocalDateTime startTime,
+                                                    @RequestParam LocalDateTime endTime) {
+        return ResponseEntity.ok(availabilityService.isSpaceAvailable(spaceId, startTime, endTime));
+    }
+
+    @GetMapping("/space/{spaceId}/free-slots")
+    public ResponseEntity<List<FreeSlotDto>> getFreeSlots(@PathVariable Long spaceId,
+                                                          @RequestParam LocalDateTime startTime,
+                                                          @RequestParam LocalDateTime endTime,
+                                                          @RequestParam(defaultValue = "0") long minDurationMinutes) {
+        try {
+            return ResponseEntity.ok(availabilityService.getFreeSlots(spaceId, startTime, endTime,
+                    Duration.ofMinutes(minDurationMinutes)));
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AvailabilityDto> updateAvailability(
             @PathVariable Long id,
@@ -0,0 +1,23 @@
+package com.coworking.reservationsystem.controller;
+
+import com.coworking.reservationsystem.model.dto.CacheRegionStatsDto;
+import com.coworking.reservationsystem.service.CacheStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/cache")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080"})
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStatsDto>> getRegionStats() {
+        return ResponseEntity.ok(cacheStatsService.getRegionStats());
+    }
+}
@@ -2,6 +2,7 @@ package com.coworking.reservationsystem.controller;
 
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
 import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
 import com.coworking.reservationsystem.model.dto.CustomerDto;
 import com.coworking.reservationsystem.service.CustomerService;
 import jakarta.validation.Valid;
@@ -55,6 +56,20 @@ public class CustomerController {
         return ResponseEntity.ok(customers);
     }
     
+    /**
+     * Get one page of a tenant's customers, newest first; pass {@code nextCursor} back as {@code cursor}
+     */
+    @GetMapping("/tenant/{tenantId}/cursor")
+    public ResponseEntity<CursorPageDto<CustomerDto>> getCustomerPageByTenant(@PathVariable Long tenantId,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(customerService.getAllCustomersByTenant(tenantId, cursor, size));
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Update customer
      */
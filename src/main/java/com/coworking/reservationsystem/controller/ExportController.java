@@ -0,0 +1,59 @@
+package com.coworking.reservationsystem.controller;
+
+import com.coworking.reservationsystem.exception.ResourceNotFoundException;
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.service.ReservationExportService;
+import com.coworking.reservationsystem.service.export.ExportFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/v1/exports")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080"})
+public class ExportController {
+
+    private final ReservationExportService exportService;
+
+    @GetMapping("/reservations")
+    public ResponseEntity<StreamingResponseBody> exportReservations(@RequestParam Long tenantId,
+                                                                    @RequestParam LocalDateTime startDate,
+                                                                    @RequestParam LocalDateTime endDate,
+                                                                    @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        try {
+            return attachment("reservations", format,
+                    exportService.exportReservations(tenantId, startDate, endDate, format));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/table-reservations")
+    public ResponseEntity<StreamingResponseBody> exportTableReservations(@RequestParam Long tenantId,
+                                                                         @RequestParam LocalDateTime startDate,
+                                                                         @RequestParam LocalDateTime endDate,
+                                                                         @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        try {
+            return attachment("table-reservations", format,
+                    exportService.exportTableReservations(tenantId, startDate, endDate, format));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -1,15 +1,22 @@
 package com.coworking.reservationsystem.controller;
 
+import com.coworking.reservationsystem.exception.ConflictException;
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
 import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.BatchReservationResultDto;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
+import com.coworking.reservationsystem.model.dto.HoldDto;
+import com.coworking.reservationsystem.model.dto.HoldRequestDto;
 import com.coworking.reservationsystem.model.dto.ReservationDto;
 import com.coworking.reservationsystem.service.ReservationService;
+import com.coworking.reservationsystem.service.idempotency.IdempotencyStore;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,14 +25,68 @@ import java.util.List;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080"})
 public class ReservationController {
 
+    private static final String IDEMPOTENCY_SCOPE = "reservation";
+
     private final ReservationService reservationService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
-    public ResponseEntity<ReservationDto> createReservation(@Valid @RequestBody ReservationDto reservationDto) {
+    public ResponseEntity<ReservationDto> createReservation(@RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                                            @Valid @RequestBody ReservationDto reservationDto) {
+        try {
+            return idempotencyStore.execute(IDEMPOTENCY_SCOPE, idempotencyKey, reservationDto, ReservationDto.class,
+                    () -> new ResponseEntity<>(reservationService.createReservation(reservationDto), HttpStatus.CREATED));
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchReservationResultDto>> createReservations(@RequestBody List<ReservationDto> reservationDtos) {
+        try {
+            return ResponseEntity.ok(reservationService.createReservations(reservationDtos));
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping("/holds")
+    public ResponseEntity<HoldDto> holdSpace(@Valid @RequestBody HoldRequestDto request) {
+        try {
+            return new ResponseEntity<>(reservationService.holdSpace(request), HttpStatus.CREATED);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping("/holds/{holdId}/reservation")
+    public ResponseEntity<ReservationDto> createReservationFromHold(@PathVariable String holdId, @RequestBody ReservationDto reservationDto) {
         try {
-            return new ResponseEntity<>(reservationService.createReservation(reservationDto), HttpStatus.CREATED);
+            return new ResponseEntity<>(reservationService.createReservationFromHold(holdId, reservationDto), HttpStatus.CREATED);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
         } catch (ValidationException e) {
             return ResponseEntity.badRequest().build();
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Void> releaseSpaceHold(@PathVariable String holdId) {
+        try {
+            reservationService.releaseSpaceHold(holdId);
+            return ResponseEntity.noContent().build();
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
         }
     }
 
@@ -43,6 +104,16 @@ public class ReservationController {
         return ResponseEntity.ok(reservationService.getAllReservations());
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<ReservationDto>> getReservationPage(@RequestParam(required = false) String cursor,
+                                                                           @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(reservationService.getAllReservations(cursor, size));
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<List<ReservationDto>> getReservationsByCustomerId(@PathVariable Long customerId) {
         return ResponseEntity.ok(reservationService.getReservationsByCustomerId(customerId));
@@ -53,6 +124,17 @@ public class ReservationController {
         return ResponseEntity.ok(reservationService.getReservationsBySpaceId(spaceId));
     }
 
+    @GetMapping("/space/{spaceId}/range")
+    public ResponseEntity<List<ReservationDto>> getReservationsBySpaceIdBetween(@PathVariable Long spaceId,
+                                                                                @RequestParam LocalDateTime startTime,
+                                                                                @RequestParam LocalDateTime endTime) {
+        try {
+            return ResponseEntity.ok(reservationService.getReservationsBySpaceIdBetween(spaceId, startTime, endTime));
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ReservationDto> updateReservation(@PathVariable Long id, @Valid @RequestBody ReservationDto reservationDto) {
         try {
@@ -61,6 +143,8 @@ public class ReservationController {
             return ResponseEntity.notFound().build();
         } catch (ValidationException e) {
             return ResponseEntity.badRequest().build();
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 
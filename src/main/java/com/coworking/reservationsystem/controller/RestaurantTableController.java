@@ -1,5 +1,8 @@
 package com.coworking.reservationsystem.controller;
 
+import com.coworking.reservationsystem.exception.ResourceNotFoundException;
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
 import com.coworking.reservationsystem.model.dto.RestaurantTableDto;
 import com.coworking.reservationsystem.model.entity.RestaurantTable;
 import com.coworking.reservationsystem.service.RestaurantTableService;
@@ -11,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/restaurant-tables")
@@ -43,6 +47,16 @@ public class RestaurantTableController {
         return ResponseEntity.ok(tables);
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<RestaurantTableDto>> getTablePage(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(tableService.getAllTables(cursor, size));
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/tenant/{tenantId}")
     public ResponseEntity<List<RestaurantTableDto>> getAllTablesByTenant(@PathVariable Long tenantId) {
         List<RestaurantTableDto> tables = tableService.getAllTablesByTenant(tenantId);
@@ -94,6 +108,21 @@ public class RestaurantTableController {
         }
     }
 
+    @PutMapping("/{id}/adjacent")
+    public ResponseEntity<RestaurantTableDto> updateAdjacentTables(@PathVariable Long id,
+                                                                  @RequestParam Long tenantId,
+                                                                  @RequestBody Set<Long> adjacentTableIds) {
+        try {
+            return tableService.updateAdjacentTables(id, adjacentTableIds, tenantId)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTable(@PathVariable Long id) {
         tableService.deleteTable(id);
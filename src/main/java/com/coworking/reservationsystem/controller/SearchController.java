@@ -0,0 +1,34 @@
+package com.coworking.reservationsystem.controller;
+
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
+import com.coworking.reservationsystem.model.dto.SearchHitDto;
+import com.coworking.reservationsystem.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080"})
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * Search customer notes, reservation notes, special requests and space descriptions.
+     * Words are all required unless separated by OR; NOT or a leading - excludes a word.
+     */
+    @GetMapping
+    public ResponseEntity<CursorPageDto<SearchHitDto>> search(@RequestParam Long tenantId,
+                                                              @RequestParam String q,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(searchService.search(tenantId, q, cursor, size));
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
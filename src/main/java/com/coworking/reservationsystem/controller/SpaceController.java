@@ -1,5 +1,6 @@
 package com.coworking.reservationsystem.controller;
 
+import com.coworking.reservationsystem.exception.ValidationException;
 import com.coworking.reservationsystem.model.dto.SpaceDto;
 import com.coworking.reservationsystem.service.SpaceService;
 import jakarta.validation.Valid;
@@ -8,6 +9,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -23,6 +25,22 @@ public class SpaceController {
         return new ResponseEntity<>(createdSpace, HttpStatus.CREATED);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<SpaceDto>> searchFreeSpaces(@RequestParam Integer capacity,
+                                                           @RequestParam LocalDateTime startTime,
+                                                           @RequestParam LocalDateTime endTime,
+                                                           @RequestParam Long tenantId,
+                                                           @RequestParam(required = false) Long locationId,
+                                                           @RequestParam(required = false) Double maxPricePerHour,
+                                                           @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(spaceService.searchFreeSpaces(tenantId, locationId, capacity, maxPricePerHour,
+                    startTime, endTime, limit));
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<SpaceDto> getSpaceById(@PathVariable Long id) {
         try {
@@ -1,8 +1,17 @@
 package com.coworking.reservationsystem.controller;
 
+import com.coworking.reservationsystem.exception.ConflictException;
+import com.coworking.reservationsystem.exception.ResourceNotFoundException;
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
+import com.coworking.reservationsystem.model.dto.HoldDto;
+import com.coworking.reservationsystem.model.dto.HoldRequestDto;
+import com.coworking.reservationsystem.model.dto.RestaurantTableDto;
+import com.coworking.reservationsystem.model.dto.TableCombinationRequestDto;
 import com.coworking.reservationsystem.model.dto.TableReservationDto;
 import com.coworking.reservationsystem.model.entity.TableReservation;
 import com.coworking.reservationsystem.service.TableReservationService;
+import com.coworking.reservationsystem.service.idempotency.IdempotencyStore;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -21,12 +30,72 @@ import java.util.Optional;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080"})
 public class TableReservationController {
 
+    private static final String IDEMPOTENCY_SCOPE = "table-reservation";
+
     private final TableReservationService reservationService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
-    public ResponseEntity<TableReservationDto> createTableReservation(@Valid @RequestBody TableReservationDto reservationDto) {
-        TableReservationDto createdReservation = reservationService.createTableReservation(reservationDto);
-        return new ResponseEntity<>(createdReservation, HttpStatus.CREATED);
+    public ResponseEntity<TableReservationDto> createTableReservation(@RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                                                      @Valid @RequestBody TableReservationDto reservationDto) {
+        try {
+            return idempotencyStore.execute(IDEMPOTENCY_SCOPE, idempotencyKey, reservationDto, TableReservationDto.class,
+                    () -> new ResponseEntity<>(reservationService.createTableReservation(reservationDto), HttpStatus.CREATED));
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping("/holds")
+    public ResponseEntity<HoldDto> holdTable(@Valid @RequestBody HoldRequestDto request) {
+        try {
+            return new ResponseEntity<>(reservationService.holdTable(request), HttpStatus.CREATED);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping("/holds/{holdId}/reservation")
+    public ResponseEntity<TableReservationDto> createTableReservationFromHold(@PathVariable String holdId,
+                                                                              @RequestBody TableReservationDto reservationDto) {
+        try {
+            return new ResponseEntity<>(reservationService.createTableReservationFromHold(holdId, reservationDto), HttpStatus.CREATED);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Void> releaseTableHold(@PathVariable String holdId) {
+        try {
+            reservationService.releaseTableHold(holdId);
+            return ResponseEntity.noContent().build();
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/combined")
+    public ResponseEntity<List<TableReservationDto>> createCombinedTableReservation(@Valid @RequestBody TableCombinationRequestDto request) {
+        try {
+            return new ResponseEntity<>(reservationService.createCombinedTableReservation(request), HttpStatus.CREATED);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     @GetMapping("/{id}")
@@ -42,6 +111,17 @@ public class TableReservationController {
         return ResponseEntity.ok(reservations);
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<TableReservationDto>> getTableReservationPage(@RequestParam Long tenantId,
+                                                                                     @RequestParam(required = false) String cursor,
+                                                                                     @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(reservationService.getAllTableReservationsByTenant(tenantId, cursor, size));
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<List<TableReservationDto>> getTableReservationsByCustomer(@PathVariable Long customerId, @RequestParam Long tenantId) {
         List<TableReservationDto> reservations = reservationService.getTableReservationsByCustomer(customerId, tenantId);
@@ -131,6 +211,20 @@ public class TableReservationController {
         return ResponseEntity.ok(hasOverlapping);
     }
 
+    @GetMapping("/best-fit")
+    public ResponseEntity<RestaurantTableDto> findBestAvailableTable(@RequestParam Long tenantId,
+                                                                     @RequestParam Integer partySize,
+                                                                     @RequestParam LocalDateTime startTime,
+                                                                     @RequestParam LocalDateTime endTime) {
+        try {
+            return reservationService.findBestAvailableTable(tenantId, partySize, startTime, endTime)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/count/status/{status}")
     public ResponseEntity<Long> getTableReservationCountByStatus(@PathVariable TableReservation.TableReservationStatus status, @RequestParam Long tenantId) {
         long count = reservationService.getTableReservationCountByStatus(status, tenantId);
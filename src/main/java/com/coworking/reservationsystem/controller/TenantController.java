@@ -2,6 +2,7 @@ package com.coworking.reservationsystem.controller;
 
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
 import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
 import com.coworking.reservationsystem.model.dto.TenantDto;
 import com.coworking.reservationsystem.service.TenantService;
 import jakarta.validation.Valid;
@@ -55,6 +56,16 @@ public class TenantController {
         return ResponseEntity.ok(tenantService.getAllTenants());
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<TenantDto>> getTenantPage(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(tenantService.getAllTenants(cursor, size));
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/status/{status}")
     public ResponseEntity<List<TenantDto>> getTenantsByStatus(@PathVariable TenantDto.TenantStatus status) {
         return ResponseEntity.ok(tenantService.getTenantsByStatus(status));
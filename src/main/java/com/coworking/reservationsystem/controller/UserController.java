@@ -1,5 +1,6 @@
 package com.coworking.reservationsystem.controller;
 
+import com.coworking.reservationsystem.exception.ValidationException;
 import com.coworking.reservationsystem.model.dto.CreateUserRequest;
 import com.coworking.reservationsystem.model.dto.UserDto;
 import com.coworking.reservationsystem.service.UserService;
@@ -51,9 +52,16 @@ public class UserController {
     }
 
     @GetMapping("/tenant/{tenantId}")
-    public ResponseEntity<List<UserDto>> getUsersByTenantId(@PathVariable Long tenantId) {
-        List<UserDto> users = userService.getUsersByTenantId(tenantId);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserDto>> getUsersByTenantId(@PathVariable Long tenantId,
+                                                            @RequestParam(required = false) String role) {
+        if (role == null) {
+            return ResponseEntity.ok(userService.getUsersByTenantId(tenantId));
+        }
+        try {
+            return ResponseEntity.ok(userService.getUsersByTenantIdAndRole(tenantId, role));
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PutMapping("/{id}")
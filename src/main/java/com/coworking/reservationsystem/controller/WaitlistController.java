@@ -0,0 +1,59 @@
+package com.coworking.reservationsystem.controller;
+
+import com.coworking.reservationsystem.exception.ResourceNotFoundException;
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.WaitlistEntryDto;
+import com.coworking.reservationsystem.service.WaitlistService;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/waitlist")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080"})
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @PostMapping
+    public ResponseEntity<WaitlistEntryDto> join(@Valid @RequestBody WaitlistEntryDto entryDto) {
+        try {
+            return new ResponseEntity<>(waitlistService.join(entryDto), HttpStatus.CREATED);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<WaitlistEntryDto> getEntryById(@PathVariable Long id, @RequestParam Long tenantId) {
+        return waitlistService.getEntryById(id, tenantId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    public ResponseEntity<List<WaitlistEntryDto>> getWaitingEntries(@RequestParam BookingResource resource,
+                                                                    @RequestParam Long resourceId,
+                                                                    @RequestParam Long tenantId) {
+        return ResponseEntity.ok(waitlistService.getWaitingEntries(resource, resourceId, tenantId));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<WaitlistEntryDto> leave(@PathVariable Long id, @RequestParam Long tenantId) {
+        try {
+            return waitlistService.leave(id, tenantId)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (ValidationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
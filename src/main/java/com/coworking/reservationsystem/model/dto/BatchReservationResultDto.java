@@ -0,0 +1,30 @@
+package com.coworking.reservationsystem.model.dto;
+
+/**
+ * Outcome of one item of a batch reservation request; {@code index} is the item's
+ * position in the request.
+ */
+public record BatchReservationResultDto(
+        int index,
+        Outcome outcome,
+        Long reservationId,
+        String message
+) {
+    public enum Outcome {
+        CREATED,
+        CONFLICT,
+        INVALID
+    }
+
+    public static BatchReservationResultDto created(int index, Long reservationId) {
+        return new BatchReservationResultDto(index, Outcome.CREATED, reservationId, null);
+    }
+
+    public static BatchReservationResultDto conflict(int index, String message) {
+        return new BatchReservationResultDto(index, Outcome.CONFLICT, null, message);
+    }
+
+    public static BatchReservationResultDto invalid(int index, String message) {
+        return new BatchReservationResultDto(index, Outcome.INVALID, null, message);
+    }
+}
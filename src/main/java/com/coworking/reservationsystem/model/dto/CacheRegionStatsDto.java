@@ -0,0 +1,17 @@
+package com.coworking.reservationsystem.model.dto;
+
+/**
+ * Activity of one second-level cache region since startup, with its configured limits.
+ * {@code hitRatio} is hits over lookups, or 0 before the first lookup; {@code maxSize} and
+ * {@code ttlSeconds} are -1 for a region without that limit.
+ */
+public record CacheRegionStatsDto(
+        String region,
+        long hits,
+        long misses,
+        long puts,
+        double hitRatio,
+        long maxSize,
+        long ttlSeconds
+) {
+}
@@ -0,0 +1,13 @@
+package com.coworking.reservationsystem.model.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of a list endpoint. {@code nextCursor} is passed back as {@code cursor}
+ * to fetch the following page and is null on the last one.
+ */
+public record CursorPageDto<T>(
+        List<T> items,
+        String nextCursor
+) {
+}
@@ -1,5 +1,6 @@
 package com.coworking.reservationsystem.model.dto;
 
+import com.coworking.reservationsystem.model.entity.Customer;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -24,6 +25,8 @@ public class CustomerDto {
     
     private String notes;
     
+    private Customer.CustomerTier tier;
+    
     private Long tenantId;
     
     private LocalDateTime createdAt;
@@ -41,6 +44,17 @@ public class CustomerDto {
         this.tenantId = tenantId;
     }
     
+    // Used by the repository constructor projections
+    public CustomerDto(Long id, String firstName, String lastName, String phone, String email, String notes,
+                       Customer.CustomerTier tier, Long tenantId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(firstName, lastName, phone, email, tenantId);
+        this.id = id;
+        this.notes = notes;
+        this.tier = tier;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -90,6 +104,14 @@ public class CustomerDto {
         this.notes = notes;
     }
     
+    public Customer.CustomerTier getTier() {
+        return tier;
+    }
+    
+    public void setTier(Customer.CustomerTier tier) {
+        this.tier = tier;
+    }
+    
     public Long getTenantId() {
         return tenantId;
     }
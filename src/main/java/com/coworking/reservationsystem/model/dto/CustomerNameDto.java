@@ -0,0 +1,11 @@
+package com.coworking.reservationsystem.model.dto;
+
+/**
+ * The name of one customer, as loaded into the name search index.
+ */
+public record CustomerNameDto(
+        Long id,
+        String firstName,
+        String lastName
+) {
+}
@@ -0,0 +1,10 @@
+package com.coworking.reservationsystem.model.dto;
+
+/**
+ * The normalized phone of one customer, as loaded into the phone index.
+ */
+public record CustomerPhoneDto(
+        Long id,
+        String phoneNormalized
+) {
+}
@@ -0,0 +1,18 @@
+package com.coworking.reservationsystem.model.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A bookable gap of a space: inside its availability and between its active reservations.
+ */
+public record FreeSlotDto(
+        Long spaceId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        long durationMinutes
+) {
+    public static FreeSlotDto of(Long spaceId, LocalDateTime startTime, LocalDateTime endTime) {
+        return new FreeSlotDto(spaceId, startTime, endTime, Duration.between(startTime, endTime).toMinutes());
+    }
+}
@@ -0,0 +1,29 @@
+package com.coworking.reservationsystem.model.dto;
+
+import com.coworking.reservationsystem.service.hold.BookingHold;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+public record HoldDto(
+        String id,
+        String resource,
+        Long resourceId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        LocalDateTime expiresAt
+) {
+    public static class Mapper {
+        public static HoldDto toDto(BookingHold hold) {
+            return new HoldDto(
+                    hold.id(),
+                    hold.resource().name(),
+                    hold.resourceId(),
+                    hold.startTime(),
+                    hold.endTime(),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(hold.expiresAtMillis()), ZoneId.systemDefault())
+            );
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.coworking.reservationsystem.model.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDateTime;
+
+/**
+ * Request to hold a window of a space or table; {@code resourceId} is the space or table id.
+ * Without {@code ttlSeconds} the configured default applies.
+ */
+public record HoldRequestDto(
+        @NotNull(message = "Resource ID is mandatory")
+        Long resourceId,
+
+        @NotNull(message = "Start time is mandatory")
+        LocalDateTime startTime,
+
+        @NotNull(message = "End time is mandatory")
+        LocalDateTime endTime,
+
+        Long tenantId,
+
+        @Positive(message = "Hold duration must be positive")
+        Integer ttlSeconds
+) {
+}
@@ -0,0 +1,47 @@
+package com.coworking.reservationsystem.model.dto;
+
+import com.coworking.reservationsystem.model.entity.Recurrence;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+public record RecurrenceDto(
+        Recurrence.Frequency frequency,
+
+        Integer interval,
+
+        Set<DayOfWeek> daysOfWeek,
+
+        Integer count,
+
+        LocalDate until
+) {
+    public static class Mapper {
+        public static RecurrenceDto toDto(Recurrence recurrence) {
+            if (recurrence == null || recurrence.getFrequency() == null) {
+                return null;
+            }
+            return new RecurrenceDto(
+                    recurrence.getFrequency(),
+                    recurrence.getInterval(),
+                    recurrence.getDays(),
+                    recurrence.getCount(),
+                    recurrence.getUntil()
+            );
+        }
+
+        public static Recurrence toEntity(RecurrenceDto dto) {
+            if (dto == null) {
+                return null;
+            }
+            Recurrence recurrence = new Recurrence();
+            recurrence.setFrequency(dto.frequency());
+            recurrence.setInterval(dto.interval() != null ? dto.interval() : 1);
+            recurrence.setDays(dto.daysOfWeek() != null ? dto.daysOfWeek() : Set.of());
+            recurrence.setCount(dto.count());
+            recurrence.setUntil(dto.until());
+            return recurrence;
+        }
+    }
+}
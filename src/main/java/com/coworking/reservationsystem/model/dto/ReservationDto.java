@@ -1,11 +1,13 @@
 package com.coworking.reservationsystem.model.dto;
 
+import com.coworking.reservationsystem.model.entity.Recurrence;
 import com.coworking.reservationsystem.model.entity.Reservation;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 public record ReservationDto(
@@ -39,23 +41,56 @@ public record ReservationDto(
         
         LocalDateTime updatedAt,
         
-        Long tenantId
+        Long tenantId,
+
+        // Makes the reservation a recurring series starting with startTime/endTime
+        RecurrenceDto recurrence
 ) {
+    public ReservationDto(Long id, Long spaceId, Long customerId, Long createdByUserId, LocalDateTime startTime,
+                          LocalDateTime endTime, Double totalPrice, Status status, String notes,
+                          LocalDateTime createdAt, LocalDateTime updatedAt, Long tenantId) {
+        this(id, spaceId, customerId, createdByUserId, startTime, endTime, totalPrice, status, notes,
+                createdAt, updatedAt, tenantId, (RecurrenceDto) null);
+    }
+
+    /**
+     * Target of the repository constructor projections, which select the embedded recurrence as a value.
+     */
+    public ReservationDto(Long id, Long spaceId, Long customerId, Long createdByUserId, LocalDateTime startTime,
+                          LocalDateTime endTime, Double totalPrice, Status status, String notes,
+                          LocalDateTime createdAt, LocalDateTime updatedAt, Long tenantId, Recurrence recurrence) {
+        this(id, spaceId, customerId, createdByUserId, startTime, endTime, totalPrice, status, notes,
+                createdAt, updatedAt, tenantId, RecurrenceDto.Mapper.toDto(recurrence));
+    }
+
     public static class Mapper {
         public static ReservationDto toDto(Reservation reservation) {
+            return toDto(reservation, reservation.getStartTime(), reservation.getEndTime());
+        }
+
+        /**
+         * One concrete occurrence of a reservation; for a series it carries the series id.
+         */
+        public static ReservationDto toOccurrenceDto(Reservation reservation, LocalDateTime occurrenceStart) {
+            Duration duration = Duration.between(reservation.getStartTime(), reservation.getEndTime());
+            return toDto(reservation, occurrenceStart, occurrenceStart.plus(duration));
+        }
+
+        private static ReservationDto toDto(Reservation reservation, LocalDateTime startTime, LocalDateTime endTime) {
             return new ReservationDto(
                     reservation.getId(),
                     reservation.getSpace().getId(),
                     reservation.getCustomer().getId(),
                     reservation.getCreatedByUser().getId(),
-                    reservation.getStartTime(),
-                    reservation.getEndTime(),
+                    startTime,
+                    endTime,
                     reservation.getTotalPrice(),
                     reservation.getStatus(),
                     reservation.getNotes(),
                     reservation.getCreatedAt(),
                     reservation.getUpdatedAt(),
-                    reservation.getTenant() != null ? reservation.getTenant().getId() : null
+                    reservation.getTenant() != null ? reservation.getTenant().getId() : null,
+                    RecurrenceDto.Mapper.toDto(reservation.getRecurrence())
             );
         }
 
@@ -66,6 +101,7 @@ public record ReservationDto(
             reservation.setTotalPrice(dto.totalPrice());
             reservation.setStatus(dto.status());
             reservation.setNotes(dto.notes());
+            reservation.setRecurrence(RecurrenceDto.Mapper.toEntity(dto.recurrence()));
             reservation.setCreatedAt(LocalDateTime.now());
             reservation.setUpdatedAt(LocalDateTime.now());
             return reservation;
@@ -0,0 +1,24 @@
+package com.coworking.reservationsystem.model.dto;
+
+/**
+ * One full-text search match: the record it came from, its searchable text and how well it
+ * matched the query.
+ */
+public record SearchHitDto(
+        Kind kind,
+        Long id,
+        String text,
+        double score
+) {
+
+    /**
+     * Where the text comes from: customer notes, reservation notes, table reservation
+     * special requests or a space description.
+     */
+    public enum Kind {
+        CUSTOMER,
+        RESERVATION,
+        TABLE_RESERVATION,
+        SPACE
+    }
+}
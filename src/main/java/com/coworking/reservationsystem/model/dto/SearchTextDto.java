@@ -0,0 +1,10 @@
+package com.coworking.reservationsystem.model.dto;
+
+/**
+ * The searchable text of one record, as loaded into the full-text search index.
+ */
+public record SearchTextDto(
+        Long id,
+        String text
+) {
+}
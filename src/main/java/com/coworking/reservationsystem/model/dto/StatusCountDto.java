@@ -0,0 +1,10 @@
+package com.coworking.reservationsystem.model.dto;
+
+/**
+ * Number of rows in one status, as loaded into the in-memory status counters.
+ */
+public record StatusCountDto(
+        Enum<?> status,
+        long count
+) {
+}
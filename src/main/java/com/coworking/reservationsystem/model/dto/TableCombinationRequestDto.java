@@ -0,0 +1,30 @@
+package com.coworking.reservationsystem.model.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+public record TableCombinationRequestDto(
+        @NotNull(message = "Space ID is mandatory")
+        Long spaceId,
+
+        @NotNull(message = "Customer ID is mandatory")
+        Long customerId,
+
+        @NotNull(message = "Party size is mandatory")
+        @Min(value = 1, message = "Party size must be at least 1")
+        Integer partySize,
+
+        @NotNull(message = "Requested time is mandatory")
+        LocalDateTime requestedTime,
+
+        @NotNull(message = "Estimated arrival time is mandatory")
+        LocalDateTime estimatedArrivalTime,
+
+        String specialRequests,
+
+        @NotNull(message = "Tenant ID is mandatory")
+        Long tenantId
+) {
+}
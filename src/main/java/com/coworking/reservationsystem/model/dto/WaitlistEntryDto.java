@@ -0,0 +1,70 @@
+package com.coworking.reservationsystem.model.dto;
+
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.model.entity.WaitlistEntry;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * A place on the waitlist of a space or table window; {@code resourceId} is the space or table id.
+ * Space entries need {@code createdByUserId}, who books the reservation once the entry is promoted.
+ */
+public record WaitlistEntryDto(
+        Long id,
+
+        @NotNull(message = "Resource is mandatory")
+        BookingResource resource,
+
+        @NotNull(message = "Resource ID is mandatory")
+        Long resourceId,
+
+        @NotNull(message = "Customer ID is mandatory")
+        Long customerId,
+
+        Long createdByUserId,
+
+        @NotNull(message = "Tenant ID is mandatory")
+        Long tenantId,
+
+        @NotNull(message = "Party size is mandatory")
+        @Min(value = 1, message = "Party size must be at least 1")
+        Integer partySize,
+
+        @NotNull(message = "Start time is mandatory")
+        LocalDateTime startTime,
+
+        @NotNull(message = "End time is mandatory")
+        LocalDateTime endTime,
+
+        Customer.CustomerTier tier,
+
+        WaitlistEntry.WaitlistStatus status,
+
+        // The reservation the entry was promoted to
+        Long reservationId,
+
+        LocalDateTime joinedAt
+) {
+    public static class Mapper {
+        public static WaitlistEntryDto toDto(WaitlistEntry entry) {
+            return new WaitlistEntryDto(
+                    entry.getId(),
+                    entry.getResource(),
+                    entry.getResourceId(),
+                    entry.getCustomer().getId(),
+                    entry.getCreatedByUser() != null ? entry.getCreatedByUser().getId() : null,
+                    entry.getTenant().getId(),
+                    entry.getPartySize(),
+                    entry.getStartTime(),
+                    entry.getEndTime(),
+                    entry.getTier(),
+                    entry.getStatus(),
+                    entry.getReservationId(),
+                    entry.getJoinedAt()
+            );
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.coworking.reservationsystem.model.entity;
 
+import com.coworking.reservationsystem.service.search.SearchIndexEntityListener;
+import com.coworking.reservationsystem.util.PhoneNumbers;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "customers")
+@EntityListeners(SearchIndexEntityListener.class)
+@Table(name = "customers",
+        indexes = @Index(name = "idx_customers_tenant_created", columnList = "tenant_id, created_at DESC, id DESC"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_customers_tenant_phone", columnNames = {"tenant_id", "phone_normalized"}))
 public class Customer {
     
     @Id
@@ -27,6 +33,10 @@ public class Customer {
     @Column(name = "phone", nullable = false)
     private String phone;
     
+    // The phone as +<country code><digits>, kept in step with phone; used for lookups and uniqueness
+    @Column(name = "phone_normalized", nullable = false, length = 20)
+    private String phoneNormalized;
+    
     @Email(message = "Invalid email format")
     @Column(name = "email")
     private String email;
@@ -34,6 +44,12 @@ public class Customer {
     @Column(name = "notes", length = 1000)
     private String notes;
     
+    // Orders the customer on waitlists, ahead of the time they joined
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'STANDARD'")
+    @Column(name = "tier", nullable = false)
+    private CustomerTier tier = CustomerTier.STANDARD;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tenant_id", nullable = false)
     private Tenant tenant;
@@ -53,7 +69,7 @@ public class Customer {
         this();
         this.firstName = firstName;
         this.lastName = lastName;
-        this.phone = phone;
+        setPhone(phone);
         this.email = email;
         this.tenant = tenant;
     }
@@ -89,6 +105,11 @@ public class Customer {
     
     public void setPhone(String phone) {
         this.phone = phone;
+        this.phoneNormalized = PhoneNumbers.normalize(phone);
+    }
+    
+    public String getPhoneNormalized() {
+        return phoneNormalized;
     }
     
     public String getEmail() {
@@ -107,6 +128,14 @@ public class Customer {
         this.notes = notes;
     }
     
+    public CustomerTier getTier() {
+        return tier;
+    }
+    
+    public void setTier(CustomerTier tier) {
+        this.tier = tier;
+    }
+    
     public Tenant getTenant() {
         return tenant;
     }
@@ -141,6 +170,12 @@ public class Customer {
         this.updatedAt = LocalDateTime.now();
     }
     
+    public enum CustomerTier {
+        STANDARD,
+        SILVER,
+        GOLD
+    }
+    
     @Override
     public String toString() {
         return "Customer{" +
@@ -0,0 +1,224 @@
+package com.coworking.reservationsystem.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * RRULE-style recurrence of a reservation series (FREQ, INTERVAL, BYDAY, COUNT, UNTIL).
+ * <p>
+ * The owning reservation's start and end time are the first occurrence; later occurrences
+ * are never stored but computed on demand. Occurrences are grouped in periods of
+ * {@code interval} days (daily) or weeks (weekly), so the occurrences inside any window
+ * are found by jumping straight to the window's period instead of walking the series.
+ */
+@Embeddable
+@Getter
+@Setter
+public class Recurrence {
+
+    public static final int MAX_OCCURRENCES = 520;
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY
+    }
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recurrence_frequency")
+    private Frequency frequency;
+
+    @Column(name = "recurrence_interval")
+    private Integer interval;
+
+    // Weekly only: bit 0 is Monday ... bit 6 is Sunday; empty means the first occurrence's day
+    @Column(name = "recurrence_days")
+    private Integer daysOfWeek;
+
+    @Column(name = "recurrence_count")
+    private Integer count;
+
+    @Column(name = "recurrence_until")
+    private LocalDate until;
+
+    public Set<DayOfWeek> getDays() {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        if (daysOfWeek != null) {
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if ((daysOfWeek & (1 << day.ordinal())) != 0) {
+                    days.add(day);
+                }
+            }
+        }
+        return days;
+    }
+
+    public void setDays(Set<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << day.ordinal();
+        }
+        this.daysOfWeek = mask == 0 ? null : mask;
+    }
+
+    /**
+     * Check that the series is well formed and bounded, and that its occurrences never overlap
+     * each other.
+     */
+    public void validate(LocalDateTime firstStart, LocalDateTime firstEnd) {
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence frequency is mandatory");
+        }
+        if (interval == null || interval < 1) {
+            throw new IllegalArgumentException("Recurrence interval must be at least 1");
+        }
+        if (count == null && until == null) {
+            throw new IllegalArgumentException("Recurrence needs a count or an end date");
+        }
+        if (count != null && (count < 1 || count > MAX_OCCURRENCES)) {
+            throw new IllegalArgumentException("Recurrence count must be between 1 and " + MAX_OCCURRENCES);
+        }
+        if (until != null && until.isBefore(firstStart.toLocalDate())) {
+            throw new IllegalArgumentException("Recurrence end date cannot be before the first occurrence");
+        }
+        if (frequency == Frequency.WEEKLY && !getDays().isEmpty() && !getDays().contains(firstStart.getDayOfWeek())) {
+            throw new IllegalArgumentException("The first occurrence must fall on one of the recurrence days");
+        }
+        if (firstEnd.isAfter(firstStart.plusDays(shortestGapDays(firstStart)))) {
+            throw new IllegalArgumentException("Occurrences of the series would overlap each other");
+        }
+        if (occurrenceIndex(firstStart, lastStart(firstStart)) >= MAX_OCCURRENCES) {
+            throw new IllegalArgumentException("Recurrence cannot have more than " + MAX_OCCURRENCES + " occurrences");
+        }
+    }
+
+    /**
+     * Start of the last occurrence of the series.
+     */
+    public LocalDateTime lastStart(LocalDateTime firstStart) {
+        int[] offsets = offsets(firstStart);
+        int skipped = skippedInFirstPeriod(firstStart, offsets);
+        LocalDateTime last = null;
+        if (count != null) {
+            int index = count - 1 + skipped;
+            last = occurrence(firstStart, index / offsets.length, offsets[index % offsets.length]);
+        }
+        if (until != null) {
+            long period = Math.floorDiv(ChronoUnit.DAYS.between(anchor(firstStart), until), periodDays());
+            LocalDateTime lastBeforeUntil = null;
+            for (; period >= 0 && lastBeforeUntil == null; period--) {
+                for (int i = offsets.length - 1; i >= 0; i--) {
+                    LocalDateTime candidate = occurrence(firstStart, period, offsets[i]);
+                    if (!candidate.toLocalDate().isAfter(until) && !candidate.isBefore(firstStart)) {
+                        lastBeforeUntil = candidate;
+                        break;
+                    }
+                }
+            }
+            last = last == null || (lastBeforeUntil != null && lastBeforeUntil.isBefore(last)) ? lastBeforeUntil : last;
+        }
+        return last != null ? last : firstStart;
+    }
+
+    /**
+     * Starts of the occurrences lasting {@code duration} that overlap the half-open window,
+     * in chronological order.
+     */
+    public List<LocalDateTime> startsBetween(LocalDateTime firstStart, Duration duration, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        LocalDateTime earliest = from.minus(duration);
+        LocalDateTime last = lastStart(firstStart);
+        int[] offsets = offsets(firstStart);
+        LocalDate anchor = anchor(firstStart);
+        long period = Math.max(0, Math.floorDiv(ChronoUnit.DAYS.between(anchor, earliest.toLocalDate()), periodDays()));
+        while (true) {
+            for (int offset : offsets) {
+                LocalDateTime start = occurrence(firstStart, period, offset);
+                if (!start.isBefore(to) || start.isAfter(last)) {
+                    return starts;
+                }
+                if (!start.isBefore(firstStart) && start.isAfter(earliest)) {
+                    starts.add(start);
+                }
+            }
+            period++;
+        }
+    }
+
+    private LocalDateTime occurrence(LocalDateTime firstStart, long period, int offset) {
+        return anchor(firstStart).plusDays(period * periodDays() + offset).atTime(firstStart.toLocalTime());
+    }
+
+    private long occurrenceIndex(LocalDateTime firstStart, LocalDateTime start) {
+        int[] offsets = offsets(firstStart);
+        long days = ChronoUnit.DAYS.between(anchor(firstStart), start.toLocalDate());
+        long period = Math.floorDiv(days, periodDays());
+        int offset = (int) (days - period * periodDays());
+        int position = 0;
+        while (offsets[position] != offset) {
+            position++;
+        }
+        return period * offsets.length + position - skippedInFirstPeriod(firstStart, offsets);
+    }
+
+    /**
+     * Periods start on the first occurrence's day (daily) or on the Monday of its week (weekly).
+     */
+    private LocalDate anchor(LocalDateTime firstStart) {
+        LocalDate day = firstStart.toLocalDate();
+        return frequency == Frequency.WEEKLY ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : day;
+    }
+
+    private long periodDays() {
+        return frequency == Frequency.WEEKLY ? 7L * interval : interval;
+    }
+
+    /**
+     * Day offsets of the occurrences within a period, ascending.
+     */
+    private int[] offsets(LocalDateTime firstStart) {
+        if (frequency == Frequency.DAILY) {
+            return new int[]{0};
+        }
+        Set<DayOfWeek> days = getDays();
+        if (days.isEmpty()) {
+            return new int[]{firstStart.getDayOfWeek().ordinal()};
+        }
+        return days.stream().mapToInt(DayOfWeek::ordinal).toArray();
+    }
+
+    /**
+     * Occurrences of the first period that fall before the first start and do not exist.
+     */
+    private int skippedInFirstPeriod(LocalDateTime firstStart, int[] offsets) {
+        int firstOffset = (int) ChronoUnit.DAYS.between(anchor(firstStart), firstStart.toLocalDate());
+        int skipped = 0;
+        while (offsets[skipped] < firstOffset) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    private long shortestGapDays(LocalDateTime firstStart) {
+        int[] offsets = offsets(firstStart);
+        long gap = periodDays() - offsets[offsets.length - 1] + offsets[0];
+        for (int i = 1; i < offsets.length; i++) {
+            gap = Math.min(gap, offsets[i] - offsets[i - 1]);
+        }
+        return gap;
+    }
+}
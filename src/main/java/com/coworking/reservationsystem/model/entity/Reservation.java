@@ -1,16 +1,25 @@
 package com.coworking.reservationsystem.model.entity;
 
 import com.coworking.reservationsystem.model.dto.Status;
+import com.coworking.reservationsystem.service.search.SearchIndexEntityListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
-@Table(name = "reservations")
+@EntityListeners(SearchIndexEntityListener.class)
+// Overlap checks bound end_time from below, which skips a space's past bookings entirely
+@Table(name = "reservations",
+        indexes = {
+                @Index(name = "idx_reservations_space_time", columnList = "space_id, end_time, start_time"),
+                @Index(name = "idx_reservations_created", columnList = "created_at DESC, id DESC")
+        })
 @Getter
 @Setter
 public class Reservation {
@@ -55,10 +64,19 @@ public class Reservation {
     @Enumerated(EnumType.STRING)
     private Status status = Status.PENDING;
 
+    // Set for recurring series: startTime/endTime are then the first occurrence
+    @Embedded
+    private Recurrence recurrence;
+
+    // End of the last occurrence of a series, so range queries can find series by their full span
+    @Column(name = "series_end_time")
+    private LocalDateTime seriesEndTime;
+
     @Column(name = "notes", length = 1000)
     private String notes;
 
-    @Column(name = "created_at")
+    // Keyset pages order by it, so a row without one would never be listed
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
@@ -75,6 +93,21 @@ public class Reservation {
         updatedAt = LocalDateTime.now();
     }
 
+    public boolean isRecurring() {
+        return recurrence != null && recurrence.getFrequency() != null;
+    }
+
+    /**
+     * Start times of the occurrences overlapping the half-open window; a single reservation
+     * is its own only occurrence.
+     */
+    public List<LocalDateTime> occurrenceStarts(LocalDateTime from, LocalDateTime to) {
+        if (!isRecurring()) {
+            return startTime.isBefore(to) && endTime.isAfter(from) ? List.of(startTime) : List.of();
+        }
+        return recurrence.startsBetween(startTime, Duration.between(startTime, endTime), from, to);
+    }
+
     public void validateTimeRange() {
         if (endTime.isBefore(startTime)) {
             throw new IllegalArgumentException("End time must be after start time");
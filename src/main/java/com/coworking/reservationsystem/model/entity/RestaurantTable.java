@@ -7,13 +7,19 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Entity
-@Table(name = "restaurant_tables")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "restaurant-tables")
+@Table(name = "restaurant_tables",
+        indexes = @Index(name = "idx_restaurant_tables_created", columnList = "created_at DESC, id DESC"))
 @Getter
 @Setter
 public class RestaurantTable {
@@ -58,6 +64,14 @@ public class RestaurantTable {
     @JsonIgnore
     private List<TableReservation> tableReservations = new ArrayList<>();
 
+    // Tables that can be pushed together with this one; stored in both directions
+    @ManyToMany
+    @JoinTable(name = "table_adjacency",
+            joinColumns = @JoinColumn(name = "table_id"),
+            inverseJoinColumns = @JoinColumn(name = "adjacent_table_id"))
+    @JsonIgnore
+    private Set<RestaurantTable> adjacentTables = new HashSet<>();
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
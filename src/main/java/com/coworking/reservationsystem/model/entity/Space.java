@@ -1,5 +1,6 @@
 package com.coworking.reservationsystem.model.entity;
 
+import com.coworking.reservationsystem.service.search.SearchIndexEntityListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
@@ -7,11 +8,15 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(SearchIndexEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "spaces")
 @Table(name = "spaces")
 @Getter
 @Setter
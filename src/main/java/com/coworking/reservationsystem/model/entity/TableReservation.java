@@ -1,5 +1,6 @@
 package com.coworking.reservationsystem.model.entity;
 
+import com.coworking.reservationsystem.service.search.SearchIndexEntityListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
@@ -10,7 +11,12 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "table_reservations")
+@EntityListeners(SearchIndexEntityListener.class)
+@Table(name = "table_reservations",
+        indexes = {
+                @Index(name = "idx_table_reservations_table_time", columnList = "table_id, estimated_arrival_time, requested_time"),
+                @Index(name = "idx_table_reservations_tenant_created", columnList = "tenant_id, created_at DESC, id DESC")
+        })
 @Getter
 @Setter
 public class TableReservation {
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -12,7 +14,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "tenants")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tenants")
+@Table(name = "tenants",
+        indexes = @Index(name = "idx_tenants_created", columnList = "created_at DESC, id DESC"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
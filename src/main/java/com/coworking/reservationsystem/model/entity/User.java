@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -35,12 +36,81 @@ public class User {
     @Column(nullable = false, length = 255)
     private String password;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
-    private List<String> roles;
+    // One bit per Role, so loading users needs no join and a role check is a single AND
+    @Column(name = "roles", nullable = false)
+    private int roleMask;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tenant_id", nullable = false)
     @JsonIgnore
     private Tenant tenant;
+
+    public boolean hasRole(Role role) {
+        return (roleMask & role.bit()) != 0;
+    }
+
+    // Spring Security style names ("ROLE_ADMIN"), as the API has always returned them
+    public List<String> getRoles() {
+        List<String> roles = new ArrayList<>(Role.VALUES.length);
+        for (Role role : Role.VALUES) {
+            if (hasRole(role)) {
+                roles.add(role.authority());
+            }
+        }
+        return roles;
+    }
+
+    public void setRoles(List<String> roles) {
+        int mask = 0;
+        if (roles != null) {
+            for (String role : roles) {
+                mask |= Role.of(role).bit();
+            }
+        }
+        this.roleMask = mask;
+    }
+
+    public enum Role {
+        USER,
+        MANAGER,
+        ADMIN;
+
+        private static final Role[] VALUES = values();
+
+        public int bit() {
+            return 1 << ordinal();
+        }
+
+        public String authority() {
+            return "ROLE_" + name();
+        }
+
+        // Every role mask holding this role, so a query can match it with IN instead of a
+        // bitwise operator the database may not have
+        public List<Integer> masks() {
+            List<Integer> masks = new ArrayList<>(1 << (VALUES.length - 1));
+            for (int mask = 0; mask < 1 << VALUES.length; mask++) {
+                if ((mask & bit()) != 0) {
+                    masks.add(mask);
+                }
+            }
+            return masks;
+        }
+
+        // Accepts both "ADMIN" and the Spring Security style "ROLE_ADMIN"
+        public static Role of(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("Role is mandatory");
+            }
+            String normalized = name.trim().toUpperCase();
+            if (normalized.startsWith("ROLE_")) {
+                normalized = normalized.substring("ROLE_".length());
+            }
+            try {
+                return valueOf(normalized);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown role: " + name);
+            }
+        }
+    }
 }
@@ -0,0 +1,90 @@
+package com.coworking.reservationsystem.model.entity;
+
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A customer waiting for a window of a space or table that was fully booked when they asked.
+ * The customer's tier is copied in when they join, so later tier changes do not reorder the queue.
+ */
+@Entity
+@Table(name = "waitlist_entries",
+        indexes = @Index(name = "idx_waitlist_entries_resource", columnList = "resource, resource_id, status"))
+@Getter
+@Setter
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private BookingResource resource;
+
+    // Space or table id, depending on the resource
+    @Column(name = "resource_id", nullable = false)
+    private Long resourceId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id", nullable = false)
+    private Customer customer;
+
+    // Books the space reservation on the customer's behalf once promoted; unused for tables
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by_user_id")
+    private User createdByUser;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tenant_id", nullable = false)
+    private Tenant tenant;
+
+    @Column(name = "party_size", nullable = false)
+    private Integer partySize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Customer.CustomerTier tier;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    @Column(name = "joined_at", nullable = false)
+    private LocalDateTime joinedAt;
+
+    // The space or table reservation the entry was promoted to
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        joinedAt = LocalDateTime.now();
+        updatedAt = joinedAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum WaitlistStatus {
+        WAITING,
+        PROMOTED,
+        CANCELLED,
+        EXPIRED
+    }
+}
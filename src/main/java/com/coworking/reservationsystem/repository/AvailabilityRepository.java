@@ -11,4 +11,6 @@ import java.util.List;
 public interface AvailabilityRepository extends JpaRepository<Availability, Long> {
     List<Availability> findBySpaceId(Long spaceId);
     List<Availability> findBySpaceIdAndStartTimeBetween(Long spaceId, LocalDateTime startTime, LocalDateTime endTime);
+    List<Availability> findBySpaceIdAndEndTimeAfter(Long spaceId, LocalDateTime endTime);
+    List<Availability> findBySpaceIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTime(Long spaceId, LocalDateTime before, LocalDateTime after);
 }
@@ -1,11 +1,18 @@
 package com.coworking.reservationsystem.repository;
 
+import com.coworking.reservationsystem.model.dto.CustomerDto;
+import com.coworking.reservationsystem.model.dto.CustomerNameDto;
+import com.coworking.reservationsystem.model.dto.CustomerPhoneDto;
+import com.coworking.reservationsystem.model.dto.SearchTextDto;
 import com.coworking.reservationsystem.model.entity.Customer;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,11 +24,6 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      */
     List<Customer> findByTenantIdOrderByCreatedAtDesc(Long tenantId);
     
-    /**
-     * Find customer by phone number and tenant ID
-     */
-    Optional<Customer> findByPhoneAndTenantId(String phone, Long tenantId);
-    
     /**
      * Find customer by email and tenant ID
      */
@@ -38,18 +40,9 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
                                                            @Param("searchTerm") String searchTerm);
     
     /**
-     * Find customers by phone number containing the search term
+     * Check if customer exists by normalized phone and tenant
      */
-    @Query("SELECT c FROM Customer c WHERE c.tenant.id = :tenantId AND " +
-           "c.phone LIKE CONCAT('%', :searchTerm, '%') " +
-           "ORDER BY c.createdAt DESC")
-    List<Customer> findByTenantIdAndPhoneContaining(@Param("tenantId") Long tenantId, 
-                                                   @Param("searchTerm") String searchTerm);
-    
-    /**
-     * Check if customer exists by phone and tenant
-     */
-    boolean existsByPhoneAndTenantId(String phone, Long tenantId);
+    boolean existsByPhoneNormalizedAndTenantId(String phoneNormalized, Long tenantId);
     
     /**
      * Check if customer exists by email and tenant
@@ -60,4 +53,54 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
      * Count customers by tenant
      */
     long countByTenantId(Long tenantId);
-} 
\ No newline at end of file
+
+    // Read-only projections: only the DTO columns are selected, so no entities, proxies or
+    // dirty-checking snapshots are created
+    String SELECT_DTO = "SELECT new com.coworking.reservationsystem.model.dto.CustomerDto(" +
+            "c.id, c.firstName, c.lastName, c.phone, c.email, c.notes, c.tier, c.tenant.id, c.createdAt, c.updatedAt) " +
+            "FROM Customer c ";
+
+    @Query(SELECT_DTO + "WHERE c.id = :id")
+    Optional<CustomerDto> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + "WHERE c.tenant.id = :tenantId ORDER BY c.createdAt DESC")
+    List<CustomerDto> findDtosByTenantId(@Param("tenantId") Long tenantId);
+
+    @Query(SELECT_DTO + "WHERE c.email = :email AND c.tenant.id = :tenantId")
+    Optional<CustomerDto> findDtoByEmailAndTenantId(@Param("email") String email, @Param("tenantId") Long tenantId);
+
+    @Query(SELECT_DTO + "WHERE c.id IN :ids")
+    List<CustomerDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Names of a tenant's customers, to load the name search index
+     */
+    @Query("SELECT new com.coworking.reservationsystem.model.dto.CustomerNameDto(c.id, c.firstName, c.lastName) " +
+           "FROM Customer c WHERE c.tenant.id = :tenantId ORDER BY c.id")
+    List<CustomerNameDto> findNamesByTenantId(@Param("tenantId") Long tenantId);
+
+    /**
+     * Normalized phones of a tenant's customers, to load the phone index
+     */
+    @Query("SELECT new com.coworking.reservationsystem.model.dto.CustomerPhoneDto(c.id, c.phoneNormalized) " +
+           "FROM Customer c WHERE c.tenant.id = :tenantId ORDER BY c.id")
+    List<CustomerPhoneDto> findPhonesByTenantId(@Param("tenantId") Long tenantId);
+
+    /**
+     * Keyset page of a tenant's customers, newest first: rows strictly after {@code (createdAt, id)}
+     */
+    @Query(SELECT_DTO + "WHERE c.tenant.id = :tenantId " +
+           "AND c.createdAt <= :createdAt AND (c.createdAt < :createdAt OR c.id < :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CustomerDto> findDtoPageByTenantIdAfter(@Param("tenantId") Long tenantId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    /**
+     * Searchable text of a tenant's customers, to load the full-text search index
+     */
+    @Query("SELECT new com.coworking.reservationsystem.model.dto.SearchTextDto(c.id, c.notes) " +
+           "FROM Customer c WHERE c.tenant.id = :tenantId AND c.notes IS NOT NULL")
+    List<SearchTextDto> findSearchTextsByTenantId(@Param("tenantId") Long tenantId);
+}
@@ -0,0 +1,75 @@
+package com.coworking.reservationsystem.repository;
+
+import com.coworking.reservationsystem.model.entity.Reservation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk writes of reservations through JDBC batching, bypassing the per-entity
+ * inserts of the JPA repository.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO reservations " +
+            "(customer_id, created_by_user_id, space_id, tenant_id, start_time, end_time, total_price, status, notes, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert the reservations in one JDBC batch. Generated ids and timestamps are
+     * written back to the given entities.
+     */
+    public void insertAll(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Reservation reservation = reservations.get(i);
+                        statement.setLong(1, reservation.getCustomer().getId());
+                        statement.setLong(2, reservation.getCreatedByUser().getId());
+                        statement.setLong(3, reservation.getSpace().getId());
+                        statement.setLong(4, reservation.getTenant().getId());
+                        statement.setTimestamp(5, Timestamp.valueOf(reservation.getStartTime()));
+                        statement.setTimestamp(6, Timestamp.valueOf(reservation.getEndTime()));
+                        statement.setDouble(7, reservation.getTotalPrice());
+                        statement.setString(8, reservation.getStatus().name());
+                        statement.setString(9, reservation.getNotes());
+                        statement.setTimestamp(10, createdAt);
+                        statement.setTimestamp(11, createdAt);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return reservations.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation reservation = reservations.get(i);
+            reservation.setId(((Number) keys.get(i).get("id")).longValue());
+            reservation.setCreatedAt(now);
+            reservation.setUpdatedAt(now);
+        }
+    }
+}
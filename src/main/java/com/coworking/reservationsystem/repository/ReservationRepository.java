@@ -1,17 +1,25 @@
 package com.coworking.reservationsystem.repository;
 
+import com.coworking.reservationsystem.model.dto.ReservationDto;
 import com.coworking.reservationsystem.model.dto.Status;
+import com.coworking.reservationsystem.model.dto.SearchTextDto;
 import com.coworking.reservationsystem.model.entity.Reservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
@@ -22,31 +30,112 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     
     // Tenant-based methods
     Optional<Reservation> findByIdAndTenantId(Long id, Long tenantId);
+
+    /**
+     * Move a reservation to {@code to} only if it is currently in one of the {@code from} statuses.
+     * Returns the number of updated rows, so 0 when it does not exist or is in another status.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :to, r.updatedAt = :now WHERE r.id = :id AND r.status IN :from")
+    int transitionStatus(
+            @Param("id") Long id,
+            @Param("from") Collection<Status> from,
+            @Param("to") Status to,
+            @Param("now") LocalDateTime now
+    );
     List<Reservation> findByTenantId(Long tenantId);
     List<Reservation> findByCustomerIdAndTenantId(Long customerId, Long tenantId);
     List<Reservation> findBySpaceIdAndTenantId(Long spaceId, Long tenantId);
     List<Reservation> findByStatusAndTenantId(Status status, Long tenantId);
     
-    @Query("SELECT r FROM Reservation r WHERE r.space.id = :spaceId " +
-           "AND ((r.startTime BETWEEN :startTime AND :endTime) " +
-           "OR (r.endTime BETWEEN :startTime AND :endTime) " +
-           "OR (:startTime BETWEEN r.startTime AND r.endTime))")
+    // Overlaps are half-open (a booking ending at 10:00 does not clash with one starting at 10:00)
+    // and written as plain range predicates, so idx_reservations_space_time can serve them
+    @Query("SELECT r FROM Reservation r WHERE r.space.id = :spaceId AND r.status IN :statuses " +
+           "AND r.startTime < :endTime AND r.endTime > :startTime")
     List<Reservation> findOverlappingReservations(
             @Param("spaceId") Long spaceId,
             @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime
+            @Param("endTime") LocalDateTime endTime,
+            @Param("statuses") Collection<Status> statuses
+    );
+    
+    @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.space.id = :spaceId AND r.status IN :statuses " +
+           "AND r.recurrence.frequency IS NULL " +
+           "AND r.startTime < :endTime AND r.endTime > :startTime " +
+           "AND (:excludeId IS NULL OR r.id <> :excludeId)")
+    boolean existsOverlapping(
+            @Param("spaceId") Long spaceId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            @Param("statuses") Collection<Status> statuses,
+            @Param("excludeId") Long excludeId
+    );
+
+    // Lightweight time windows of single (non-recurring) reservations used to build the in-memory booking index
+    @Query("SELECT r.id AS id, r.startTime AS startTime, r.endTime AS endTime FROM Reservation r " +
+           "WHERE r.space.id = :spaceId AND r.status IN :statuses AND r.recurrence.frequency IS NULL " +
+           "AND r.endTime >= :endingAfter")
+    List<ReservationWindow> findWindowsBySpaceId(
+            @Param("spaceId") Long spaceId,
+            @Param("statuses") Collection<Status> statuses,
+            @Param("endingAfter") LocalDateTime endingAfter
+    );
+
+    @Query("SELECT r.id AS id, r.startTime AS startTime, r.endTime AS endTime FROM Reservation r " +
+           "WHERE r.space.id = :spaceId AND r.status IN :statuses AND r.recurrence.frequency IS NULL " +
+           "AND r.startTime < :to AND r.endTime > :from")
+    List<ReservationWindow> findWindowsInRange(
+            @Param("spaceId") Long spaceId,
+            @Param("statuses") Collection<Status> statuses,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Recurring series are one row each; their occurrences are expanded by the caller
+    @Query("SELECT r FROM Reservation r WHERE r.space.id = :spaceId AND r.status IN :statuses " +
+           "AND r.recurrence.frequency IS NOT NULL AND r.seriesEndTime >= :endingAfter")
+    List<Reservation> findSeriesBySpaceId(
+            @Param("spaceId") Long spaceId,
+            @Param("statuses") Collection<Status> statuses,
+            @Param("endingAfter") LocalDateTime endingAfter
+    );
+
+    @Query("SELECT r FROM Reservation r WHERE r.space.id = :spaceId AND r.status IN :statuses " +
+           "AND r.recurrence.frequency IS NOT NULL AND r.startTime < :to AND r.seriesEndTime > :from")
+    List<Reservation> findSeriesInRange(
+            @Param("spaceId") Long spaceId,
+            @Param("statuses") Collection<Status> statuses,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query("SELECT r FROM Reservation r WHERE r.space.id IN :spaceIds AND r.status IN :statuses " +
+           "AND r.recurrence.frequency IS NOT NULL AND r.startTime < :to AND r.seriesEndTime > :from")
+    List<Reservation> findSeriesInRangeForSpaces(
+            @Param("spaceIds") Collection<Long> spaceIds,
+            @Param("statuses") Collection<Status> statuses,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Single reservations and series with at least one occurrence possibly inside the window
+    @Query("SELECT r FROM Reservation r WHERE r.space.id = :spaceId " +
+           "AND r.startTime < :to AND COALESCE(r.seriesEndTime, r.endTime) > :from")
+    List<Reservation> findBySpaceIdInRange(
+            @Param("spaceId") Long spaceId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
     );
     
     @Query("SELECT r FROM Reservation r WHERE r.space.id = :spaceId " +
-           "AND r.tenant.id = :tenantId " +
-           "AND ((r.startTime BETWEEN :startTime AND :endTime) " +
-           "OR (r.endTime BETWEEN :startTime AND :endTime) " +
-           "OR (:startTime BETWEEN r.startTime AND r.endTime))")
+           "AND r.tenant.id = :tenantId AND r.status IN :statuses " +
+           "AND r.startTime < :endTime AND r.endTime > :startTime")
     List<Reservation> findConflictingReservations(
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime,
             @Param("spaceId") Long spaceId,
-            @Param("tenantId") Long tenantId
+            @Param("tenantId") Long tenantId,
+            @Param("statuses") Collection<Status> statuses
     );
     
     @Query("SELECT r FROM Reservation r WHERE r.tenant.id = :tenantId " +
@@ -56,4 +145,68 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             @Param("endDate") LocalDateTime endDate,
             @Param("tenantId") Long tenantId
     );
+
+    /**
+     * Single reservations and series with at least one occurrence possibly inside the range,
+     * read through a JDBC cursor for exports. Series are not expanded here; see occurrenceStarts.
+     * Must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Reservation r WHERE r.tenant.id = :tenantId " +
+           "AND r.startTime < :endDate AND COALESCE(r.seriesEndTime, r.endTime) > :startDate " +
+           "ORDER BY r.startTime, r.id")
+    Stream<Reservation> streamByDateRangeAndTenantId(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("tenantId") Long tenantId
+    );
+    
+    interface ReservationWindow {
+        Long getId();
+        LocalDateTime getStartTime();
+        LocalDateTime getEndTime();
+    }
+
+    // Read-only projections: only the DTO columns are selected, so no entities, proxies or
+    // dirty-checking snapshots are created. Series are not expanded here; see occurrenceStarts.
+    String SELECT_DTO = "SELECT new com.coworking.reservationsystem.model.dto.ReservationDto(" +
+            "r.id, r.space.id, r.customer.id, r.createdByUser.id, r.startTime, r.endTime, r.totalPrice, r.status, " +
+            "r.notes, r.createdAt, r.updatedAt, r.tenant.id, r.recurrence) FROM Reservation r ";
+
+    @Query(SELECT_DTO + "WHERE r.id = :id")
+    Optional<ReservationDto> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO)
+    List<ReservationDto> findAllDtos();
+
+    @Query(value = SELECT_DTO, countQuery = "SELECT COUNT(r) FROM Reservation r")
+    Page<ReservationDto> findAllDtos(Pageable pageable);
+
+    @Query(value = SELECT_DTO + "WHERE r.customer.id = :customerId",
+           countQuery = "SELECT COUNT(r) FROM Reservation r WHERE r.customer.id = :customerId")
+    Page<ReservationDto> findDtosByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    @Query(value = SELECT_DTO + "WHERE r.space.id = :spaceId",
+           countQuery = "SELECT COUNT(r) FROM Reservation r WHERE r.space.id = :spaceId")
+    Page<ReservationDto> findDtosBySpaceId(@Param("spaceId") Long spaceId, Pageable pageable);
+
+    /**
+     * Keyset page, newest first: rows strictly after {@code (createdAt, id)} in that order.
+     */
+    @Query(SELECT_DTO + "WHERE r.createdAt <= :createdAt AND (r.createdAt < :createdAt OR r.id < :id) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReservationDto> findDtoPageAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    /**
+     * Searchable text of a tenant's reservations, to load the full-text search index
+     */
+    @Query("SELECT new com.coworking.reservationsystem.model.dto.SearchTextDto(r.id, r.notes) " +
+           "FROM Reservation r WHERE r.tenant.id = :tenantId AND r.notes IS NOT NULL")
+    List<SearchTextDto> findSearchTextsByTenantId(@Param("tenantId") Long tenantId);
 }
@@ -1,11 +1,18 @@
 package com.coworking.reservationsystem.repository;
 
+import com.coworking.reservationsystem.model.dto.StatusCountDto;
 import com.coworking.reservationsystem.model.entity.RestaurantTable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +23,15 @@ public interface RestaurantTableRepository extends JpaRepository<RestaurantTable
      * Find all tables by tenant ID
      */
     List<RestaurantTable> findByTenantIdOrderByName(Long tenantId);
+
+    /**
+     * Keyset page of all tables, newest first: rows strictly after {@code (createdAt, id)}
+     */
+    @Query("SELECT t FROM RestaurantTable t WHERE t.createdAt <= :createdAt AND (t.createdAt < :createdAt OR t.id < :id) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<RestaurantTable> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
     
     /**
      * Find all tables by space ID
@@ -44,8 +60,24 @@ public interface RestaurantTableRepository extends JpaRepository<RestaurantTable
     List<RestaurantTable> findAvailableTablesByMinSeats(@Param("tenantId") Long tenantId, @Param("minSeats") Integer minSeats);
     
     /**
-     * Find table by ID and tenant ID
+     * Find the adjacency links between a tenant's tables
      */
+    @Query("SELECT t.id AS tableId, a.id AS adjacentTableId FROM RestaurantTable t JOIN t.adjacentTables a WHERE t.tenant.id = :tenantId")
+    List<TableLink> findAdjacencyByTenantId(@Param("tenantId") Long tenantId);
+    
+    /**
+     * Remove every adjacency link of a table, in both directions. Declaring the table it
+     * touches keeps Hibernate from evicting the whole second-level cache after it runs.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "table_adjacency"))
+    @Query(value = "DELETE FROM table_adjacency WHERE table_id = :tableId OR adjacent_table_id = :tableId", nativeQuery = true)
+    int deleteAdjacencyByTableId(@Param("tableId") Long tableId);
+    
+    /**
+     * Find table by ID and tenant ID, answered from the query cache until a table changes
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<RestaurantTable> findByIdAndTenantId(Long id, Long tenantId);
     
     /**
@@ -62,6 +94,13 @@ public interface RestaurantTableRepository extends JpaRepository<RestaurantTable
      * Count tables by status and tenant ID
      */
     long countByStatusAndTenantId(RestaurantTable.TableStatus status, Long tenantId);
+
+    /**
+     * Number of tables in each status for a tenant, statuses without any left out
+     */
+    @Query("SELECT new com.coworking.reservationsystem.model.dto.StatusCountDto(t.status, COUNT(t)) " +
+           "FROM RestaurantTable t WHERE t.tenant.id = :tenantId GROUP BY t.status")
+    List<StatusCountDto> countByStatusForTenant(@Param("tenantId") Long tenantId);
     
     /**
      * Find all tables by status (legacy method)
@@ -73,4 +112,9 @@ public interface RestaurantTableRepository extends JpaRepository<RestaurantTable
      */
     @Query("SELECT t FROM RestaurantTable t WHERE t.numberOfSeats >= :minSeats AND t.status = 'AVAILABLE' ORDER BY t.numberOfSeats ASC")
     List<RestaurantTable> findAvailableTablesByMinSeats(@Param("minSeats") Integer minSeats);
-} 
\ No newline at end of file
+    
+    interface TableLink {
+        Long getTableId();
+        Long getAdjacentTableId();
+    }
+}
@@ -1,9 +1,20 @@
 package com.coworking.reservationsystem.repository;
 
+import com.coworking.reservationsystem.model.dto.SpaceDto;
+import com.coworking.reservationsystem.model.dto.Status;
+import com.coworking.reservationsystem.model.dto.SearchTextDto;
 import com.coworking.reservationsystem.model.entity.Space;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,8 +22,67 @@ import java.util.Optional;
 public interface SpaceRepository extends JpaRepository<Space, Long> {
     List<Space> findByLocationId(Long locationId);
     List<Space> findByTenantId(Long tenantId);
+    // Answered from the query cache until a space changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Space> findByIdAndTenantId(Long id, Long tenantId);
     List<Space> findByLocationIdAndTenantId(Long locationId, Long tenantId);
     List<Space> findByCapacityAndTenantId(Integer capacity, Long tenantId);
     List<Space> findByCapacity(Integer capacity);
+
+    // A tenant's spaces matching the filters with no single reservation overlapping the window,
+    // best fitting capacity first, then cheapest, one page at a time. Recurring series are
+    // checked by the caller.
+    @Query("SELECT s FROM Space s WHERE s.capacity >= :minCapacity " +
+           "AND s.tenant.id = :tenantId " +
+           "AND (:locationId IS NULL OR s.location.id = :locationId) " +
+           "AND (:maxPricePerHour IS NULL OR s.pricePerHour <= :maxPricePerHour) " +
+           "AND NOT EXISTS (SELECT r.id FROM Reservation r WHERE r.space = s AND r.status IN :statuses " +
+           "AND r.recurrence.frequency IS NULL AND r.startTime < :endTime AND r.endTime > :startTime) " +
+           "ORDER BY s.capacity ASC, s.pricePerHour ASC, s.id ASC")
+    List<Space> findFreeSpaces(
+            @Param("tenantId") Long tenantId,
+            @Param("locationId") Long locationId,
+            @Param("minCapacity") Integer minCapacity,
+            @Param("maxPricePerHour") Double maxPricePerHour,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            @Param("statuses") Collection<Status> statuses,
+            Pageable pageable
+    );
+
+    // Read-only projections: only the DTO columns are selected, so no entities, proxies or
+    // dirty-checking snapshots are created
+    String SELECT_DTO = "SELECT new com.coworking.reservationsystem.model.dto.SpaceDto(" +
+            "s.id, s.name, s.description, s.capacity, s.location.id, s.pricePerHour, s.tenant.id) FROM Space s ";
+
+    @Query(SELECT_DTO + "WHERE s.id = :id")
+    Optional<SpaceDto> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + "WHERE s.id = :id AND s.tenant.id = :tenantId")
+    Optional<SpaceDto> findDtoByIdAndTenantId(@Param("id") Long id, @Param("tenantId") Long tenantId);
+
+    @Query(SELECT_DTO)
+    List<SpaceDto> findAllDtos();
+
+    @Query(SELECT_DTO + "WHERE s.tenant.id = :tenantId")
+    List<SpaceDto> findDtosByTenantId(@Param("tenantId") Long tenantId);
+
+    @Query(SELECT_DTO + "WHERE s.location.id = :locationId")
+    List<SpaceDto> findDtosByLocationId(@Param("locationId") Long locationId);
+
+    @Query(SELECT_DTO + "WHERE s.location.id = :locationId AND s.tenant.id = :tenantId")
+    List<SpaceDto> findDtosByLocationIdAndTenantId(@Param("locationId") Long locationId, @Param("tenantId") Long tenantId);
+
+    @Query(SELECT_DTO + "WHERE s.capacity = :capacity")
+    List<SpaceDto> findDtosByCapacity(@Param("capacity") Integer capacity);
+
+    @Query(SELECT_DTO + "WHERE s.capacity = :capacity AND s.tenant.id = :tenantId")
+    List<SpaceDto> findDtosByCapacityAndTenantId(@Param("capacity") Integer capacity, @Param("tenantId") Long tenantId);
+
+    /**
+     * Searchable text of a tenant's spaces, to load the full-text search index
+     */
+    @Query("SELECT new com.coworking.reservationsystem.model.dto.SearchTextDto(s.id, s.description) " +
+           "FROM Space s WHERE s.tenant.id = :tenantId AND s.description IS NOT NULL")
+    List<SearchTextDto> findSearchTextsByTenantId(@Param("tenantId") Long tenantId);
 }
@@ -1,16 +1,26 @@
 package com.coworking.reservationsystem.repository;
 
+import com.coworking.reservationsystem.model.dto.TableReservationDto;
+import com.coworking.reservationsystem.model.dto.SearchTextDto;
+import com.coworking.reservationsystem.model.dto.StatusCountDto;
 import com.coworking.reservationsystem.model.entity.TableReservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TableReservationRepository extends JpaRepository<TableReservation, Long> {
@@ -54,21 +64,79 @@ public interface TableReservationRepository extends JpaRepository<TableReservati
      * Find table reservation by ID and tenant ID
      */
     Optional<TableReservation> findByIdAndTenantId(Long id, Long tenantId);
+
+    boolean existsByIdAndTenantId(Long id, Long tenantId);
+
+    /**
+     * Move a tenant's table reservation to {@code to} only if it is currently in one of the
+     * {@code from} statuses. Returns 0 when it does not exist or is in another status.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TableReservation tr SET tr.status = :to, tr.updatedAt = :now " +
+           "WHERE tr.id = :id AND tr.tenant.id = :tenantId AND tr.status IN :from")
+    int transitionStatus(
+            @Param("id") Long id,
+            @Param("tenantId") Long tenantId,
+            @Param("from") Collection<TableReservation.TableReservationStatus> from,
+            @Param("to") TableReservation.TableReservationStatus to,
+            @Param("now") LocalDateTime now
+    );
     
     /**
-     * Find overlapping table reservations for a specific table and time range
+     * Find active table reservations overlapping the half-open window of a table,
+     * served by idx_table_reservations_table_time
      */
     @Query("SELECT tr FROM TableReservation tr WHERE tr.table.id = :tableId " +
            "AND tr.status IN ('PENDING', 'CONFIRMED') " +
-           "AND ((tr.requestedTime BETWEEN :startTime AND :endTime) " +
-           "OR (tr.estimatedArrivalTime BETWEEN :startTime AND :endTime) " +
-           "OR (:startTime BETWEEN tr.requestedTime AND tr.estimatedArrivalTime))")
+           "AND tr.requestedTime < :endTime AND tr.estimatedArrivalTime > :startTime")
     List<TableReservation> findOverlappingReservations(
             @Param("tableId") Long tableId,
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime
     );
     
+    /**
+     * Find the booking windows of a tenant's tables, used to build the in-memory table index
+     */
+    @Query("SELECT tr.id AS id, tr.table.id AS tableId, tr.requestedTime AS startTime, tr.estimatedArrivalTime AS endTime " +
+           "FROM TableReservation tr WHERE tr.tenant.id = :tenantId AND tr.status IN :statuses " +
+           "AND tr.estimatedArrivalTime >= :endingAfter")
+    List<TableReservationWindow> findWindowsByTenantId(
+            @Param("tenantId") Long tenantId,
+            @Param("statuses") Collection<TableReservation.TableReservationStatus> statuses,
+            @Param("endingAfter") LocalDateTime endingAfter
+    );
+    
+    /**
+     * Find the arrival time of every active table reservation, used to rebuild the expiry schedule
+     */
+    @Query("SELECT tr.id AS id, tr.estimatedArrivalTime AS estimatedArrivalTime FROM TableReservation tr " +
+           "WHERE tr.status IN :statuses ORDER BY tr.estimatedArrivalTime ASC")
+    List<TableReservationArrival> findArrivalsByStatusIn(
+            @Param("statuses") Collection<TableReservation.TableReservationStatus> statuses
+    );
+    
+    /**
+     * Mark the given reservations as expired, skipping any that changed status or moved
+     * their arrival past the cutoff in the meantime
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TableReservation tr SET tr.status = 'EXPIRED', tr.updatedAt = :now " +
+           "WHERE tr.id IN :ids AND tr.status IN :statuses AND tr.estimatedArrivalTime <= :arrivedBefore")
+    int expireByIds(
+            @Param("ids") Collection<Long> ids,
+            @Param("statuses") Collection<TableReservation.TableReservationStatus> statuses,
+            @Param("arrivedBefore") LocalDateTime arrivedBefore,
+            @Param("now") LocalDateTime now
+    );
+    
+    /**
+     * Find which of the given reservations are expired
+     */
+    @Query("SELECT tr.id FROM TableReservation tr WHERE tr.id IN :ids AND tr.status = 'EXPIRED'")
+    List<Long> findExpiredIds(@Param("ids") Collection<Long> ids);
+    
     /**
      * Find table reservations by date range and tenant ID
      */
@@ -80,6 +148,23 @@ public interface TableReservationRepository extends JpaRepository<TableReservati
             @Param("endDate") LocalDateTime endDate,
             @Param("tenantId") Long tenantId
     );
+
+    /**
+     * Same range as {@link #findByDateRangeAndTenantId}, read through a JDBC cursor for exports.
+     * Must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT tr FROM TableReservation tr WHERE tr.tenant.id = :tenantId " +
+           "AND tr.requestedTime >= :startDate AND tr.requestedTime <= :endDate " +
+           "ORDER BY tr.requestedTime ASC, tr.id ASC")
+    Stream<TableReservation> streamByDateRangeAndTenantId(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("tenantId") Long tenantId
+    );
     
     /**
      * Find table reservations by customer ID with pagination
@@ -100,4 +185,97 @@ public interface TableReservationRepository extends JpaRepository<TableReservati
      * Count table reservations by tenant ID
      */
     long countByTenantId(Long tenantId);
-} 
\ No newline at end of file
+
+    /**
+     * Number of table reservations in each status for a tenant, statuses without any left out
+     */
+    @Query("SELECT new com.coworking.reservationsystem.model.dto.StatusCountDto(tr.status, COUNT(tr)) " +
+           "FROM TableReservation tr WHERE tr.tenant.id = :tenantId GROUP BY tr.status")
+    List<StatusCountDto> countByStatusForTenant(@Param("tenantId") Long tenantId);
+
+    /**
+     * Current status of a table reservation, without loading it
+     */
+    @Query("SELECT tr.status FROM TableReservation tr WHERE tr.id = :id AND tr.tenant.id = :tenantId")
+    Optional<TableReservation.TableReservationStatus> findStatusByIdAndTenantId(@Param("id") Long id,
+                                                                                @Param("tenantId") Long tenantId);
+
+    /**
+     * Tenants owning any of the given table reservations
+     */
+    @Query("SELECT DISTINCT tr.tenant.id FROM TableReservation tr WHERE tr.id IN :ids")
+    List<Long> findTenantIdsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    interface TableReservationArrival {
+        Long getId();
+        LocalDateTime getEstimatedArrivalTime();
+    }
+    
+    interface TableReservationWindow {
+        Long getId();
+        Long getTableId();
+        LocalDateTime getStartTime();
+        LocalDateTime getEndTime();
+    }
+
+    // Read-only projections: only the DTO columns are selected, so no entities, proxies or
+    // dirty-checking snapshots are created
+    String SELECT_DTO = "SELECT new com.coworking.reservationsystem.model.dto.TableReservationDto(" +
+            "tr.id, tr.table.id, tr.customer.id, tr.numberOfPeople, tr.requestedTime, tr.estimatedArrivalTime, " +
+            "tr.status, tr.specialRequests, tr.tenant.id, tr.createdAt, tr.updatedAt) FROM TableReservation tr ";
+
+    @Query(SELECT_DTO + "WHERE tr.id = :id AND tr.tenant.id = :tenantId")
+    Optional<TableReservationDto> findDtoByIdAndTenantId(@Param("id") Long id, @Param("tenantId") Long tenantId);
+
+    @Query(SELECT_DTO + "WHERE tr.tenant.id = :tenantId ORDER BY tr.createdAt DESC")
+    List<TableReservationDto> findDtosByTenantId(@Param("tenantId") Long tenantId);
+
+    @Query(SELECT_DTO + "WHERE tr.customer.id = :customerId AND tr.tenant.id = :tenantId ORDER BY tr.createdAt DESC")
+    List<TableReservationDto> findDtosByCustomerIdAndTenantId(@Param("customerId") Long customerId,
+                                                              @Param("tenantId") Long tenantId);
+
+    @Query(value = SELECT_DTO + "WHERE tr.customer.id = :customerId AND tr.tenant.id = :tenantId",
+           countQuery = "SELECT COUNT(tr) FROM TableReservation tr WHERE tr.customer.id = :customerId AND tr.tenant.id = :tenantId")
+    Page<TableReservationDto> findDtosByCustomerIdAndTenantId(@Param("customerId") Long customerId,
+                                                              @Param("tenantId") Long tenantId,
+                                                              Pageable pageable);
+
+    @Query(SELECT_DTO + "WHERE tr.table.id = :tableId AND tr.tenant.id = :tenantId ORDER BY tr.createdAt DESC")
+    List<TableReservationDto> findDtosByTableIdAndTenantId(@Param("tableId") Long tableId, @Param("tenantId") Long tenantId);
+
+    @Query(SELECT_DTO + "WHERE tr.status = :status AND tr.tenant.id = :tenantId")
+    List<TableReservationDto> findDtosByStatusAndTenantId(@Param("status") TableReservation.TableReservationStatus status,
+                                                          @Param("tenantId") Long tenantId);
+
+    @Query(SELECT_DTO + "WHERE tr.status = :status AND tr.tenant.id = :tenantId ORDER BY tr.requestedTime ASC")
+    List<TableReservationDto> findDtosByStatusAndTenantIdOrderByRequestedTime(
+            @Param("status") TableReservation.TableReservationStatus status,
+            @Param("tenantId") Long tenantId);
+
+    @Query(SELECT_DTO + "WHERE tr.tenant.id = :tenantId " +
+           "AND tr.requestedTime >= :startDate AND tr.requestedTime <= :endDate " +
+           "ORDER BY tr.requestedTime ASC")
+    List<TableReservationDto> findDtosByDateRangeAndTenantId(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("tenantId") Long tenantId);
+
+    /**
+     * Keyset page of a tenant's table reservations, newest first: rows strictly after {@code (createdAt, id)}
+     */
+    @Query(SELECT_DTO + "WHERE tr.tenant.id = :tenantId " +
+           "AND tr.createdAt <= :createdAt AND (tr.createdAt < :createdAt OR tr.id < :id) " +
+           "ORDER BY tr.createdAt DESC, tr.id DESC")
+    List<TableReservationDto> findDtoPageByTenantIdAfter(
+            @Param("tenantId") Long tenantId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    /**
+     * Searchable text of a tenant's table reservations, to load the full-text search index
+     */
+    @Query("SELECT new com.coworking.reservationsystem.model.dto.SearchTextDto(tr.id, tr.specialRequests) " +
+           "FROM TableReservation tr WHERE tr.tenant.id = :tenantId AND tr.specialRequests IS NOT NULL")
+    List<SearchTextDto> findSearchTextsByTenantId(@Param("tenantId") Long tenantId);
+}
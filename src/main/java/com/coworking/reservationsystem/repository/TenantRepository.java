@@ -1,6 +1,9 @@
 package com.coworking.reservationsystem.repository;
 
+import com.coworking.reservationsystem.model.dto.StatusCountDto;
 import com.coworking.reservationsystem.model.entity.Tenant;
+import com.coworking.reservationsystem.service.tenant.ResolvedTenant;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,12 +17,32 @@ import java.util.Optional;
 public interface TenantRepository extends JpaRepository<Tenant, Long> {
     
     Optional<Tenant> findBySubdomain(String subdomain);
+
+    // Read straight from the table: a projection never goes through the tenants L2 region,
+    // whose TTL is far longer than the TenantDirectory one
+    String SELECT_RESOLVED = "SELECT new com.coworking.reservationsystem.service.tenant.ResolvedTenant(" +
+            "t.id, t.subdomain, t.status, t.plan, t.maxUsers, t.maxSpaces, t.maxReservationsPerMonth) FROM Tenant t ";
+
+    @Query(SELECT_RESOLVED + "WHERE t.id = :id")
+    Optional<ResolvedTenant> findResolvedById(@Param("id") Long id);
+
+    @Query(SELECT_RESOLVED + "WHERE t.subdomain = :subdomain")
+    Optional<ResolvedTenant> findResolvedBySubdomain(@Param("subdomain") String subdomain);
     
     Optional<Tenant> findByName(String name);
     
     List<Tenant> findByStatus(Tenant.TenantStatus status);
     
     List<Tenant> findByPlan(Tenant.TenantPlan plan);
+
+    /**
+     * Keyset page of all tenants, newest first: rows strictly after {@code (createdAt, id)}
+     */
+    @Query("SELECT t FROM Tenant t WHERE t.createdAt <= :createdAt AND (t.createdAt < :createdAt OR t.id < :id) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Tenant> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                               @Param("id") Long id,
+                               Pageable pageable);
     
     @Query("SELECT t FROM Tenant t WHERE t.subscriptionEndDate < :date AND t.status = 'ACTIVE'")
     List<Tenant> findExpiredSubscriptions(@Param("date") LocalDateTime date);
@@ -37,4 +60,12 @@ public interface TenantRepository extends JpaRepository<Tenant, Long> {
     
     @Query("SELECT COUNT(t) FROM Tenant t WHERE t.plan = :plan")
     long countByPlan(@Param("plan") Tenant.TenantPlan plan);
+
+    @Query("SELECT new com.coworking.reservationsystem.model.dto.StatusCountDto(t.status, COUNT(t)) " +
+           "FROM Tenant t GROUP BY t.status")
+    List<StatusCountDto> countByStatus();
+
+    @Query("SELECT new com.coworking.reservationsystem.model.dto.StatusCountDto(t.plan, COUNT(t)) " +
+           "FROM Tenant t GROUP BY t.plan")
+    List<StatusCountDto> countByPlan();
 } 
\ No newline at end of file
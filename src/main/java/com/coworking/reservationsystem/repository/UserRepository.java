@@ -4,6 +4,7 @@ import com.coworking.reservationsystem.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,5 +13,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
    Optional<User> findByEmail(String email);
    boolean existsByEmail(String email);
    List<User> findByTenantId(Long tenantId);
+   List<User> findByTenantIdAndRoleMaskIn(Long tenantId, Collection<Integer> roleMasks);
    Optional<User> findByIdAndTenantId(Long id, Long tenantId);
 }
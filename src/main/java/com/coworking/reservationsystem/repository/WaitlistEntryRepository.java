@@ -0,0 +1,56 @@
+package com.coworking.reservationsystem.repository;
+
+import com.coworking.reservationsystem.model.entity.WaitlistEntry;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByStatus(WaitlistEntry.WaitlistStatus status);
+
+    Optional<WaitlistEntry> findByIdAndTenantId(Long id, Long tenantId);
+
+    List<WaitlistEntry> findByTenantIdAndResourceAndResourceIdAndStatusOrderByJoinedAt(
+            Long tenantId, BookingResource resource, Long resourceId, WaitlistEntry.WaitlistStatus status);
+
+    @Query("SELECT w.id FROM WaitlistEntry w WHERE w.status = 'WAITING' AND w.startTime < :now")
+    List<Long> findStartedWaitingIds(@Param("now") LocalDateTime now);
+
+    /**
+     * Move a tenant's entry to {@code to} only while it is still waiting. Returns 0 when it
+     * does not exist or was already promoted, cancelled or expired.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = :to, w.updatedAt = :now " +
+           "WHERE w.id = :id AND w.tenant.id = :tenantId AND w.status = 'WAITING'")
+    int leaveWaiting(
+            @Param("id") Long id,
+            @Param("tenantId") Long tenantId,
+            @Param("to") WaitlistEntry.WaitlistStatus to,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Claim a waiting entry for promotion. Returns 0 when it left the waitlist in the meantime.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = 'PROMOTED', w.updatedAt = :now WHERE w.id = :id AND w.status = 'WAITING'")
+    int claimForPromotion(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.reservationId = :reservationId WHERE w.id = :id")
+    int setReservation(@Param("id") Long id, @Param("reservationId") Long reservationId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = 'EXPIRED', w.updatedAt = :now WHERE w.id IN :ids AND w.status = 'WAITING'")
+    int markExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
@@ -1,7 +1,10 @@
 package com.coworking.reservationsystem.service;
 
 import com.coworking.reservationsystem.model.dto.AvailabilityDto;
+import com.coworking.reservationsystem.model.dto.FreeSlotDto;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface AvailabilityService {
@@ -11,4 +14,6 @@ public interface AvailabilityService {
     List<AvailabilityDto> getAvailabilitiesBySpaceId(Long spaceId);
     AvailabilityDto updateAvailability(Long id, AvailabilityDto availabilityDto);
     void deleteAvailability(Long id);
+    boolean isSpaceAvailable(Long spaceId, LocalDateTime startTime, LocalDateTime endTime);
+    List<FreeSlotDto> getFreeSlots(Long spaceId, LocalDateTime from, LocalDateTime to, Duration minDuration);
 }
@@ -0,0 +1,10 @@
+package com.coworking.reservationsystem.service;
+
+import com.coworking.reservationsystem.model.dto.CacheRegionStatsDto;
+
+import java.util.List;
+
+public interface CacheStatsService {
+
+    List<CacheRegionStatsDto> getRegionStats();
+}
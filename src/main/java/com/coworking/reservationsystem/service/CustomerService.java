@@ -1,5 +1,6 @@
 package com.coworking.reservationsystem.service;
 
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
 import com.coworking.reservationsystem.model.dto.CustomerDto;
 import java.util.List;
 
@@ -19,6 +20,11 @@ public interface CustomerService {
      * Get all customers for a tenant
      */
     List<CustomerDto> getAllCustomersByTenant(Long tenantId);
+
+    /**
+     * Get one keyset page of a tenant's customers, newest first
+     */
+    CursorPageDto<CustomerDto> getAllCustomersByTenant(Long tenantId, String cursor, Integer size);
     
     /**
      * Update customer
@@ -0,0 +1,17 @@
+package com.coworking.reservationsystem.service;
+
+import com.coworking.reservationsystem.service.export.ExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * Streams a tenant's reservations over a date range straight to the response, so memory use
+ * does not grow with the range. Arguments are validated eagerly; rows are read when the body is written.
+ */
+public interface ReservationExportService {
+
+    StreamingResponseBody exportReservations(Long tenantId, LocalDateTime startDate, LocalDateTime endDate, ExportFormat format);
+
+    StreamingResponseBody exportTableReservations(Long tenantId, LocalDateTime startDate, LocalDateTime endDate, ExportFormat format);
+}
@@ -1,20 +1,31 @@
 package com.coworking.reservationsystem.service;
 
+import com.coworking.reservationsystem.model.dto.BatchReservationResultDto;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
+import com.coworking.reservationsystem.model.dto.HoldDto;
+import com.coworking.reservationsystem.model.dto.HoldRequestDto;
 import com.coworking.reservationsystem.model.dto.ReservationDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ReservationService {
     ReservationDto createReservation(ReservationDto reservationDto);
+    List<BatchReservationResultDto> createReservations(List<ReservationDto> reservationDtos);
+    HoldDto holdSpace(HoldRequestDto request);
+    ReservationDto createReservationFromHold(String holdId, ReservationDto reservationDto);
+    void releaseSpaceHold(String holdId);
     ReservationDto getReservationById(Long id);
     List<ReservationDto> getAllReservations();
     Page<ReservationDto> getAllReservations(Pageable pageable);
+    CursorPageDto<ReservationDto> getAllReservations(String cursor, Integer size);
     List<ReservationDto> getReservationsByCustomerId(Long customerId);
     Page<ReservationDto> getReservationsByCustomerId(Long customerId, Pageable pageable);
     List<ReservationDto> getReservationsBySpaceId(Long spaceId);
     Page<ReservationDto> getReservationsBySpaceId(Long spaceId, Pageable pageable);
+    List<ReservationDto> getReservationsBySpaceIdBetween(Long spaceId, LocalDateTime startTime, LocalDateTime endTime);
     ReservationDto updateReservation(Long id, ReservationDto reservationDto);
     void deleteReservation(Long id);
     ReservationDto confirmReservation(Long id);
@@ -1,10 +1,12 @@
 package com.coworking.reservationsystem.service;
 
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
 import com.coworking.reservationsystem.model.dto.RestaurantTableDto;
 import com.coworking.reservationsystem.model.entity.RestaurantTable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface RestaurantTableService {
     
@@ -32,6 +34,11 @@ public interface RestaurantTableService {
      * Get all tables (legacy method)
      */
     List<RestaurantTableDto> getAllTables();
+
+    /**
+     * Get one keyset page of all tables, newest first
+     */
+    CursorPageDto<RestaurantTableDto> getAllTables(String cursor, Integer size);
     
     /**
      * Get all tables for a space
@@ -88,6 +95,11 @@ public interface RestaurantTableService {
      */
     RestaurantTableDto updateTableStatus(Long id, RestaurantTable.TableStatus status);
     
+    /**
+     * Replace the set of tables that can be pushed together with a table
+     */
+    Optional<RestaurantTableDto> updateAdjacentTables(Long id, Set<Long> adjacentTableIds, Long tenantId);
+    
     /**
      * Delete table
      */
@@ -0,0 +1,13 @@
+package com.coworking.reservationsystem.service;
+
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
+import com.coworking.reservationsystem.model.dto.SearchHitDto;
+
+public interface SearchService {
+
+    /**
+     * Full-text search over a tenant's customer notes, reservation notes, table reservation
+     * special requests and space descriptions, best match first
+     */
+    CursorPageDto<SearchHitDto> search(Long tenantId, String query, String cursor, Integer size);
+}
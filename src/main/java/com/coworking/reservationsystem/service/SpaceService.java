@@ -2,6 +2,7 @@ package com.coworking.reservationsystem.service;
 
 import com.coworking.reservationsystem.model.dto.SpaceDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,8 @@ public interface SpaceService {
     List<SpaceDto> getSpacesByCapacity(Integer capacity, Long tenantId);
     Optional<SpaceDto> updateSpace(Long id, SpaceDto spaceDto);
     boolean deleteSpace(Long id, Long tenantId);
+    List<SpaceDto> searchFreeSpaces(Long tenantId, Long locationId, Integer minCapacity, Double maxPricePerHour,
+                                    LocalDateTime startTime, LocalDateTime endTime, int limit);
     
     // Legacy methods for backward compatibility
     SpaceDto getSpaceById(Long id);
@@ -1,5 +1,10 @@
 package com.coworking.reservationsystem.service;
 
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
+import com.coworking.reservationsystem.model.dto.HoldDto;
+import com.coworking.reservationsystem.model.dto.HoldRequestDto;
+import com.coworking.reservationsystem.model.dto.RestaurantTableDto;
+import com.coworking.reservationsystem.model.dto.TableCombinationRequestDto;
 import com.coworking.reservationsystem.model.dto.TableReservationDto;
 import com.coworking.reservationsystem.model.entity.TableReservation;
 import org.springframework.data.domain.Page;
@@ -16,6 +21,26 @@ public interface TableReservationService {
      */
     TableReservationDto createTableReservation(TableReservationDto reservationDto);
     
+    /**
+     * Book the smallest set of adjacent free tables that seats a large party, all or nothing
+     */
+    List<TableReservationDto> createCombinedTableReservation(TableCombinationRequestDto request);
+
+    /**
+     * Hold a table window for a customer who is checking out
+     */
+    HoldDto holdTable(HoldRequestDto request);
+
+    /**
+     * Turn a live hold into a pending table reservation for the held table and window
+     */
+    TableReservationDto createTableReservationFromHold(String holdId, TableReservationDto reservationDto);
+
+    /**
+     * Give up a table hold before it expires
+     */
+    void releaseTableHold(String holdId);
+    
     /**
      * Get table reservation by ID and tenant ID
      */
@@ -25,6 +50,11 @@ public interface TableReservationService {
      * Get all table reservations for a tenant
      */
     List<TableReservationDto> getAllTableReservationsByTenant(Long tenantId);
+
+    /**
+     * Get one keyset page of a tenant's table reservations, newest first
+     */
+    CursorPageDto<TableReservationDto> getAllTableReservationsByTenant(Long tenantId, String cursor, Integer size);
     
     /**
      * Get table reservations by customer ID
@@ -91,6 +121,11 @@ public interface TableReservationService {
      */
     boolean hasOverlappingReservations(Long tableId, LocalDateTime startTime, LocalDateTime endTime);
     
+    /**
+     * Find the free table that best fits a party in the given time window
+     */
+    Optional<RestaurantTableDto> findBestAvailableTable(Long tenantId, Integer partySize, LocalDateTime startTime, LocalDateTime endTime);
+    
     /**
      * Get table reservation count by status and tenant ID
      */
@@ -1,5 +1,6 @@
 package com.coworking.reservationsystem.service;
 
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
 import com.coworking.reservationsystem.model.dto.TenantDto;
 import com.coworking.reservationsystem.model.entity.Tenant;
 
@@ -15,6 +16,8 @@ public interface TenantService {
     TenantDto getTenantBySubdomain(String subdomain);
     
     List<TenantDto> getAllTenants();
+
+    CursorPageDto<TenantDto> getAllTenants(String cursor, Integer size);
     
     List<TenantDto> getTenantsByStatus(TenantDto.TenantStatus status);
     
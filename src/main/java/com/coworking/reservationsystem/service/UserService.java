@@ -10,6 +10,7 @@ public interface UserService {
     UserDto getUserById(Long id);
     List<UserDto> getAllUsers();
     List<UserDto> getUsersByTenantId(Long tenantId);
+    List<UserDto> getUsersByTenantIdAndRole(Long tenantId, String role);
     UserDto updateUser(Long id, UserDto userDto);
     void deleteUser(Long id);
     void changePassword(Long userId, PasswordDto currentPassword, PasswordDto newPassword);
@@ -0,0 +1,32 @@
+package com.coworking.reservationsystem.service;
+
+import com.coworking.reservationsystem.model.dto.WaitlistEntryDto;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistService {
+
+    /**
+     * Put a customer on the waitlist of a space or table window
+     */
+    WaitlistEntryDto join(WaitlistEntryDto entryDto);
+
+    /**
+     * Take a waiting customer off the waitlist
+     */
+    Optional<WaitlistEntryDto> leave(Long id, Long tenantId);
+
+    Optional<WaitlistEntryDto> getEntryById(Long id, Long tenantId);
+
+    /**
+     * Customers still waiting for windows of the space or table, in the order they joined
+     */
+    List<WaitlistEntryDto> getWaitingEntries(BookingResource resource, Long resourceId, Long tenantId);
+
+    /**
+     * Expire entries whose window has started without a cancellation freeing it
+     */
+    int expireStartedEntries();
+}
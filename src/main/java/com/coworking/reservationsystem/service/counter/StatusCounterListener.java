@@ -0,0 +1,125 @@
+package com.coworking.reservationsystem.service.counter;
+
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.model.entity.RestaurantTable;
+import com.coworking.reservationsystem.model.entity.TableReservation;
+import com.coworking.reservationsystem.model.entity.Tenant;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Moves rows between {@link StatusCounters} cells as entities are inserted, updated and
+ * deleted. Registered with Hibernate directly rather than as a JPA entity listener, because
+ * only Hibernate's events carry the state before an update, and a counter has to know which
+ * status (or tenant) a row left.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatusCounterListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final StatusCounters statusCounters;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        for (Cell cell : cells(event.getEntity(), event.getPersister(), event.getState())) {
+            statusCounters.add(cell.counter(), cell.scopeId(), cell.status(), 1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Cell[] after = cells(event.getEntity(), event.getPersister(), event.getState());
+        if (after.length == 0) {
+            return;
+        }
+        if (event.getOldState() == null) {
+            // Updated without a loaded snapshot: where the row was is unknown, so recount
+            for (Cell cell : after) {
+                statusCounters.invalidate(cell.counter(), cell.scopeId());
+            }
+            return;
+        }
+        Cell[] before = cells(event.getEntity(), event.getPersister(), event.getOldState());
+        for (int i = 0; i < after.length; i++) {
+            if (!before[i].equals(after[i])) {
+                statusCounters.add(before[i].counter(), before[i].scopeId(), before[i].status(), -1);
+                statusCounters.add(after[i].counter(), after[i].scopeId(), after[i].status(), 1);
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getDeletedState() == null) {
+            // Nothing to tell where the row was counted; the next reconcile catches up
+            return;
+        }
+        for (Cell cell : cells(event.getEntity(), event.getPersister(), event.getDeletedState())) {
+            statusCounters.add(cell.counter(), cell.scopeId(), cell.status(), -1);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private record Cell(StatusCounters.Counter counter, long scopeId, Enum<?> status) {
+    }
+
+    // The counter cells a row in the given state is counted in
+    private static Cell[] cells(Object entity, EntityPersister persister, Object[] state) {
+        if (entity instanceof TableReservation) {
+            return new Cell[]{new Cell(StatusCounters.Counter.TABLE_RESERVATIONS,
+                    tenantId(persister, state), (Enum<?>) value(persister, state, "status"))};
+        }
+        if (entity instanceof RestaurantTable) {
+            return new Cell[]{new Cell(StatusCounters.Counter.RESTAURANT_TABLES,
+                    tenantId(persister, state), (Enum<?>) value(persister, state, "status"))};
+        }
+        if (entity instanceof Customer) {
+            return new Cell[]{new Cell(StatusCounters.Counter.CUSTOMERS, tenantId(persister, state), null)};
+        }
+        if (entity instanceof Tenant) {
+            return new Cell[]{
+                    new Cell(StatusCounters.Counter.TENANT_STATUSES, StatusCounters.ALL_TENANTS,
+                            (Enum<?>) value(persister, state, "status")),
+                    new Cell(StatusCounters.Counter.TENANT_PLANS, StatusCounters.ALL_TENANTS,
+                            (Enum<?>) value(persister, state, "plan"))};
+        }
+        return new Cell[0];
+    }
+
+    private static long tenantId(EntityPersister persister, Object[] state) {
+        Tenant tenant = (Tenant) value(persister, state, "tenant");
+        return tenant == null ? StatusCounters.ALL_TENANTS : tenant.getId();
+    }
+
+    private static Object value(EntityPersister persister, Object[] state, String property) {
+        return state[Arrays.asList(persister.getPropertyNames()).indexOf(property)];
+    }
+}
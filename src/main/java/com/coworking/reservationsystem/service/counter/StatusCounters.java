@@ -0,0 +1,194 @@
+package com.coworking.reservationsystem.service.counter;
+
+import com.coworking.reservationsystem.model.dto.StatusCountDto;
+import com.coworking.reservationsystem.model.entity.RestaurantTable;
+import com.coworking.reservationsystem.model.entity.TableReservation;
+import com.coworking.reservationsystem.model.entity.Tenant;
+import com.coworking.reservationsystem.repository.CustomerRepository;
+import com.coworking.reservationsystem.repository.RestaurantTableRepository;
+import com.coworking.reservationsystem.repository.TableReservationRepository;
+import com.coworking.reservationsystem.repository.TenantRepository;
+import com.coworking.reservationsystem.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Row counts per status behind the count endpoints, kept in memory so that a dashboard
+ * poll reads a few adders instead of running {@code COUNT(*)}.
+ * <p>
+ * Each counter holds one cell per status for every tenant (or one set for all tenants),
+ * loaded with a single grouped query the first time it is read. From then on
+ * {@link StatusCounterListener} and the bulk status updates move rows between cells as
+ * their writes commit. A scheduled reconcile recounts the loaded cells and corrects any
+ * drift (writes made outside this instance, or bulk updates nobody reported). Nothing is
+ * kept across restarts: a new instance loads each scope from the database on first read.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatusCounters {
+
+    // Scope of the counters that span all tenants
+    public static final long ALL_TENANTS = 0L;
+
+    public enum Counter {
+        TABLE_RESERVATIONS(TableReservation.TableReservationStatus.values()),
+        RESTAURANT_TABLES(RestaurantTable.TableStatus.values()),
+        CUSTOMERS(),
+        TENANT_STATUSES(Tenant.TenantStatus.values()),
+        TENANT_PLANS(Tenant.TenantPlan.values());
+
+        private final Enum<?>[] statuses;
+
+        Counter(Enum<?>... statuses) {
+            this.statuses = statuses;
+        }
+
+        private int cells() {
+            return Math.max(1, statuses.length);
+        }
+
+        private static int cell(Enum<?> status) {
+            return status == null ? 0 : status.ordinal();
+        }
+
+        // A row with no status is not counted under any, except by a single-cell counter
+        private boolean counts(Enum<?> status) {
+            return status != null || statuses.length == 0;
+        }
+    }
+
+    private record Key(Counter counter, long scopeId) {
+    }
+
+    private final TableReservationRepository tableReservationRepository;
+    private final RestaurantTableRepository restaurantTableRepository;
+    private final CustomerRepository customerRepository;
+    private final TenantRepository tenantRepository;
+
+    private final Map<Key, LongAdder[]> cells = new ConcurrentHashMap<>();
+
+    /**
+     * Rows of the scope in the given status; {@code null} for counters with a single cell.
+     */
+    public long count(Counter counter, long scopeId, Enum<?> status) {
+        return cells(counter, scopeId)[Counter.cell(status)].sum();
+    }
+
+    /**
+     * Rows of the scope in any status.
+     */
+    public long total(Counter counter, long scopeId) {
+        long total = 0;
+        for (LongAdder cell : cells(counter, scopeId)) {
+            total += cell.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Add {@code delta} rows to a status once the current transaction commits. Scopes that
+     * were never read are not loaded, so untouched tenants cost nothing. A {@code null}
+     * status is ignored unless the counter has a single cell, matching how rows are loaded.
+     */
+    public void add(Counter counter, long scopeId, Enum<?> status, long delta) {
+        if (!counter.counts(status)) {
+            return;
+        }
+        Key key = new Key(counter, scopeId);
+        int cell = Counter.cell(status);
+        TransactionCallbacks.afterCommit(() -> {
+            LongAdder[] loaded = cells.get(key);
+            if (loaded != null) {
+                loaded[cell].add(delta);
+            }
+        });
+    }
+
+    /**
+     * Move one row from one status to another once the current transaction commits.
+     */
+    public void moved(Counter counter, long scopeId, Enum<?> from, Enum<?> to) {
+        if (from != to) {
+            add(counter, scopeId, from, -1);
+            add(counter, scopeId, to, 1);
+        }
+    }
+
+    /**
+     * Forget a scope whose rows changed in a way that was not counted; it is recounted on
+     * the next read. Takes effect after the current transaction commits.
+     */
+    public void invalidate(Counter counter, long scopeId) {
+        Key key = new Key(counter, scopeId);
+        TransactionCallbacks.afterCommit(() -> cells.remove(key));
+    }
+
+    /**
+     * Recount every loaded scope and correct the cells that drifted.
+     * Writes committing while a scope is recounted may be off by their own delta until the
+     * next run.
+     */
+    @Scheduled(initialDelayString = "${booking.counters.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${booking.counters.reconcile-ms:300000}")
+    public void reconcile() {
+        int drifted = 0;
+        for (Map.Entry<Key, LongAdder[]> entry : cells.entrySet()) {
+            long[] counted = load(entry.getKey());
+            LongAdder[] current = entry.getValue();
+            for (int i = 0; i < current.length; i++) {
+                long drift = counted[i] - current[i].sum();
+                if (drift != 0) {
+                    current[i].add(drift);
+                    drifted++;
+                }
+            }
+        }
+        if (drifted > 0) {
+            log.warn("Corrected {} drifted status counter cells", drifted);
+        }
+    }
+
+    private LongAdder[] cells(Counter counter, long scopeId) {
+        // Loading inside computeIfAbsent makes commits for the same scope wait for the load,
+        // so a delta can never be applied to cells that are about to be replaced.
+        return cells.computeIfAbsent(new Key(counter, scopeId), key -> {
+            LongAdder[] loaded = newCells(counter);
+            long[] counted = load(key);
+            for (int i = 0; i < loaded.length; i++) {
+                loaded[i].add(counted[i]);
+            }
+            return loaded;
+        });
+    }
+
+    private long[] load(Key key) {
+        long[] counted = new long[key.counter().cells()];
+        List<StatusCountDto> rows = switch (key.counter()) {
+            case TABLE_RESERVATIONS -> tableReservationRepository.countByStatusForTenant(key.scopeId());
+            case RESTAURANT_TABLES -> restaurantTableRepository.countByStatusForTenant(key.scopeId());
+            case CUSTOMERS -> List.of(new StatusCountDto(null, customerRepository.countByTenantId(key.scopeId())));
+            case TENANT_STATUSES -> tenantRepository.countByStatus();
+            case TENANT_PLANS -> tenantRepository.countByPlan();
+        };
+        rows.stream()
+                .filter(row -> key.counter().counts(row.status()))
+                .forEach(row -> counted[Counter.cell(row.status())] += row.count());
+        return counted;
+    }
+
+    private static LongAdder[] newCells(Counter counter) {
+        LongAdder[] adders = new LongAdder[counter.cells()];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,158 @@
+package com.coworking.reservationsystem.service.expiry;
+
+import com.coworking.reservationsystem.model.entity.TableReservation;
+import com.coworking.reservationsystem.repository.TableReservationRepository;
+import com.coworking.reservationsystem.service.counter.StatusCounters;
+import com.coworking.reservationsystem.service.index.TableAvailabilityIndex;
+import com.coworking.reservationsystem.util.TimingWheel;
+import com.coworking.reservationsystem.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves table reservations whose guests never arrived to EXPIRED.
+ * <p>
+ * Every active reservation is due {@code booking.table.expiry-grace-minutes} after its
+ * estimated arrival. Deadlines sit on a {@link TimingWheel}, filled with one
+ * query at startup and kept current after every committed change; a scheduled sweep
+ * advances the wheel and expires what fell due in batched updates. A reservation that
+ * changed after it was scheduled keeps only its latest deadline, and the update itself
+ * re-checks status and arrival, so a stale entry never expires a live booking.
+ */
+@Component
+public class TableReservationExpiryScheduler {
+
+    static final int BATCH_SIZE = 500;
+
+    private final TableReservationRepository reservationRepository;
+    private final TableAvailabilityIndex tableIndex;
+    private final StatusCounters statusCounters;
+    private final Duration gracePeriod;
+
+    private final TimingWheel<Long> wheel;
+    private final Map<Long, Long> deadlines = new HashMap<>();
+
+    public TableReservationExpiryScheduler(TableReservationRepository reservationRepository,
+                                           TableAvailabilityIndex tableIndex,
+                                           StatusCounters statusCounters,
+                                           @Value("${booking.table.expiry-grace-minutes:15}") long graceMinutes,
+                                           @Value("${booking.table.expiry-tick-ms:10000}") long tickMillis) {
+        this.reservationRepository = reservationRepository;
+        this.tableIndex = tableIndex;
+        this.statusCounters = statusCounters;
+        this.gracePeriod = Duration.ofMinutes(graceMinutes);
+        this.wheel = new TimingWheel<>(tickMillis, 64, System.currentTimeMillis());
+    }
+
+    /**
+     * Schedule every active reservation from a single query.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<TableReservationRepository.TableReservationArrival> arrivals =
+                reservationRepository.findArrivalsByStatusIn(TableAvailabilityIndex.ACTIVE_STATUSES);
+        synchronized (this) {
+            arrivals.forEach(arrival -> schedule(arrival.getId(), arrival.getEstimatedArrivalTime()));
+        }
+    }
+
+    /**
+     * Reschedule a saved reservation once the current transaction commits; reservations
+     * that are no longer active are dropped.
+     */
+    public void onSaved(TableReservation reservation) {
+        Long reservationId = reservation.getId();
+        LocalDateTime arrival = reservation.getEstimatedArrivalTime();
+        boolean active = TableAvailabilityIndex.ACTIVE_STATUSES.contains(reservation.getStatus());
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                if (active) {
+                    schedule(reservationId, arrival);
+                } else {
+                    deadlines.remove(reservationId);
+                }
+            }
+        });
+    }
+
+    public void onDeleted(Long reservationId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                deadlines.remove(reservationId);
+            }
+        });
+    }
+
+    public synchronized int scheduledCount() {
+        return deadlines.size();
+    }
+
+    @Scheduled(fixedDelayString = "${booking.table.expiry-tick-ms:10000}")
+    public void expireDue() {
+        expireDue(System.currentTimeMillis());
+    }
+
+    /**
+     * Expire every reservation due by {@code nowMillis}, {@value #BATCH_SIZE} per update.
+     *
+     * @return the number of reservations moved to EXPIRED
+     */
+    public int expireDue(long nowMillis) {
+        List<Long> due = new ArrayList<>();
+        synchronized (this) {
+            for (Long reservationId : wheel.advance(nowMillis)) {
+                Long deadline = deadlines.get(reservationId);
+                // Entries left behind by a reschedule or a status change are skipped
+                if (deadline != null && deadline <= nowMillis) {
+                    deadlines.remove(reservationId);
+                    due.add(reservationId);
+                }
+            }
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = toLocalDateTime(nowMillis);
+        LocalDateTime arrivedBefore = now.minus(gracePeriod);
+        List<Long> expired = new ArrayList<>();
+        Set<Long> tenantIds = new HashSet<>();
+        for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+            List<Long> batch = due.subList(from, Math.min(from + BATCH_SIZE, due.size()));
+            if (reservationRepository.expireByIds(batch, TableAvailabilityIndex.ACTIVE_STATUSES, arrivedBefore, now) > 0) {
+                // Only what was actually expired leaves the table index
+                expired.addAll(reservationRepository.findExpiredIds(batch));
+                tenantIds.addAll(reservationRepository.findTenantIdsByIdIn(batch));
+            }
+        }
+        tableIndex.onExpired(expired);
+        // The update does not say which status each row left, so those tenants are recounted
+        tenantIds.forEach(tenantId -> statusCounters.invalidate(StatusCounters.Counter.TABLE_RESERVATIONS, tenantId));
+        return expired.size();
+    }
+
+    private void schedule(Long reservationId, LocalDateTime arrival) {
+        long deadline = arrival.plus(gracePeriod).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Long previous = deadlines.put(reservationId, deadline);
+        if (previous == null || previous != deadline) {
+            wheel.schedule(reservationId, deadline);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,27 @@
+package com.coworking.reservationsystem.service.export;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Wire formats of the reservation exports: one JSON object per line, or CSV with a header row.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
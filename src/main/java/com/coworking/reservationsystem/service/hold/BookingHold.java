@@ -0,0 +1,21 @@
+package com.coworking.reservationsystem.service.hold;
+
+import com.coworking.reservationsystem.service.lock.BookingResource;
+
+import java.time.LocalDateTime;
+
+/**
+ * A short-lived claim on a window of a space or table, taken while the customer checks out.
+ */
+public record BookingHold(
+        String id,
+        BookingResource resource,
+        Long resourceId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        long expiresAtMillis
+) {
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
@@ -0,0 +1,150 @@
+package com.coworking.reservationsystem.service.hold;
+
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.service.index.IntervalTree;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import com.coworking.reservationsystem.util.TimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-memory registry of the {@link BookingHold}s of this node.
+ * <p>
+ * Holds of each space or table sit in an {@link IntervalTree}, so conflict checks find
+ * them the same way as reservations. Expiry is tracked on a {@link TimingWheel} that a
+ * scheduled sweep advances; until the sweep reaches an expired hold, lookups already
+ * ignore it. Holds never touch the database and are lost on restart, which only means
+ * the customer has to hold the slot again.
+ */
+@Component
+public class BookingHoldRegistry {
+
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+
+    private final Map<String, Placed> holds = new HashMap<>();
+    private final Map<Long, BookingHold> holdsByKey = new HashMap<>();
+    private final Map<ResourceKey, IntervalTree> holdsByResource = new HashMap<>();
+    private final TimingWheel<String> expiries;
+    private long nextKey;
+
+    private record ResourceKey(BookingResource resource, Long resourceId) {
+    }
+
+    private record Placed(BookingHold hold, long key) {
+    }
+
+    public BookingHoldRegistry(@Value("${booking.hold.ttl-seconds:600}") long defaultTtlSeconds,
+                               @Value("${booking.hold.max-ttl-seconds:1800}") long maxTtlSeconds,
+                               @Value("${booking.hold.tick-ms:1000}") long tickMillis) {
+        this.defaultTtl = Duration.ofSeconds(defaultTtlSeconds);
+        this.maxTtl = Duration.ofSeconds(maxTtlSeconds);
+        // One rotation covers the longest hold, so holds never need a coarser level
+        int wheelSize = (int) Math.max(2, maxTtl.toMillis() / tickMillis + 1);
+        this.expiries = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * The requested hold duration, or the default one, capped at the configured maximum.
+     */
+    public Duration resolveTtl(Integer ttlSeconds) {
+        Duration ttl = ttlSeconds != null ? Duration.ofSeconds(ttlSeconds) : defaultTtl;
+        if (ttl.isNegative() || ttl.isZero() || ttl.compareTo(maxTtl) > 0) {
+            throw new ValidationException("Hold duration must be between 1 and " + maxTtl.toSeconds() + " seconds");
+        }
+        return ttl;
+    }
+
+    /**
+     * Register a hold on the window. Callers check for conflicts under the resource's booking lock first.
+     */
+    public synchronized BookingHold place(BookingResource resource, Long resourceId, LocalDateTime startTime, LocalDateTime endTime, Duration ttl) {
+        long now = System.currentTimeMillis();
+        BookingHold hold = new BookingHold(UUID.randomUUID().toString(), resource, resourceId, startTime, endTime, now + ttl.toMillis());
+        long key = nextKey++;
+        holds.put(hold.id(), new Placed(hold, key));
+        holdsByKey.put(key, hold);
+        holdsByResource.computeIfAbsent(new ResourceKey(resource, resourceId), k -> new IntervalTree()).put(key, startTime, endTime);
+        expiries.schedule(hold.id(), hold.expiresAtMillis());
+        return hold;
+    }
+
+    /**
+     * The hold, unless it was released or has expired.
+     */
+    public synchronized Optional<BookingHold> find(String holdId) {
+        Placed placed = holds.get(holdId);
+        if (placed == null || placed.hold().isExpired(System.currentTimeMillis())) {
+            return Optional.empty();
+        }
+        return Optional.of(placed.hold());
+    }
+
+    /**
+     * Check whether a live hold other than {@code excludeHoldId} overlaps the window.
+     */
+    public synchronized boolean overlaps(BookingResource resource, Long resourceId, LocalDateTime startTime, LocalDateTime endTime, String excludeHoldId) {
+        return !overlapping(resource, resourceId, startTime, endTime, excludeHoldId).isEmpty();
+    }
+
+    /**
+     * Live holds other than {@code excludeHoldId} overlapping the window, ordered by start time.
+     */
+    public synchronized List<BookingHold> overlapping(BookingResource resource, Long resourceId, LocalDateTime startTime, LocalDateTime endTime, String excludeHoldId) {
+        IntervalTree tree = holdsByResource.get(new ResourceKey(resource, resourceId));
+        if (tree == null) {
+            return List.of();
+        }
+        long now = System.currentTimeMillis();
+        return tree.overlapping(startTime, endTime).stream()
+                .map(interval -> holdsByKey.get(interval.id()))
+                .filter(hold -> !hold.isExpired(now) && !hold.id().equals(excludeHoldId))
+                .toList();
+    }
+
+    public synchronized boolean release(String holdId) {
+        Placed placed = holds.remove(holdId);
+        if (placed == null) {
+            return false;
+        }
+        holdsByKey.remove(placed.key());
+        ResourceKey resourceKey = new ResourceKey(placed.hold().resource(), placed.hold().resourceId());
+        IntervalTree tree = holdsByResource.get(resourceKey);
+        tree.remove(placed.key());
+        if (tree.size() == 0) {
+            holdsByResource.remove(resourceKey);
+        }
+        return true;
+    }
+
+    public synchronized int size() {
+        return holds.size();
+    }
+
+    @Scheduled(fixedDelayString = "${booking.hold.tick-ms:1000}")
+    public void sweepExpired() {
+        sweep(System.currentTimeMillis());
+    }
+
+    /**
+     * Drop every hold that expired by {@code nowMillis}; released holds still on the wheel are skipped.
+     */
+    public synchronized int sweep(long nowMillis) {
+        int dropped = 0;
+        for (String holdId : expiries.advance(nowMillis)) {
+            if (release(holdId)) {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+}
@@ -0,0 +1,246 @@
+package com.coworking.reservationsystem.service.idempotency;
+
+import com.coworking.reservationsystem.exception.ConflictException;
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.entity.IdempotencyRecord;
+import com.coworking.reservationsystem.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Answers a repeated create request carrying the same {@code Idempotency-Key} with the
+ * response of the first one, without running it again.
+ * <p>
+ * Successful responses are kept in a bounded LRU cache for {@code booking.idempotency.ttl-hours},
+ * backed by the {@code idempotency_records} table so a retry that reaches another node, or
+ * arrives after an eviction, is still answered. The records only outlive a restart where the
+ * schema is kept between runs (the docker profile's {@code ddl-auto=update}); the default
+ * {@code create-drop} schema drops them at shutdown. A retry that arrives while the
+ * original is still running waits for it. Reusing a key for a different request body is
+ * rejected. Failed responses are not kept, so a failed request can be retried with its key.
+ * The record is written once the booking has committed, so a crash in between lets a single
+ * retry through to the booking path.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final long waitMillis;
+
+    private final Map<CacheKey, StoredResponse> cache;
+    private final Map<CacheKey, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    private record CacheKey(String scope, String key) {
+    }
+
+    private record StoredResponse(String requestHash, int statusCode, String body, LocalDateTime expiresAt) {
+
+        private boolean isExpired(LocalDateTime now) {
+            return !expiresAt.isAfter(now);
+        }
+    }
+
+    public IdempotencyStore(IdempotencyRecordRepository recordRepository,
+                            ObjectMapper objectMapper,
+                            @Value("${booking.idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${booking.idempotency.cache-size:10000}") int cacheSize,
+                            @Value("${booking.idempotency.wait-ms:5000}") long waitMillis) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.waitMillis = waitMillis;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Run {@code action} unless a response for the key was already recorded, in which case
+     * that response is returned. Without a key the action simply runs.
+     *
+     * @param scope    the endpoint the key belongs to; the same key may be used on different endpoints
+     * @param request  the request body, compared with the one the key was first used with
+     * @param bodyType type the recorded response body is read back as
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Idempotency key cannot be longer than " + MAX_KEY_LENGTH + " characters");
+        }
+        CacheKey cacheKey = new CacheKey(scope, key);
+        String requestHash = hash(request);
+        long waitUntil = System.currentTimeMillis() + waitMillis;
+        while (true) {
+            Optional<StoredResponse> stored = lookup(cacheKey);
+            if (stored.isPresent()) {
+                return replay(stored.get(), requestHash, bodyType);
+            }
+            CompletableFuture<Void> claim = new CompletableFuture<>();
+            CompletableFuture<Void> running = inFlight.putIfAbsent(cacheKey, claim);
+            if (running == null) {
+                try {
+                    // The previous holder may have recorded its response just before releasing the key
+                    stored = lookup(cacheKey);
+                    if (stored.isPresent()) {
+                        return replay(stored.get(), requestHash, bodyType);
+                    }
+                    ResponseEntity<T> response = action.get();
+                    if (response.getStatusCode().is2xxSuccessful()) {
+                        remember(cacheKey, requestHash, response);
+                    }
+                    return response;
+                } finally {
+                    inFlight.remove(cacheKey, claim);
+                    claim.complete(null);
+                }
+            }
+            await(running, waitUntil);
+        }
+    }
+
+    /**
+     * Forget responses whose retention has ended, in memory and in the database.
+     */
+    @Scheduled(fixedDelayString = "${booking.idempotency.purge-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (cache) {
+            cache.values().removeIf(stored -> stored.isExpired(now));
+        }
+        recordRepository.deleteExpired(now);
+    }
+
+    public int cachedCount() {
+        return cache.size();
+    }
+
+    private Optional<StoredResponse> lookup(CacheKey cacheKey) {
+        LocalDateTime now = LocalDateTime.now();
+        StoredResponse cached = cache.get(cacheKey);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return Optional.of(cached);
+            }
+            cache.remove(cacheKey);
+        }
+        Optional<IdempotencyRecord> record = recordRepository.findByScopeAndIdempotencyKey(cacheKey.scope(), cacheKey.key());
+        if (record.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!record.get().getExpiresAt().isAfter(now)) {
+            // Make room for the key to be recorded again
+            recordRepository.delete(record.get());
+            return Optional.empty();
+        }
+        StoredResponse stored = new StoredResponse(record.get().getRequestHash(), record.get().getStatusCode(),
+                record.get().getResponseBody(), record.get().getExpiresAt());
+        cache.put(cacheKey, stored);
+        return Optional.of(stored);
+    }
+
+    private <T> void remember(CacheKey cacheKey, String requestHash, ResponseEntity<T> response) {
+        StoredResponse stored = new StoredResponse(requestHash, response.getStatusCode().value(),
+                toJson(response.getBody()), LocalDateTime.now().plus(ttl));
+        cache.put(cacheKey, stored);
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setScope(cacheKey.scope());
+        record.setIdempotencyKey(cacheKey.key());
+        record.setRequestHash(stored.requestHash());
+        record.setStatusCode(stored.statusCode());
+        record.setResponseBody(stored.body());
+        record.setExpiresAt(stored.expiresAt());
+        try {
+            recordRepository.save(record);
+        } catch (DataIntegrityViolationException e) {
+            // Another node recorded the key first: its response wins here too, so that every
+            // node replays the same body
+            cache.remove(cacheKey);
+        } catch (DataAccessException e) {
+            // The booking is done either way; only retries reaching another node lose the replay
+            log.warn("Could not record idempotency key {} for {}: {}", cacheKey.key(), cacheKey.scope(), e.getMessage());
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String requestHash, Class<T> bodyType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new ValidationException("Idempotency key was already used for a different request");
+        }
+        try {
+            T body = stored.body() != null ? objectMapper.readValue(stored.body(), bodyType) : null;
+            return ResponseEntity.status(stored.statusCode()).header(REPLAYED_HEADER, "true").body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Recorded response cannot be read back as " + bodyType.getSimpleName(), e);
+        }
+    }
+
+    private void await(CompletableFuture<Void> running, long waitUntil) {
+        long remaining = waitUntil - System.currentTimeMillis();
+        try {
+            if (remaining <= 0) {
+                throw new TimeoutException();
+            }
+            running.get(remaining, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ConflictException("A request with this idempotency key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("A request with this idempotency key is still being processed");
+        } catch (ExecutionException e) {
+            // Never completed exceptionally
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Request cannot be fingerprinted", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return body != null ? objectMapper.writeValueAsString(body) : null;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response cannot be recorded", e);
+        }
+    }
+}
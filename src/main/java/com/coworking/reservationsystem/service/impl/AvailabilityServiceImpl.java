@@ -1,15 +1,24 @@
 package com.coworking.reservationsystem.service.impl;
 
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
+import com.coworking.reservationsystem.exception.ValidationException;
 import com.coworking.reservationsystem.model.dto.AvailabilityDto;
+import com.coworking.reservationsystem.model.dto.FreeSlotDto;
 import com.coworking.reservationsystem.model.entity.Availability;
 import com.coworking.reservationsystem.model.entity.Space;
 import com.coworking.reservationsystem.repository.AvailabilityRepository;
 import com.coworking.reservationsystem.repository.SpaceRepository;
 import com.coworking.reservationsystem.service.AvailabilityService;
+import com.coworking.reservationsystem.service.index.IntervalTree;
+import com.coworking.reservationsystem.service.index.SpaceAvailabilityIndex;
+import com.coworking.reservationsystem.service.index.SpaceReservationIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,14 +28,18 @@ public class AvailabilityServiceImpl implements AvailabilityService {
 
     private final AvailabilityRepository availabilityRepository;
     private final SpaceRepository spaceRepository;
+    private final SpaceAvailabilityIndex availabilityIndex;
+    private final SpaceReservationIndex reservationIndex;
 
     @Override
+    @Transactional
     public AvailabilityDto createAvailability(AvailabilityDto availabilityDto) {
         Space space = spaceRepository.findById(availabilityDto.spaceId())
                 .orElseThrow(() -> new ResourceNotFoundException("Space not found with id: " + availabilityDto.spaceId()));
         
         Availability availability = AvailabilityDto.Mapper.toEntity(availabilityDto, space);
         Availability savedAvailability = availabilityRepository.save(availability);
+        availabilityIndex.onChanged(space.getId());
         return AvailabilityDto.Mapper.toDto(savedAvailability);
     }
 
@@ -52,6 +65,7 @@ public class AvailabilityServiceImpl implements AvailabilityService {
     }
 
     @Override
+    @Transactional
     public AvailabilityDto updateAvailability(Long id, AvailabilityDto availabilityDto) {
         Availability availability = availabilityRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Availability not found with id: " + id));
@@ -59,19 +73,95 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         Space space = spaceRepository.findById(availabilityDto.spaceId())
                 .orElseThrow(() -> new ResourceNotFoundException("Space not found with id: " + availabilityDto.spaceId()));
 
+        Long previousSpaceId = availability.getSpace().getId();
         availability.setSpace(space);
         availability.setStartTime(availabilityDto.startTime());
         availability.setEndTime(availabilityDto.endTime());
 
         Availability updatedAvailability = availabilityRepository.save(availability);
+        // Both evictions wait for the commit, so no reader can cache the old windows again
+        availabilityIndex.onChanged(previousSpaceId);
+        availabilityIndex.onChanged(space.getId());
         return AvailabilityDto.Mapper.toDto(updatedAvailability);
     }
 
     @Override
+    @Transactional
     public void deleteAvailability(Long id) {
-        if (!availabilityRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Availability not found with id: " + id);
-        }
+        Availability availability = availabilityRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Availability not found with id: " + id));
         availabilityRepository.deleteById(id);
+        availabilityIndex.onChanged(availability.getSpace().getId());
+    }
+
+    @Override
+    public boolean isSpaceAvailable(Long spaceId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (!endTime.isAfter(startTime)) {
+            throw new ValidationException("End time must be after start time");
+        }
+        return availabilityIndex.isOpen(spaceId, startTime, endTime)
+                && !reservationIndex.hasOverlap(spaceId, startTime, endTime, null);
+    }
+
+    /**
+     * Gaps of the space inside [from, to] that are open and not reserved, in one merge pass:
+     * both the availability windows and the reservations arrive sorted by start time, and
+     * the reservation cursor only moves forward.
+     */
+    @Override
+    public List<FreeSlotDto> getFreeSlots(Long spaceId, LocalDateTime from, LocalDateTime to, Duration minDuration) {
+        if (!to.isAfter(from)) {
+            throw new ValidationException("End time must be after start time");
+        }
+        if (minDuration.isNegative()) {
+            throw new ValidationException("Minimum duration cannot be negative");
+        }
+        if (!spaceRepository.existsById(spaceId)) {
+            throw new ResourceNotFoundException("Space not found with id: " + spaceId);
+        }
+        List<Availability> windows = availabilityRepository
+                .findBySpaceIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTime(spaceId, to, from);
+        List<IntervalTree.Interval> booked = reservationIndex.findOverlapping(spaceId, from, to);
+
+        List<FreeSlotDto> slots = new ArrayList<>();
+        int next = 0;
+        int window = 0;
+        while (window < windows.size()) {
+            // Overlapping or touching availability windows form one open stretch
+            LocalDateTime openStart = max(windows.get(window).getStartTime(), from);
+            LocalDateTime openEnd = windows.get(window).getEndTime();
+            for (window++; window < windows.size() && !windows.get(window).getStartTime().isAfter(openEnd); window++) {
+                openEnd = max(openEnd, windows.get(window).getEndTime());
+            }
+            openEnd = openEnd.isAfter(to) ? to : openEnd;
+
+            LocalDateTime cursor = openStart;
+            while (next < booked.size() && booked.get(next).start().isBefore(openEnd)) {
+                IntervalTree.Interval reservation = booked.get(next);
+                if (reservation.start().isAfter(cursor)) {
+                    addSlot(slots, spaceId, cursor, reservation.start(), minDuration);
+                }
+                cursor = max(cursor, reservation.end());
+                if (reservation.end().isAfter(openEnd)) {
+                    // Still blocks the start of the next open stretch
+                    break;
+                }
+                next++;
+            }
+            if (cursor.isBefore(openEnd)) {
+                addSlot(slots, spaceId, cursor, openEnd, minDuration);
+            }
+        }
+        return slots;
+    }
+
+    private static void addSlot(List<FreeSlotDto> slots, Long spaceId, LocalDateTime start, LocalDateTime end, Duration minDuration) {
+        if (Duration.between(start, end).compareTo(minDuration) >= 0) {
+            slots.add(FreeSlotDto.of(spaceId, start, end));
+        }
+    }
+
+    private static LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
     }
-} 
\ No newline at end of file
+}
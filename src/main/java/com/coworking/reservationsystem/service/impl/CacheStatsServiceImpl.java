@@ -0,0 +1,50 @@
+package com.coworking.reservationsystem.service.impl;
+
+import com.coworking.reservationsystem.config.ReferenceCacheConfig;
+import com.coworking.reservationsystem.model.dto.CacheRegionStatsDto;
+import com.coworking.reservationsystem.service.CacheStatsService;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatsServiceImpl implements CacheStatsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager referenceCacheManager;
+
+    @Override
+    public List<CacheRegionStatsDto> getRegionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return ReferenceCacheConfig.REGIONS.stream()
+                .map(region -> toDto(region, statistics.getCacheRegionStatistics(region)))
+                .toList();
+    }
+
+    private CacheRegionStatsDto toDto(String region, CacheRegionStatistics statistics) {
+        // A region Hibernate has not touched yet has no statistics
+        long hits = statistics != null ? statistics.getHitCount() : 0;
+        long misses = statistics != null ? statistics.getMissCount() : 0;
+        long puts = statistics != null ? statistics.getPutCount() : 0;
+        Cache<Object, Object> cache = referenceCacheManager.getCache(region, Object.class, Object.class);
+        // A class literal cannot carry type arguments; the regions are all created as <Object, Object>
+        @SuppressWarnings("unchecked")
+        CaffeineConfiguration<Object, Object> configuration = cache.getConfiguration(CaffeineConfiguration.class);
+        OptionalLong ttl = configuration.getExpireAfterWrite();
+        return new CacheRegionStatsDto(region, hits, misses, puts,
+                hits + misses == 0 ? 0 : (double) hits / (hits + misses),
+                configuration.getMaximumSize().orElse(-1),
+                ttl.isPresent() ? TimeUnit.NANOSECONDS.toSeconds(ttl.getAsLong()) : -1);
+    }
+}
@@ -2,17 +2,26 @@ package com.coworking.reservationsystem.service.impl;
 
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
 import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
 import com.coworking.reservationsystem.model.dto.CustomerDto;
 import com.coworking.reservationsystem.model.entity.Customer;
 import com.coworking.reservationsystem.model.entity.Tenant;
 import com.coworking.reservationsystem.repository.CustomerRepository;
 import com.coworking.reservationsystem.repository.TenantRepository;
 import com.coworking.reservationsystem.service.CustomerService;
+import com.coworking.reservationsystem.service.counter.StatusCounters;
+import com.coworking.reservationsystem.service.index.CustomerNameIndex;
+import com.coworking.reservationsystem.service.index.CustomerPhoneIndex;
+import com.coworking.reservationsystem.util.KeysetCursor;
+import com.coworking.reservationsystem.util.PhoneNumbers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +33,15 @@ public class CustomerServiceImpl implements CustomerService {
     
     @Autowired
     private TenantRepository tenantRepository;
+
+    @Autowired
+    private CustomerNameIndex customerNameIndex;
+
+    @Autowired
+    private CustomerPhoneIndex customerPhoneIndex;
+
+    @Autowired
+    private StatusCounters statusCounters;
     
     @Override
     public CustomerDto createCustomer(CustomerDto customerDto) {
@@ -31,8 +49,9 @@ public class CustomerServiceImpl implements CustomerService {
         Tenant tenant = tenantRepository.findById(customerDto.getTenantId())
                 .orElseThrow(() -> new ResourceNotFoundException("Tenant not found with id: " + customerDto.getTenantId()));
         
-        // Check if customer with same phone already exists for this tenant
-        if (customerRepository.existsByPhoneAndTenantId(customerDto.getPhone(), customerDto.getTenantId())) {
+        // Check if customer with same phone already exists for this tenant, however it was formatted
+        if (customerRepository.existsByPhoneNormalizedAndTenantId(
+                PhoneNumbers.normalize(customerDto.getPhone()), customerDto.getTenantId())) {
             throw new ValidationException("Customer with phone " + customerDto.getPhone() + " already exists for this tenant");
         }
         
@@ -48,27 +67,38 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setPhone(customerDto.getPhone());
         customer.setEmail(customerDto.getEmail());
         customer.setNotes(customerDto.getNotes());
+        if (customerDto.getTier() != null) {
+            customer.setTier(customerDto.getTier());
+        }
         customer.setTenant(tenant);
         
         Customer savedCustomer = customerRepository.save(customer);
+        customerNameIndex.onSaved(savedCustomer);
+        customerPhoneIndex.onSaved(savedCustomer);
         return convertToDto(savedCustomer);
     }
     
     @Override
     @Transactional(readOnly = true)
     public CustomerDto getCustomerById(Long id) {
-        Customer customer = customerRepository.findById(id)
+        return customerRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
-        return convertToDto(customer);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<CustomerDto> getAllCustomersByTenant(Long tenantId) {
-        List<Customer> customers = customerRepository.findByTenantIdOrderByCreatedAtDesc(tenantId);
-        return customers.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return customerRepository.findDtosByTenantId(tenantId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<CustomerDto> getAllCustomersByTenant(Long tenantId, String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.size(size);
+        List<CustomerDto> customers = customerRepository.findDtoPageByTenantIdAfter(
+                tenantId, after.createdAt(), after.id(), KeysetCursor.window(pageSize));
+        return KeysetCursor.page(customers, pageSize, CustomerDto::getCreatedAt, CustomerDto::getId, Function.identity());
     }
     
     @Override
@@ -81,8 +111,10 @@ public class CustomerServiceImpl implements CustomerService {
                 .orElseThrow(() -> new ResourceNotFoundException("Tenant not found with id: " + customerDto.getTenantId()));
         
         // Check if phone is being changed and if it conflicts with existing customer
-        if (!customer.getPhone().equals(customerDto.getPhone()) &&
-            customerRepository.existsByPhoneAndTenantId(customerDto.getPhone(), customerDto.getTenantId())) {
+        String phoneNormalized = PhoneNumbers.normalize(customerDto.getPhone());
+        if ((!Objects.equals(phoneNormalized, customer.getPhoneNormalized()) ||
+             !customer.getTenant().getId().equals(customerDto.getTenantId())) &&
+            customerRepository.existsByPhoneNormalizedAndTenantId(phoneNormalized, customerDto.getTenantId())) {
             throw new ValidationException("Customer with phone " + customerDto.getPhone() + " already exists for this tenant");
         }
         
@@ -98,9 +130,14 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setPhone(customerDto.getPhone());
         customer.setEmail(customerDto.getEmail());
         customer.setNotes(customerDto.getNotes());
+        if (customerDto.getTier() != null) {
+            customer.setTier(customerDto.getTier());
+        }
         customer.setTenant(tenant);
         
         Customer updatedCustomer = customerRepository.save(customer);
+        customerNameIndex.onSaved(updatedCustomer);
+        customerPhoneIndex.onSaved(updatedCustomer);
         return convertToDto(updatedCustomer);
     }
     
@@ -110,46 +147,44 @@ public class CustomerServiceImpl implements CustomerService {
             throw new ResourceNotFoundException("Customer not found with id: " + id);
         }
         customerRepository.deleteById(id);
+        customerNameIndex.onDeleted(id);
+        customerPhoneIndex.onDeleted(id);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<CustomerDto> searchCustomersByName(Long tenantId, String searchTerm) {
-        List<Customer> customers = customerRepository.findByTenantIdAndNameContainingIgnoreCase(tenantId, searchTerm);
-        return customers.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        // The index ranks the matches; only the returned page of customers is read from the database
+        return findIndexed(tenantId, customerNameIndex.search(tenantId, searchTerm));
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<CustomerDto> searchCustomersByPhone(Long tenantId, String searchTerm) {
-        List<Customer> customers = customerRepository.findByTenantIdAndPhoneContaining(tenantId, searchTerm);
-        return customers.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        // Numbers starting with the term, however it is formatted, in number order
+        return findIndexed(tenantId, customerPhoneIndex.search(tenantId, searchTerm));
     }
     
     @Override
     @Transactional(readOnly = true)
     public CustomerDto findByPhone(Long tenantId, String phone) {
-        Customer customer = customerRepository.findByPhoneAndTenantId(phone, tenantId)
+        return customerPhoneIndex.find(tenantId, phone)
+                .flatMap(customerRepository::findDtoById)
+                .filter(customer -> tenantId.equals(customer.getTenantId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with phone: " + phone));
-        return convertToDto(customer);
     }
     
     @Override
     @Transactional(readOnly = true)
     public CustomerDto findByEmail(Long tenantId, String email) {
-        Customer customer = customerRepository.findByEmailAndTenantId(email, tenantId)
+        return customerRepository.findDtoByEmailAndTenantId(email, tenantId)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with email: " + email));
-        return convertToDto(customer);
     }
     
     @Override
     @Transactional(readOnly = true)
     public boolean existsByPhone(Long tenantId, String phone) {
-        return customerRepository.existsByPhoneAndTenantId(phone, tenantId);
+        return customerPhoneIndex.find(tenantId, phone).isPresent();
     }
     
     @Override
@@ -161,7 +196,17 @@ public class CustomerServiceImpl implements CustomerService {
     @Override
     @Transactional(readOnly = true)
     public long getCustomerCountByTenant(Long tenantId) {
-        return customerRepository.countByTenantId(tenantId);
+        return statusCounters.total(StatusCounters.Counter.CUSTOMERS, tenantId);
+    }
+    
+    private List<CustomerDto> findIndexed(Long tenantId, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CustomerDto> customers = customerRepository.findDtosByIdIn(ids).stream()
+                .filter(customer -> tenantId.equals(customer.getTenantId()))
+                .collect(Collectors.toMap(CustomerDto::getId, Function.identity()));
+        return ids.stream().map(customers::get).filter(Objects::nonNull).toList();
     }
     
     private CustomerDto convertToDto(Customer customer) {
@@ -172,6 +217,7 @@ public class CustomerServiceImpl implements CustomerService {
         dto.setPhone(customer.getPhone());
         dto.setEmail(customer.getEmail());
         dto.setNotes(customer.getNotes());
+        dto.setTier(customer.getTier());
         dto.setTenantId(customer.getTenant().getId());
         dto.setCreatedAt(customer.getCreatedAt());
         dto.setUpdatedAt(customer.getUpdatedAt());
@@ -0,0 +1,178 @@
+package com.coworking.reservationsystem.service.impl;
+
+import com.coworking.reservationsystem.exception.ResourceNotFoundException;
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.RecurrenceDto;
+import com.coworking.reservationsystem.model.dto.ReservationDto;
+import com.coworking.reservationsystem.model.dto.TableReservationDto;
+import com.coworking.reservationsystem.model.entity.Reservation;
+import com.coworking.reservationsystem.model.entity.TableReservation;
+import com.coworking.reservationsystem.repository.ReservationRepository;
+import com.coworking.reservationsystem.repository.TableReservationRepository;
+import com.coworking.reservationsystem.repository.TenantRepository;
+import com.coworking.reservationsystem.service.ReservationExportService;
+import com.coworking.reservationsystem.service.export.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ReservationExportServiceImpl implements ReservationExportService {
+
+    private static final List<String> RESERVATION_COLUMNS = List.of(
+            "id", "spaceId", "customerId", "createdByUserId", "startTime", "endTime",
+            "totalPrice", "status", "notes", "recurrence", "tenantId", "createdAt", "updatedAt");
+    private static final List<String> TABLE_RESERVATION_COLUMNS = List.of(
+            "id", "tableId", "customerId", "numberOfPeople", "requestedTime", "estimatedArrivalTime",
+            "status", "specialRequests", "tenantId", "createdAt", "updatedAt");
+
+    private final ReservationRepository reservationRepository;
+    private final TableReservationRepository tableReservationRepository;
+    private final TenantRepository tenantRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public StreamingResponseBody exportReservations(Long tenantId, LocalDateTime startDate, LocalDateTime endDate,
+                                                    ExportFormat format) {
+        validate(tenantId, startDate, endDate);
+        return out -> write(out, format, ReservationDto.class, RESERVATION_COLUMNS,
+                () -> reservationRepository.streamByDateRangeAndTenantId(startDate, endDate, tenantId),
+                reservation -> reservation.occurrenceStarts(startDate, endDate).stream()
+                        .map(start -> ReservationDto.Mapper.toOccurrenceDto(reservation, start)),
+                dto -> Arrays.asList(dto.id(), dto.spaceId(), dto.customerId(), dto.createdByUserId(),
+                        dto.startTime(), dto.endTime(), dto.totalPrice(), dto.status(), dto.notes(),
+                        rrule(dto.recurrence()), dto.tenantId(), dto.createdAt(), dto.updatedAt()));
+    }
+
+    @Override
+    public StreamingResponseBody exportTableReservations(Long tenantId, LocalDateTime startDate, LocalDateTime endDate,
+                                                         ExportFormat format) {
+        validate(tenantId, startDate, endDate);
+        return out -> write(out, format, TableReservationDto.class, TABLE_RESERVATION_COLUMNS,
+                () -> tableReservationRepository.streamByDateRangeAndTenantId(startDate, endDate, tenantId),
+                reservation -> Stream.of(TableReservationDto.Mapper.toDto(reservation)),
+                dto -> Arrays.asList(dto.id(), dto.tableId(), dto.customerId(), dto.numberOfPeople(),
+                        dto.requestedTime(), dto.estimatedArrivalTime(), dto.status(), dto.specialRequests(),
+                        dto.tenantId(), dto.createdAt(), dto.updatedAt()));
+    }
+
+    private void validate(Long tenantId, LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new ValidationException("Start date must not be after end date");
+        }
+        if (!tenantRepository.existsById(tenantId)) {
+            throw new ResourceNotFoundException("Tenant not found with id: " + tenantId);
+        }
+    }
+
+    /**
+     * Write rows one at a time as they come off the cursor, each entity as the records it maps
+     * to (a series as its occurrences in the range). The body is written after the controller
+     * returns, so the transaction holding the cursor open is started here, and each entity is
+     * detached once mapped so the persistence context does not grow with the range.
+     */
+    private <E, D> void write(OutputStream out, ExportFormat format, Class<D> type, List<String> columns,
+                              Supplier<Stream<E>> rows, Function<E, Stream<D>> toDtos,
+                              Function<D, List<Object>> csvRow)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter json = objectMapper.writerFor(type);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            transaction.executeWithoutResult(status -> {
+                try (Stream<E> stream = rows.get()) {
+                    if (format == ExportFormat.CSV) {
+                        writeCsvLine(writer, columns);
+                    }
+                    Iterator<E> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        E row = iterator.next();
+                        List<D> dtos = toDtos.apply(row).toList();
+                        entityManager.detach(row);
+                        for (D dto : dtos) {
+                            if (format == ExportFormat.CSV) {
+                                writeCsvLine(writer, csvRow.apply(dto));
+                            } else {
+                                writer.write(json.writeValueAsString(dto));
+                                writer.write('\n');
+                            }
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writer.write(csvField(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // The series' rule in RFC 5545 RRULE form, empty for single reservations
+    private static String rrule(RecurrenceDto recurrence) {
+        if (recurrence == null) {
+            return null;
+        }
+        StringBuilder rule = new StringBuilder("FREQ=").append(recurrence.frequency())
+                .append(";INTERVAL=").append(recurrence.interval());
+        if (recurrence.daysOfWeek() != null && !recurrence.daysOfWeek().isEmpty()) {
+            rule.append(";BYDAY=").append(recurrence.daysOfWeek().stream().sorted()
+                    .map(day -> day.name().substring(0, 2))
+                    .collect(Collectors.joining(",")));
+        }
+        if (recurrence.count() != null) {
+            rule.append(";COUNT=").append(recurrence.count());
+        }
+        if (recurrence.until() != null) {
+            rule.append(";UNTIL=").append(recurrence.until().format(DateTimeFormatter.BASIC_ISO_DATE));
+        }
+        return rule.toString();
+    }
+
+    // RFC 4180: quote fields holding separators, quotes or line breaks, doubling inner quotes
+    private String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
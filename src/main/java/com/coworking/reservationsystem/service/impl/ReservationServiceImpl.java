@@ -1,27 +1,60 @@
 package com.coworking.reservationsystem.service.impl;
 
+import com.coworking.reservationsystem.exception.ConflictException;
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
 import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.BatchReservationResultDto;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
+import com.coworking.reservationsystem.model.dto.HoldDto;
+import com.coworking.reservationsystem.model.dto.HoldRequestDto;
+import com.coworking.reservationsystem.model.dto.RecurrenceDto;
 import com.coworking.reservationsystem.model.dto.ReservationDto;
+import com.coworking.reservationsystem.model.dto.SearchHitDto;
 import com.coworking.reservationsystem.model.dto.Status;
 import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.model.entity.Recurrence;
 import com.coworking.reservationsystem.model.entity.Reservation;
 import com.coworking.reservationsystem.model.entity.Space;
 import com.coworking.reservationsystem.model.entity.User;
+import com.coworking.reservationsystem.model.entity.WaitlistEntry;
 import com.coworking.reservationsystem.repository.CustomerRepository;
+import com.coworking.reservationsystem.repository.ReservationBatchRepository;
 import com.coworking.reservationsystem.repository.ReservationRepository;
 import com.coworking.reservationsystem.repository.SpaceRepository;
 import com.coworking.reservationsystem.repository.UserRepository;
+import com.coworking.reservationsystem.repository.WaitlistEntryRepository;
 import com.coworking.reservationsystem.service.ReservationService;
+import com.coworking.reservationsystem.service.hold.BookingHold;
+import com.coworking.reservationsystem.service.hold.BookingHoldRegistry;
+import com.coworking.reservationsystem.service.index.IntervalTree;
+import com.coworking.reservationsystem.service.index.SpaceReservationIndex;
+import com.coworking.reservationsystem.service.lock.BookingLockManager;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import com.coworking.reservationsystem.service.search.TextSearchIndex;
+import com.coworking.reservationsystem.service.tenant.TenantContext;
+import com.coworking.reservationsystem.service.waitlist.WaitlistQueues;
+import com.coworking.reservationsystem.util.KeysetCursor;
+import com.coworking.reservationsystem.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -31,83 +64,252 @@ public class ReservationServiceImpl implements ReservationService {
     private final UserRepository userRepository;
     private final CustomerRepository customerRepository;
     private final SpaceRepository spaceRepository;
+    private final SpaceReservationIndex reservationIndex;
+    private final BookingLockManager bookingLockManager;
+    private final ReservationBatchRepository reservationBatchRepository;
+    private final BookingHoldRegistry holdRegistry;
+    private final WaitlistQueues waitlistQueues;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final TextSearchIndex textSearchIndex;
+
+    static final int MAX_BATCH_SIZE = 1000;
+    private static final String HELD_MESSAGE = "This slot is held by another customer who is checking out";
 
     @Override
     @Transactional
     public ReservationDto createReservation(ReservationDto reservationDto) {
-        // First check if resources exist
+        return create(reservationDto, null);
+    }
+
+    @Override
+    @Transactional
+    public HoldDto holdSpace(HoldRequestDto request) {
+        Space space = spaceRepository.findById(request.resourceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Space not found"));
+        validateReservationDates(request.startTime(), request.endTime());
+        Duration ttl = holdRegistry.resolveTtl(request.ttlSeconds());
+
+        bookingLockManager.lock(BookingResource.SPACE, space.getId());
+        Reservation window = new Reservation();
+        window.setStartTime(request.startTime());
+        window.setEndTime(request.endTime());
+        checkForOverlappingReservations(space.getId(), window, null, null);
+        return HoldDto.Mapper.toDto(holdRegistry.place(BookingResource.SPACE, space.getId(), request.startTime(), request.endTime(), ttl));
+    }
+
+    @Override
+    @Transactional
+    public ReservationDto createReservationFromHold(String holdId, ReservationDto reservationDto) {
+        BookingHold hold = holdRegistry.find(holdId)
+                .filter(found -> found.resource() == BookingResource.SPACE)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold not found or expired"));
+        if (reservationDto.customerId() == null || reservationDto.createdByUserId() == null) {
+            throw new ValidationException("Customer and created by user IDs are mandatory");
+        }
+        if (reservationDto.totalPrice() == null || reservationDto.totalPrice() <= 0) {
+            throw new ValidationException("Total price must be positive");
+        }
+        if (reservationDto.recurrence() != null) {
+            throw new ValidationException("Held reservations cannot be recurring");
+        }
+        // The hold decides what is booked; the request only brings the booking details
+        ReservationDto held = new ReservationDto(null, hold.resourceId(), reservationDto.customerId(), reservationDto.createdByUserId(),
+                hold.startTime(), hold.endTime(), reservationDto.totalPrice(), reservationDto.status(), reservationDto.notes(),
+                null, null, reservationDto.tenantId());
+        ReservationDto created = create(held, holdId);
+        TransactionCallbacks.afterCommit(() -> holdRegistry.release(holdId));
+        return created;
+    }
+
+    @Override
+    public void releaseSpaceHold(String holdId) {
+        holdRegistry.find(holdId)
+                .filter(found -> found.resource() == BookingResource.SPACE)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold not found or expired"));
+        holdRegistry.release(holdId);
+    }
+
+    private ReservationDto create(ReservationDto reservationDto, String holdId) {
+        // First check if resources exist, within the tenant resolved for the request if any
         Customer customer = customerRepository.findById(reservationDto.customerId())
+                .filter(found -> TenantContext.admits(found.getTenant().getId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
         User createdByUser = userRepository.findById(reservationDto.createdByUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         Space space = spaceRepository.findById(reservationDto.spaceId())
+                .filter(found -> TenantContext.admits(found.getTenant().getId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Space not found"));
 
-        // Then validate dates and check for overlaps
+        // Then validate dates and check for overlaps while holding the space's booking lock
         validateReservationDates(reservationDto);
-        checkForOverlappingReservations(reservationDto);
-
         Reservation reservation = ReservationDto.Mapper.toEntity(reservationDto);
+        applySeriesEnd(reservation);
+        bookingLockManager.lock(BookingResource.SPACE, space.getId());
+        checkForOverlappingReservations(space.getId(), reservation, null, holdId);
+
         reservation.setCustomer(customer);
         reservation.setCreatedByUser(createdByUser);
         reservation.setSpace(space);
         reservation.setTenant(customer.getTenant());
         reservation.setStatus(Status.PENDING);
 
-        return ReservationDto.Mapper.toDto(reservationRepository.save(reservation));
+        Reservation savedReservation = reservationRepository.save(reservation);
+        reservationIndex.onSaved(savedReservation);
+        return ReservationDto.Mapper.toDto(savedReservation);
+    }
+
+    @Override
+    @Transactional
+    public List<BatchReservationResultDto> createReservations(List<ReservationDto> reservationDtos) {
+        if (reservationDtos.isEmpty()) {
+            throw new ValidationException("Batch must contain at least one reservation");
+        }
+        if (reservationDtos.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Batch cannot contain more than " + MAX_BATCH_SIZE + " reservations");
+        }
+
+        // One query per referenced entity type instead of three lookups per item
+        Map<Long, Customer> customers = customerRepository.findAllById(distinctIds(reservationDtos, ReservationDto::customerId)).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Map<Long, User> users = userRepository.findAllById(distinctIds(reservationDtos, ReservationDto::createdByUserId)).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Space> spaces = spaceRepository.findAllById(distinctIds(reservationDtos, ReservationDto::spaceId)).stream()
+                .collect(Collectors.toMap(Space::getId, Function.identity()));
+
+        BatchReservationResultDto[] results = new BatchReservationResultDto[reservationDtos.size()];
+        Map<Long, List<Integer>> itemsBySpace = new TreeMap<>();
+        for (int index = 0; index < reservationDtos.size(); index++) {
+            ReservationDto reservationDto = reservationDtos.get(index);
+            try {
+                validateBatchItem(reservationDto, customers, users, spaces);
+                itemsBySpace.computeIfAbsent(reservationDto.spaceId(), spaceId -> new ArrayList<>()).add(index);
+            } catch (ValidationException | ResourceNotFoundException e) {
+                results[index] = BatchReservationResultDto.invalid(index, e.getMessage());
+            }
+        }
+
+        bookingLockManager.lockAll(BookingResource.SPACE, itemsBySpace.keySet());
+
+        // Items are accepted in request order: each one is checked against the stored bookings
+        // of its space (one range query per space) and the items accepted before it.
+        List<Reservation> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (Map.Entry<Long, List<Integer>> entry : itemsBySpace.entrySet()) {
+            List<ReservationDto> items = entry.getValue().stream().map(reservationDtos::get).toList();
+            LocalDateTime from = items.stream().map(ReservationDto::startTime).min(Comparator.naturalOrder()).orElseThrow();
+            LocalDateTime to = items.stream().map(ReservationDto::endTime).max(Comparator.naturalOrder()).orElseThrow();
+            IntervalTree timeline = new IntervalTree();
+            reservationRepository.findWindowsInRange(entry.getKey(), SpaceReservationIndex.ACTIVE_STATUSES, from, to)
+                    .forEach(window -> timeline.put(window.getId(), window.getStartTime(), window.getEndTime()));
+            List<Reservation> series = reservationRepository.findSeriesInRange(entry.getKey(), SpaceReservationIndex.ACTIVE_STATUSES, from, to);
+
+            for (int index : entry.getValue()) {
+                ReservationDto reservationDto = reservationDtos.get(index);
+                if (timeline.overlaps(reservationDto.startTime(), reservationDto.endTime(), null)
+                        || series.stream().anyMatch(stored -> !stored.occurrenceStarts(reservationDto.startTime(), reservationDto.endTime()).isEmpty())) {
+                    results[index] = BatchReservationResultDto.conflict(index, "There are overlapping reservations for this space");
+                    continue;
+                }
+                if (holdRegistry.overlaps(BookingResource.SPACE, entry.getKey(), reservationDto.startTime(), reservationDto.endTime(), null)) {
+                    results[index] = BatchReservationResultDto.conflict(index, HELD_MESSAGE);
+                    continue;
+                }
+                // Batch items get negative keys so they never collide with stored reservation ids
+                timeline.put(-1L - index, reservationDto.startTime(), reservationDto.endTime());
+
+                Customer customer = customers.get(reservationDto.customerId());
+                Reservation reservation = ReservationDto.Mapper.toEntity(reservationDto);
+                reservation.setCustomer(customer);
+                reservation.setCreatedByUser(users.get(reservationDto.createdByUserId()));
+                reservation.setSpace(spaces.get(reservationDto.spaceId()));
+                reservation.setTenant(customer.getTenant());
+                reservation.setStatus(Status.PENDING);
+                accepted.add(reservation);
+                acceptedIndexes.add(index);
+            }
+        }
+
+        reservationBatchRepository.insertAll(accepted);
+        for (int i = 0; i < accepted.size(); i++) {
+            Reservation reservation = accepted.get(i);
+            reservationIndex.onSaved(reservation);
+            // Rows inserted through JDBC raise no entity events for the search listener
+            textSearchIndex.onSaved(SearchHitDto.Kind.RESERVATION, reservation.getId(),
+                    reservation.getTenant().getId(), reservation.getNotes());
+            results[acceptedIndexes.get(i)] = BatchReservationResultDto.created(acceptedIndexes.get(i), reservation.getId());
+        }
+        return Arrays.asList(results);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ReservationDto getReservationById(Long id) {
-        return reservationRepository.findById(id)
-                .map(ReservationDto.Mapper::toDto)
+        return reservationRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ReservationDto> getAllReservations() {
-        return reservationRepository.findAll().stream()
-                .map(ReservationDto.Mapper::toDto)
-                .collect(Collectors.toList());
+        return reservationRepository.findAllDtos();
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ReservationDto> getAllReservations(Pageable pageable) {
-        return reservationRepository.findAll(pageable)
-                .map(ReservationDto.Mapper::toDto);
+        return reservationRepository.findAllDtos(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<ReservationDto> getAllReservations(String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.size(size);
+        List<ReservationDto> rows = reservationRepository.findDtoPageAfter(after.createdAt(), after.id(), KeysetCursor.window(pageSize));
+        return KeysetCursor.page(rows, pageSize, ReservationDto::createdAt, ReservationDto::id, Function.identity());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ReservationDto> getReservationsByCustomerId(Long customerId) {
         return reservationRepository.findByCustomerId(customerId).stream()
-                .map(ReservationDto.Mapper::toDto)
+                .flatMap(this::toOccurrenceDtos)
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ReservationDto> getReservationsByCustomerId(Long customerId, Pageable pageable) {
-        return reservationRepository.findByCustomerId(customerId, pageable)
-                .map(ReservationDto.Mapper::toDto);
+        // Pages are counted in stored rows, so a series appears once here
+        return reservationRepository.findDtosByCustomerId(customerId, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ReservationDto> getReservationsBySpaceId(Long spaceId) {
         return reservationRepository.findBySpaceId(spaceId).stream()
-                .map(ReservationDto.Mapper::toDto)
+                .flatMap(this::toOccurrenceDtos)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationDto> getReservationsBySpaceIdBetween(Long spaceId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (endTime.isBefore(startTime)) {
+            throw new ValidationException("End time must be after start time");
+        }
+        return reservationRepository.findBySpaceIdInRange(spaceId, startTime, endTime).stream()
+                .flatMap(reservation -> reservation.occurrenceStarts(startTime, endTime).stream()
+                        .map(start -> ReservationDto.Mapper.toOccurrenceDto(reservation, start)))
+                .sorted(Comparator.comparing(ReservationDto::startTime))
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ReservationDto> getReservationsBySpaceId(Long spaceId, Pageable pageable) {
-        return reservationRepository.findBySpaceId(spaceId, pageable)
-                .map(ReservationDto.Mapper::toDto);
+        // Pages are counted in stored rows, so a series appears once here
+        return reservationRepository.findDtosBySpaceId(spaceId, pageable);
     }
 
     @Override
@@ -117,15 +319,20 @@ public class ReservationServiceImpl implements ReservationService {
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
 
         validateReservationDates(reservationDto);
-        checkForOverlappingReservations(reservationDto);
-
         reservation.setStartTime(reservationDto.startTime());
         reservation.setEndTime(reservationDto.endTime());
+        reservation.setRecurrence(RecurrenceDto.Mapper.toEntity(reservationDto.recurrence()));
+        applySeriesEnd(reservation);
+        bookingLockManager.lock(BookingResource.SPACE, reservation.getSpace().getId());
+        checkForOverlappingReservations(reservation.getSpace().getId(), reservation, reservation.getId(), null);
+
         reservation.setTotalPrice(reservationDto.totalPrice());
         reservation.setStatus(reservationDto.status());
         reservation.setNotes(reservationDto.notes());
 
-        return ReservationDto.Mapper.toDto(reservationRepository.save(reservation));
+        Reservation updatedReservation = reservationRepository.save(reservation);
+        reservationIndex.onSaved(updatedReservation);
+        return ReservationDto.Mapper.toDto(updatedReservation);
     }
 
     @Override
@@ -135,56 +342,232 @@ public class ReservationServiceImpl implements ReservationService {
             throw new ResourceNotFoundException("Reservation not found");
         }
         reservationRepository.deleteById(id);
+        reservationIndex.onDeleted(id);
     }
 
     @Override
     @Transactional
     public ReservationDto confirmReservation(Long id) {
-        Reservation reservation = reservationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
-
-        if (reservation.getStatus() != Status.PENDING) {
-            throw new ValidationException("Only pending reservations can be confirmed");
-        }
-
-        reservation.setStatus(Status.CONFIRMED);
-        return ReservationDto.Mapper.toDto(reservationRepository.save(reservation));
+        return ReservationDto.Mapper.toDto(transition(id, EnumSet.of(Status.PENDING), Status.CONFIRMED, "Only pending reservations can be confirmed"));
     }
 
     @Override
     @Transactional
     public ReservationDto cancelReservation(Long id) {
-        Reservation reservation = reservationRepository.findById(id)
+        Reservation cancelled = transition(id, EnumSet.complementOf(EnumSet.of(Status.CANCELLED)), Status.CANCELLED, "Reservation is already cancelled");
+        promoteWaitlist(cancelled);
+        return ReservationDto.Mapper.toDto(cancelled);
+    }
+
+    /**
+     * Change the status with a single conditional update, so concurrent transitions of the
+     * same reservation cannot both succeed.
+     */
+    private Reservation transition(Long id, Set<Status> from, Status to, String invalidMessage) {
+        if (reservationRepository.transitionStatus(id, from, to, LocalDateTime.now()) == 0) {
+            if (!reservationRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Reservation not found");
+            }
+            throw new ValidationException(invalidMessage);
+        }
+        Reservation updatedReservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
+        reservationIndex.onSaved(updatedReservation);
+        return updatedReservation;
+    }
 
-        if (reservation.getStatus() == Status.CANCELLED) {
-            throw new ValidationException("Reservation is already cancelled");
+    /**
+     * Book the windows freed by a cancellation for the best customers waiting for them, in the
+     * same transaction. Candidates are checked like any other booking; the cancelled reservation
+     * is left out of the check because the in-memory index only drops it after commit.
+     */
+    private void promoteWaitlist(Reservation cancelled) {
+        Long spaceId = cancelled.getSpace().getId();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime latestWaited = waitlistQueues.latestEnd(BookingResource.SPACE, spaceId);
+        if (latestWaited == null || !latestWaited.isAfter(now)) {
+            return;
         }
+        List<LocalDateTime> freedStarts = cancelled.occurrenceStarts(now, latestWaited);
+        if (freedStarts.isEmpty()) {
+            return;
+        }
+        Duration length = Duration.between(cancelled.getStartTime(), cancelled.getEndTime());
+        bookingLockManager.lock(BookingResource.SPACE, spaceId);
+
+        IntervalTree promoted = new IntervalTree();
+        List<Long> promotedEntries = new ArrayList<>();
+        for (LocalDateTime start : freedStarts) {
+            for (WaitlistQueues.Waiting waiting : waitlistQueues.candidates(BookingResource.SPACE, spaceId, start, start.plus(length))) {
+                if (waiting.startTime().isBefore(now)
+                        || promoted.overlaps(waiting.startTime(), waiting.endTime(), null)
+                        || overlapsBookings(spaceId, waiting.startTime(), waiting.endTime(), cancelled.getId())
+                        || holdRegistry.overlaps(BookingResource.SPACE, spaceId, waiting.startTime(), waiting.endTime(), null)
+                        || waitlistEntryRepository.claimForPromotion(waiting.id(), now) == 0) {
+                    continue;
+                }
+                WaitlistEntry entry = waitlistEntryRepository.findById(waiting.id())
+                        .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found"));
+                Reservation reservation = new Reservation();
+                reservation.setCustomer(entry.getCustomer());
+                reservation.setCreatedByUser(entry.getCreatedByUser());
+                reservation.setSpace(cancelled.getSpace());
+                reservation.setTenant(entry.getTenant());
+                reservation.setStartTime(entry.getStartTime());
+                reservation.setEndTime(entry.getEndTime());
+                reservation.setTotalPrice(cancelled.getSpace().getPricePerHour()
+                        * Duration.between(entry.getStartTime(), entry.getEndTime()).toMinutes() / 60.0);
+                reservation.setNotes("Booked from the waitlist");
+                reservation.setStatus(Status.PENDING);
 
-        reservation.setStatus(Status.CANCELLED);
-        return ReservationDto.Mapper.toDto(reservationRepository.save(reservation));
+                Reservation savedReservation = reservationRepository.save(reservation);
+                reservationIndex.onSaved(savedReservation);
+                // The entry may be loaded with its old status, so it is not written back
+                waitlistEntryRepository.setReservation(entry.getId(), savedReservation.getId());
+                promoted.put(savedReservation.getId(), entry.getStartTime(), entry.getEndTime());
+                promotedEntries.add(entry.getId());
+            }
+        }
+        waitlistQueues.onLeft(promotedEntries);
     }
 
     private void validateReservationDates(ReservationDto reservationDto) {
+        validateReservationDates(reservationDto.startTime(), reservationDto.endTime());
+    }
+
+    private void validateReservationDates(LocalDateTime startTime, LocalDateTime endTime) {
         LocalDateTime now = LocalDateTime.now();
-        if (reservationDto.startTime().isBefore(now)) {
+        if (startTime.isBefore(now)) {
             throw new ValidationException("Start time cannot be in the past");
         }
-        if (reservationDto.endTime().isBefore(reservationDto.startTime())) {
+        if (!endTime.isAfter(startTime)) {
             throw new ValidationException("End time must be after start time");
         }
     }
 
-    private void checkForOverlappingReservations(ReservationDto reservationDto) {
-        List<Reservation> overlappingReservations = reservationRepository
-                .findOverlappingReservations(
-                        reservationDto.spaceId(),
-                        reservationDto.startTime(),
-                        reservationDto.endTime()
-                );
+    private void validateBatchItem(ReservationDto reservationDto, Map<Long, Customer> customers, Map<Long, User> users, Map<Long, Space> spaces) {
+        if (reservationDto.spaceId() == null || reservationDto.customerId() == null || reservationDto.createdByUserId() == null) {
+            throw new ValidationException("Space, customer and created by user IDs are mandatory");
+        }
+        if (reservationDto.startTime() == null || reservationDto.endTime() == null) {
+            throw new ValidationException("Start and end time are mandatory");
+        }
+        if (reservationDto.totalPrice() == null || reservationDto.totalPrice() <= 0) {
+            throw new ValidationException("Total price must be positive");
+        }
+        if (!customers.containsKey(reservationDto.customerId())) {
+            throw new ResourceNotFoundException("Customer not found");
+        }
+        if (!users.containsKey(reservationDto.createdByUserId())) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        if (!spaces.containsKey(reservationDto.spaceId())) {
+            throw new ResourceNotFoundException("Space not found");
+        }
+        if (reservationDto.recurrence() != null) {
+            throw new ValidationException("Recurring reservations cannot be created in a batch");
+        }
+        validateReservationDates(reservationDto);
+    }
+
+    /**
+     * Validate the recurrence rule, if any, and record where the series ends.
+     */
+    private void applySeriesEnd(Reservation reservation) {
+        if (!reservation.isRecurring()) {
+            reservation.setRecurrence(null);
+            reservation.setSeriesEndTime(null);
+            return;
+        }
+        Recurrence recurrence = reservation.getRecurrence();
+        try {
+            recurrence.validate(reservation.getStartTime(), reservation.getEndTime());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(e.getMessage());
+        }
+        Duration duration = Duration.between(reservation.getStartTime(), reservation.getEndTime());
+        reservation.setSeriesEndTime(recurrence.lastStart(reservation.getStartTime()).plus(duration));
+    }
+
+    private Stream<ReservationDto> toOccurrenceDtos(Reservation reservation) {
+        if (!reservation.isRecurring()) {
+            return Stream.of(ReservationDto.Mapper.toDto(reservation));
+        }
+        return reservation.occurrenceStarts(reservation.getStartTime(), reservation.getSeriesEndTime()).stream()
+                .map(start -> ReservationDto.Mapper.toOccurrenceDto(reservation, start));
+    }
 
-        if (!overlappingReservations.isEmpty()) {
+    private static Set<Long> distinctIds(List<ReservationDto> reservationDtos, Function<ReservationDto, Long> id) {
+        return reservationDtos.stream()
+                .map(id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private void checkForOverlappingReservations(Long spaceId, Reservation reservation, Long excludeReservationId, String excludeHoldId) {
+        boolean overlapping = reservation.isRecurring()
+                ? seriesOverlaps(spaceId, reservation, excludeReservationId)
+                : overlapsBookings(spaceId, reservation.getStartTime(), reservation.getEndTime(), excludeReservationId);
+        if (overlapping) {
             throw new ValidationException("There are overlapping reservations for this space");
         }
+        boolean held = reservation.isRecurring()
+                ? holdRegistry.overlapping(BookingResource.SPACE, spaceId, reservation.getStartTime(), reservation.getSeriesEndTime(), excludeHoldId).stream()
+                        .anyMatch(hold -> !reservation.occurrenceStarts(hold.startTime(), hold.endTime()).isEmpty())
+                : holdRegistry.overlaps(BookingResource.SPACE, spaceId, reservation.getStartTime(), reservation.getEndTime(), excludeHoldId);
+        if (held) {
+            throw new ConflictException(HELD_MESSAGE);
+        }
+    }
+
+    private boolean overlapsBookings(Long spaceId, LocalDateTime startTime, LocalDateTime endTime, Long excludeReservationId) {
+        if (bookingLockManager.isDistributed()) {
+            // With locks shared between nodes, this node's index may miss bookings made elsewhere
+            return reservationRepository.existsOverlapping(spaceId, startTime, endTime, SpaceReservationIndex.ACTIVE_STATUSES, excludeReservationId)
+                    || reservationRepository.findSeriesInRange(spaceId, SpaceReservationIndex.ACTIVE_STATUSES, startTime, endTime).stream()
+                    .anyMatch(series -> !Objects.equals(series.getId(), excludeReservationId)
+                            && !series.occurrenceStarts(startTime, endTime).isEmpty());
+        }
+        return reservationIndex.hasOverlap(spaceId, startTime, endTime, excludeReservationId);
+    }
+
+    /**
+     * Check every occurrence of a new or changed series in one sweep: the stored bookings
+     * within the series' span are read once, ordered by start, and walked alongside the
+     * occurrences while tracking the latest end seen so far.
+     */
+    private boolean seriesOverlaps(Long spaceId, Reservation reservation, Long excludeReservationId) {
+        LocalDateTime from = reservation.getStartTime();
+        LocalDateTime to = reservation.getSeriesEndTime();
+        List<IntervalTree.Interval> stored = new ArrayList<>();
+        if (bookingLockManager.isDistributed()) {
+            reservationRepository.findWindowsInRange(spaceId, SpaceReservationIndex.ACTIVE_STATUSES, from, to)
+                    .forEach(window -> stored.add(new IntervalTree.Interval(window.getId(), window.getStartTime(), window.getEndTime())));
+            for (Reservation series : reservationRepository.findSeriesInRange(spaceId, SpaceReservationIndex.ACTIVE_STATUSES, from, to)) {
+                Duration duration = Duration.between(series.getStartTime(), series.getEndTime());
+                series.occurrenceStarts(from, to).forEach(start ->
+                        stored.add(new IntervalTree.Interval(series.getId(), start, start.plus(duration))));
+            }
+            stored.sort(Comparator.comparing(IntervalTree.Interval::start));
+        } else {
+            stored.addAll(reservationIndex.findOverlapping(spaceId, from, to));
+        }
+        stored.removeIf(interval -> excludeReservationId != null && interval.id() == excludeReservationId);
+
+        Duration duration = Duration.between(reservation.getStartTime(), reservation.getEndTime());
+        LocalDateTime latestEnd = null;
+        int next = 0;
+        for (LocalDateTime start : reservation.occurrenceStarts(from, to)) {
+            LocalDateTime end = start.plus(duration);
+            for (; next < stored.size() && stored.get(next).start().isBefore(end); next++) {
+                if (latestEnd == null || stored.get(next).end().isAfter(latestEnd)) {
+                    latestEnd = stored.get(next).end();
+                }
+            }
+            if (latestEnd != null && latestEnd.isAfter(start)) {
+                return true;
+            }
+        }
+        return false;
     }
 } 
\ No newline at end of file
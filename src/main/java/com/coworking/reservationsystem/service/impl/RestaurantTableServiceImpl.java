@@ -2,6 +2,7 @@ package com.coworking.reservationsystem.service.impl;
 
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
 import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
 import com.coworking.reservationsystem.model.dto.RestaurantTableDto;
 import com.coworking.reservationsystem.model.entity.RestaurantTable;
 import com.coworking.reservationsystem.model.entity.Space;
@@ -10,12 +11,16 @@ import com.coworking.reservationsystem.repository.RestaurantTableRepository;
 import com.coworking.reservationsystem.repository.SpaceRepository;
 import com.coworking.reservationsystem.repository.TenantRepository;
 import com.coworking.reservationsystem.service.RestaurantTableService;
+import com.coworking.reservationsystem.service.counter.StatusCounters;
+import com.coworking.reservationsystem.service.index.TableAvailabilityIndex;
+import com.coworking.reservationsystem.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +30,8 @@ public class RestaurantTableServiceImpl implements RestaurantTableService {
     private final RestaurantTableRepository tableRepository;
     private final SpaceRepository spaceRepository;
     private final TenantRepository tenantRepository;
+    private final TableAvailabilityIndex tableIndex;
+    private final StatusCounters statusCounters;
 
     @Override
     @Transactional
@@ -47,6 +54,7 @@ public class RestaurantTableServiceImpl implements RestaurantTableService {
         table.setTenant(tenant);
 
         RestaurantTable savedTable = tableRepository.save(table);
+        tableIndex.onTenantTablesChanged(tenant.getId());
         return RestaurantTableDto.Mapper.toDto(savedTable);
     }
 
@@ -104,6 +112,34 @@ public class RestaurantTableServiceImpl implements RestaurantTableService {
                 .map(table -> {
                     table.setStatus(status);
                     RestaurantTable updatedTable = tableRepository.save(table);
+                    tableIndex.onTenantTablesChanged(tenantId);
+                    return RestaurantTableDto.Mapper.toDto(updatedTable);
+                });
+    }
+
+    @Override
+    @Transactional
+    public Optional<RestaurantTableDto> updateAdjacentTables(Long id, Set<Long> adjacentTableIds, Long tenantId) {
+        return tableRepository.findByIdAndTenantId(id, tenantId)
+                .map(table -> {
+                    List<RestaurantTable> adjacentTables = tableRepository.findAllById(adjacentTableIds);
+                    if (adjacentTables.size() != adjacentTableIds.size()) {
+                        throw new ResourceNotFoundException("Adjacent table not found");
+                    }
+                    for (RestaurantTable adjacent : adjacentTables) {
+                        if (adjacent.getId().equals(id) || !adjacent.getSpace().getId().equals(table.getSpace().getId())) {
+                            throw new ValidationException("Only other tables of the same space can be adjacent");
+                        }
+                    }
+                    // Links are kept symmetric, so both sides are updated
+                    table.getAdjacentTables().forEach(previous -> previous.getAdjacentTables().remove(table));
+                    table.getAdjacentTables().clear();
+                    for (RestaurantTable adjacent : adjacentTables) {
+                        table.getAdjacentTables().add(adjacent);
+                        adjacent.getAdjacentTables().add(table);
+                    }
+                    RestaurantTable updatedTable = tableRepository.save(table);
+                    tableIndex.onTenantTablesChanged(tenantId);
                     return RestaurantTableDto.Mapper.toDto(updatedTable);
                 });
     }
@@ -113,7 +149,9 @@ public class RestaurantTableServiceImpl implements RestaurantTableService {
     public boolean deleteTable(Long id, Long tenantId) {
         Optional<RestaurantTable> table = tableRepository.findByIdAndTenantId(id, tenantId);
         if (table.isPresent()) {
+            tableRepository.deleteAdjacencyByTableId(id);
             tableRepository.delete(table.get());
+            tableIndex.onTenantTablesChanged(tenantId);
             return true;
         }
         return false;
@@ -128,13 +166,13 @@ public class RestaurantTableServiceImpl implements RestaurantTableService {
     @Override
     @Transactional(readOnly = true)
     public long getTableCountByTenant(Long tenantId) {
-        return tableRepository.countByTenantId(tenantId);
+        return statusCounters.total(StatusCounters.Counter.RESTAURANT_TABLES, tenantId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getTableCountByStatus(RestaurantTable.TableStatus status, Long tenantId) {
-        return tableRepository.countByStatusAndTenantId(status, tenantId);
+        return statusCounters.count(StatusCounters.Counter.RESTAURANT_TABLES, tenantId, status);
     }
 
     // Legacy methods for backward compatibility
@@ -154,6 +192,16 @@ public class RestaurantTableServiceImpl implements RestaurantTableService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<RestaurantTableDto> getAllTables(String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.size(size);
+        List<RestaurantTable> tables = tableRepository.findPageAfter(after.createdAt(), after.id(), KeysetCursor.window(pageSize));
+        return KeysetCursor.page(tables, pageSize, RestaurantTable::getCreatedAt, RestaurantTable::getId,
+                RestaurantTableDto.Mapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<RestaurantTableDto> getTablesBySpace(Long spaceId) {
@@ -212,6 +260,7 @@ public class RestaurantTableServiceImpl implements RestaurantTableService {
         table.setSpace(space);
 
         RestaurantTable updatedTable = tableRepository.save(table);
+        tableIndex.onTableChanged(id);
         return RestaurantTableDto.Mapper.toDto(updatedTable);
     }
 
@@ -223,6 +272,7 @@ public class RestaurantTableServiceImpl implements RestaurantTableService {
         
         table.setStatus(status);
         RestaurantTable updatedTable = tableRepository.save(table);
+        tableIndex.onTableChanged(id);
         return RestaurantTableDto.Mapper.toDto(updatedTable);
     }
 
@@ -232,6 +282,8 @@ public class RestaurantTableServiceImpl implements RestaurantTableService {
         if (!tableRepository.existsById(id)) {
             throw new ResourceNotFoundException("Table not found with id: " + id);
         }
+        tableRepository.deleteAdjacencyByTableId(id);
         tableRepository.deleteById(id);
+        tableIndex.onTableChanged(id);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.coworking.reservationsystem.service.impl;
+
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
+import com.coworking.reservationsystem.model.dto.SearchHitDto;
+import com.coworking.reservationsystem.service.SearchService;
+import com.coworking.reservationsystem.service.search.SearchCursor;
+import com.coworking.reservationsystem.service.search.SearchQuery;
+import com.coworking.reservationsystem.service.search.TextSearchIndex;
+import com.coworking.reservationsystem.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+
+    private final TextSearchIndex textSearchIndex;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<SearchHitDto> search(Long tenantId, String query, String cursor, Integer size) {
+        SearchQuery parsed = SearchQuery.parse(query);
+        SearchCursor after = SearchCursor.decode(cursor);
+        int pageSize = KeysetCursor.size(size);
+        // One hit past the page tells whether there is a next one
+        List<SearchHitDto> hits = textSearchIndex.search(tenantId, parsed, after, pageSize + 1);
+        if (hits.size() <= pageSize) {
+            return new CursorPageDto<>(hits, null);
+        }
+        List<SearchHitDto> items = hits.subList(0, pageSize);
+        return new CursorPageDto<>(List.copyOf(items), SearchCursor.after(items.get(pageSize - 1)).encode());
+    }
+}
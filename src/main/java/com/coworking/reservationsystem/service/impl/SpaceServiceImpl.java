@@ -1,19 +1,26 @@
 package com.coworking.reservationsystem.service.impl;
 
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
+import com.coworking.reservationsystem.exception.ValidationException;
 import com.coworking.reservationsystem.model.dto.SpaceDto;
 import com.coworking.reservationsystem.model.entity.Location;
 import com.coworking.reservationsystem.model.entity.Space;
 import com.coworking.reservationsystem.model.entity.Tenant;
 import com.coworking.reservationsystem.repository.LocationRepository;
+import com.coworking.reservationsystem.repository.ReservationRepository;
 import com.coworking.reservationsystem.repository.SpaceRepository;
 import com.coworking.reservationsystem.repository.TenantRepository;
 import com.coworking.reservationsystem.service.SpaceService;
+import com.coworking.reservationsystem.service.index.SpaceReservationIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +30,9 @@ public class SpaceServiceImpl implements SpaceService {
     private final SpaceRepository spaceRepository;
     private final LocationRepository locationRepository;
     private final TenantRepository tenantRepository;
+    private final ReservationRepository reservationRepository;
+
+    static final int MAX_SEARCH_RESULTS = 100;
 
     @Override
     public SpaceDto createSpace(SpaceDto spaceDto) {
@@ -50,29 +60,22 @@ public class SpaceServiceImpl implements SpaceService {
 
     @Override
     public Optional<SpaceDto> getSpaceById(Long id, Long tenantId) {
-        return spaceRepository.findByIdAndTenantId(id, tenantId)
-                .map(SpaceDto.Mapper::toDto);
+        return spaceRepository.findDtoByIdAndTenantId(id, tenantId);
     }
 
     @Override
     public List<SpaceDto> getAllSpaces(Long tenantId) {
-        return spaceRepository.findByTenantId(tenantId).stream()
-                .map(SpaceDto.Mapper::toDto)
-                .collect(Collectors.toList());
+        return spaceRepository.findDtosByTenantId(tenantId);
     }
 
     @Override
     public List<SpaceDto> getSpacesByLocation(Long locationId, Long tenantId) {
-        return spaceRepository.findByLocationIdAndTenantId(locationId, tenantId).stream()
-                .map(SpaceDto.Mapper::toDto)
-                .collect(Collectors.toList());
+        return spaceRepository.findDtosByLocationIdAndTenantId(locationId, tenantId);
     }
 
     @Override
     public List<SpaceDto> getSpacesByCapacity(Integer capacity, Long tenantId) {
-        return spaceRepository.findByCapacityAndTenantId(capacity, tenantId).stream()
-                .map(SpaceDto.Mapper::toDto)
-                .collect(Collectors.toList());
+        return spaceRepository.findDtosByCapacityAndTenantId(capacity, tenantId);
     }
 
     @Override
@@ -93,6 +96,50 @@ public class SpaceServiceImpl implements SpaceService {
                 });
     }
 
+    @Override
+    public List<SpaceDto> searchFreeSpaces(Long tenantId, Long locationId, Integer minCapacity, Double maxPricePerHour,
+                                           LocalDateTime startTime, LocalDateTime endTime, int limit) {
+        if (tenantId == null) {
+            throw new ValidationException("Tenant ID is required");
+        }
+        if (minCapacity == null || minCapacity < 1) {
+            throw new ValidationException("Capacity must be at least 1");
+        }
+        if (!endTime.isAfter(startTime)) {
+            throw new ValidationException("End time must be after start time");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        // Candidates are fetched a page of `limit` at a time; only when series bookings
+        // drop some of them is another page needed
+        List<SpaceDto> free = new ArrayList<>();
+        for (int page = 0; free.size() < limit; page++) {
+            List<Space> candidates = spaceRepository.findFreeSpaces(tenantId, locationId, minCapacity, maxPricePerHour,
+                    startTime, endTime, SpaceReservationIndex.ACTIVE_STATUSES, PageRequest.of(page, limit));
+            if (candidates.isEmpty()) {
+                break;
+            }
+
+            // Series are stored as one row each, so their occurrences in the window are expanded
+            // here for the whole page at once
+            Set<Long> bookedBySeries = reservationRepository.findSeriesInRangeForSpaces(
+                            candidates.stream().map(Space::getId).toList(), SpaceReservationIndex.ACTIVE_STATUSES, startTime, endTime).stream()
+                    .filter(series -> !series.occurrenceStarts(startTime, endTime).isEmpty())
+                    .map(series -> series.getSpace().getId())
+                    .collect(Collectors.toSet());
+            candidates.stream()
+                    .filter(space -> !bookedBySeries.contains(space.getId()))
+                    .limit(limit - free.size())
+                    .map(SpaceDto.Mapper::toDto)
+                    .forEach(free::add);
+            if (candidates.size() < limit) {
+                break;
+            }
+        }
+        return free;
+    }
+
     @Override
     public boolean deleteSpace(Long id, Long tenantId) {
         Optional<Space> space = spaceRepository.findByIdAndTenantId(id, tenantId);
@@ -106,17 +153,13 @@ public class SpaceServiceImpl implements SpaceService {
     // Legacy methods for backward compatibility
     @Override
     public SpaceDto getSpaceById(Long id) {
-        Space space = spaceRepository.findById(id)
+        return spaceRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Space not found with id: " + id));
-        
-        return SpaceDto.Mapper.toDto(space);
     }
 
     @Override
     public List<SpaceDto> getAllSpaces() {
-        return spaceRepository.findAll().stream()
-                .map(SpaceDto.Mapper::toDto)
-                .collect(Collectors.toList());
+        return spaceRepository.findAllDtos();
     }
 
     @Override
@@ -124,9 +167,7 @@ public class SpaceServiceImpl implements SpaceService {
         if (!locationRepository.existsById(locationId)) {
             throw new ResourceNotFoundException("Location not found with id: " + locationId);
         }
-        return spaceRepository.findByLocationId(locationId).stream()
-                .map(SpaceDto.Mapper::toDto)
-                .collect(Collectors.toList());
+        return spaceRepository.findDtosByLocationId(locationId);
     }
 
     @Override
@@ -139,15 +180,11 @@ public class SpaceServiceImpl implements SpaceService {
 
     @Override
     public List<SpaceDto> getSpacesByTenantId(Long tenantId) {
-        return spaceRepository.findByTenantId(tenantId).stream()
-                .map(SpaceDto.Mapper::toDto)
-                .toList();
+        return spaceRepository.findDtosByTenantId(tenantId);
     }
 
     @Override
     public List<SpaceDto> getSpacesByCapacity(Integer capacity) {
-        return spaceRepository.findByCapacity(capacity).stream()
-                .map(SpaceDto.Mapper::toDto)
-                .collect(Collectors.toList());
+        return spaceRepository.findDtosByCapacity(capacity);
     }
 } 
\ No newline at end of file
@@ -1,26 +1,50 @@
 package com.coworking.reservationsystem.service.impl;
 
+import com.coworking.reservationsystem.exception.ConflictException;
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
 import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
+import com.coworking.reservationsystem.model.dto.HoldDto;
+import com.coworking.reservationsystem.model.dto.HoldRequestDto;
+import com.coworking.reservationsystem.model.dto.RestaurantTableDto;
+import com.coworking.reservationsystem.model.dto.TableCombinationRequestDto;
 import com.coworking.reservationsystem.model.dto.TableReservationDto;
 import com.coworking.reservationsystem.model.entity.Customer;
 import com.coworking.reservationsystem.model.entity.RestaurantTable;
 import com.coworking.reservationsystem.model.entity.TableReservation;
 import com.coworking.reservationsystem.model.entity.Tenant;
+import com.coworking.reservationsystem.model.entity.WaitlistEntry;
 import com.coworking.reservationsystem.repository.CustomerRepository;
 import com.coworking.reservationsystem.repository.RestaurantTableRepository;
 import com.coworking.reservationsystem.repository.TableReservationRepository;
-import com.coworking.reservationsystem.repository.TenantRepository;
+import com.coworking.reservationsystem.repository.WaitlistEntryRepository;
 import com.coworking.reservationsystem.service.TableReservationService;
+import com.coworking.reservationsystem.service.counter.StatusCounters;
+import com.coworking.reservationsystem.service.expiry.TableReservationExpiryScheduler;
+import com.coworking.reservationsystem.service.hold.BookingHold;
+import com.coworking.reservationsystem.service.hold.BookingHoldRegistry;
+import com.coworking.reservationsystem.service.index.TableAvailabilityIndex;
+import com.coworking.reservationsystem.service.lock.BookingLockManager;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import com.coworking.reservationsystem.service.tenant.TenantDirectory;
+import com.coworking.reservationsystem.service.waitlist.WaitlistQueues;
+import com.coworking.reservationsystem.util.KeysetCursor;
+import com.coworking.reservationsystem.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,11 +54,67 @@ public class TableReservationServiceImpl implements TableReservationService {
     private final TableReservationRepository reservationRepository;
     private final RestaurantTableRepository tableRepository;
     private final CustomerRepository customerRepository;
-    private final TenantRepository tenantRepository;
+    private final TenantDirectory tenantDirectory;
+    private final BookingLockManager bookingLockManager;
+    private final TableAvailabilityIndex tableIndex;
+    private final BookingHoldRegistry holdRegistry;
+    private final TableReservationExpiryScheduler expiryScheduler;
+    private final WaitlistQueues waitlistQueues;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final StatusCounters statusCounters;
 
     @Override
     @Transactional
     public TableReservationDto createTableReservation(TableReservationDto reservationDto) {
+        return create(reservationDto, null);
+    }
+
+    @Override
+    @Transactional
+    public HoldDto holdTable(HoldRequestDto request) {
+        RestaurantTable table = tableRepository.findByIdAndTenantId(request.resourceId(), request.tenantId())
+                .orElseThrow(() -> new ResourceNotFoundException("Table not found with id: " + request.resourceId()));
+        validateReservationDates(request.startTime(), request.endTime());
+        Duration ttl = holdRegistry.resolveTtl(request.ttlSeconds());
+
+        bookingLockManager.lock(BookingResource.TABLE, table.getId());
+        if (hasOverlappingReservations(table.getId(), request.startTime(), request.endTime())) {
+            throw new ValidationException("There are overlapping reservations for this table");
+        }
+        checkHolds(table.getId(), request.startTime(), request.endTime(), null);
+        return HoldDto.Mapper.toDto(holdRegistry.place(BookingResource.TABLE, table.getId(), request.startTime(), request.endTime(), ttl));
+    }
+
+    @Override
+    @Transactional
+    public TableReservationDto createTableReservationFromHold(String holdId, TableReservationDto reservationDto) {
+        BookingHold hold = holdRegistry.find(holdId)
+                .filter(found -> found.resource() == BookingResource.TABLE)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold not found or expired"));
+        if (reservationDto.customerId() == null || reservationDto.tenantId() == null) {
+            throw new ValidationException("Customer and tenant IDs are mandatory");
+        }
+        if (reservationDto.numberOfPeople() == null || reservationDto.numberOfPeople() < 1) {
+            throw new ValidationException("Number of people must be at least 1");
+        }
+        // The hold decides what is booked; the request only brings the booking details
+        TableReservationDto held = new TableReservationDto(null, hold.resourceId(), reservationDto.customerId(),
+                reservationDto.numberOfPeople(), hold.startTime(), hold.endTime(), reservationDto.status(),
+                reservationDto.specialRequests(), reservationDto.tenantId(), null, null);
+        TableReservationDto created = create(held, holdId);
+        TransactionCallbacks.afterCommit(() -> holdRegistry.release(holdId));
+        return created;
+    }
+
+    @Override
+    public void releaseTableHold(String holdId) {
+        holdRegistry.find(holdId)
+                .filter(found -> found.resource() == BookingResource.TABLE)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold not found or expired"));
+        holdRegistry.release(holdId);
+    }
+
+    private TableReservationDto create(TableReservationDto reservationDto, String holdId) {
         // Validate table exists
         RestaurantTable table = tableRepository.findByIdAndTenantId(reservationDto.tableId(), reservationDto.tenantId())
                 .orElseThrow(() -> new ResourceNotFoundException("Table not found with id: " + reservationDto.tableId()));
@@ -44,16 +124,18 @@ public class TableReservationServiceImpl implements TableReservationService {
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + reservationDto.customerId()));
 
         // Validate tenant exists
-        Tenant tenant = tenantRepository.findById(reservationDto.tenantId())
+        Tenant tenant = tenantDirectory.findEntityById(reservationDto.tenantId())
                 .orElseThrow(() -> new ResourceNotFoundException("Tenant not found with id: " + reservationDto.tenantId()));
 
         // Validate dates
         validateReservationDates(reservationDto);
 
-        // Check for overlapping reservations
+        // Check for overlapping reservations while holding the table's booking lock
+        bookingLockManager.lock(BookingResource.TABLE, table.getId());
         if (hasOverlappingReservations(reservationDto.tableId(), reservationDto.requestedTime(), reservationDto.estimatedArrivalTime())) {
             throw new ValidationException("There are overlapping reservations for this table");
         }
+        checkHolds(table.getId(), reservationDto.requestedTime(), reservationDto.estimatedArrivalTime(), holdId);
 
         TableReservation reservation = TableReservationDto.Mapper.toEntity(reservationDto);
         reservation.setTable(table);
@@ -62,54 +144,106 @@ public class TableReservationServiceImpl implements TableReservationService {
         reservation.setStatus(TableReservation.TableReservationStatus.PENDING);
 
         TableReservation savedReservation = reservationRepository.save(reservation);
+        tableIndex.onSaved(savedReservation);
+        expiryScheduler.onSaved(savedReservation);
         return TableReservationDto.Mapper.toDto(savedReservation);
     }
 
+    @Override
+    @Transactional
+    public List<TableReservationDto> createCombinedTableReservation(TableCombinationRequestDto request) {
+        Customer customer = customerRepository.findById(request.customerId())
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + request.customerId()));
+        Tenant tenant = tenantDirectory.findEntityById(request.tenantId())
+                .orElseThrow(() -> new ResourceNotFoundException("Tenant not found with id: " + request.tenantId()));
+        validateReservationDates(request.requestedTime(), request.estimatedArrivalTime());
+
+        List<Long> tableIds = tableIndex.findCombination(request.tenantId(), request.spaceId(), request.partySize(),
+                        request.requestedTime(), request.estimatedArrivalTime())
+                .orElseThrow(() -> new ResourceNotFoundException("No free tables can be combined for " + request.partySize() + " people"));
+
+        // All tables are locked before any is checked, so the whole combination is booked or none of it
+        bookingLockManager.lockAll(BookingResource.TABLE, tableIds);
+        List<RestaurantTable> tables = tableRepository.findAllById(tableIds).stream()
+                .sorted(Comparator.comparing(RestaurantTable::getNumberOfSeats).reversed())
+                .toList();
+        for (RestaurantTable table : tables) {
+            if (hasOverlappingReservations(table.getId(), request.requestedTime(), request.estimatedArrivalTime())) {
+                throw new ConflictException("Table " + table.getName() + " was booked in the meantime");
+            }
+            checkHolds(table.getId(), request.requestedTime(), request.estimatedArrivalTime(), null);
+        }
+
+        // Guests fill the largest tables first; every table of a smallest combination gets at least one
+        List<TableReservation> reservations = new ArrayList<>();
+        int unseated = request.partySize();
+        for (RestaurantTable table : tables) {
+            TableReservation reservation = new TableReservation();
+            reservation.setTable(table);
+            reservation.setCustomer(customer);
+            reservation.setTenant(tenant);
+            reservation.setNumberOfPeople(Math.max(1, Math.min(unseated, table.getNumberOfSeats())));
+            reservation.setRequestedTime(request.requestedTime());
+            reservation.setEstimatedArrivalTime(request.estimatedArrivalTime());
+            reservation.setSpecialRequests(request.specialRequests());
+            reservation.setStatus(TableReservation.TableReservationStatus.PENDING);
+            reservations.add(reservation);
+            unseated -= reservation.getNumberOfPeople();
+        }
+
+        List<TableReservation> savedReservations = reservationRepository.saveAll(reservations);
+        savedReservations.forEach(tableIndex::onSaved);
+        savedReservations.forEach(expiryScheduler::onSaved);
+        return savedReservations.stream()
+                .map(TableReservationDto.Mapper::toDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<TableReservationDto> getTableReservationById(Long id, Long tenantId) {
-        return reservationRepository.findByIdAndTenantId(id, tenantId)
-                .map(TableReservationDto.Mapper::toDto);
+        return reservationRepository.findDtoByIdAndTenantId(id, tenantId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TableReservationDto> getAllTableReservationsByTenant(Long tenantId) {
-        return reservationRepository.findByTenantIdOrderByCreatedAtDesc(tenantId).stream()
-                .map(TableReservationDto.Mapper::toDto)
-                .collect(Collectors.toList());
+        return reservationRepository.findDtosByTenantId(tenantId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<TableReservationDto> getAllTableReservationsByTenant(Long tenantId, String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.size(size);
+        List<TableReservationDto> rows = reservationRepository.findDtoPageByTenantIdAfter(
+                tenantId, after.createdAt(), after.id(), KeysetCursor.window(pageSize));
+        return KeysetCursor.page(rows, pageSize, TableReservationDto::createdAt, TableReservationDto::id, Function.identity());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TableReservationDto> getTableReservationsByCustomer(Long customerId, Long tenantId) {
-        return reservationRepository.findByCustomerIdAndTenantIdOrderByCreatedAtDesc(customerId, tenantId).stream()
-                .map(TableReservationDto.Mapper::toDto)
-                .collect(Collectors.toList());
+        return reservationRepository.findDtosByCustomerIdAndTenantId(customerId, tenantId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TableReservationDto> getTableReservationsByTable(Long tableId, Long tenantId) {
-        return reservationRepository.findByTableIdAndTenantIdOrderByCreatedAtDesc(tableId, tenantId).stream()
-                .map(TableReservationDto.Mapper::toDto)
-                .collect(Collectors.toList());
+        return reservationRepository.findDtosByTableIdAndTenantId(tableId, tenantId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TableReservationDto> getTableReservationsByStatus(TableReservation.TableReservationStatus status, Long tenantId) {
-        return reservationRepository.findByStatusAndTenantId(status, tenantId).stream()
-                .map(TableReservationDto.Mapper::toDto)
-                .collect(Collectors.toList());
+        return reservationRepository.findDtosByStatusAndTenantId(status, tenantId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TableReservationDto> getPendingTableReservations(Long tenantId) {
-        return reservationRepository.findByStatusAndTenantIdOrderByRequestedTimeAsc(TableReservation.TableReservationStatus.PENDING, tenantId).stream()
-                .map(TableReservationDto.Mapper::toDto)
-                .collect(Collectors.toList());
+        return reservationRepository.findDtosByStatusAndTenantIdOrderByRequestedTime(
+                TableReservation.TableReservationStatus.PENDING, tenantId);
     }
 
     @Override
@@ -118,10 +252,18 @@ public class TableReservationServiceImpl implements TableReservationService {
         return reservationRepository.findByIdAndTenantId(id, reservationDto.tenantId())
                 .map(reservation -> {
                     validateReservationDates(reservationDto);
-                    
-                    if (hasOverlappingReservations(reservationDto.tableId(), reservationDto.requestedTime(), reservationDto.estimatedArrivalTime())) {
+                    // The reservation stays on its table, so that table's bookings are the ones to serialize
+                    Long tableId = reservation.getTable().getId();
+                    bookingLockManager.lock(BookingResource.TABLE, tableId);
+
+                    boolean overlapsOthers = reservationRepository
+                            .findOverlappingReservations(tableId, reservationDto.requestedTime(), reservationDto.estimatedArrivalTime())
+                            .stream()
+                            .anyMatch(other -> !other.getId().equals(reservation.getId()));
+                    if (overlapsOthers) {
                         throw new ValidationException("There are overlapping reservations for this table");
                     }
+                    checkHolds(tableId, reservationDto.requestedTime(), reservationDto.estimatedArrivalTime(), null);
 
                     reservation.setNumberOfPeople(reservationDto.numberOfPeople());
                     reservation.setRequestedTime(reservationDto.requestedTime());
@@ -130,6 +272,8 @@ public class TableReservationServiceImpl implements TableReservationService {
                     reservation.setSpecialRequests(reservationDto.specialRequests());
 
                     TableReservation updatedReservation = reservationRepository.save(reservation);
+                    tableIndex.onSaved(updatedReservation);
+                    expiryScheduler.onSaved(updatedReservation);
                     return TableReservationDto.Mapper.toDto(updatedReservation);
                 });
     }
@@ -137,65 +281,129 @@ public class TableReservationServiceImpl implements TableReservationService {
     @Override
     @Transactional
     public Optional<TableReservationDto> confirmTableReservation(Long id, Long tenantId) {
-        return reservationRepository.findByIdAndTenantId(id, tenantId)
-                .map(reservation -> {
-                    if (reservation.getStatus() != TableReservation.TableReservationStatus.PENDING) {
-                        throw new ValidationException("Only pending reservations can be confirmed");
-                    }
-                    reservation.setStatus(TableReservation.TableReservationStatus.CONFIRMED);
-                    TableReservation updatedReservation = reservationRepository.save(reservation);
-                    return TableReservationDto.Mapper.toDto(updatedReservation);
-                });
+        return transition(id, tenantId, EnumSet.of(TableReservation.TableReservationStatus.PENDING),
+                TableReservation.TableReservationStatus.CONFIRMED, "Only pending reservations can be confirmed");
     }
 
     @Override
     @Transactional
     public Optional<TableReservationDto> rejectTableReservation(Long id, Long tenantId) {
-        return reservationRepository.findByIdAndTenantId(id, tenantId)
-                .map(reservation -> {
-                    if (reservation.getStatus() != TableReservation.TableReservationStatus.PENDING) {
-                        throw new ValidationException("Only pending reservations can be rejected");
-                    }
-                    reservation.setStatus(TableReservation.TableReservationStatus.REJECTED);
-                    TableReservation updatedReservation = reservationRepository.save(reservation);
-                    return TableReservationDto.Mapper.toDto(updatedReservation);
-                });
+        return transition(id, tenantId, EnumSet.of(TableReservation.TableReservationStatus.PENDING),
+                TableReservation.TableReservationStatus.REJECTED, "Only pending reservations can be rejected");
     }
 
     @Override
     @Transactional
     public Optional<TableReservationDto> cancelTableReservation(Long id, Long tenantId) {
-        return reservationRepository.findByIdAndTenantId(id, tenantId)
-                .map(reservation -> {
-                    if (reservation.getStatus() == TableReservation.TableReservationStatus.CANCELLED) {
-                        throw new ValidationException("Reservation is already cancelled");
-                    }
-                    reservation.setStatus(TableReservation.TableReservationStatus.CANCELLED);
-                    TableReservation updatedReservation = reservationRepository.save(reservation);
-                    return TableReservationDto.Mapper.toDto(updatedReservation);
-                });
+        Optional<TableReservationDto> cancelled = transition(id, tenantId, EnumSet.complementOf(EnumSet.of(TableReservation.TableReservationStatus.CANCELLED)),
+                TableReservation.TableReservationStatus.CANCELLED, "Reservation is already cancelled");
+        cancelled.ifPresent(reservation -> promoteWaitlist(reservation.tableId(), reservation.requestedTime(), reservation.estimatedArrivalTime()));
+        return cancelled;
     }
 
     @Override
     @Transactional
     public Optional<TableReservationDto> completeTableReservation(Long id, Long tenantId) {
+        return transition(id, tenantId, EnumSet.of(TableReservation.TableReservationStatus.CONFIRMED),
+                TableReservation.TableReservationStatus.COMPLETED, "Only confirmed reservations can be completed");
+    }
+
+    /**
+     * Change the status with a single conditional update, so concurrent transitions of the
+     * same reservation cannot both succeed. Only a refused update looks the row up again,
+     * to tell a missing reservation from one in the wrong status. The status counters must
+     * know which status the row left, so a transition allowed from several statuses reads
+     * the current one first and updates from exactly that, retrying if it changed meanwhile.
+     */
+    private Optional<TableReservationDto> transition(Long id, Long tenantId, Set<TableReservation.TableReservationStatus> from,
+                                                     TableReservation.TableReservationStatus to, String invalidMessage) {
+        TableReservation.TableReservationStatus previous = from.size() == 1 ? from.iterator().next() : null;
+        while (true) {
+            if (previous == null) {
+                Optional<TableReservation.TableReservationStatus> current =
+                        reservationRepository.findStatusByIdAndTenantId(id, tenantId);
+                if (current.isEmpty()) {
+                    return Optional.empty();
+                }
+                if (!from.contains(current.get())) {
+                    throw new ValidationException(invalidMessage);
+                }
+                previous = current.get();
+            }
+            if (reservationRepository.transitionStatus(id, tenantId, EnumSet.of(previous), to, LocalDateTime.now()) == 1) {
+                break;
+            }
+            if (from.size() == 1) {
+                if (!reservationRepository.existsByIdAndTenantId(id, tenantId)) {
+                    return Optional.empty();
+                }
+                throw new ValidationException(invalidMessage);
+            }
+            previous = null;
+        }
+        statusCounters.moved(StatusCounters.Counter.TABLE_RESERVATIONS, tenantId, previous, to);
         return reservationRepository.findByIdAndTenantId(id, tenantId)
-                .map(reservation -> {
-                    if (reservation.getStatus() != TableReservation.TableReservationStatus.CONFIRMED) {
-                        throw new ValidationException("Only confirmed reservations can be completed");
-                    }
-                    reservation.setStatus(TableReservation.TableReservationStatus.COMPLETED);
-                    TableReservation updatedReservation = reservationRepository.save(reservation);
+                .map(updatedReservation -> {
+                    tableIndex.onSaved(updatedReservation);
+                    expiryScheduler.onSaved(updatedReservation);
                     return TableReservationDto.Mapper.toDto(updatedReservation);
                 });
     }
 
+    /**
+     * Book the window freed by a cancellation for the best customers waiting for it, in the
+     * same transaction. Candidates are checked against the database like any other booking,
+     * so one freed window can serve several shorter waiting windows.
+     */
+    private void promoteWaitlist(Long tableId, LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!endTime.isAfter(now)) {
+            return;
+        }
+        List<WaitlistQueues.Waiting> candidates = waitlistQueues.candidates(BookingResource.TABLE, tableId, startTime, endTime);
+        if (candidates.isEmpty()) {
+            return;
+        }
+        bookingLockManager.lock(BookingResource.TABLE, tableId);
+
+        List<Long> promotedEntries = new ArrayList<>();
+        for (WaitlistQueues.Waiting waiting : candidates) {
+            if (waiting.startTime().isBefore(now)
+                    || hasOverlappingReservations(tableId, waiting.startTime(), waiting.endTime())
+                    || holdRegistry.overlaps(BookingResource.TABLE, tableId, waiting.startTime(), waiting.endTime(), null)
+                    || waitlistEntryRepository.claimForPromotion(waiting.id(), now) == 0) {
+                continue;
+            }
+            WaitlistEntry entry = waitlistEntryRepository.findById(waiting.id())
+                    .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found"));
+            TableReservation reservation = new TableReservation();
+            reservation.setTable(tableRepository.getReferenceById(tableId));
+            reservation.setCustomer(entry.getCustomer());
+            reservation.setTenant(entry.getTenant());
+            reservation.setNumberOfPeople(entry.getPartySize());
+            reservation.setRequestedTime(entry.getStartTime());
+            reservation.setEstimatedArrivalTime(entry.getEndTime());
+            reservation.setSpecialRequests("Booked from the waitlist");
+            reservation.setStatus(TableReservation.TableReservationStatus.PENDING);
+
+            TableReservation savedReservation = reservationRepository.save(reservation);
+            tableIndex.onSaved(savedReservation);
+            expiryScheduler.onSaved(savedReservation);
+            // The entry may be loaded with its old status, so it is not written back
+            waitlistEntryRepository.setReservation(entry.getId(), savedReservation.getId());
+            promotedEntries.add(entry.getId());
+        }
+        waitlistQueues.onLeft(promotedEntries);
+    }
+
     @Override
     @Transactional
     public boolean deleteTableReservation(Long id, Long tenantId) {
         Optional<TableReservation> reservation = reservationRepository.findByIdAndTenantId(id, tenantId);
         if (reservation.isPresent()) {
             reservationRepository.delete(reservation.get());
+            tableIndex.onDeleted(id);
+            expiryScheduler.onDeleted(id);
             return true;
         }
         return false;
@@ -204,16 +412,13 @@ public class TableReservationServiceImpl implements TableReservationService {
     @Override
     @Transactional(readOnly = true)
     public List<TableReservationDto> getTableReservationsByDateRange(LocalDateTime startDate, LocalDateTime endDate, Long tenantId) {
-        return reservationRepository.findByDateRangeAndTenantId(startDate, endDate, tenantId).stream()
-                .map(TableReservationDto.Mapper::toDto)
-                .collect(Collectors.toList());
+        return reservationRepository.findDtosByDateRangeAndTenantId(startDate, endDate, tenantId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<TableReservationDto> getTableReservationsByCustomer(Long customerId, Long tenantId, Pageable pageable) {
-        return reservationRepository.findByCustomerIdAndTenantId(customerId, tenantId, pageable)
-                .map(TableReservationDto.Mapper::toDto);
+        return reservationRepository.findDtosByCustomerIdAndTenantId(customerId, tenantId, pageable);
     }
 
     @Override
@@ -223,24 +428,48 @@ public class TableReservationServiceImpl implements TableReservationService {
         return !overlappingReservations.isEmpty();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RestaurantTableDto> findBestAvailableTable(Long tenantId, Integer partySize, LocalDateTime startTime, LocalDateTime endTime) {
+        if (partySize == null || partySize < 1) {
+            throw new ValidationException("Party size must be at least 1");
+        }
+        if (!endTime.isAfter(startTime)) {
+            throw new ValidationException("End time must be after start time");
+        }
+        return tableIndex.findBestFit(tenantId, partySize, startTime, endTime)
+                .flatMap(tableId -> tableRepository.findByIdAndTenantId(tableId, tenantId))
+                .map(RestaurantTableDto.Mapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public long getTableReservationCountByStatus(TableReservation.TableReservationStatus status, Long tenantId) {
-        return reservationRepository.countByStatusAndTenantId(status, tenantId);
+        return statusCounters.count(StatusCounters.Counter.TABLE_RESERVATIONS, tenantId, status);
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getTableReservationCountByTenant(Long tenantId) {
-        return reservationRepository.countByTenantId(tenantId);
+        return statusCounters.total(StatusCounters.Counter.TABLE_RESERVATIONS, tenantId);
+    }
+
+    private void checkHolds(Long tableId, LocalDateTime startTime, LocalDateTime endTime, String excludeHoldId) {
+        if (holdRegistry.overlaps(BookingResource.TABLE, tableId, startTime, endTime, excludeHoldId)) {
+            throw new ConflictException("This table is held by another customer who is checking out");
+        }
     }
 
     private void validateReservationDates(TableReservationDto reservationDto) {
+        validateReservationDates(reservationDto.requestedTime(), reservationDto.estimatedArrivalTime());
+    }
+
+    private void validateReservationDates(LocalDateTime requestedTime, LocalDateTime estimatedArrivalTime) {
         LocalDateTime now = LocalDateTime.now();
-        if (reservationDto.requestedTime().isBefore(now)) {
+        if (requestedTime.isBefore(now)) {
             throw new ValidationException("Requested time cannot be in the past");
         }
-        if (reservationDto.estimatedArrivalTime().isBefore(reservationDto.requestedTime())) {
+        if (!estimatedArrivalTime.isAfter(requestedTime)) {
             throw new ValidationException("Estimated arrival time must be after requested time");
         }
     }
@@ -2,16 +2,24 @@ package com.coworking.reservationsystem.service.impl;
 
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
 import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
 import com.coworking.reservationsystem.model.dto.TenantDto;
 import com.coworking.reservationsystem.model.entity.Tenant;
 import com.coworking.reservationsystem.repository.TenantRepository;
 import com.coworking.reservationsystem.service.TenantService;
+import com.coworking.reservationsystem.service.counter.StatusCounters;
+import com.coworking.reservationsystem.service.tenant.ResolvedTenant;
+import com.coworking.reservationsystem.service.tenant.TenantContext;
+import com.coworking.reservationsystem.service.tenant.TenantDirectory;
+import com.coworking.reservationsystem.util.KeysetCursor;
+import com.coworking.reservationsystem.util.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,6 +27,8 @@ import java.util.stream.Collectors;
 public class TenantServiceImpl implements TenantService {
 
     private final TenantRepository tenantRepository;
+    private final TenantDirectory tenantDirectory;
+    private final StatusCounters statusCounters;
 
     @Override
     @Transactional
@@ -68,6 +78,15 @@ public class TenantServiceImpl implements TenantService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<TenantDto> getAllTenants(String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.size(size);
+        List<Tenant> tenants = tenantRepository.findPageAfter(after.createdAt(), after.id(), KeysetCursor.window(pageSize));
+        return KeysetCursor.page(tenants, pageSize, Tenant::getCreatedAt, Tenant::getId, TenantDto.Mapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<TenantDto> getTenantsByStatus(TenantDto.TenantStatus status) {
@@ -117,6 +136,7 @@ public class TenantServiceImpl implements TenantService {
         setDefaultLimitsByPlan(tenant);
 
         tenant = tenantRepository.save(tenant);
+        TransactionCallbacks.afterCommit(() -> tenantDirectory.evict(id));
         return TenantDto.Mapper.toDto(tenant);
     }
 
@@ -127,6 +147,7 @@ public class TenantServiceImpl implements TenantService {
             throw new ResourceNotFoundException("Tenant not found with id: " + id);
         }
         tenantRepository.deleteById(id);
+        TransactionCallbacks.afterCommit(() -> tenantDirectory.evict(id));
     }
 
     @Override
@@ -136,6 +157,7 @@ public class TenantServiceImpl implements TenantService {
                 .orElseThrow(() -> new ResourceNotFoundException("Tenant not found with id: " + id));
         tenant.setStatus(Tenant.TenantStatus.SUSPENDED);
         tenantRepository.save(tenant);
+        TransactionCallbacks.afterCommit(() -> tenantDirectory.evict(id));
     }
 
     @Override
@@ -145,6 +167,7 @@ public class TenantServiceImpl implements TenantService {
                 .orElseThrow(() -> new ResourceNotFoundException("Tenant not found with id: " + id));
         tenant.setStatus(Tenant.TenantStatus.ACTIVE);
         tenantRepository.save(tenant);
+        TransactionCallbacks.afterCommit(() -> tenantDirectory.evict(id));
     }
 
     @Override
@@ -164,30 +187,29 @@ public class TenantServiceImpl implements TenantService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean isTenantActive(Long tenantId) {
-        return tenantRepository.findById(tenantId)
-                .map(tenant -> tenant.getStatus() == Tenant.TenantStatus.ACTIVE)
+        return resolve(tenantId)
+                .map(ResolvedTenant::isActive)
                 .orElse(false);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean isTenantActive(String subdomain) {
-        return tenantRepository.findBySubdomain(subdomain)
-                .map(tenant -> tenant.getStatus() == Tenant.TenantStatus.ACTIVE)
+        return TenantContext.current()
+                .filter(tenant -> tenant.subdomain().equals(subdomain))
+                .or(() -> tenantDirectory.findBySubdomain(subdomain))
+                .map(ResolvedTenant::isActive)
                 .orElse(false);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public void checkTenantLimits(Long tenantId) {
-        Tenant tenant = tenantRepository.findById(tenantId)
+        ResolvedTenant tenant = resolve(tenantId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tenant not found with id: " + tenantId));
         
         // Here you would implement logic to check if tenant has exceeded their limits
         // For now, we'll just check if they're active
-        if (tenant.getStatus() != Tenant.TenantStatus.ACTIVE) {
+        if (!tenant.isActive()) {
             throw new ValidationException("Tenant is not active");
         }
     }
@@ -195,13 +217,20 @@ public class TenantServiceImpl implements TenantService {
     @Override
     @Transactional(readOnly = true)
     public long getActiveTenantsCount() {
-        return tenantRepository.countActiveTenants();
+        return statusCounters.count(StatusCounters.Counter.TENANT_STATUSES, StatusCounters.ALL_TENANTS,
+                Tenant.TenantStatus.ACTIVE);
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getTenantsCountByPlan(TenantDto.TenantPlan plan) {
-        return tenantRepository.countByPlan(Tenant.TenantPlan.valueOf(plan.name()));
+        return statusCounters.count(StatusCounters.Counter.TENANT_PLANS, StatusCounters.ALL_TENANTS,
+                Tenant.TenantPlan.valueOf(plan.name()));
+    }
+
+    // The tenant resolved for this request if it is the one asked for, else the near-cache
+    private Optional<ResolvedTenant> resolve(Long tenantId) {
+        return TenantContext.current(tenantId).or(() -> tenantDirectory.findById(tenantId));
     }
 
     private void validateTenantData(TenantDto tenantDto) {
@@ -27,12 +27,17 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public UserDto createUser(UserDto userDto, PasswordDto passwordDto) {
-        User user = UserDto.Mapper.toEntity(userDto);
+        User user;
+        try {
+            user = UserDto.Mapper.toEntity(userDto);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(e.getMessage());
+        }
         user.setPassword(passwordDto.password()); // Store password in plain text since security is disabled
         user.setCreatedAt(LocalDateTime.now());
 
-        if (user.getRoles() == null || user.getRoles().isEmpty()) {
-            user.setRoles(List.of("USER"));
+        if (user.getRoleMask() == 0) {
+            user.setRoleMask(User.Role.USER.bit());
         }
 
         // Set tenant if tenantId is provided
@@ -70,6 +75,20 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDto> getUsersByTenantIdAndRole(Long tenantId, String role) {
+        User.Role wanted;
+        try {
+            wanted = User.Role.of(role);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(e.getMessage());
+        }
+        return userRepository.findByTenantIdAndRoleMaskIn(tenantId, wanted.masks()).stream()
+                .map(UserDto.Mapper::toDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public UserDto updateUser(Long id, UserDto userDto) {
@@ -0,0 +1,137 @@
+package com.coworking.reservationsystem.service.impl;
+
+import com.coworking.reservationsystem.exception.ResourceNotFoundException;
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.WaitlistEntryDto;
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.model.entity.RestaurantTable;
+import com.coworking.reservationsystem.model.entity.Space;
+import com.coworking.reservationsystem.model.entity.Tenant;
+import com.coworking.reservationsystem.model.entity.WaitlistEntry;
+import com.coworking.reservationsystem.repository.CustomerRepository;
+import com.coworking.reservationsystem.repository.RestaurantTableRepository;
+import com.coworking.reservationsystem.repository.SpaceRepository;
+import com.coworking.reservationsystem.repository.UserRepository;
+import com.coworking.reservationsystem.repository.WaitlistEntryRepository;
+import com.coworking.reservationsystem.service.WaitlistService;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import com.coworking.reservationsystem.service.tenant.TenantDirectory;
+import com.coworking.reservationsystem.service.waitlist.WaitlistQueues;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private final WaitlistEntryRepository entryRepository;
+    private final CustomerRepository customerRepository;
+    private final TenantDirectory tenantDirectory;
+    private final UserRepository userRepository;
+    private final SpaceRepository spaceRepository;
+    private final RestaurantTableRepository tableRepository;
+    private final WaitlistQueues waitlistQueues;
+
+    @Override
+    @Transactional
+    public WaitlistEntryDto join(WaitlistEntryDto entryDto) {
+        Tenant tenant = tenantDirectory.findEntityById(entryDto.tenantId())
+                .orElseThrow(() -> new ResourceNotFoundException("Tenant not found with id: " + entryDto.tenantId()));
+        Customer customer = customerRepository.findById(entryDto.customerId())
+                .filter(found -> Objects.equals(found.getTenant().getId(), entryDto.tenantId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + entryDto.customerId()));
+        validateWindow(entryDto.startTime(), entryDto.endTime());
+
+        WaitlistEntry entry = new WaitlistEntry();
+        if (entryDto.resource() == BookingResource.SPACE) {
+            Space space = spaceRepository.findByIdAndTenantId(entryDto.resourceId(), entryDto.tenantId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Space not found with id: " + entryDto.resourceId()));
+            if (space.getCapacity() != null && entryDto.partySize() > space.getCapacity()) {
+                throw new ValidationException("Party size exceeds the capacity of the space");
+            }
+            if (entryDto.createdByUserId() == null) {
+                throw new ValidationException("Created by user ID is mandatory for space waitlists");
+            }
+            entry.setCreatedByUser(userRepository.findById(entryDto.createdByUserId())
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + entryDto.createdByUserId())));
+        } else {
+            RestaurantTable table = tableRepository.findByIdAndTenantId(entryDto.resourceId(), entryDto.tenantId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Table not found with id: " + entryDto.resourceId()));
+            if (entryDto.partySize() > table.getNumberOfSeats()) {
+                throw new ValidationException("Party size exceeds the seats of the table");
+            }
+        }
+
+        entry.setResource(entryDto.resource());
+        entry.setResourceId(entryDto.resourceId());
+        entry.setCustomer(customer);
+        entry.setTenant(tenant);
+        entry.setPartySize(entryDto.partySize());
+        entry.setTier(customer.getTier());
+        entry.setStartTime(entryDto.startTime());
+        entry.setEndTime(entryDto.endTime());
+        entry.setStatus(WaitlistEntry.WaitlistStatus.WAITING);
+
+        WaitlistEntry savedEntry = entryRepository.save(entry);
+        waitlistQueues.onJoined(savedEntry);
+        return WaitlistEntryDto.Mapper.toDto(savedEntry);
+    }
+
+    @Override
+    @Transactional
+    public Optional<WaitlistEntryDto> leave(Long id, Long tenantId) {
+        if (entryRepository.leaveWaiting(id, tenantId, WaitlistEntry.WaitlistStatus.CANCELLED, LocalDateTime.now()) == 0) {
+            if (entryRepository.findByIdAndTenantId(id, tenantId).isEmpty()) {
+                return Optional.empty();
+            }
+            throw new ValidationException("Only waiting entries can leave the waitlist");
+        }
+        waitlistQueues.onLeft(List.of(id));
+        return entryRepository.findByIdAndTenantId(id, tenantId).map(WaitlistEntryDto.Mapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<WaitlistEntryDto> getEntryById(Long id, Long tenantId) {
+        return entryRepository.findByIdAndTenantId(id, tenantId).map(WaitlistEntryDto.Mapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDto> getWaitingEntries(BookingResource resource, Long resourceId, Long tenantId) {
+        return entryRepository.findByTenantIdAndResourceAndResourceIdAndStatusOrderByJoinedAt(
+                        tenantId, resource, resourceId, WaitlistEntry.WaitlistStatus.WAITING).stream()
+                .map(WaitlistEntryDto.Mapper::toDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${booking.waitlist.expire-ms:60000}")
+    public int expireStartedEntries() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> started = entryRepository.findStartedWaitingIds(now);
+        if (started.isEmpty()) {
+            return 0;
+        }
+        int expired = entryRepository.markExpired(started, now);
+        waitlistQueues.onLeft(started);
+        return expired;
+    }
+
+    private void validateWindow(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime.isBefore(LocalDateTime.now())) {
+            throw new ValidationException("Start time cannot be in the past");
+        }
+        if (!endTime.isAfter(startTime)) {
+            throw new ValidationException("End time must be after start time");
+        }
+    }
+}
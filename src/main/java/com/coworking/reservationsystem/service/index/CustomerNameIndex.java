@@ -0,0 +1,470 @@
+package com.coworking.reservationsystem.service.index;
+
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.repository.CustomerRepository;
+import com.coworking.reservationsystem.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory trigram index of customer names, one per tenant, for the type-ahead search.
+ * <p>
+ * Every first and last name is lowercased, padded with one leading and two trailing spaces
+ * and split into trigrams, each with the ascending list of names containing it. A term of
+ * three or more characters intersects the lists of its own trigrams, starting with the
+ * shortest; a shorter term unions the lists of the trigrams it starts. Candidates are then
+ * checked against the names, so the matches are exactly those of a case-insensitive
+ * {@code LIKE '%term%'} on either name. Only the best few matches are kept, and candidates
+ * that cannot beat them are skipped without reading their names. A tenant is loaded the
+ * first time it is searched and kept current after every committed create, update and delete.
+ */
+@Component
+public class CustomerNameIndex {
+
+    static final int EXACT = 0;
+    static final int PREFIX = 1;
+    static final int WORD_PREFIX = 2;
+    static final int SUBSTRING = 3;
+    static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingInt(Hit::rank)
+            .thenComparingInt(Hit::length)
+            .thenComparing(Comparator.comparingLong(Hit::id).reversed());
+
+    private final CustomerRepository customerRepository;
+    private final int maxResults;
+
+    private final Map<Long, TenantNames> tenants = new ConcurrentHashMap<>();
+
+    public CustomerNameIndex(CustomerRepository customerRepository,
+                             @Value("${booking.customer-search.max-results:50}") int maxResults) {
+        this.customerRepository = customerRepository;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Ids of the tenant's customers whose first or last name contains the term, best match
+     * first: a name equal to the term, then names starting with it, then names with a word
+     * starting with it, then any other match; shorter names and newer customers first within
+     * each. At most {@code booking.customer-search.max-results} ids are returned.
+     */
+    public List<Long> search(Long tenantId, String term) {
+        String needle = term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+        TenantNames names = names(tenantId);
+        synchronized (names) {
+            return names.search(needle, maxResults);
+        }
+    }
+
+    /**
+     * Index a saved customer under its tenant once the current transaction commits.
+     */
+    public void onSaved(Customer customer) {
+        Long tenantId = customer.getTenant().getId();
+        long customerId = customer.getId();
+        String firstName = customer.getFirstName();
+        String lastName = customer.getLastName();
+        TransactionCallbacks.afterCommit(() -> {
+            // A customer moved to another tenant must disappear from the old one
+            tenants.forEach((id, names) -> {
+                if (!id.equals(tenantId)) {
+                    synchronized (names) {
+                        names.remove(customerId);
+                    }
+                }
+            });
+            tenants.computeIfPresent(tenantId, (id, names) -> {
+                synchronized (names) {
+                    names.put(customerId, firstName, lastName);
+                }
+                return names;
+            });
+        });
+    }
+
+    /**
+     * Drop a deleted customer once the current transaction commits.
+     */
+    public void onDeleted(Long customerId) {
+        TransactionCallbacks.afterCommit(() -> tenants.values().forEach(names -> {
+            synchronized (names) {
+                names.remove(customerId);
+            }
+        }));
+    }
+
+    /**
+     * Forget the tenant's names; they are reloaded on the next search.
+     */
+    public void evict(Long tenantId) {
+        tenants.remove(tenantId);
+    }
+
+    private TenantNames names(Long tenantId) {
+        // Loading inside computeIfAbsent makes commits for the same tenant wait for the load,
+        // so a write can never be applied to names that are about to be replaced.
+        return tenants.computeIfAbsent(tenantId, id -> {
+            TenantNames loaded = new TenantNames();
+            customerRepository.findNamesByTenantId(id)
+                    .forEach(name -> loaded.put(name.id(), name.firstName(), name.lastName()));
+            return loaded;
+        });
+    }
+
+    /**
+     * How well a lowercased name matches the term, from {@link #EXACT} to {@link #SUBSTRING},
+     * or {@link #NO_MATCH}.
+     */
+    static int rank(String name, String term) {
+        int at = name.indexOf(term);
+        if (at < 0) {
+            return NO_MATCH;
+        }
+        if (name.length() == term.length()) {
+            return EXACT;
+        }
+        if (at == 0) {
+            return PREFIX;
+        }
+        for (; at >= 0; at = name.indexOf(term, at + 1)) {
+            if (!Character.isLetterOrDigit(name.charAt(at - 1))) {
+                return WORD_PREFIX;
+            }
+        }
+        return SUBSTRING;
+    }
+
+    private record Hit(long id, int rank, int length) {
+    }
+
+    /**
+     * The names of one tenant. Each version of a customer indexed gets a new document number
+     * and its first and last name the entries {@code 2 * document} and {@code 2 * document + 1},
+     * so posting lists only ever grow at the end and stay sorted. Replaced and deleted documents
+     * are skipped until enough of them pile up to rebuild the lists.
+     */
+    private static final class TenantNames {
+        // Set in the shape of a name with a word inside, as in "Ana-Maria" or "Van Damme"
+        private static final int INNER_WORD = 1 << 31;
+
+        private long[] ids = new long[16];
+        private String[] names = new String[32];
+        // Length of each name plus INNER_WORD, so names that cannot make the results are
+        // skipped without being read
+        private int[] shapes = new int[32];
+        private int documents;
+        private final Map<Long, Integer> documentById = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+        // Posting lists by the first one and first two characters of their trigram, for short terms
+        private final Map<Long, List<Postings>> postingsByPrefix = new HashMap<>();
+
+        private void put(long id, String firstName, String lastName) {
+            remove(id);
+            if (documents == ids.length) {
+                ids = Arrays.copyOf(ids, documents * 2);
+                names = Arrays.copyOf(names, documents * 4);
+                shapes = Arrays.copyOf(shapes, documents * 4);
+            }
+            int document = documents++;
+            ids[document] = id;
+            documentById.put(id, document);
+            index(document << 1, firstName);
+            index(document << 1 | 1, lastName);
+        }
+
+        private void index(int entry, String name) {
+            String normalized = name == null ? "" : name.toLowerCase(Locale.ROOT);
+            names[entry] = normalized;
+            shapes[entry] = normalized.length() | (hasInnerWord(normalized) ? INNER_WORD : 0);
+            long[] trigrams = trigrams(normalized);
+            Arrays.sort(trigrams);
+            for (int i = 0; i < trigrams.length; i++) {
+                if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                    postings.computeIfAbsent(trigrams[i], this::newPostings).add(entry);
+                }
+            }
+        }
+
+        private Postings newPostings(long trigram) {
+            Postings created = new Postings();
+            postingsByPrefix.computeIfAbsent(trigram >>> 32, key -> new ArrayList<>()).add(created);
+            postingsByPrefix.computeIfAbsent(-1 - (trigram >>> 16), key -> new ArrayList<>()).add(created);
+            return created;
+        }
+
+        private void remove(long id) {
+            Integer document = documentById.remove(id);
+            if (document == null) {
+                return;
+            }
+            names[document << 1] = null;
+            names[document << 1 | 1] = null;
+            int live = documentById.size();
+            if (documents - live > Math.max(1_024, live)) {
+                compact();
+            }
+        }
+
+        private List<Long> search(String term, int limit) {
+            Search search = new Search(term, limit);
+            // Candidates are visited newest first, so the later ones mostly lose ties and are skipped
+            if (term.isEmpty()) {
+                for (int document = documents - 1; document >= 0; document--) {
+                    if (names[document << 1] != null) {
+                        // Everyone matches a blank term, newest first
+                        search.offer(ids[document], EXACT, 0);
+                    }
+                }
+            } else if (term.length() < 3) {
+                long prefix = term.length() == 1 ? term.charAt(0) : -1 - ((long) term.charAt(0) << 16 | term.charAt(1));
+                boolean[] candidates = new boolean[documents << 1];
+                for (Postings list : postingsByPrefix.getOrDefault(prefix, List.of())) {
+                    for (int i = 0; i < list.size; i++) {
+                        candidates[list.entries[i]] = true;
+                    }
+                }
+                for (int entry = candidates.length - 1; entry >= 0; entry--) {
+                    if (candidates[entry]) {
+                        search.offer(entry);
+                    }
+                }
+            } else {
+                Postings[] lists = new Postings[term.length() - 2];
+                for (int i = 0; i < lists.length; i++) {
+                    lists[i] = postings.get(trigram(term.charAt(i), term.charAt(i + 1), term.charAt(i + 2)));
+                    if (lists[i] == null) {
+                        return List.of();
+                    }
+                }
+                Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+                intersect(lists, search);
+            }
+            return search.ids();
+        }
+
+        /**
+         * Walk the shortest list backwards and gallop through the others, which only ever move back.
+         */
+        private void intersect(Postings[] lists, Search search) {
+            Postings shortest = lists[0];
+            int[] positions = new int[lists.length];
+            for (int j = 1; j < lists.length; j++) {
+                positions[j] = lists[j].size - 1;
+            }
+            candidates:
+            for (int i = shortest.size - 1; i >= 0; i--) {
+                int entry = shortest.entries[i];
+                for (int j = 1; j < lists.length; j++) {
+                    positions[j] = lists[j].seekBack(positions[j], entry);
+                    if (positions[j] < 0) {
+                        break candidates;
+                    }
+                    if (lists[j].entries[positions[j]] != entry) {
+                        continue candidates;
+                    }
+                }
+                search.offer(entry);
+            }
+        }
+
+        private void compact() {
+            long[] liveIds = new long[documentById.size()];
+            String[] liveNames = new String[liveIds.length * 2];
+            int next = 0;
+            for (int document = 0; document < documents; document++) {
+                if (names[document << 1] != null) {
+                    liveIds[next] = ids[document];
+                    liveNames[next << 1] = names[document << 1];
+                    liveNames[next << 1 | 1] = names[document << 1 | 1];
+                    next++;
+                }
+            }
+            ids = new long[Math.max(16, liveIds.length * 2)];
+            names = new String[ids.length * 2];
+            shapes = new int[ids.length * 2];
+            documents = 0;
+            documentById.clear();
+            postings.clear();
+            postingsByPrefix.clear();
+            for (int i = 0; i < liveIds.length; i++) {
+                put(liveIds[i], liveNames[i << 1], liveNames[i << 1 | 1]);
+            }
+        }
+
+        /**
+         * The best matches of one search so far, worst on top. Name entries are offered in
+         * descending order, so the two names of a customer arrive one after the other and are
+         * reported once, by the better of the two.
+         */
+        private final class Search {
+            private final String term;
+            private final int limit;
+            private final PriorityQueue<Hit> best = new PriorityQueue<>(BEST_FIRST.reversed());
+            // Names starting with the first two characters of the term, the only ones that can
+            // equal or start with it; null for one-character terms
+            private final Postings starts;
+            private int startsPosition;
+            private int document = -1;
+            private int documentRank = NO_MATCH;
+            private int documentLength;
+
+            private Search(String term, int limit) {
+                this.term = term;
+                this.limit = limit;
+                if (term.length() >= 2) {
+                    Postings found = postings.get(trigram(' ', term.charAt(0), term.charAt(1)));
+                    starts = found != null ? found : new Postings();
+                    startsPosition = starts.size - 1;
+                } else {
+                    starts = null;
+                }
+            }
+
+            private void offer(int entry) {
+                if (entry >>> 1 != document) {
+                    flush();
+                    document = entry >>> 1;
+                }
+                String name = names[entry];
+                if (name == null || best.size() == limit && !couldBeat(entry)) {
+                    return;
+                }
+                int rank = rank(name, term);
+                if (rank < documentRank || rank == documentRank && name.length() <= documentLength) {
+                    documentRank = rank;
+                    documentLength = name.length();
+                }
+            }
+
+            private void flush() {
+                if (documentRank != NO_MATCH) {
+                    offer(ids[document], documentRank, documentLength);
+                    documentRank = NO_MATCH;
+                }
+            }
+
+            private void offer(long id, int rank, int length) {
+                if (best.size() == limit) {
+                    // Only allocate a hit that beats the worst one kept
+                    if (!beats(rank, length, id)) {
+                        return;
+                    }
+                    best.poll();
+                }
+                best.add(new Hit(id, rank, length));
+            }
+
+            /**
+             * Whether the best hit the name could give beats the worst one kept. Only a name
+             * starting with the term can equal or start with it, and only a name with a word
+             * inside can have a word starting with it.
+             */
+            private boolean couldBeat(int entry) {
+                int shape = shapes[entry];
+                int length = shape & ~INNER_WORD;
+                int rank;
+                if (!startsWithTerm(entry)) {
+                    rank = (shape & INNER_WORD) != 0 ? WORD_PREFIX : SUBSTRING;
+                } else {
+                    rank = length == term.length() ? EXACT : PREFIX;
+                }
+                return beats(rank, length, ids[entry >>> 1]);
+            }
+
+            private boolean startsWithTerm(int entry) {
+                if (starts == null) {
+                    return true;
+                }
+                if (startsPosition >= 0) {
+                    startsPosition = starts.seekBack(startsPosition, entry);
+                }
+                return startsPosition >= 0 && starts.entries[startsPosition] == entry;
+            }
+
+            private boolean beats(int rank, int length, long id) {
+                Hit worst = best.peek();
+                return rank < worst.rank() || rank == worst.rank()
+                        && (length < worst.length() || length == worst.length() && id > worst.id());
+            }
+
+            private List<Long> ids() {
+                flush();
+                List<Hit> hits = new ArrayList<>(best);
+                hits.sort(BEST_FIRST);
+                return hits.stream().map(Hit::id).toList();
+            }
+        }
+
+        private static boolean hasInnerWord(String name) {
+            for (int i = 1; i < name.length(); i++) {
+                if (!Character.isLetterOrDigit(name.charAt(i - 1))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Trigrams of the name padded with one leading and two trailing spaces; the trailing
+         * ones make every character of the name start some trigram.
+         */
+        private static long[] trigrams(String name) {
+            long[] trigrams = new long[name.length() + 1];
+            char previous = ' ';
+            char current = name.isEmpty() ? ' ' : name.charAt(0);
+            for (int i = 1; i <= name.length() + 1; i++) {
+                char next = i < name.length() ? name.charAt(i) : ' ';
+                trigrams[i - 1] = trigram(previous, current, next);
+                previous = current;
+                current = next;
+            }
+            return trigrams;
+        }
+
+        private static long trigram(char first, char second, char third) {
+            return (long) first << 32 | (long) second << 16 | third;
+        }
+    }
+
+    /**
+     * Ascending entries of the names holding one trigram.
+     */
+    private static final class Postings {
+        private int[] entries = new int[4];
+        private int size;
+
+        private void add(int entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = entry;
+        }
+
+        /**
+         * Position of the last entry from {@code from} down that is not above the target, or -1.
+         */
+        private int seekBack(int from, int target) {
+            int step = 1;
+            int high = from;
+            while (high - step >= 0 && entries[high - step] > target) {
+                high -= step;
+                step <<= 1;
+            }
+            if (entries[high] <= target) {
+                return high;
+            }
+            int found = Arrays.binarySearch(entries, Math.max(high - step, 0), high, target);
+            return found >= 0 ? found : -found - 2;
+        }
+    }
+}
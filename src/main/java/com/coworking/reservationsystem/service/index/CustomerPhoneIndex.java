@@ -0,0 +1,166 @@
+package com.coworking.reservationsystem.service.index;
+
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.repository.CustomerRepository;
+import com.coworking.reservationsystem.util.PhoneNumbers;
+import com.coworking.reservationsystem.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of normalized customer phone numbers, one {@link DigitTrie} per tenant, for
+ * caller lookups. Exact and prefix lookups cost the length of the number rather than a scan
+ * of the tenant's customers. A tenant is loaded the first time it is looked up and kept
+ * current after every committed create, update and delete.
+ */
+@Component
+public class CustomerPhoneIndex {
+
+    private final CustomerRepository customerRepository;
+    private final int maxResults;
+
+    private final Map<Long, TenantPhones> tenants = new ConcurrentHashMap<>();
+
+    public CustomerPhoneIndex(CustomerRepository customerRepository,
+                              @Value("${booking.customer-search.max-results:50}") int maxResults) {
+        this.customerRepository = customerRepository;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Id of the tenant's customer with the phone number, however it is formatted. A number
+     * typed without {@code +} or trunk 0 is also tried with them.
+     */
+    public Optional<Long> find(Long tenantId, String phone) {
+        TenantPhones phones = phones(tenantId);
+        synchronized (phones) {
+            for (String number : PhoneNumbers.prefixes(phone)) {
+                long id = phones.trie.get(number);
+                if (id != DigitTrie.ABSENT) {
+                    return Optional.of(id);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Ids of the tenant's customers whose number starts with the term, in number order with an
+     * exact match first; every customer for a blank term. At most
+     * {@code booking.customer-search.max-results} ids are returned.
+     */
+    public List<Long> search(Long tenantId, String term) {
+        TenantPhones phones = phones(tenantId);
+        List<String> prefixes = term == null || term.isBlank() ? List.of("") : PhoneNumbers.prefixes(term);
+        Set<Long> found = new LinkedHashSet<>();
+        synchronized (phones) {
+            for (String prefix : prefixes) {
+                // An id can only come up under one prefix, since each customer has one number
+                found.addAll(phones.trie.withPrefix(prefix, maxResults - found.size()));
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * Index a saved customer under its tenant once the current transaction commits.
+     */
+    public void onSaved(Customer customer) {
+        Long tenantId = customer.getTenant().getId();
+        long customerId = customer.getId();
+        String number = customer.getPhoneNormalized();
+        TransactionCallbacks.afterCommit(() -> {
+            // A customer moved to another tenant must disappear from the old one
+            tenants.forEach((id, phones) -> {
+                if (!id.equals(tenantId)) {
+                    synchronized (phones) {
+                        phones.remove(customerId);
+                    }
+                }
+            });
+            tenants.computeIfPresent(tenantId, (id, phones) -> {
+                synchronized (phones) {
+                    phones.put(customerId, number);
+                }
+                return phones;
+            });
+        });
+    }
+
+    /**
+     * Drop a deleted customer once the current transaction commits.
+     */
+    public void onDeleted(Long customerId) {
+        TransactionCallbacks.afterCommit(() -> tenants.values().forEach(phones -> {
+            synchronized (phones) {
+                phones.remove(customerId);
+            }
+        }));
+    }
+
+    /**
+     * Forget the tenant's numbers; they are reloaded on the next lookup.
+     */
+    public void evict(Long tenantId) {
+        tenants.remove(tenantId);
+    }
+
+    private TenantPhones phones(Long tenantId) {
+        // Loading inside computeIfAbsent makes commits for the same tenant wait for the load,
+        // so a write can never be applied to numbers that are about to be replaced.
+        return tenants.computeIfAbsent(tenantId, id -> {
+            TenantPhones loaded = new TenantPhones();
+            customerRepository.findPhonesByTenantId(id)
+                    .forEach(phone -> loaded.put(phone.id(), phone.phoneNormalized()));
+            return loaded;
+        });
+    }
+
+    /**
+     * The numbers of one tenant. The trie never frees nodes, so it is rebuilt from the live
+     * numbers once enough have been replaced or deleted.
+     */
+    private static final class TenantPhones {
+        private DigitTrie trie = new DigitTrie();
+        private final Map<Long, String> numberById = new HashMap<>();
+        private int removed;
+
+        private void put(long id, String number) {
+            remove(id);
+            if (number == null || number.isEmpty()) {
+                return;
+            }
+            numberById.put(id, number);
+            trie.put(number, id);
+        }
+
+        private void remove(long id) {
+            String number = numberById.remove(id);
+            if (number == null) {
+                return;
+            }
+            // Only while the number is still this customer's; it may have been taken over since
+            if (trie.get(number) == id) {
+                trie.remove(number);
+            }
+            if (++removed > Math.max(1_024, numberById.size())) {
+                rebuild();
+            }
+        }
+
+        private void rebuild() {
+            trie = new DigitTrie();
+            numberById.forEach((id, number) -> trie.put(number, id));
+            removed = 0;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.coworking.reservationsystem.service.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Trie over normalized phone numbers ({@code +} and the digits 0-9) mapping each number to
+ * one value. Exact and prefix lookups walk one node per character, so they cost O(length)
+ * whatever the number of keys. Nodes live in parallel arrays as first-child/next-sibling
+ * links, with siblings kept in character order, which keeps a tenant's numbers to a few
+ * primitive arrays and lists matches in number order.
+ * <p>
+ * Removing a key only clears its value; nodes are never freed, so owners rebuild the trie
+ * once many keys have gone. Not thread-safe; callers synchronize.
+ */
+public class DigitTrie {
+
+    public static final long ABSENT = Long.MIN_VALUE;
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private byte[] symbols = new byte[64];
+    private int[] firstChild = new int[64];
+    private int[] nextSibling = new int[64];
+    private long[] values = new long[64];
+    private int nodes;
+    private int size;
+
+    public DigitTrie() {
+        newNode((byte) 0);
+    }
+
+    /**
+     * Map the key to the value, replacing any value it had.
+     */
+    public void put(String key, long value) {
+        if (value == ABSENT) {
+            throw new IllegalArgumentException("Value reserved for absent keys");
+        }
+        int node = ROOT;
+        for (int i = 0; i < key.length(); i++) {
+            node = child(node, symbol(key.charAt(i)), true);
+        }
+        if (values[node] == ABSENT) {
+            size++;
+        }
+        values[node] = value;
+    }
+
+    /**
+     * The value of the key, or {@link #ABSENT}.
+     */
+    public long get(String key) {
+        int node = find(key);
+        return node == NONE ? ABSENT : values[node];
+    }
+
+    /**
+     * Remove the key; returns whether it was present.
+     */
+    public boolean remove(String key) {
+        int node = find(key);
+        if (node == NONE || values[node] == ABSENT) {
+            return false;
+        }
+        values[node] = ABSENT;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Values of up to {@code limit} keys starting with the prefix, in key order, so an exact
+     * match comes first.
+     */
+    public List<Long> withPrefix(String prefix, int limit) {
+        List<Long> found = new ArrayList<>();
+        int start = find(prefix);
+        if (start == NONE || limit <= 0) {
+            return found;
+        }
+        if (values[start] != ABSENT) {
+            found.add(values[start]);
+        }
+        // Depth-first, children before later siblings; at most one pending sibling per level
+        int[] stack = new int[16];
+        int top = 0;
+        if (firstChild[start] != NONE) {
+            stack[top++] = firstChild[start];
+        }
+        while (top > 0 && found.size() < limit) {
+            int node = stack[--top];
+            if (values[node] != ABSENT) {
+                found.add(values[node]);
+            }
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            if (nextSibling[node] != NONE) {
+                stack[top++] = nextSibling[node];
+            }
+            if (firstChild[node] != NONE) {
+                stack[top++] = firstChild[node];
+            }
+        }
+        return found;
+    }
+
+    private int find(String key) {
+        int node = ROOT;
+        for (int i = 0; i < key.length() && node != NONE; i++) {
+            byte symbol = symbolOrNone(key.charAt(i));
+            node = symbol == NONE ? NONE : child(node, symbol, false);
+        }
+        return node;
+    }
+
+    private int child(int parent, byte symbol, boolean create) {
+        int previous = NONE;
+        int node = firstChild[parent];
+        while (node != NONE && symbols[node] < symbol) {
+            previous = node;
+            node = nextSibling[node];
+        }
+        if (node != NONE && symbols[node] == symbol) {
+            return node;
+        }
+        if (!create) {
+            return NONE;
+        }
+        int created = newNode(symbol);
+        nextSibling[created] = node;
+        if (previous == NONE) {
+            firstChild[parent] = created;
+        } else {
+            nextSibling[previous] = created;
+        }
+        return created;
+    }
+
+    private int newNode(byte symbol) {
+        if (nodes == symbols.length) {
+            int capacity = nodes * 2;
+            symbols = Arrays.copyOf(symbols, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        int node = nodes++;
+        symbols[node] = symbol;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        values[node] = ABSENT;
+        return node;
+    }
+
+    private static byte symbol(char c) {
+        byte symbol = symbolOrNone(c);
+        if (symbol == NONE) {
+            throw new IllegalArgumentException("Not a normalized phone number character: '" + c + "'");
+        }
+        return symbol;
+    }
+
+    // '+' sorts before the digits, as in the numbers themselves
+    private static byte symbolOrNone(char c) {
+        if (c == '+') {
+            return 0;
+        }
+        return c >= '0' && c <= '9' ? (byte) (c - '0' + 1) : NONE;
+    }
+}
@@ -0,0 +1,268 @@
+package com.coworking.reservationsystem.service.index;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Augmented AVL tree of time intervals keyed by (start, id).
+ * Every node keeps the maximum end time of its subtree, so overlap queries can skip
+ * whole branches and answer in O(log n) (plus the number of reported matches).
+ * <p>
+ * Intervals are half-open: a booking ending when another starts does not overlap it,
+ * the same way the reservation overlap queries in the repositories compare them.
+ * The tree is not thread-safe; callers synchronize.
+ */
+public class IntervalTree {
+
+    private Node root;
+    private final Map<Long, Node> nodesById = new HashMap<>();
+
+    public record Interval(long id, LocalDateTime start, LocalDateTime end) {
+    }
+
+    /**
+     * Insert an interval, replacing any interval previously stored under the same id.
+     */
+    public void put(long id, LocalDateTime start, LocalDateTime end) {
+        remove(id);
+        Node node = new Node(id, start, end);
+        root = insert(root, node);
+        nodesById.put(id, node);
+    }
+
+    /**
+     * Remove the interval stored under the id, if any.
+     */
+    public boolean remove(long id) {
+        Node node = nodesById.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node.startKey, node.id);
+        return true;
+    }
+
+    public boolean contains(long id) {
+        return nodesById.containsKey(id);
+    }
+
+    public Interval get(long id) {
+        Node node = nodesById.get(id);
+        return node != null ? node.toInterval() : null;
+    }
+
+    public int size() {
+        return nodesById.size();
+    }
+
+    /**
+     * Check whether any stored interval overlaps the given range, ignoring the interval
+     * stored under {@code excludeId} (useful when re-checking an interval that is being updated).
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end, Long excludeId) {
+        return anyOverlap(root, toKey(start), toKey(end), excludeId);
+    }
+
+    /**
+     * All intervals overlapping the given range, ordered by start time.
+     */
+    public List<Interval> overlapping(LocalDateTime start, LocalDateTime end) {
+        List<Interval> result = new ArrayList<>();
+        collectOverlapping(root, toKey(start), toKey(end), result);
+        return result;
+    }
+
+    /**
+     * All stored intervals, ordered by start time.
+     */
+    public List<Interval> intervals() {
+        List<Interval> result = new ArrayList<>(nodesById.size());
+        collectAll(root, result);
+        return result;
+    }
+
+    /**
+     * Encode a timestamp as nanoseconds since the epoch (UTC is only used as a fixed
+     * offset so that the encoding is monotonic; the values stay local date-times).
+     */
+    static long toKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    static boolean intersects(long start, long end, long queryStart, long queryEnd) {
+        return start < queryEnd && end > queryStart;
+    }
+
+    private boolean anyOverlap(Node node, long queryStart, long queryEnd, Long excludeId) {
+        if (node == null || node.maxEnd <= queryStart) {
+            return false;
+        }
+        if (anyOverlap(node.left, queryStart, queryEnd, excludeId)) {
+            return true;
+        }
+        if (node.startKey >= queryEnd) {
+            return false;
+        }
+        if (intersects(node.startKey, node.endKey, queryStart, queryEnd)
+                && (excludeId == null || node.id != excludeId)) {
+            return true;
+        }
+        return anyOverlap(node.right, queryStart, queryEnd, excludeId);
+    }
+
+    private void collectOverlapping(Node node, long queryStart, long queryEnd, List<Interval> result) {
+        if (node == null || node.maxEnd <= queryStart) {
+            return;
+        }
+        collectOverlapping(node.left, queryStart, queryEnd, result);
+        if (node.startKey >= queryEnd) {
+            return;
+        }
+        if (intersects(node.startKey, node.endKey, queryStart, queryEnd)) {
+            result.add(node.toInterval());
+        }
+        collectOverlapping(node.right, queryStart, queryEnd, result);
+    }
+
+    private void collectAll(Node node, List<Interval> result) {
+        if (node == null) {
+            return;
+        }
+        collectAll(node.left, result);
+        result.add(node.toInterval());
+        collectAll(node.right, result);
+    }
+
+    private static int compare(long startKey, long id, Node node) {
+        int byStart = Long.compare(startKey, node.startKey);
+        return byStart != 0 ? byStart : Long.compare(id, node.id);
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(inserted.startKey, inserted.id, node) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return rebalance(node);
+    }
+
+    private Node delete(Node node, long startKey, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(startKey, id, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, startKey, id);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, startKey, id);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return rebalance(node);
+    }
+
+    private Node rebalance(Node node) {
+        node.update();
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static int height(Node node) {
+        return node != null ? node.height : 0;
+    }
+
+    private static final class Node {
+        private final long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final long startKey;
+        private final long endKey;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.startKey = toKey(start);
+            this.endKey = toKey(end);
+            this.maxEnd = endKey;
+        }
+
+        private void update() {
+            height = 1 + Math.max(height(left), height(right));
+            long max = endKey;
+            if (left != null && left.maxEnd > max) {
+                max = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > max) {
+                max = right.maxEnd;
+            }
+            maxEnd = max;
+        }
+
+        private Interval toInterval() {
+            return new Interval(id, start, end);
+        }
+    }
+}
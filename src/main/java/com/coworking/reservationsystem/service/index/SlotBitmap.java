@@ -0,0 +1,216 @@
+package com.coworking.reservationsystem.service.index;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-day bitsets of fixed-size time slots (for example 96 slots of 15 minutes).
+ * Checking or marking a time range touches at most a couple of {@code long} words per day,
+ * so range checks are word-level bit operations instead of row scans.
+ * <p>
+ * Two ways of mapping a range to slots are supported:
+ * <ul>
+ *     <li><em>touched</em> slots: every slot containing at least one instant of the half-open
+ *     range. Two ranges that overlap always share a touched slot, so a clear result is exact
+ *     while a set bit only means "maybe" and has to be confirmed.</li>
+ *     <li><em>covered</em> slots: slots lying entirely inside the range, used for opening hours.</li>
+ * </ul>
+ * Not thread-safe; callers synchronize.
+ */
+public class SlotBitmap {
+
+    public static final int DEFAULT_SLOT_MINUTES = 15;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final int slotMinutes;
+    private final int slotsPerDay;
+    private final int wordsPerDay;
+    private final Map<LocalDate, long[]> days = new HashMap<>();
+
+    public SlotBitmap(int slotMinutes) {
+        if (slotMinutes <= 0 || MINUTES_PER_DAY % slotMinutes != 0) {
+            throw new IllegalArgumentException("Slot length must divide a day evenly: " + slotMinutes);
+        }
+        this.slotMinutes = slotMinutes;
+        this.slotsPerDay = MINUTES_PER_DAY / slotMinutes;
+        this.wordsPerDay = (slotsPerDay + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    /**
+     * Mark every slot touched by the half-open range.
+     */
+    public void markTouched(LocalDateTime start, LocalDateTime end) {
+        forEachDay(start, lastInstant(start, end), false, (bits, from, to) -> setRange(bits, from, to));
+    }
+
+    /**
+     * Mark every slot fully covered by the range.
+     */
+    public void markCovered(LocalDateTime start, LocalDateTime end) {
+        forEachDay(start, end, true, (bits, from, to) -> setRange(bits, from, to));
+    }
+
+    /**
+     * Whether any slot touched by the half-open range is marked.
+     */
+    public boolean anyTouched(LocalDateTime start, LocalDateTime end) {
+        return !forEachDayWhile(start, lastInstant(start, end), false, (bits, from, to) -> bits == null || !anyInRange(bits, from, to));
+    }
+
+    /**
+     * Whether every slot overlapping the range is marked, i.e. the range lies inside marked slots.
+     */
+    public boolean allOverlappingMarked(LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            return false;
+        }
+        // Slots overlapping [start, end) are the ones touched by [start, end - 1ns].
+        return forEachDayWhile(start, end.minusNanos(1), false, (bits, from, to) -> bits != null && allInRange(bits, from, to));
+    }
+
+    /**
+     * Clear one day.
+     */
+    public void clear(LocalDate day) {
+        days.remove(day);
+    }
+
+    /**
+     * Drop all days before the given one.
+     */
+    public void dropBefore(LocalDate day) {
+        days.keySet().removeIf(stored -> stored.isBefore(day));
+    }
+
+    public boolean isEmpty() {
+        return days.isEmpty();
+    }
+
+    /**
+     * Whether the given slot of the day is marked.
+     */
+    public boolean isMarked(LocalDate day, int slot) {
+        long[] bits = days.get(day);
+        return bits != null && (bits[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    public int slotsPerDay() {
+        return slotsPerDay;
+    }
+
+    public LocalDateTime slotStart(LocalDate day, int slot) {
+        return day.atStartOfDay().plusMinutes((long) slot * slotMinutes);
+    }
+
+    private interface DayVisitor {
+        boolean visit(long[] bits, int fromSlot, int toSlot);
+    }
+
+    private interface DayAction {
+        void apply(long[] bits, int fromSlot, int toSlot);
+    }
+
+    private void forEachDay(LocalDateTime start, LocalDateTime end, boolean covered, DayAction action) {
+        forEachDayWhile(start, end, covered, (bits, from, to) -> {
+            action.apply(bits, from, to);
+            return true;
+        }, true);
+    }
+
+    private boolean forEachDayWhile(LocalDateTime start, LocalDateTime end, boolean covered, DayVisitor visitor) {
+        return forEachDayWhile(start, end, covered, visitor, false);
+    }
+
+    /**
+     * Visit the slot range of every day the range spans; stops and returns false as soon as
+     * the visitor returns false.
+     */
+    private boolean forEachDayWhile(LocalDateTime start, LocalDateTime end, boolean covered, DayVisitor visitor, boolean create) {
+        if (end.isBefore(start)) {
+            return true;
+        }
+        LocalDate day = start.toLocalDate();
+        LocalDate lastDay = end.toLocalDate();
+        while (!day.isAfter(lastDay)) {
+            LocalTime from = day.equals(start.toLocalDate()) ? start.toLocalTime() : LocalTime.MIDNIGHT;
+            int fromSlot;
+            int toSlot;
+            if (covered) {
+                fromSlot = ceilSlot(from);
+                toSlot = day.equals(lastDay) ? floorSlot(end.toLocalTime()) - 1 : slotsPerDay - 1;
+            } else {
+                fromSlot = floorSlot(from);
+                toSlot = day.equals(lastDay) ? floorSlot(end.toLocalTime()) : slotsPerDay - 1;
+            }
+            if (fromSlot <= toSlot) {
+                long[] bits = create ? days.computeIfAbsent(day, d -> new long[wordsPerDay]) : days.get(day);
+                if (!visitor.visit(bits, fromSlot, toSlot)) {
+                    return false;
+                }
+            }
+            day = day.plusDays(1);
+        }
+        return true;
+    }
+
+    /**
+     * Last instant of the half-open range; an empty range is treated as its start instant,
+     * the way the interval overlap checks treat it.
+     */
+    private static LocalDateTime lastInstant(LocalDateTime start, LocalDateTime end) {
+        return end.isAfter(start) ? end.minusNanos(1) : start;
+    }
+
+    private int floorSlot(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / slotMinutes;
+    }
+
+    private int ceilSlot(LocalTime time) {
+        int minutes = time.getHour() * 60 + time.getMinute();
+        boolean onBoundary = minutes % slotMinutes == 0 && time.getSecond() == 0 && time.getNano() == 0;
+        return onBoundary ? minutes / slotMinutes : minutes / slotMinutes + 1;
+    }
+
+    private static void setRange(long[] bits, int from, int to) {
+        for (int word = from >>> 6; word <= to >>> 6; word++) {
+            bits[word] |= mask(word, from, to);
+        }
+    }
+
+    private static boolean anyInRange(long[] bits, int from, int to) {
+        for (int word = from >>> 6; word <= to >>> 6; word++) {
+            if ((bits[word] & mask(word, from, to)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean allInRange(long[] bits, int from, int to) {
+        for (int word = from >>> 6; word <= to >>> 6; word++) {
+            long mask = mask(word, from, to);
+            if ((bits[word] & mask) != mask) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Bits of the given word that fall inside the slot range [from, to].
+     */
+    private static long mask(int word, int from, int to) {
+        int low = Math.max(from, word << 6) - (word << 6);
+        int high = Math.min(to, (word << 6) + 63) - (word << 6);
+        long upper = high == 63 ? -1L : (1L << (high + 1)) - 1;
+        return upper & (-1L << low);
+    }
+}
@@ -0,0 +1,126 @@
+package com.coworking.reservationsystem.service.index;
+
+import com.coworking.reservationsystem.model.entity.Availability;
+import com.coworking.reservationsystem.repository.AvailabilityRepository;
+import com.coworking.reservationsystem.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory slot bitmaps of the opening windows ({@link Availability} rows) of every space.
+ * <p>
+ * Each space has two bitmaps: slots its windows cover completely, and slots they touch at
+ * all. A booking whose slots are all covered is open and one reaching an untouched slot is
+ * closed, both without a query. Only a booking ending in a slot that a window edge off the
+ * slot grid cuts through is checked exactly against the windows in the database. Bitmaps
+ * are loaded lazily per space and dropped after every committed availability change, so
+ * the next check reloads them from the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class SpaceAvailabilityIndex {
+
+    private final AvailabilityRepository availabilityRepository;
+
+    private final Map<Long, OpenSlots> openSlots = new ConcurrentHashMap<>();
+
+    /**
+     * Check whether the space is open for the whole window.
+     */
+    public boolean isOpen(Long spaceId, LocalDateTime startTime, LocalDateTime endTime) {
+        OpenSlots slots = openSlots.computeIfAbsent(spaceId, this::load);
+        synchronized (slots) {
+            if (slots.covered().allOverlappingMarked(startTime, endTime)) {
+                return true;
+            }
+            if (!slots.touched().allOverlappingMarked(startTime, endTime)) {
+                return false;
+            }
+        }
+        return coveredByWindows(spaceId, startTime, endTime);
+    }
+
+    /**
+     * Drop the bitmaps of the space once the current transaction commits.
+     */
+    public void onChanged(Long spaceId) {
+        TransactionCallbacks.afterCommit(() -> openSlots.remove(spaceId));
+    }
+
+    /**
+     * Drop the bitmaps of past days.
+     */
+    @Scheduled(cron = "${booking.slots.purge-cron:0 5 0 * * *}")
+    public void purgePastDays() {
+        LocalDate today = LocalDate.now();
+        openSlots.values().forEach(slots -> {
+            synchronized (slots) {
+                slots.covered().dropBefore(today);
+                slots.touched().dropBefore(today);
+            }
+        });
+    }
+
+    // Whether the windows overlapping the range leave no gap in it
+    private boolean coveredByWindows(Long spaceId, LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDateTime coveredUntil = startTime;
+        for (Availability window : availabilityRepository
+                .findBySpaceIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTime(spaceId, endTime, startTime)) {
+            if (window.getStartTime().isAfter(coveredUntil)) {
+                return false;
+            }
+            if (window.getEndTime().isAfter(coveredUntil)) {
+                coveredUntil = window.getEndTime();
+            }
+            if (!coveredUntil.isBefore(endTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private OpenSlots load(Long spaceId) {
+        OpenSlots slots = new OpenSlots(new SlotBitmap(SlotBitmap.DEFAULT_SLOT_MINUTES),
+                new SlotBitmap(SlotBitmap.DEFAULT_SLOT_MINUTES));
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        List<Availability> windows = new ArrayList<>(availabilityRepository.findBySpaceIdAndEndTimeAfter(spaceId, today));
+        windows.sort(Comparator.comparing(Availability::getStartTime));
+        // Adjacent or overlapping windows are merged first, so a slot split across two
+        // windows still counts as covered.
+        LocalDateTime mergedStart = null;
+        LocalDateTime mergedEnd = null;
+        for (Availability window : windows) {
+            if (mergedEnd != null && !window.getStartTime().isAfter(mergedEnd)) {
+                if (window.getEndTime().isAfter(mergedEnd)) {
+                    mergedEnd = window.getEndTime();
+                }
+                continue;
+            }
+            if (mergedEnd != null) {
+                slots.mark(mergedStart, mergedEnd);
+            }
+            mergedStart = window.getStartTime();
+            mergedEnd = window.getEndTime();
+        }
+        if (mergedEnd != null) {
+            slots.mark(mergedStart, mergedEnd);
+        }
+        return slots;
+    }
+
+    private record OpenSlots(SlotBitmap covered, SlotBitmap touched) {
+        private void mark(LocalDateTime start, LocalDateTime end) {
+            covered.markCovered(start, end);
+            touched.markTouched(start, end);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.coworking.reservationsystem.service.index;
+
+import com.coworking.reservationsystem.model.dto.Status;
+import com.coworking.reservationsystem.model.entity.Recurrence;
+import com.coworking.reservationsystem.model.entity.Reservation;
+import com.coworking.reservationsystem.repository.ReservationRepository;
+import com.coworking.reservationsystem.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the active reservation windows of every space.
+ * <p>
+ * Each space gets an {@link IntervalTree} that is loaded lazily from the database the
+ * first time the space is checked, and is kept current after every committed create,
+ * update, cancel and delete. Next to the tree, a {@link SlotBitmap} marks every slot a
+ * reservation touches: a window over clear slots is free after a few word operations,
+ * and only windows hitting a marked slot walk the tree, which costs O(log n).
+ * Recurring series are kept as their rule and expanded only inside the window being checked.
+ * The database stays the source of truth: {@link #verify(Long)} compares a space's index
+ * with the stored reservations and rebuilds it, and loaded spaces are verified periodically.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpaceReservationIndex {
+
+    public static final Set<Status> ACTIVE_STATUSES = EnumSet.of(Status.PENDING, Status.CONFIRMED);
+
+    private final ReservationRepository reservationRepository;
+
+    private final Map<Long, Timeline> timelines = new ConcurrentHashMap<>();
+    private final Map<Long, Long> spaceByReservation = new ConcurrentHashMap<>();
+
+    public record ConsistencyReport(
+            Long spaceId,
+            int indexed,
+            int persisted,
+            List<Long> missing,
+            List<Long> stale,
+            List<Long> mismatched
+    ) {
+        public boolean consistent() {
+            return missing.isEmpty() && stale.isEmpty() && mismatched.isEmpty();
+        }
+    }
+
+    /**
+     * Check whether an active reservation of the space overlaps the given window.
+     */
+    public boolean hasOverlap(Long spaceId, LocalDateTime startTime, LocalDateTime endTime, Long excludeReservationId) {
+        Timeline timeline = timeline(spaceId);
+        synchronized (timeline) {
+            return timeline.bookedSlots.anyTouched(startTime, endTime)
+                    && timeline.intervals.overlaps(startTime, endTime, excludeReservationId)
+                    || timeline.seriesOverlap(startTime, endTime, excludeReservationId);
+        }
+    }
+
+    /**
+     * Active reservation windows of the space overlapping the given window, ordered by start time.
+     * Occurrences of a series are reported under the series id.
+     */
+    public List<IntervalTree.Interval> findOverlapping(Long spaceId, LocalDateTime startTime, LocalDateTime endTime) {
+        Timeline timeline = timeline(spaceId);
+        synchronized (timeline) {
+            List<IntervalTree.Interval> overlapping = timeline.intervals.overlapping(startTime, endTime);
+            if (timeline.series.isEmpty()) {
+                return overlapping;
+            }
+            List<IntervalTree.Interval> result = new ArrayList<>(overlapping);
+            timeline.series.values().forEach(series -> result.addAll(series.occurrences(startTime, endTime)));
+            result.sort(Comparator.comparing(IntervalTree.Interval::start));
+            return result;
+        }
+    }
+
+    /**
+     * Record a saved reservation once the current transaction commits.
+     * Reservations that are no longer active are dropped from the index.
+     */
+    public void onSaved(Reservation reservation) {
+        Long spaceId = reservation.getSpace().getId();
+        Long reservationId = reservation.getId();
+        Series series = reservation.isRecurring() ? Series.of(reservation) : null;
+        LocalDateTime startTime = reservation.getStartTime();
+        LocalDateTime endTime = reservation.getEndTime();
+        boolean active = ACTIVE_STATUSES.contains(reservation.getStatus());
+        TransactionCallbacks.afterCommit(() -> apply(spaceId, reservationId, startTime, endTime, series, active));
+    }
+
+    /**
+     * Drop a deleted reservation once the current transaction commits.
+     */
+    public void onDeleted(Long reservationId) {
+        TransactionCallbacks.afterCommit(() -> {
+            Long spaceId = spaceByReservation.get(reservationId);
+            if (spaceId != null) {
+                apply(spaceId, reservationId, null, null, null, false);
+            }
+        });
+    }
+
+    /**
+     * Forget everything indexed for the space; it is reloaded on the next check.
+     */
+    public void evict(Long spaceId) {
+        timelines.computeIfPresent(spaceId, (id, timeline) -> {
+            synchronized (timeline) {
+                timeline.ids().forEach(spaceByReservation::remove);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Compare the index of a space with the database and replace it with a fresh load.
+     * Writes committed while the check runs wait for the reload and are applied afterwards.
+     */
+    public ConsistencyReport verify(Long spaceId) {
+        LocalDateTime cutoff = LocalDateTime.now();
+        ConsistencyReport[] report = new ConsistencyReport[1];
+        timelines.compute(spaceId, (id, current) -> {
+            Timeline fresh = load(id, cutoff);
+            report[0] = compare(id, current, fresh, cutoff);
+            if (current != null) {
+                synchronized (current) {
+                    current.ids().forEach(spaceByReservation::remove);
+                }
+            }
+            fresh.ids().forEach(reservationId -> spaceByReservation.put(reservationId, id));
+            return fresh;
+        });
+        return report[0];
+    }
+
+    @Scheduled(cron = "${booking.index.verify-cron:0 0 3 * * *}")
+    public void verifyLoadedSpaces() {
+        for (Long spaceId : List.copyOf(timelines.keySet())) {
+            ConsistencyReport report = verify(spaceId);
+            if (!report.consistent()) {
+                log.warn("Reservation index for space {} drifted from the database and was rebuilt: missing={}, stale={}, mismatched={}",
+                        spaceId, report.missing(), report.stale(), report.mismatched());
+            }
+        }
+    }
+
+    /**
+     * Drop the slot bitmaps of past days; nothing can be booked there any more.
+     */
+    @Scheduled(cron = "${booking.slots.purge-cron:0 5 0 * * *}")
+    public void purgePastDays() {
+        LocalDate today = LocalDate.now();
+        timelines.values().forEach(timeline -> {
+            synchronized (timeline) {
+                timeline.bookedSlots.dropBefore(today);
+            }
+        });
+    }
+
+    private Timeline timeline(Long spaceId) {
+        // Loading inside computeIfAbsent makes commits for the same space wait for the load,
+        // so a write can never be applied to a timeline that is about to be replaced.
+        return timelines.computeIfAbsent(spaceId, id -> {
+            Timeline loaded = load(id, LocalDateTime.now());
+            loaded.ids().forEach(reservationId -> spaceByReservation.put(reservationId, id));
+            return loaded;
+        });
+    }
+
+    private Timeline load(Long spaceId, LocalDateTime endingAfter) {
+        Timeline timeline = new Timeline();
+        reservationRepository.findWindowsBySpaceId(spaceId, ACTIVE_STATUSES, endingAfter)
+                .forEach(window -> timeline.put(window.getId(), window.getStartTime(), window.getEndTime()));
+        reservationRepository.findSeriesBySpaceId(spaceId, ACTIVE_STATUSES, endingAfter)
+                .forEach(reservation -> timeline.putSeries(Series.of(reservation)));
+        return timeline;
+    }
+
+    private void apply(Long spaceId, Long reservationId, LocalDateTime startTime, LocalDateTime endTime,
+                       Series series, boolean active) {
+        Long previousSpaceId = spaceByReservation.get(reservationId);
+        if (previousSpaceId != null && !previousSpaceId.equals(spaceId)) {
+            apply(previousSpaceId, reservationId, null, null, null, false);
+        }
+        timelines.computeIfPresent(spaceId, (id, timeline) -> {
+            synchronized (timeline) {
+                if (active && series != null) {
+                    timeline.putSeries(series);
+                    spaceByReservation.put(reservationId, id);
+                } else if (active) {
+                    timeline.put(reservationId, startTime, endTime);
+                    spaceByReservation.put(reservationId, id);
+                } else {
+                    timeline.remove(reservationId);
+                    spaceByReservation.remove(reservationId);
+                }
+            }
+            return timeline;
+        });
+    }
+
+    private ConsistencyReport compare(Long spaceId, Timeline current, Timeline fresh, LocalDateTime cutoff) {
+        List<IntervalTree.Interval> persistedEntries = fresh.entries();
+        if (current == null) {
+            return new ConsistencyReport(spaceId, persistedEntries.size(), persistedEntries.size(), List.of(), List.of(), List.of());
+        }
+        Map<Long, IntervalTree.Interval> indexed = new HashMap<>();
+        synchronized (current) {
+            current.entries().stream()
+                    .filter(interval -> !interval.end().isBefore(cutoff))
+                    .forEach(interval -> indexed.put(interval.id(), interval));
+        }
+        int indexedCount = indexed.size();
+        List<Long> missing = new ArrayList<>();
+        List<Long> mismatched = new ArrayList<>();
+        for (IntervalTree.Interval persisted : persistedEntries) {
+            IntervalTree.Interval cached = indexed.remove(persisted.id());
+            if (cached == null) {
+                missing.add(persisted.id());
+            } else if (!cached.equals(persisted)) {
+                mismatched.add(persisted.id());
+            }
+        }
+        List<Long> stale = new ArrayList<>(indexed.keySet());
+        return new ConsistencyReport(spaceId, indexedCount, persistedEntries.size(), missing, stale, mismatched);
+    }
+
+    /**
+     * A recurring series, kept as its rule rather than as its occurrences.
+     */
+    private record Series(long id, LocalDateTime firstStart, Duration duration, Recurrence recurrence, LocalDateTime seriesEnd) {
+
+        private static Series of(Reservation reservation) {
+            return new Series(reservation.getId(), reservation.getStartTime(),
+                    Duration.between(reservation.getStartTime(), reservation.getEndTime()),
+                    reservation.getRecurrence(), reservation.getSeriesEndTime());
+        }
+
+        private boolean spans(LocalDateTime start, LocalDateTime end) {
+            return firstStart.isBefore(end) && seriesEnd.isAfter(start);
+        }
+
+        private List<IntervalTree.Interval> occurrences(LocalDateTime start, LocalDateTime end) {
+            if (!spans(start, end)) {
+                return List.of();
+            }
+            return recurrence.startsBetween(firstStart, duration, start, end).stream()
+                    .map(occurrence -> new IntervalTree.Interval(id, occurrence, occurrence.plus(duration)))
+                    .toList();
+        }
+    }
+
+    /**
+     * Reservation windows of one space: the exact intervals plus the slots they touch,
+     * and the recurring series.
+     */
+    private static final class Timeline {
+        private final IntervalTree intervals = new IntervalTree();
+        private final SlotBitmap bookedSlots = new SlotBitmap(SlotBitmap.DEFAULT_SLOT_MINUTES);
+        private final Map<Long, Series> series = new HashMap<>();
+
+        private boolean seriesOverlap(LocalDateTime start, LocalDateTime end, Long excludeId) {
+            for (Series candidate : series.values()) {
+                if ((excludeId == null || candidate.id() != excludeId) && !candidate.occurrences(start, end).isEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void putSeries(Series added) {
+            remove(added.id());
+            series.put(added.id(), added);
+        }
+
+        private List<Long> ids() {
+            List<Long> ids = new ArrayList<>(series.keySet());
+            intervals.intervals().forEach(interval -> ids.add(interval.id()));
+            return ids;
+        }
+
+        /**
+         * Everything indexed, with each series reported once over its full span.
+         */
+        private List<IntervalTree.Interval> entries() {
+            List<IntervalTree.Interval> entries = new ArrayList<>(intervals.intervals());
+            series.values().forEach(added -> entries.add(new IntervalTree.Interval(added.id(), added.firstStart(), added.seriesEnd())));
+            return entries;
+        }
+
+        private void put(long id, LocalDateTime start, LocalDateTime end) {
+            remove(id);
+            intervals.put(id, start, end);
+            bookedSlots.markTouched(start, end);
+        }
+
+        private void remove(long id) {
+            series.remove(id);
+            IntervalTree.Interval removed = intervals.get(id);
+            if (removed == null) {
+                return;
+            }
+            intervals.remove(id);
+            // Slots may be shared with other reservations, so the days the removed window
+            // spanned are cleared and marked again from the remaining intervals.
+            LocalDate day = removed.start().toLocalDate();
+            LocalDate lastDay = removed.end().toLocalDate();
+            for (; !day.isAfter(lastDay); day = day.plusDays(1)) {
+                bookedSlots.clear(day);
+                LocalDateTime dayStart = day.atStartOfDay();
+                LocalDateTime dayEnd = dayStart.plusDays(1);
+                for (IntervalTree.Interval remaining : intervals.overlapping(dayStart, dayEnd)) {
+                    bookedSlots.markTouched(max(remaining.start(), dayStart), min(remaining.end(), dayEnd));
+                }
+            }
+        }
+
+        private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+            return a.isAfter(b) ? a : b;
+        }
+
+        private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+            return a.isBefore(b) ? a : b;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.coworking.reservationsystem.service.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * Tables of one space and which of them can be pushed together.
+ * <p>
+ * A combination is a set of tables that is connected in this graph. The search looks for
+ * the combination with the fewest tables (and then the fewest seats) that seats a party,
+ * enumerating every connected set of up to {@code maxTables} tables exactly once: each set
+ * is grown from its lowest table, only ever adding tables next to the set that have not
+ * been considered yet. Sets that cannot reach the party size even with the largest tables
+ * are cut off early, as are sets that cannot end up with fewer seats than the best one found,
+ * and a step budget bounds the work for very dense rooms.
+ * Immutable; freedom of the tables is passed in per search.
+ */
+public class TableAdjacency {
+
+    private final long[] tableIds;
+    private final int[] seats;
+    private final BitSet[] neighbours;
+    private final Map<Long, Integer> positions = new HashMap<>();
+
+    /**
+     * @param seatsByTable seat count of every table, in table id order
+     * @param adjacent     tables next to each table; links to tables outside the map are ignored
+     */
+    public TableAdjacency(SortedMap<Long, Integer> seatsByTable, Map<Long, Set<Long>> adjacent) {
+        int size = seatsByTable.size();
+        tableIds = new long[size];
+        seats = new int[size];
+        neighbours = new BitSet[size];
+        int position = 0;
+        for (Map.Entry<Long, Integer> entry : seatsByTable.entrySet()) {
+            tableIds[position] = entry.getKey();
+            seats[position] = entry.getValue();
+            neighbours[position] = new BitSet(size);
+            positions.put(entry.getKey(), position++);
+        }
+        adjacent.forEach((tableId, others) -> {
+            Integer from = positions.get(tableId);
+            if (from == null) {
+                return;
+            }
+            for (Long other : others) {
+                Integer to = positions.get(other);
+                if (to != null && !to.equals(from)) {
+                    neighbours[from].set(to);
+                    neighbours[to].set(from);
+                }
+            }
+        });
+    }
+
+    public int size() {
+        return tableIds.length;
+    }
+
+    public long tableId(int position) {
+        return tableIds[position];
+    }
+
+    /**
+     * Smallest connected set of free tables seating at least {@code partySize}, as table ids.
+     *
+     * @param free       positions of the tables that are free for the requested window
+     * @param maxTables  largest number of tables to combine
+     * @param stepBudget maximum number of sets to visit before giving up
+     */
+    public Optional<List<Long>> smallestCombination(int partySize, BitSet free, int maxTables, int stepBudget) {
+        Search search = new Search(partySize, free, stepBudget);
+        for (int tables = 1; tables <= maxTables && !search.exhausted(); tables++) {
+            search.run(tables);
+            if (search.best != null) {
+                List<Long> ids = new ArrayList<>(search.best.cardinality());
+                search.best.stream().forEach(position -> ids.add(tableIds[position]));
+                return Optional.of(ids);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private final class Search {
+        private final int partySize;
+        private final BitSet free;
+        private final int largestFree;
+        private final int smallestFree;
+        private int stepsLeft;
+        private int targetSize;
+        private BitSet best;
+        private int bestSeats;
+
+        private Search(int partySize, BitSet free, int stepBudget) {
+            this.partySize = partySize;
+            this.free = free;
+            this.largestFree = free.stream().map(position -> seats[position]).max().orElse(0);
+            this.smallestFree = free.stream().map(position -> seats[position]).min().orElse(0);
+            this.stepsLeft = stepBudget;
+        }
+
+        private boolean exhausted() {
+            return stepsLeft <= 0;
+        }
+
+        private void run(int tables) {
+            targetSize = tables;
+            for (int root = free.nextSetBit(0); root >= 0 && !exhausted(); root = free.nextSetBit(root + 1)) {
+                BitSet set = new BitSet(size());
+                set.set(root);
+                BitSet extension = freeNeighboursAbove(root, root);
+                BitSet reached = (BitSet) neighbours[root].clone();
+                reached.set(root);
+                extend(set, 1, seats[root], extension, reached, root);
+            }
+        }
+
+        private void extend(BitSet set, int setSize, int setSeats, BitSet extension, BitSet reached, int root) {
+            stepsLeft--;
+            if (setSize == targetSize) {
+                if (setSeats >= partySize && (best == null || setSeats < bestSeats)) {
+                    best = (BitSet) set.clone();
+                    bestSeats = setSeats;
+                }
+                return;
+            }
+            int missing = targetSize - setSize;
+            if (setSeats + missing * largestFree < partySize
+                    || best != null && setSeats + missing * smallestFree >= bestSeats) {
+                return;
+            }
+            BitSet remaining = (BitSet) extension.clone();
+            for (int next = remaining.nextSetBit(0); next >= 0 && !exhausted(); next = remaining.nextSetBit(next + 1)) {
+                remaining.clear(next);
+                // Only tables first reached through 'next' may join later, so no set is built twice
+                BitSet nextExtension = (BitSet) remaining.clone();
+                BitSet added = freeNeighboursAbove(next, root);
+                added.andNot(reached);
+                nextExtension.or(added);
+                BitSet nextReached = (BitSet) reached.clone();
+                nextReached.or(neighbours[next]);
+                set.set(next);
+                extend(set, setSize + 1, setSeats + seats[next], nextExtension, nextReached, root);
+                set.clear(next);
+            }
+        }
+
+        private BitSet freeNeighboursAbove(int position, int root) {
+            BitSet result = (BitSet) neighbours[position].clone();
+            result.and(free);
+            result.clear(0, root + 1);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.coworking.reservationsystem.service.index;
+
+import com.coworking.reservationsystem.model.entity.RestaurantTable;
+import com.coworking.reservationsystem.model.entity.TableReservation;
+import com.coworking.reservationsystem.repository.RestaurantTableRepository;
+import com.coworking.reservationsystem.repository.TableReservationRepository;
+import com.coworking.reservationsystem.service.hold.BookingHoldRegistry;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import com.coworking.reservationsystem.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of every tenant's restaurant tables, grouped by seat count, together with
+ * the active booking windows of each table and the {@link TableAdjacency} of each space.
+ * <p>
+ * A tenant is loaded lazily on its first lookup and kept current after every committed
+ * table reservation change; table changes drop the tenant so it is reloaded. Lookups only
+ * propose a table: bookings are still checked against the database under the table's lock.
+ */
+@Component
+@RequiredArgsConstructor
+public class TableAvailabilityIndex {
+
+    public static final Set<TableReservation.TableReservationStatus> ACTIVE_STATUSES =
+            EnumSet.of(TableReservation.TableReservationStatus.PENDING, TableReservation.TableReservationStatus.CONFIRMED);
+
+    private final RestaurantTableRepository tableRepository;
+    private final TableReservationRepository reservationRepository;
+    private final BookingHoldRegistry holdRegistry;
+
+    public static final int MAX_COMBINED_TABLES = 6;
+    public static final int COMBINATION_SEARCH_BUDGET = 200_000;
+
+    private final Map<Long, TenantTables> tenants = new ConcurrentHashMap<>();
+    private final Map<Long, Long> tenantByTable = new ConcurrentHashMap<>();
+
+    /**
+     * The free table seating at least {@code partySize} with the fewest seats, so larger
+     * tables stay available for larger parties. Ties go to the lowest table id.
+     */
+    public Optional<Long> findBestFit(Long tenantId, int partySize, LocalDateTime startTime, LocalDateTime endTime) {
+        TenantTables tables = tenant(tenantId);
+        synchronized (tables) {
+            for (List<Long> sameSize : tables.tablesBySeats.tailMap(partySize, true).values()) {
+                for (Long tableId : sameSize) {
+                    if (isFree(tables, tableId, startTime, endTime)) {
+                        return Optional.of(tableId);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The fewest adjacent tables of the space that are all free for the window and together
+     * seat {@code partySize}; ties go to the combination with the fewest seats.
+     */
+    public Optional<List<Long>> findCombination(Long tenantId, Long spaceId, int partySize, LocalDateTime startTime, LocalDateTime endTime) {
+        TenantTables tables = tenant(tenantId);
+        synchronized (tables) {
+            TableAdjacency adjacency = tables.adjacency(spaceId);
+            BitSet free = new BitSet(adjacency.size());
+            for (int position = 0; position < adjacency.size(); position++) {
+                if (isFree(tables, adjacency.tableId(position), startTime, endTime)) {
+                    free.set(position);
+                }
+            }
+            return adjacency.smallestCombination(partySize, free, MAX_COMBINED_TABLES, COMBINATION_SEARCH_BUDGET);
+        }
+    }
+
+    /**
+     * Record a saved table reservation once the current transaction commits.
+     * Reservations that are no longer active are dropped from the index.
+     */
+    public void onSaved(TableReservation reservation) {
+        Long tenantId = reservation.getTenant().getId();
+        Long tableId = reservation.getTable().getId();
+        Long reservationId = reservation.getId();
+        LocalDateTime startTime = reservation.getRequestedTime();
+        LocalDateTime endTime = reservation.getEstimatedArrivalTime();
+        boolean active = ACTIVE_STATUSES.contains(reservation.getStatus());
+        TransactionCallbacks.afterCommit(() -> tenants.computeIfPresent(tenantId, (id, tables) -> {
+            synchronized (tables) {
+                tables.remove(reservationId);
+                if (active) {
+                    tables.put(tableId, reservationId, startTime, endTime);
+                }
+            }
+            return tables;
+        }));
+    }
+
+    /**
+     * Drop a deleted table reservation once the current transaction commits.
+     */
+    public void onDeleted(Long reservationId) {
+        TransactionCallbacks.afterCommit(() -> tenants.values().forEach(tables -> {
+            synchronized (tables) {
+                tables.remove(reservationId);
+            }
+        }));
+    }
+
+    /**
+     * Drop reservations that were moved to EXPIRED in bulk.
+     */
+    public void onExpired(Collection<Long> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> tenants.values().forEach(tables -> {
+            synchronized (tables) {
+                reservationIds.forEach(tables::remove);
+            }
+        }));
+    }
+
+    /**
+     * Reload the tenant's tables after one of them was created, changed or deleted.
+     */
+    public void onTenantTablesChanged(Long tenantId) {
+        TransactionCallbacks.afterCommit(() -> evict(tenantId));
+    }
+
+    /**
+     * Reload the tables of whichever tenant owns the changed or deleted table.
+     */
+    public void onTableChanged(Long tableId) {
+        TransactionCallbacks.afterCommit(() -> {
+            Long tenantId = tenantByTable.get(tableId);
+            if (tenantId != null) {
+                evict(tenantId);
+            }
+        });
+    }
+
+    public void evict(Long tenantId) {
+        TenantTables removed = tenants.remove(tenantId);
+        if (removed != null) {
+            removed.bookings.keySet().forEach(tenantByTable::remove);
+        }
+    }
+
+    /**
+     * Neither booked nor held by a customer who is checking out.
+     */
+    private boolean isFree(TenantTables tables, Long tableId, LocalDateTime startTime, LocalDateTime endTime) {
+        return !tables.bookings.get(tableId).overlaps(startTime, endTime, null)
+                && !holdRegistry.overlaps(BookingResource.TABLE, tableId, startTime, endTime, null);
+    }
+
+    private TenantTables tenant(Long tenantId) {
+        return tenants.computeIfAbsent(tenantId, this::load);
+    }
+
+    private TenantTables load(Long tenantId) {
+        TenantTables tables = new TenantTables();
+        for (RestaurantTable table : tableRepository.findByTenantIdOrderByName(tenantId)) {
+            if (table.getStatus() != RestaurantTable.TableStatus.OUT_OF_SERVICE) {
+                tables.addTable(table.getId(), table.getSpace().getId(), table.getNumberOfSeats());
+                tenantByTable.put(table.getId(), tenantId);
+            }
+        }
+        tableRepository.findAdjacencyByTenantId(tenantId)
+                .forEach(link -> tables.adjacent.computeIfAbsent(link.getTableId(), id -> new HashSet<>()).add(link.getAdjacentTableId()));
+        reservationRepository.findWindowsByTenantId(tenantId, ACTIVE_STATUSES, LocalDateTime.now())
+                .forEach(window -> tables.put(window.getTableId(), window.getId(), window.getStartTime(), window.getEndTime()));
+        return tables;
+    }
+
+    /**
+     * Tables of one tenant by seat count and by space, and the booking windows of each table.
+     */
+    private static final class TenantTables {
+        private final NavigableMap<Integer, List<Long>> tablesBySeats = new TreeMap<>();
+        private final Map<Long, SortedMap<Long, Integer>> seatsBySpace = new HashMap<>();
+        private final Map<Long, Set<Long>> adjacent = new HashMap<>();
+        private final Map<Long, TableAdjacency> adjacencyBySpace = new HashMap<>();
+        private final Map<Long, IntervalTree> bookings = new HashMap<>();
+        private final Map<Long, Long> tableByReservation = new HashMap<>();
+
+        private TableAdjacency adjacency(Long spaceId) {
+            return adjacencyBySpace.computeIfAbsent(spaceId,
+                    id -> new TableAdjacency(seatsBySpace.getOrDefault(id, new TreeMap<>()), adjacent));
+        }
+
+        private void addTable(Long tableId, Long spaceId, int seats) {
+            seatsBySpace.computeIfAbsent(spaceId, id -> new TreeMap<>()).put(tableId, seats);
+            List<Long> sameSize = tablesBySeats.computeIfAbsent(seats, size -> new ArrayList<>());
+            int position = 0;
+            while (position < sameSize.size() && sameSize.get(position) < tableId) {
+                position++;
+            }
+            sameSize.add(position, tableId);
+            bookings.put(tableId, new IntervalTree());
+        }
+
+        private void put(Long tableId, Long reservationId, LocalDateTime startTime, LocalDateTime endTime) {
+            IntervalTree tree = bookings.get(tableId);
+            if (tree != null) {
+                tree.put(reservationId, startTime, endTime);
+                tableByReservation.put(reservationId, tableId);
+            }
+        }
+
+        private void remove(Long reservationId) {
+            Long tableId = tableByReservation.remove(reservationId);
+            if (tableId != null) {
+                bookings.get(tableId).remove(reservationId);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.coworking.reservationsystem.service.lock;
+
+import java.util.Collection;
+
+/**
+ * Serializes bookings per resource: the check-then-insert of two bookings for the same
+ * space or table never interleaves, while bookings for different resources run in parallel.
+ * <p>
+ * Locks are taken inside the booking transaction and released when it completes, so the
+ * next booking for the resource sees everything the previous one committed.
+ */
+public interface BookingLockManager {
+
+    /**
+     * Lock the resource until the current transaction completes.
+     *
+     * @throws com.coworking.reservationsystem.exception.ConflictException if the lock could not be acquired in time
+     */
+    void lock(BookingResource resource, Long resourceId);
+
+    /**
+     * Lock several resources until the current transaction completes. Locks are always
+     * taken in the same order, so two transactions locking overlapping sets cannot deadlock.
+     */
+    default void lockAll(BookingResource resource, Collection<Long> resourceIds) {
+        resourceIds.stream()
+                .distinct()
+                .sorted()
+                .forEach(resourceId -> lock(resource, resourceId));
+    }
+
+    /**
+     * Whether the locks are shared by all application nodes. The in-memory indexes of one node
+     * do not see bookings made on other nodes, so conflict checks then have to read the database.
+     */
+    default boolean isDistributed() {
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package com.coworking.reservationsystem.service.lock;
+
+import com.coworking.reservationsystem.model.entity.RestaurantTable;
+import com.coworking.reservationsystem.model.entity.Space;
+
+/**
+ * Bookable resources whose reservations are serialized by the {@link BookingLockManager}.
+ */
+public enum BookingResource {
+    SPACE(Space.class),
+    TABLE(RestaurantTable.class);
+
+    private final Class<?> entityType;
+
+    BookingResource(Class<?> entityType) {
+        this.entityType = entityType;
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+}
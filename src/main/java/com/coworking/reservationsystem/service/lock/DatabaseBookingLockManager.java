@@ -0,0 +1,52 @@
+package com.coworking.reservationsystem.service.lock;
+
+import com.coworking.reservationsystem.exception.ConflictException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * Multi-node lock manager: locks the row of the booked space or table with
+ * {@code SELECT ... FOR UPDATE}. Only bookings of the same resource queue up behind the row
+ * lock, and the database releases it when the booking transaction ends.
+ * Enabled with {@code booking.lock.backend=database}.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.lock.backend", havingValue = "database")
+public class DatabaseBookingLockManager implements BookingLockManager {
+
+    private final EntityManager entityManager;
+    private final long timeoutMillis;
+
+    public DatabaseBookingLockManager(EntityManager entityManager,
+                                      @Value("${booking.lock.timeout-ms:5000}") long timeoutMillis) {
+        this.entityManager = entityManager;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public void lock(BookingResource resource, Long resourceId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Booking locks can only be taken inside a transaction");
+        }
+        try {
+            entityManager.find(resource.getEntityType(), resourceId, LockModeType.PESSIMISTIC_WRITE,
+                    Map.of("jakarta.persistence.lock.timeout", timeoutMillis));
+        } catch (LockTimeoutException | PessimisticLockException | PessimisticLockingFailureException e) {
+            throw new ConflictException("Another booking for this " + resource.name().toLowerCase() + " is in progress, please retry");
+        }
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return true;
+    }
+}
@@ -0,0 +1,79 @@
+package com.coworking.reservationsystem.service.lock;
+
+import com.coworking.reservationsystem.exception.ConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single-node lock manager backed by a fixed array of striped {@link ReentrantLock}s.
+ * Resources hash onto stripes, so memory stays constant however many resources exist;
+ * two resources sharing a stripe merely wait for each other.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.lock.backend", havingValue = "local", matchIfMissing = true)
+public class LocalBookingLockManager implements BookingLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public LocalBookingLockManager(@Value("${booking.lock.stripes:1024}") int stripeCount,
+                                   @Value("${booking.lock.timeout-ms:5000}") long timeoutMillis) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public void lock(BookingResource resource, Long resourceId) {
+        lockStripe(stripe(resource, resourceId), resource);
+    }
+
+    /**
+     * Locks are ordered by stripe rather than by id: ids hash onto stripes in no particular
+     * order, so two transactions locking in id order could still take two stripes in opposite orders.
+     */
+    @Override
+    public void lockAll(BookingResource resource, Collection<Long> resourceIds) {
+        resourceIds.stream()
+                .map(resourceId -> stripe(resource, resourceId))
+                .distinct()
+                .sorted()
+                .forEach(stripe -> lockStripe(stripe, resource));
+    }
+
+    private void lockStripe(int stripe, BookingResource resource) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking locks can only be taken inside a transaction");
+        }
+        ReentrantLock lock = stripes[stripe];
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ConflictException("Another booking for this " + resource.name().toLowerCase() + " is in progress, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while waiting for the " + resource.name().toLowerCase() + " booking lock");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    int stripe(BookingResource resource, Long resourceId) {
+        long hash = (resourceId * 31 + resource.ordinal()) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (stripes.length - 1);
+    }
+}
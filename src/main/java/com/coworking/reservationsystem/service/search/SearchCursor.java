@@ -0,0 +1,48 @@
+package com.coworking.reservationsystem.service.search;
+
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.SearchHitDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a list of search hits ordered best first by {@code (score, id, kind)}. Each
+ * page resumes strictly after the last hit of the previous one, so pages neither skip nor
+ * repeat hits when records are indexed in between. Clients only see the opaque
+ * {@link #encode()} token.
+ */
+public record SearchCursor(double score, long id, SearchHitDto.Kind kind) {
+
+    // Sorts ahead of every hit
+    private static final SearchCursor FIRST =
+            new SearchCursor(Double.POSITIVE_INFINITY, Long.MAX_VALUE, SearchHitDto.Kind.SPACE);
+
+    /**
+     * Decode a client token; a missing token starts at the best hit.
+     */
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new ValidationException("Invalid cursor");
+            }
+            return new SearchCursor(Double.parseDouble(parts[0]), Long.parseLong(parts[1]),
+                    SearchHitDto.Kind.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    public static SearchCursor after(SearchHitDto hit) {
+        return new SearchCursor(hit.score(), hit.id(), hit.kind());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((score + "|" + id + "|" + kind).getBytes(StandardCharsets.UTF_8));
+    }
+}
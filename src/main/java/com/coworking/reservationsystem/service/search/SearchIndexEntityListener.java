@@ -0,0 +1,59 @@
+package com.coworking.reservationsystem.service.search;
+
+import com.coworking.reservationsystem.model.dto.SearchHitDto;
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.model.entity.Reservation;
+import com.coworking.reservationsystem.model.entity.Space;
+import com.coworking.reservationsystem.model.entity.TableReservation;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Feeds {@link TextSearchIndex} from JPA write events on the entities it covers, so writes
+ * through the entity manager keep the index current without calling it. Hibernate creates
+ * the listener through Spring's bean container; the index is only looked up when an event
+ * arrives, since its repositories need the entity manager factory that is still being built
+ * at that point. Bulk JPQL updates raise no events; the ones in this application only change
+ * statuses. Batch reservation inserts go through JDBC and feed the index themselves.
+ */
+public class SearchIndexEntityListener {
+
+    private final ObjectProvider<TextSearchIndex> textSearchIndex;
+
+    public SearchIndexEntityListener(ObjectProvider<TextSearchIndex> textSearchIndex) {
+        this.textSearchIndex = textSearchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(Object entity) {
+        TextSearchIndex index = textSearchIndex.getObject();
+        switch (entity) {
+            case Customer customer -> index.onSaved(SearchHitDto.Kind.CUSTOMER, customer.getId(),
+                    customer.getTenant().getId(), customer.getNotes());
+            case Reservation reservation -> index.onSaved(SearchHitDto.Kind.RESERVATION, reservation.getId(),
+                    reservation.getTenant().getId(), reservation.getNotes());
+            case TableReservation reservation -> index.onSaved(SearchHitDto.Kind.TABLE_RESERVATION, reservation.getId(),
+                    reservation.getTenant().getId(), reservation.getSpecialRequests());
+            case Space space -> index.onSaved(SearchHitDto.Kind.SPACE, space.getId(),
+                    space.getTenant().getId(), space.getDescription());
+            default -> {
+            }
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        TextSearchIndex index = textSearchIndex.getObject();
+        switch (entity) {
+            case Customer customer -> index.onDeleted(SearchHitDto.Kind.CUSTOMER, customer.getId());
+            case Reservation reservation -> index.onDeleted(SearchHitDto.Kind.RESERVATION, reservation.getId());
+            case TableReservation reservation -> index.onDeleted(SearchHitDto.Kind.TABLE_RESERVATION, reservation.getId());
+            case Space space -> index.onDeleted(SearchHitDto.Kind.SPACE, space.getId());
+            default -> {
+            }
+        }
+    }
+}
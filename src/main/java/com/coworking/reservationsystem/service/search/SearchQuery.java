@@ -0,0 +1,60 @@
+package com.coworking.reservationsystem.service.search;
+
+import com.coworking.reservationsystem.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A parsed full-text query: records matching any one of the clauses. Words within a clause
+ * must all occur ({@code AND} may be written but is implied), {@code OR} starts a new clause,
+ * and a word after {@code NOT} or prefixed with {@code -} must not occur. So
+ * {@code vegan birthday OR wheelchair -terrace} finds vegan birthdays, and wheelchair requests
+ * that do not mention the terrace.
+ */
+public record SearchQuery(List<Clause> clauses) {
+
+    /**
+     * Analyzed terms a match must all contain, and terms it must not contain.
+     */
+    public record Clause(List<String> required, List<String> excluded) {
+    }
+
+    public static SearchQuery parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        Set<String> required = new LinkedHashSet<>();
+        Set<String> excluded = new LinkedHashSet<>();
+        boolean negate = false;
+        for (String token : (query == null ? "" : query.trim()).split("\\s+")) {
+            switch (token) {
+                case "OR", "|" -> {
+                    addClause(clauses, required, excluded);
+                    negate = false;
+                }
+                case "AND", "&", "" -> {
+                }
+                case "NOT" -> negate = true;
+                default -> {
+                    (negate || token.startsWith("-") ? excluded : required).addAll(TextAnalyzer.terms(token));
+                    negate = false;
+                }
+            }
+        }
+        addClause(clauses, required, excluded);
+        if (clauses.isEmpty()) {
+            throw new ValidationException("Search query has no searchable terms");
+        }
+        return new SearchQuery(List.copyOf(clauses));
+    }
+
+    // A clause of exclusions alone would match nearly everything, so it is dropped
+    private static void addClause(List<Clause> clauses, Set<String> required, Set<String> excluded) {
+        if (!required.isEmpty()) {
+            clauses.add(new Clause(List.copyOf(required), List.copyOf(excluded)));
+        }
+        required.clear();
+        excluded.clear();
+    }
+}
@@ -0,0 +1,102 @@
+package com.coworking.reservationsystem.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits free text into index terms, the same way for stored text and for queries. Words are
+ * runs of letters and digits, lowercased and stripped of diacritics (so "lângă" and "langa"
+ * meet); common English stop words are dropped and the rest lightly stemmed, so "birthdays",
+ * "allergies" and "seated" find "birthday", "allergy" and "seating".
+ */
+public final class TextAnalyzer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "in", "is", "it",
+            "its", "of", "on", "or", "that", "the", "to", "was", "were", "will", "with");
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * The terms of the text in order, repeated as often as they occur.
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean inWord = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                String word = folded.substring(start, i);
+                if (!STOP_WORDS.contains(word)) {
+                    terms.add(stem(word));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Strip plural, -ing, -ed and -ly endings and a final e. Much lighter than a full Porter
+     * stemmer, but it only has to map a word and its usual forms to the same term.
+     */
+    static String stem(String word) {
+        String stem = word;
+        if (stem.endsWith("sses")) {
+            stem = cut(stem, 2);
+        } else if (stem.endsWith("ies") && stem.length() > 4) {
+            stem = cut(stem, 3) + "y";
+        } else if (stem.endsWith("s") && stem.length() > 3
+                && !stem.endsWith("ss") && !stem.endsWith("us") && !stem.endsWith("is")) {
+            stem = cut(stem, 1);
+        }
+        if (stem.endsWith("ing") && stem.length() > 5 && hasVowel(cut(stem, 3))) {
+            stem = undouble(cut(stem, 3));
+        } else if (stem.endsWith("ed") && stem.length() > 4 && hasVowel(cut(stem, 2))) {
+            stem = undouble(cut(stem, 2));
+        } else if (stem.endsWith("ly") && stem.length() > 5) {
+            stem = cut(stem, 2);
+        }
+        if (stem.endsWith("e") && stem.length() > 4) {
+            stem = cut(stem, 1);
+        }
+        return stem;
+    }
+
+    private static String cut(String word, int suffix) {
+        return word.substring(0, word.length() - suffix);
+    }
+
+    private static boolean hasVowel(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if ("aeiouy".indexOf(word.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "running" -> "runn" -> "run", but "falling" keeps its "ll"
+    private static String undouble(String stem) {
+        int length = stem.length();
+        if (length > 2 && stem.charAt(length - 1) == stem.charAt(length - 2)
+                && "aeiouylsz".indexOf(stem.charAt(length - 1)) < 0 && Character.isLetter(stem.charAt(length - 1))) {
+            return stem.substring(0, length - 1);
+        }
+        return stem;
+    }
+}
@@ -0,0 +1,251 @@
+package com.coworking.reservationsystem.service.search;
+
+import com.coworking.reservationsystem.model.dto.SearchHitDto;
+import com.coworking.reservationsystem.model.dto.SearchTextDto;
+import com.coworking.reservationsystem.repository.CustomerRepository;
+import com.coworking.reservationsystem.repository.ReservationRepository;
+import com.coworking.reservationsystem.repository.SpaceRepository;
+import com.coworking.reservationsystem.repository.TableReservationRepository;
+import com.coworking.reservationsystem.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory inverted index over customer notes, reservation notes, table reservation special
+ * requests and space descriptions, one per tenant. Each text is split into terms by
+ * {@link TextAnalyzer}, and every term lists the records containing it with how often it
+ * occurs. A query intersects the lists of a clause's terms, starting with the shortest, and
+ * ranks the matches by BM25. A tenant is loaded the first time it is searched and kept
+ * current after every committed write, by {@link SearchIndexEntityListener} or, for writes
+ * that bypass the entity manager, by the code making them.
+ */
+@Component
+@RequiredArgsConstructor
+public class TextSearchIndex {
+
+    // Usual BM25 parameters: how quickly repeats stop counting, and how much length matters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final SearchHitDto.Kind[] KINDS = SearchHitDto.Kind.values();
+
+    // Best first: higher score, then newer record
+    private static final Comparator<Match> BEST_FIRST = Comparator.comparingDouble(Match::score).reversed()
+            .thenComparing(Comparator.comparingLong(Match::id).reversed())
+            .thenComparing(Comparator.comparingInt(Match::kind).reversed());
+
+    private final CustomerRepository customerRepository;
+    private final ReservationRepository reservationRepository;
+    private final TableReservationRepository tableReservationRepository;
+    private final SpaceRepository spaceRepository;
+
+    private final Map<Long, TenantTexts> tenants = new ConcurrentHashMap<>();
+
+    /**
+     * Up to {@code limit} of the tenant's records matching the query that rank after the
+     * cursor, best first.
+     */
+    public List<SearchHitDto> search(Long tenantId, SearchQuery query, SearchCursor after, int limit) {
+        TenantTexts texts = texts(tenantId);
+        synchronized (texts) {
+            return texts.search(query, after, limit);
+        }
+    }
+
+    /**
+     * Index the text of a saved record under its tenant once the current transaction commits.
+     */
+    public void onSaved(SearchHitDto.Kind kind, Long id, Long tenantId, String text) {
+        long key = key(kind, id);
+        TransactionCallbacks.afterCommit(() -> {
+            // A record moved to another tenant must disappear from the old one
+            tenants.forEach((otherId, texts) -> {
+                if (!otherId.equals(tenantId)) {
+                    synchronized (texts) {
+                        texts.remove(key);
+                    }
+                }
+            });
+            tenants.computeIfPresent(tenantId, (sameId, texts) -> {
+                synchronized (texts) {
+                    texts.put(key, text);
+                }
+                return texts;
+            });
+        });
+    }
+
+    /**
+     * Drop a deleted record once the current transaction commits.
+     */
+    public void onDeleted(SearchHitDto.Kind kind, Long id) {
+        long key = key(kind, id);
+        TransactionCallbacks.afterCommit(() -> tenants.values().forEach(texts -> {
+            synchronized (texts) {
+                texts.remove(key);
+            }
+        }));
+    }
+
+    /**
+     * Forget the tenant's texts; they are reloaded on the next search.
+     */
+    public void evict(Long tenantId) {
+        tenants.remove(tenantId);
+    }
+
+    private TenantTexts texts(Long tenantId) {
+        // Loading inside computeIfAbsent makes commits for the same tenant wait for the load,
+        // so a write can never be applied to texts that are about to be replaced.
+        return tenants.computeIfAbsent(tenantId, id -> {
+            TenantTexts loaded = new TenantTexts();
+            load(loaded, SearchHitDto.Kind.CUSTOMER, customerRepository.findSearchTextsByTenantId(id));
+            load(loaded, SearchHitDto.Kind.RESERVATION, reservationRepository.findSearchTextsByTenantId(id));
+            load(loaded, SearchHitDto.Kind.TABLE_RESERVATION, tableReservationRepository.findSearchTextsByTenantId(id));
+            load(loaded, SearchHitDto.Kind.SPACE, spaceRepository.findSearchTextsByTenantId(id));
+            return loaded;
+        });
+    }
+
+    private static void load(TenantTexts texts, SearchHitDto.Kind kind, List<SearchTextDto> rows) {
+        rows.forEach(row -> texts.put(key(kind, row.id()), row.text()));
+    }
+
+    // Record ids are packed with their kind in the two low bits
+    private static long key(SearchHitDto.Kind kind, long id) {
+        return id << 2 | kind.ordinal();
+    }
+
+    private record Document(String text, String[] terms, int length) {
+    }
+
+    private record Match(long key, double score) {
+        long id() {
+            return key >>> 2;
+        }
+
+        int kind() {
+            return (int) (key & 3);
+        }
+    }
+
+    /**
+     * The texts of one tenant: each record's analyzed text, and for every term the records
+     * containing it with the number of occurrences.
+     */
+    private static final class TenantTexts {
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        private long totalLength;
+
+        private void put(long key, String text) {
+            Document existing = documents.get(key);
+            if (existing != null && existing.text().equals(text)) {
+                return;
+            }
+            remove(key);
+            List<String> terms = TextAnalyzer.terms(text);
+            if (terms.isEmpty()) {
+                return;
+            }
+            Map<String, Integer> counts = new HashMap<>();
+            terms.forEach(term -> counts.merge(term, 1, Integer::sum));
+            counts.forEach((term, count) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, count));
+            documents.put(key, new Document(text, counts.keySet().toArray(String[]::new), terms.size()));
+            totalLength += terms.size();
+        }
+
+        private void remove(long key) {
+            Document document = documents.remove(key);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms()) {
+                Map<Long, Integer> list = postings.get(term);
+                list.remove(key);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            totalLength -= document.length();
+        }
+
+        private List<SearchHitDto> search(SearchQuery query, SearchCursor after, int limit) {
+            Map<Long, Double> scores = new HashMap<>();
+            for (SearchQuery.Clause clause : query.clauses()) {
+                match(clause, scores);
+            }
+            // Worst of the kept matches on top, so each better one replaces it
+            PriorityQueue<Match> best = new PriorityQueue<>(BEST_FIRST.reversed());
+            scores.forEach((key, score) -> {
+                Match match = new Match(key, score);
+                if (limit > 0 && isAfter(match, after)) {
+                    best.offer(match);
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            });
+            List<Match> page = new ArrayList<>(best);
+            page.sort(BEST_FIRST);
+            return page.stream()
+                    .map(match -> new SearchHitDto(KINDS[match.kind()], match.id(),
+                            documents.get(match.key()).text(), match.score()))
+                    .toList();
+        }
+
+        private static boolean isAfter(Match match, SearchCursor after) {
+            if (after.score() != match.score()) {
+                return after.score() > match.score();
+            }
+            if (after.id() != match.id()) {
+                return after.id() > match.id();
+            }
+            return after.kind().ordinal() > match.kind();
+        }
+
+        // Scores every record matching the clause, keeping its best score over all clauses
+        private void match(SearchQuery.Clause clause, Map<Long, Double> scores) {
+            List<Map<Long, Integer>> lists = new ArrayList<>();
+            for (String term : clause.required()) {
+                Map<Long, Integer> list = postings.get(term);
+                if (list == null) {
+                    return;
+                }
+                lists.add(list);
+            }
+            Map<Long, Integer> shortest = lists.stream().min(Comparator.comparingInt(Map::size)).orElseThrow();
+            double averageLength = (double) totalLength / documents.size();
+            candidates:
+            for (Long key : shortest.keySet()) {
+                for (Map<Long, Integer> list : lists) {
+                    if (!list.containsKey(key)) {
+                        continue candidates;
+                    }
+                }
+                for (String term : clause.excluded()) {
+                    Map<Long, Integer> list = postings.get(term);
+                    if (list != null && list.containsKey(key)) {
+                        continue candidates;
+                    }
+                }
+                double lengthRatio = documents.get(key).length() / averageLength;
+                double score = 0;
+                for (Map<Long, Integer> list : lists) {
+                    int frequency = list.get(key);
+                    double idf = Math.log(1 + (documents.size() - list.size() + 0.5) / (list.size() + 0.5));
+                    score += idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * lengthRatio));
+                }
+                scores.merge(key, score, Math::max);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.coworking.reservationsystem.service.tenant;
+
+import com.coworking.reservationsystem.model.entity.Tenant;
+
+/**
+ * The tenant fields checked on the request path, detached from the entity so it can be
+ * kept in memory and shared between requests.
+ */
+public record ResolvedTenant(
+        Long id,
+        String subdomain,
+        Tenant.TenantStatus status,
+        Tenant.TenantPlan plan,
+        Integer maxUsers,
+        Integer maxSpaces,
+        Integer maxReservationsPerMonth
+) {
+
+    public static ResolvedTenant of(Tenant tenant) {
+        return new ResolvedTenant(tenant.getId(), tenant.getSubdomain(), tenant.getStatus(), tenant.getPlan(),
+                tenant.getMaxUsers(), tenant.getMaxSpaces(), tenant.getMaxReservationsPerMonth());
+    }
+
+    public boolean isActive() {
+        return status == Tenant.TenantStatus.ACTIVE;
+    }
+}
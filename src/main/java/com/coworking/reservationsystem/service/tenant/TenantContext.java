@@ -0,0 +1,45 @@
+package com.coworking.reservationsystem.service.tenant;
+
+import java.util.Optional;
+
+/**
+ * The tenant of the request being handled on this thread, as resolved once by
+ * {@link TenantResolutionFilter}. Empty when the request names no tenant, and outside
+ * of a request.
+ */
+public final class TenantContext {
+
+    private static final ThreadLocal<ResolvedTenant> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static Optional<ResolvedTenant> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * The current tenant if it is the one with this id, so callers can skip the lookup.
+     */
+    public static Optional<ResolvedTenant> current(Long tenantId) {
+        ResolvedTenant tenant = CURRENT.get();
+        return tenant != null && tenant.id().equals(tenantId) ? Optional.of(tenant) : Optional.empty();
+    }
+
+    /**
+     * Whether a row of this tenant may be used by the request: only the resolved tenant's
+     * rows when a tenant was resolved, any row otherwise.
+     */
+    public static boolean admits(Long tenantId) {
+        ResolvedTenant tenant = CURRENT.get();
+        return tenant == null || tenant.id().equals(tenantId);
+    }
+
+    static void set(ResolvedTenant tenant) {
+        CURRENT.set(tenant);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
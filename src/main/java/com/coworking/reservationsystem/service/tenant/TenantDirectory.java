@@ -0,0 +1,104 @@
+package com.coworking.reservationsystem.service.tenant;
+
+import com.coworking.reservationsystem.model.entity.Tenant;
+import com.coworking.reservationsystem.repository.TenantRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Near-cache of {@link ResolvedTenant}s by id and by subdomain, so resolving the tenant of
+ * a request usually needs no lookup at all.
+ * <p>
+ * Both maps are bounded LRU caches of {@code booking.tenant-cache.size} entries. On this node
+ * {@code TenantServiceImpl} evicts a tenant as soon as a write to it commits; entries also
+ * expire after {@code booking.tenant-cache.ttl-seconds}, which bounds how long a change made
+ * on another node goes unnoticed. Misses are read from the database with a projection, not
+ * through the {@code tenants} second-level cache region, so that region's own TTL does not
+ * add to this bound. Unknown tenants are not cached.
+ */
+@Component
+public class TenantDirectory {
+
+    private final TenantRepository tenantRepository;
+    private final long ttlNanos;
+
+    private final Map<Long, Entry> byId;
+    private final Map<String, Entry> bySubdomain;
+
+    private record Entry(ResolvedTenant tenant, long expiresAt) {
+
+        private boolean isFresh(long now) {
+            return now - expiresAt < 0;
+        }
+    }
+
+    public TenantDirectory(TenantRepository tenantRepository,
+                           @Value("${booking.tenant-cache.ttl-seconds:60}") long ttlSeconds,
+                           @Value("${booking.tenant-cache.size:1000}") int cacheSize) {
+        this.tenantRepository = tenantRepository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.byId = lruMap(cacheSize);
+        this.bySubdomain = lruMap(cacheSize);
+    }
+
+    public Optional<ResolvedTenant> findById(Long id) {
+        Entry entry = byId.get(id);
+        if (entry != null && entry.isFresh(System.nanoTime())) {
+            return Optional.of(entry.tenant());
+        }
+        return remember(tenantRepository.findResolvedById(id));
+    }
+
+    public Optional<ResolvedTenant> findBySubdomain(String subdomain) {
+        Entry entry = bySubdomain.get(subdomain);
+        if (entry != null && entry.isFresh(System.nanoTime())) {
+            return Optional.of(entry.tenant());
+        }
+        return remember(tenantRepository.findResolvedBySubdomain(subdomain));
+    }
+
+    /**
+     * The tenant to attach to a new row. The tenant resolved for this request is attached as a
+     * reference without a query; any other is loaded, so a missing one is still reported.
+     */
+    public Optional<Tenant> findEntityById(Long id) {
+        return TenantContext.current(id)
+                .map(tenant -> tenantRepository.getReferenceById(tenant.id()))
+                .or(() -> tenantRepository.findById(id));
+    }
+
+    /**
+     * Forget a tenant under its id and every subdomain it was cached by, including one it
+     * has just been renamed from.
+     */
+    public void evict(Long id) {
+        byId.remove(id);
+        synchronized (bySubdomain) {
+            bySubdomain.values().removeIf(entry -> entry.tenant().id().equals(id));
+        }
+    }
+
+    private Optional<ResolvedTenant> remember(Optional<ResolvedTenant> tenant) {
+        tenant.ifPresent(resolved -> {
+            Entry entry = new Entry(resolved, System.nanoTime() + ttlNanos);
+            byId.put(resolved.id(), entry);
+            bySubdomain.put(resolved.subdomain(), entry);
+        });
+        return tenant;
+    }
+
+    private static <K> Map<K, Entry> lruMap(int cacheSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package com.coworking.reservationsystem.service.tenant;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Resolves the tenant a request is for, once, and exposes it through {@link TenantContext}
+ * for the rest of the request.
+ * <p>
+ * The tenant is named by the {@code X-Tenant} header, holding its id or subdomain, or else
+ * by the subdomain of the Host when it sits directly under {@code booking.tenant.base-domain}.
+ * A request naming a tenant that does not exist is answered 404; a request naming none goes
+ * through with an empty context, as the endpoints still take the tenant as a parameter.
+ * Registered in {@code TenantFilterConfig}.
+ */
+public class TenantResolutionFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Tenant";
+
+    private final TenantDirectory tenantDirectory;
+    private final String baseDomainSuffix;
+
+    public TenantResolutionFilter(TenantDirectory tenantDirectory, String baseDomain) {
+        this.tenantDirectory = tenantDirectory;
+        this.baseDomainSuffix = baseDomain.isBlank() ? null : "." + baseDomain.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String name = tenantName(request);
+        if (name == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Optional<ResolvedTenant> tenant = isId(name)
+                ? tenantDirectory.findById(Long.valueOf(name))
+                : tenantDirectory.findBySubdomain(name);
+        if (tenant.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Tenant not found: " + name);
+            return;
+        }
+        TenantContext.set(tenant.get());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private String tenantName(HttpServletRequest request) {
+        String header = request.getHeader(HEADER);
+        if (header != null && !header.isBlank()) {
+            // Taken as given: subdomains are stored as entered, so only the Host is normalized
+            return header.trim();
+        }
+        String host = request.getServerName();
+        if (baseDomainSuffix == null || host == null) {
+            return null;
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        if (!host.endsWith(baseDomainSuffix)) {
+            return null;
+        }
+        String subdomain = host.substring(0, host.length() - baseDomainSuffix.length());
+        return subdomain.isEmpty() || subdomain.indexOf('.') >= 0 ? null : subdomain;
+    }
+
+    private boolean isId(String name) {
+        if (name.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
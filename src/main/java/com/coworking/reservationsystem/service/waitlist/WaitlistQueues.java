@@ -0,0 +1,183 @@
+package com.coworking.reservationsystem.service.waitlist;
+
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.model.entity.WaitlistEntry;
+import com.coworking.reservationsystem.repository.WaitlistEntryRepository;
+import com.coworking.reservationsystem.service.index.IntervalTree;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import com.coworking.reservationsystem.util.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * In-memory priority queues of the waiting {@link WaitlistEntry}s, one per resource and
+ * requested window.
+ * <p>
+ * The windows of each space or table sit in an {@link IntervalTree}, so a freed window finds
+ * the queues it may serve without looking at any waiting entry, and each queue is a sorted
+ * set whose head is the entry to promote: higher customer tier first, then the larger party
+ * (it uses more of what was freed), then whoever joined first. Joining, leaving and taking
+ * the head are O(log n). Loaded from the database on first use and kept current after every
+ * committed change; the database stays the source of truth for whether an entry still waits.
+ */
+@Component
+@RequiredArgsConstructor
+public class WaitlistQueues {
+
+    public static final Comparator<Waiting> PRIORITY = Comparator
+            .comparing(Waiting::tier, Comparator.reverseOrder())
+            .thenComparing(Waiting::partySize, Comparator.reverseOrder())
+            .thenComparing(Waiting::joinedAt)
+            .thenComparing(Waiting::id);
+
+    private final WaitlistEntryRepository entryRepository;
+
+    private final Map<ResourceKey, ResourceQueues> queues = new HashMap<>();
+    private final Map<Long, Placed> entries = new HashMap<>();
+    private boolean loaded;
+    private long nextSlot;
+
+    /**
+     * A waiting entry as ordered in its queue.
+     */
+    public record Waiting(Long id, Customer.CustomerTier tier, int partySize, LocalDateTime joinedAt,
+                          LocalDateTime startTime, LocalDateTime endTime) {
+
+        public static Waiting of(WaitlistEntry entry) {
+            return new Waiting(entry.getId(), entry.getTier(), entry.getPartySize(), entry.getJoinedAt(),
+                    entry.getStartTime(), entry.getEndTime());
+        }
+    }
+
+    private record ResourceKey(BookingResource resource, Long resourceId) {
+    }
+
+    private record Window(LocalDateTime startTime, LocalDateTime endTime) {
+    }
+
+    private record Placed(ResourceKey resourceKey, long slot, Waiting waiting) {
+    }
+
+    /**
+     * Windows of one resource and the queue waiting for each of them.
+     */
+    private static final class ResourceQueues {
+        private final IntervalTree windows = new IntervalTree();
+        private final Map<Window, Long> slotByWindow = new HashMap<>();
+        private final Map<Long, NavigableSet<Waiting>> queueBySlot = new HashMap<>();
+    }
+
+    /**
+     * Head of every queue whose window overlaps {@code [startTime, endTime)}, best first.
+     * Callers still check each window against the bookings; a head that cannot be booked
+     * means nobody in its queue can.
+     */
+    public synchronized List<Waiting> candidates(BookingResource resource, Long resourceId, LocalDateTime startTime, LocalDateTime endTime) {
+        ensureLoaded();
+        ResourceQueues resourceQueues = queues.get(new ResourceKey(resource, resourceId));
+        if (resourceQueues == null) {
+            return List.of();
+        }
+        return resourceQueues.windows.overlapping(startTime, endTime).stream()
+                .map(window -> resourceQueues.queueBySlot.get(window.id()).first())
+                .sorted(PRIORITY)
+                .toList();
+    }
+
+    /**
+     * End of the latest window anyone waits for on the resource, if anyone does.
+     */
+    public synchronized LocalDateTime latestEnd(BookingResource resource, Long resourceId) {
+        ensureLoaded();
+        ResourceQueues resourceQueues = queues.get(new ResourceKey(resource, resourceId));
+        if (resourceQueues == null) {
+            return null;
+        }
+        return resourceQueues.slotByWindow.keySet().stream()
+                .map(Window::endTime)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    /**
+     * Queue a saved entry once the current transaction commits.
+     */
+    public void onJoined(WaitlistEntry entry) {
+        BookingResource resource = entry.getResource();
+        Long resourceId = entry.getResourceId();
+        Waiting waiting = Waiting.of(entry);
+        TransactionCallbacks.afterCommit(() -> add(resource, resourceId, waiting));
+    }
+
+    /**
+     * Drop entries that were promoted, cancelled or expired once the current transaction commits.
+     */
+    public void onLeft(Collection<Long> entryIds) {
+        if (entryIds.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> entryIds.forEach(this::remove));
+    }
+
+    public synchronized int size() {
+        ensureLoaded();
+        return entries.size();
+    }
+
+    synchronized void add(BookingResource resource, Long resourceId, Waiting waiting) {
+        // Entries joined before the first load are already in the loaded queues
+        if (!loaded || entries.containsKey(waiting.id())) {
+            return;
+        }
+        ResourceKey resourceKey = new ResourceKey(resource, resourceId);
+        ResourceQueues resourceQueues = queues.computeIfAbsent(resourceKey, key -> new ResourceQueues());
+        Window window = new Window(waiting.startTime(), waiting.endTime());
+        Long slot = resourceQueues.slotByWindow.get(window);
+        if (slot == null) {
+            slot = nextSlot++;
+            resourceQueues.slotByWindow.put(window, slot);
+            resourceQueues.windows.put(slot, waiting.startTime(), waiting.endTime());
+            resourceQueues.queueBySlot.put(slot, new TreeSet<>(PRIORITY));
+        }
+        resourceQueues.queueBySlot.get(slot).add(waiting);
+        entries.put(waiting.id(), new Placed(resourceKey, slot, waiting));
+    }
+
+    synchronized void remove(Long entryId) {
+        Placed placed = entries.remove(entryId);
+        if (placed == null) {
+            return;
+        }
+        ResourceQueues resourceQueues = queues.get(placed.resourceKey());
+        NavigableSet<Waiting> queue = resourceQueues.queueBySlot.get(placed.slot());
+        queue.remove(placed.waiting());
+        if (queue.isEmpty()) {
+            IntervalTree.Interval window = resourceQueues.windows.get(placed.slot());
+            resourceQueues.windows.remove(placed.slot());
+            resourceQueues.slotByWindow.remove(new Window(window.start(), window.end()));
+            resourceQueues.queueBySlot.remove(placed.slot());
+            if (resourceQueues.slotByWindow.isEmpty()) {
+                queues.remove(placed.resourceKey());
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        for (WaitlistEntry entry : entryRepository.findByStatus(WaitlistEntry.WaitlistStatus.WAITING)) {
+            add(entry.getResource(), entry.getResourceId(), Waiting.of(entry));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.coworking.reservationsystem.util;
+
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position in a list ordered newest first by {@code (created_at, id)}. Each page seeks past
+ * the last row of the previous one through a composite index instead of skipping an offset,
+ * so deep pages cost the same as the first. Clients only see the opaque {@link #encode()} token.
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    // Sorts ahead of every row, so the first page runs the same query as the rest
+    private static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    /**
+     * Decode a client token; a missing token starts at the newest row.
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            if (separator < 0) {
+                throw new ValidationException("Invalid cursor");
+            }
+            return new KeysetCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Page size to serve; defaults when absent and is capped at {@link #MAX_SIZE}.
+     */
+    public static int size(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_SIZE;
+        }
+        if (requested < 1) {
+            throw new ValidationException("Page size must be at least 1");
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+
+    /**
+     * Fetch one row past the page so the last page is known without a count query.
+     */
+    public static Pageable window(int size) {
+        return PageRequest.ofSize(size + 1);
+    }
+
+    public static <E, D> CursorPageDto<D> page(List<E> rows, int size,
+                                               Function<E, LocalDateTime> createdAt,
+                                               Function<E, Long> id,
+                                               Function<E, D> mapper) {
+        List<E> items = rows.size() > size ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (rows.size() > size) {
+            E last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(createdAt.apply(last), id.apply(last)).encode();
+        }
+        return new CursorPageDto<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+}
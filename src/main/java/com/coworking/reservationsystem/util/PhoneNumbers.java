@@ -0,0 +1,77 @@
+package com.coworking.reservationsystem.util;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Phone numbers reduced to E.164-like digits, so the same number typed as
+ * {@code "+40 712 345 678"}, {@code "0040-712-345-678"} or {@code "(0712) 345 678"} is stored
+ * and looked up as {@code "+40712345678"}.
+ */
+public final class PhoneNumbers {
+
+    /**
+     * Country code given to national numbers (those starting with a single trunk 0).
+     */
+    public static final String DEFAULT_COUNTRY_CODE = "40";
+
+    private PhoneNumbers() {
+    }
+
+    /**
+     * The number as {@code +<country code><digits>}. Separators are dropped, a leading
+     * {@code 00} becomes {@code +} and a national number gets {@link #DEFAULT_COUNTRY_CODE};
+     * numbers that are neither are kept as bare digits. Blank when there are no digits.
+     */
+    public static String normalize(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = digits(phone);
+        if (digits.isEmpty()) {
+            return "";
+        }
+        if (phone.strip().startsWith("+")) {
+            return "+" + digits;
+        }
+        if (digits.startsWith("00")) {
+            return "+" + digits.substring(2);
+        }
+        if (digits.startsWith("0")) {
+            return "+" + DEFAULT_COUNTRY_CODE + digits.substring(1);
+        }
+        return digits;
+    }
+
+    /**
+     * Normalized prefixes a partly typed number may stand for. A term with a {@code +} or a
+     * leading 0 is normalized like a full number; bare digits may also be a number typed with
+     * its country code but no {@code +}, or a national number without its trunk 0.
+     */
+    public static List<String> prefixes(String term) {
+        String normalized = normalize(term);
+        if (normalized == null || normalized.isEmpty()) {
+            return List.of();
+        }
+        if (normalized.startsWith("+")) {
+            return List.of(normalized);
+        }
+        Set<String> prefixes = new LinkedHashSet<>();
+        prefixes.add(normalized);
+        prefixes.add("+" + normalized);
+        prefixes.add("+" + DEFAULT_COUNTRY_CODE + normalized);
+        return List.copyOf(prefixes);
+    }
+
+    private static String digits(String phone) {
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+}
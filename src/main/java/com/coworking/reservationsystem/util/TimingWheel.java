@@ -0,0 +1,134 @@
+package com.coworking.reservationsystem.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel, used both for hold expiries minutes ahead and for no-show
+ * deadlines spread over days or months.
+ * <p>
+ * Level 0 has one bucket per tick; every level above has buckets as wide as a full
+ * rotation of the level below, and levels are added as far-off deadlines need them.
+ * An entry sits in the finest level whose span reaches its deadline; when the clock
+ * enters the slot of a coarser bucket, that bucket is emptied into the levels below
+ * (a cascade), so every entry moves down at most once per level before it fires.
+ * Scheduling is O(1) and advancing costs the elapsed ticks plus the entries touched.
+ * Entries fire at most one tick after their deadline. Not thread-safe; callers synchronize.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    // Start of the first level-0 slot that has not fired yet
+    private long currentTime;
+    private int size;
+
+    private record Entry<T>(T item, long deadlineMillis) {
+    }
+
+    private static final class Level<T> {
+        private final long tickMillis;
+        private final List<Entry<T>>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tickMillis, int wheelSize) {
+            this.tickMillis = tickMillis;
+            this.buckets = new List[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayList<>();
+            }
+        }
+
+        private List<Entry<T>> bucket(long time) {
+            return buckets[(int) Math.floorMod(Math.floorDiv(time, tickMillis), (long) buckets.length)];
+        }
+
+        private long span() {
+            return tickMillis * buckets.length;
+        }
+    }
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be positive and the wheel must have at least two buckets");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = Math.floorDiv(startMillis, tickMillis) * tickMillis;
+        levels.add(new Level<>(tickMillis, wheelSize));
+    }
+
+    /**
+     * Schedule the item to be returned by {@link #advance(long)} once its deadline has passed,
+     * at most one tick after the deadline (or after scheduling, for deadlines already passed).
+     */
+    public void schedule(T item, long deadlineMillis) {
+        place(new Entry<>(item, deadlineMillis));
+        size++;
+    }
+
+    /**
+     * Move the clock to {@code nowMillis} and remove every entry whose slot has fully passed.
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        if (size == 0) {
+            currentTime = Math.max(currentTime, Math.floorDiv(nowMillis, tickMillis) * tickMillis);
+            return due;
+        }
+        while (currentTime + tickMillis <= nowMillis) {
+            List<Entry<T>> bucket = levels.get(0).bucket(currentTime);
+            bucket.forEach(entry -> due.add(entry.item()));
+            size -= bucket.size();
+            bucket.clear();
+            currentTime += tickMillis;
+            cascade();
+            if (size == 0) {
+                currentTime = Math.max(currentTime, Math.floorDiv(nowMillis, tickMillis) * tickMillis);
+                break;
+            }
+        }
+        return due;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Empty the coarser buckets whose slot starts now, coarsest first, so an entry can
+     * drop several levels in one go.
+     */
+    private void cascade() {
+        for (int level = levels.size() - 1; level > 0; level--) {
+            Level<T> wheel = levels.get(level);
+            if (Math.floorMod(currentTime, wheel.tickMillis) == 0) {
+                List<Entry<T>> bucket = new ArrayList<>(wheel.bucket(currentTime));
+                wheel.bucket(currentTime).clear();
+                bucket.forEach(this::place);
+            }
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long deadline = Math.max(entry.deadlineMillis(), currentTime);
+        Level<T> finest = levels.get(0);
+        if (deadline < currentTime + finest.span()) {
+            finest.bucket(deadline).add(entry);
+            return;
+        }
+        for (int level = 1; ; level++) {
+            if (level == levels.size()) {
+                levels.add(new Level<>(levels.get(level - 1).span(), wheelSize));
+            }
+            Level<T> wheel = levels.get(level);
+            // Slots of this level are aligned to its tick; the current one is covered by the level below
+            long slotStart = Math.floorDiv(currentTime, wheel.tickMillis) * wheel.tickMillis;
+            if (deadline < slotStart + wheel.span()) {
+                wheel.bucket(deadline).add(entry);
+                return;
+            }
+        }
+    }
+}
@@ -32,33 +32,30 @@ VALUES
 (5, 'Terasă 1', 4, 'AVAILABLE', 3, 1, 'Masă pe terasă cu vedere', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
 (6, 'Terasă 2', 6, 'RESERVED', 3, 1, 'Masă pe terasă', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
 
--- Sample Users (plain text passwords for simplicity)
-INSERT INTO users (id, email, first_name, last_name, password, tenant_id, created_at) 
-VALUES 
-(1, 'admin@central.ro', 'Admin', 'Central', 'Password123!', 1, CURRENT_TIMESTAMP),
-(2, 'manager@central.ro', 'Manager', 'Central', 'Password123!', 1, CURRENT_TIMESTAMP),
-(3, 'admin@palace.ro', 'Admin', 'Palace', 'Password123!', 2, CURRENT_TIMESTAMP),
-(4, 'manager@palace.ro', 'Manager', 'Palace', 'Password123!', 2, CURRENT_TIMESTAMP);
+-- Tables that can be pushed together (stored in both directions)
+INSERT INTO table_adjacency (table_id, adjacent_table_id)
+VALUES
+(1, 2), (2, 1),
+(1, 3), (3, 1),
+(2, 4), (4, 2),
+(5, 6), (6, 5);
 
--- Sample User Roles
-INSERT INTO user_roles (user_id, roles) 
+-- Sample Users (plain text passwords for simplicity)
+-- roles is a bitmask of User.Role: USER = 1, MANAGER = 2, ADMIN = 4
+INSERT INTO users (id, email, first_name, last_name, password, roles, tenant_id, created_at) 
 VALUES 
-(1, 'ROLE_ADMIN'),
-(1, 'ROLE_USER'),
-(2, 'ROLE_MANAGER'),
-(2, 'ROLE_USER'),
-(3, 'ROLE_ADMIN'),
-(3, 'ROLE_USER'),
-(4, 'ROLE_MANAGER'),
-(4, 'ROLE_USER');
+(1, 'admin@central.ro', 'Admin', 'Central', 'Password123!', 5, 1, CURRENT_TIMESTAMP),
+(2, 'manager@central.ro', 'Manager', 'Central', 'Password123!', 3, 1, CURRENT_TIMESTAMP),
+(3, 'admin@palace.ro', 'Admin', 'Palace', 'Password123!', 5, 2, CURRENT_TIMESTAMP),
+(4, 'manager@palace.ro', 'Manager', 'Palace', 'Password123!', 3, 2, CURRENT_TIMESTAMP);
 
 -- Sample Customers
-INSERT INTO customers (id, first_name, last_name, phone, email, notes, tenant_id, created_at, updated_at) 
+INSERT INTO customers (id, first_name, last_name, phone, phone_normalized, email, notes, tenant_id, created_at, updated_at) 
 VALUES 
-(1, 'Ion', 'Popescu', '+40712345678', 'ion.popescu@email.com', 'Client fidel', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(2, 'Maria', 'Ionescu', '+40787654321', 'maria.ionescu@email.com', 'Preferă mesele lângă fereastră', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(3, 'Alexandru', 'Dumitrescu', '+40711223344', 'alex.dumitrescu@email.com', 'Client VIP', 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(4, 'Elena', 'Constantinescu', '+40744332211', 'elena.constantinescu@email.com', 'Alergică la fructe de mare', 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+(1, 'Ion', 'Popescu', '+40712345678', '+40712345678', 'ion.popescu@email.com', 'Client fidel', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(2, 'Maria', 'Ionescu', '+40787654321', '+40787654321', 'maria.ionescu@email.com', 'Preferă mesele lângă fereastră', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(3, 'Alexandru', 'Dumitrescu', '+40711223344', '+40711223344', 'alex.dumitrescu@email.com', 'Client VIP', 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(4, 'Elena', 'Constantinescu', '+40744332211', '+40744332211', 'elena.constantinescu@email.com', 'Alergică la fructe de mare', 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
 
 -- Sample Table Reservations
 INSERT INTO table_reservations (id, table_id, customer_id, number_of_people, requested_time, estimated_arrival_time, status, special_requests, tenant_id, created_at, updated_at) 
@@ -0,0 +1,107 @@
+package com.coworking.reservationsystem.benchmark;
+
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.repository.CustomerRepository;
+import com.coworking.reservationsystem.service.index.CustomerNameIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Customer name type-ahead answered by the {@code LIKE '%term%'} query versus the trigram
+ * index, for one tenant with many customers. Run with
+ * {@code mvn test -Pbenchmark -Dtest=CustomerNameSearchBenchmarkTest}, adding
+ * {@code -Dbenchmark.customers.rows=...} to change the size of the tenant.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:name-search;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerNameSearchBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.customers.rows", 500_000);
+    private static final long FIRST_ID = 1_001;
+    private static final List<String> TERMS = List.of("ion", "mar", "escu", "popa", "elena", "drag", "stef", "ana");
+    private static final int LIKE_REPEATS = 3;
+    private static final int INDEX_REPEATS = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void typeAhead_LikeQueryVersusTrigramIndex() {
+        seed();
+        CustomerNameIndex unbounded = new CustomerNameIndex(customerRepository, Integer.MAX_VALUE);
+        CustomerNameIndex typeAhead = new CustomerNameIndex(customerRepository, 50);
+        // Warm up the query and the load before timing the load of a fresh index
+        new CustomerNameIndex(customerRepository, 50).search(1L, "");
+
+        long loadStart = System.nanoTime();
+        typeAhead.search(1L, "");
+        long loadNanos = System.nanoTime() - loadStart;
+
+        System.out.printf("Customer name search, %d customers in the tenant, index loaded in %.0f ms:%n",
+                ROWS, loadNanos / 1_000_000.0);
+        for (String term : TERMS) {
+            List<Long> like = customerRepository.findByTenantIdAndNameContainingIgnoreCase(1L, term).stream()
+                    .map(Customer::getId).sorted().toList();
+            assertEquals(like, unbounded.search(1L, term).stream().sorted().toList(), term);
+
+            long likeStart = System.nanoTime();
+            for (int i = 0; i < LIKE_REPEATS; i++) {
+                jdbcTemplate.queryForList("SELECT id FROM customers WHERE tenant_id = 1 AND " +
+                        "(LOWER(first_name) LIKE ? OR LOWER(last_name) LIKE ?)", Long.class, "%" + term + "%", "%" + term + "%");
+            }
+            long likeNanos = (System.nanoTime() - likeStart) / LIKE_REPEATS;
+
+            for (int i = 0; i < INDEX_REPEATS; i++) {
+                typeAhead.search(1L, term);
+            }
+            long indexStart = System.nanoTime();
+            for (int i = 0; i < INDEX_REPEATS; i++) {
+                typeAhead.search(1L, term);
+            }
+            long indexNanos = (System.nanoTime() - indexStart) / INDEX_REPEATS;
+
+            System.out.printf("  %-6s %7d matches: LIKE query %8.2f ms, trigram index (top 50) %6.3f ms%n",
+                    term, like.size(), likeNanos / 1_000_000.0, indexNanos / 1_000_000.0);
+        }
+    }
+
+    /**
+     * {@link #ROWS} customers of tenant 1 with names put together from common Romanian parts.
+     */
+    private void seed() {
+        String firsts = "ARRAY['Ion', 'Maria', 'Elena', 'Andrei', 'Mihai', 'Ana', 'Ioana', 'Dragoș', 'Ștefan', 'Cristina', " +
+                "'Vasile', 'Gabriela', 'Radu', 'Adriana', 'Florin', 'Simona', 'Bogdan', 'Mariana', 'Sorin', 'Daniela', 'Lucian']";
+        String lasts = "ARRAY['Pop', 'Ionesc', 'Popesc', 'Dumitr', 'Stan', 'Stoica', 'Gheorghi', 'Matei', 'Ciobanu', 'Rusu', " +
+                "'Marin', 'Tudor', 'Drag', 'Stef', 'Constantin', 'Moldovan', 'Lungu', 'Munteanu', 'Neagu']";
+        String suffixes = "ARRAY['', 'u', 'a', 'escu', 'ache', 'ean', 'oiu']";
+        jdbcTemplate.update("INSERT INTO customers (id, first_name, last_name, phone, phone_normalized, email, notes, tenant_id, created_at, " +
+                "updated_at) SELECT X, CONCAT(" + firsts + "[MOD(X, 21) + 1], CASEWHEN(MOD(X, 13) = 0, '-Ana', '')), " +
+                "CONCAT(" + lasts + "[MOD(X / 21, 19) + 1], " + suffixes + "[MOD(X / 7, 7) + 1], " +
+                "CASEWHEN(MOD(X, 5) = 0, CONCAT(' ', X), '')), CONCAT('07', LPAD(X, 8, '0')), CONCAT('+407', LPAD(X, 8, '0')), " +
+                "CONCAT('customer', X, '@example.com'), 'benchmark', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+                "FROM SYSTEM_RANGE(" + FIRST_ID + ", " + (FIRST_ID + ROWS - 1) + ")");
+    }
+}
@@ -0,0 +1,162 @@
+package com.coworking.reservationsystem.benchmark;
+
+import com.coworking.reservationsystem.repository.ReservationRepository;
+import com.coworking.reservationsystem.service.index.SpaceReservationIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the old three-BETWEEN overlap predicate with the half-open range predicate
+ * served by the composite indexes, on years of booking history. Both tables get
+ * {@code benchmark.overlap.rows} rows (10M by default), so the database lives in a file
+ * under {@code target/}. Run with {@code mvn test -Pbenchmark -Dtest=OverlapQueryBenchmarkTest},
+ * adding {@code -Dbenchmark.overlap.rows=...} for a quicker run.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/benchmark/overlap;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OverlapQueryBenchmarkTest {
+
+    private static final long ROWS = Long.getLong("benchmark.overlap.rows", 10_000_000L);
+    private static final int RESOURCES = 1_000;
+    private static final long FIRST_ID = 1_001;
+    private static final int QUERIES = 2_000;
+
+    private static final String LEGACY_SPACE_QUERY = "SELECT id FROM reservations WHERE space_id = ? " +
+            "AND status IN ('PENDING', 'CONFIRMED') AND ((start_time BETWEEN ? AND ?) OR (end_time BETWEEN ? AND ?) OR (? BETWEEN start_time AND end_time))";
+    private static final String LEGACY_TABLE_QUERY = "SELECT id FROM table_reservations WHERE table_id = ? " +
+            "AND status IN ('PENDING', 'CONFIRMED') " +
+            "AND ((requested_time BETWEEN ? AND ?) OR (estimated_arrival_time BETWEEN ? AND ?) " +
+            "OR (? BETWEEN requested_time AND estimated_arrival_time))";
+    private static final String HALF_OPEN_SPACE_QUERY = "SELECT id FROM reservations WHERE space_id = ? " +
+            "AND status IN ('PENDING', 'CONFIRMED') AND start_time < ? AND end_time > ?";
+    private static final String HALF_OPEN_TABLE_QUERY = "SELECT id FROM table_reservations WHERE table_id = ? " +
+            "AND status IN ('PENDING', 'CONFIRMED') AND requested_time < ? AND estimated_arrival_time > ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Test
+    void overlapChecks_LegacyPredicateVersusHalfOpenRanges() {
+        // Bookings start on the hour and queries on the quarter hour, so the closed and
+        // half-open predicates agree and the answers can be compared
+        LocalDateTime now = LocalDate.now().plusDays(60).atTime(8, 0);
+        seed(now);
+        List<Object[]> queries = queries(now, new Random(3));
+
+        String spacePlan = explain(HALF_OPEN_SPACE_QUERY, queries.get(0));
+        String tablePlan = explain(HALF_OPEN_TABLE_QUERY, queries.get(0));
+        assertTrue(spacePlan.toLowerCase().contains("idx_reservations_space_time"), spacePlan);
+        assertTrue(tablePlan.toLowerCase().contains("idx_table_reservations_table_time"), tablePlan);
+
+        Function<Object[], Integer> legacySpace = query -> jdbcTemplate.queryForList(LEGACY_SPACE_QUERY, Long.class,
+                query[0], query[1], query[2], query[1], query[2], query[1]).size();
+        Function<Object[], Integer> halfOpenSpace = query -> jdbcTemplate.queryForList(HALF_OPEN_SPACE_QUERY, Long.class,
+                query[0], query[2], query[1]).size();
+        Function<Object[], Integer> legacyTable = query -> jdbcTemplate.queryForList(LEGACY_TABLE_QUERY, Long.class,
+                query[0], query[1], query[2], query[1], query[2], query[1]).size();
+        Function<Object[], Integer> halfOpenTable = query -> jdbcTemplate.queryForList(HALF_OPEN_TABLE_QUERY, Long.class,
+                query[0], query[2], query[1]).size();
+        // What the booking path runs, entity loading included
+        Function<Object[], Integer> repository = query -> reservationRepository.findOverlappingReservations((Long) query[0],
+                ((Timestamp) query[1]).toLocalDateTime(), ((Timestamp) query[2]).toLocalDateTime(),
+                SpaceReservationIndex.ACTIVE_STATUSES).size();
+
+        System.out.printf("Overlap checks, %d space and %d table reservations over %d spaces and tables, %d checks each:%n",
+                ROWS, ROWS, RESOURCES, QUERIES);
+        assertEquals(run("space, three BETWEENs ", queries, legacySpace), run("space, half-open      ", queries, halfOpenSpace));
+        assertEquals(run("table, three BETWEENs ", queries, legacyTable), run("table, half-open      ", queries, halfOpenTable));
+        assertEquals(run("space, half-open      ", queries, halfOpenSpace), run("space, repository     ", queries, repository));
+    }
+
+    private List<Integer> run(String label, List<Object[]> queries, Function<Object[], Integer> check) {
+        // Warm up the statement cache and JIT before measuring
+        queries.subList(0, 200).forEach(check::apply);
+        long started = System.nanoTime();
+        List<Integer> answers = new ArrayList<>(queries.size());
+        for (Object[] query : queries) {
+            answers.add(check.apply(query));
+        }
+        long nanos = System.nanoTime() - started;
+        System.out.printf("  %s: %10.2f us/check%n", label, nanos / 1_000.0 / queries.size());
+        return answers;
+    }
+
+    private String explain(String sql, Object[] query) {
+        String literal = sql.replaceFirst("\\?", query[0].toString())
+                .replaceFirst("\\?", "TIMESTAMP '" + query[2] + "'")
+                .replaceFirst("\\?", "TIMESTAMP '" + query[1] + "'");
+        return jdbcTemplate.queryForObject("EXPLAIN " + literal, String.class);
+    }
+
+    private List<Object[]> queries(LocalDateTime now, Random random) {
+        List<Object[]> queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            LocalDateTime start = now.plusMinutes(15 + 30L * random.nextInt(48 * 30));
+            queries.add(new Object[]{FIRST_ID + random.nextInt(RESOURCES), Timestamp.valueOf(start),
+                    Timestamp.valueOf(start.plusMinutes(30L * (1 + random.nextInt(6))))});
+        }
+        return queries;
+    }
+
+    /**
+     * {@link #RESOURCES} extra spaces and tables, each with an equal share of hourly bookings
+     * that reach back from a month after {@code now}; the past ones are completed.
+     */
+    private void seed(LocalDateTime now) {
+        long perResource = Math.max(1, ROWS / RESOURCES);
+        jdbcTemplate.update("INSERT INTO spaces (id, name, description, capacity, price_per_hour, location_id, tenant_id) " +
+                "SELECT X, CONCAT('Bench space ', X), 'benchmark', 10, 50.0, 1, 1 FROM SYSTEM_RANGE(?, ?)",
+                FIRST_ID, FIRST_ID + RESOURCES - 1);
+        jdbcTemplate.update("INSERT INTO restaurant_tables (id, name, number_of_seats, status, space_id, tenant_id, created_at) " +
+                "SELECT X, CONCAT('Bench table ', X), 4, 'AVAILABLE', 5, 2, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(?, ?)",
+                FIRST_ID, FIRST_ID + RESOURCES - 1);
+        // data.sql inserts its rows with explicit ids
+        jdbcTemplate.execute("ALTER TABLE reservations ALTER COLUMN id RESTART WITH " + FIRST_ID);
+        jdbcTemplate.execute("ALTER TABLE table_reservations ALTER COLUMN id RESTART WITH " + FIRST_ID);
+        // Space bookings last an hour every two hours, table bookings 90 minutes every three hours
+        String spread = "%d + MOD(X, %d)".formatted(FIRST_ID, RESOURCES);
+        String slot = "X / %d".formatted(RESOURCES);
+        String newest = "TIMESTAMP '%s'".formatted(Timestamp.valueOf(now.plusDays(30)));
+        String current = "TIMESTAMP '%s'".formatted(Timestamp.valueOf(now));
+        jdbcTemplate.update(("INSERT INTO reservations (customer_id, created_by_user_id, space_id, tenant_id, start_time, end_time, total_price, status) " +
+                "SELECT 1, 1, %1$s, 1, DATEADD(HOUR, -2 * (%2$s), %3$s), DATEADD(HOUR, 1 - 2 * (%2$s), %3$s), 50.0, " +
+                "CASE WHEN DATEADD(HOUR, -2 * (%2$s), %3$s) < %4$s THEN 'COMPLETED' ELSE 'CONFIRMED' END " +
+                "FROM SYSTEM_RANGE(0, %5$d)").formatted(spread, slot, newest, current, perResource * RESOURCES - 1));
+        jdbcTemplate.update(("INSERT INTO table_reservations (table_id, customer_id, tenant_id, number_of_people, requested_time, " +
+                "estimated_arrival_time, status, created_at) " +
+                "SELECT %1$s, 3, 2, 4, DATEADD(HOUR, -3 * (%2$s), %3$s), DATEADD(MINUTE, 90 - 180 * (%2$s), %3$s), " +
+                "CASE WHEN DATEADD(HOUR, -3 * (%2$s), %3$s) < %4$s THEN 'COMPLETED' ELSE 'CONFIRMED' END, CURRENT_TIMESTAMP " +
+                "FROM SYSTEM_RANGE(0, %5$d)").formatted(spread, slot, newest, current, perResource * RESOURCES - 1));
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
@@ -0,0 +1,143 @@
+package com.coworking.reservationsystem.benchmark;
+
+import com.coworking.reservationsystem.model.dto.CustomerDto;
+import com.coworking.reservationsystem.model.dto.ReservationDto;
+import com.coworking.reservationsystem.model.dto.TableReservationDto;
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.repository.CustomerRepository;
+import com.coworking.reservationsystem.repository.ReservationRepository;
+import com.coworking.reservationsystem.repository.TableReservationRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Heap allocated per read request when rows are loaded as entities and copied by
+ * {@code Mapper.toDto}, versus the constructor projections that select only the DTO columns.
+ * Each request runs in its own read-only transaction, as the services do. Run with
+ * {@code mvn test -Pbenchmark -Dtest=ProjectionAllocationBenchmarkTest}, adding
+ * {@code -Dbenchmark.projection.rows=...} to change the rows returned per request.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:projection;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProjectionAllocationBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.projection.rows", 2_000);
+    private static final long FIRST_ID = 1_001;
+    private static final int WARMUP = 30;
+    private static final int REQUESTS = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TableReservationRepository tableReservationRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void readRequests_EntityMappingVersusConstructorProjection() {
+        seed();
+
+        System.out.printf("Heap allocated per read request, %d rows per request, %d requests each:%n", ROWS, REQUESTS);
+        assertEquals(
+                run("reservations, entities         ", () -> reservationRepository.findAll().stream()
+                        .map(ReservationDto.Mapper::toDto).toList()),
+                run("reservations, projection       ", () -> reservationRepository.findAllDtos()));
+        assertEquals(
+                run("table reservations, entities   ", () -> tableReservationRepository.findByTenantIdOrderByCreatedAtDesc(1L)
+                        .stream().map(TableReservationDto.Mapper::toDto).toList()),
+                run("table reservations, projection ", () -> tableReservationRepository.findDtosByTenantId(1L)));
+        assertEquals(
+                run("customers, entities            ", () -> customerRepository.findByTenantIdOrderByCreatedAtDesc(1L)
+                        .stream().map(this::toDto).map(this::fields).toList()),
+                run("customers, projection          ", () -> customerRepository.findDtosByTenantId(1L)
+                        .stream().map(this::fields).toList()));
+    }
+
+    private List<?> run(String label, Supplier<List<?>> request) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        for (int i = 0; i < WARMUP; i++) {
+            transaction.execute(status -> request.get());
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        List<?> answer = null;
+        for (int i = 0; i < REQUESTS; i++) {
+            answer = transaction.execute(status -> request.get());
+        }
+        long nanos = System.nanoTime() - started;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        System.out.printf("  %s: %10.1f KB/request %8.2f ms/request%n", label,
+                allocated / 1024.0 / REQUESTS, nanos / 1_000_000.0 / REQUESTS);
+        return answer;
+    }
+
+    // CustomerDto has no equals, so compare what the endpoints serialize
+    private List<Object> fields(CustomerDto dto) {
+        return Arrays.asList(dto.getId(), dto.getFirstName(), dto.getLastName(), dto.getPhone(), dto.getEmail(),
+                dto.getNotes(), dto.getTier(), dto.getTenantId(), dto.getCreatedAt(), dto.getUpdatedAt());
+    }
+
+    private CustomerDto toDto(Customer customer) {
+        return new CustomerDto(customer.getId(), customer.getFirstName(), customer.getLastName(), customer.getPhone(),
+                customer.getEmail(), customer.getNotes(), customer.getTier(), customer.getTenant().getId(),
+                customer.getCreatedAt(), customer.getUpdatedAt());
+    }
+
+    /**
+     * {@link #ROWS} hourly space reservations (every tenth a weekly series), table reservations
+     * and customers for tenant 1, on top of the seed data.
+     */
+    private void seed() {
+        String window = "SYSTEM_RANGE(" + FIRST_ID + ", " + (FIRST_ID + ROWS - 1) + ")";
+        String start = "DATEADD('HOUR', X, TIMESTAMP '2030-01-01 08:00:00')";
+        jdbcTemplate.update("INSERT INTO reservations (id, customer_id, created_by_user_id, space_id, tenant_id, start_time, " +
+                "end_time, total_price, status, notes, created_at, updated_at, recurrence_frequency, recurrence_interval, " +
+                "recurrence_count) SELECT X, MOD(X, 2) + 1, 1, MOD(X, 3) + 1, 1, " + start + ", " +
+                "DATEADD('HOUR', X + 1, TIMESTAMP '2030-01-01 08:00:00'), 50.0, 'CONFIRMED', CONCAT('Booking ', X), " +
+                start + ", " + start + ", CASEWHEN(MOD(X, 10) = 0, 'WEEKLY', NULL), CASEWHEN(MOD(X, 10) = 0, 1, NULL), " +
+                "CASEWHEN(MOD(X, 10) = 0, 4, NULL) FROM " + window);
+        jdbcTemplate.update("INSERT INTO table_reservations (id, table_id, customer_id, number_of_people, requested_time, " +
+                "estimated_arrival_time, status, special_requests, tenant_id, created_at, updated_at) " +
+                "SELECT X, MOD(X, 2) + 5, MOD(X, 2) + 1, 2, " + start + ", " +
+                "DATEADD('MINUTE', 15, " + start + "), 'CONFIRMED', CONCAT('Request ', X), 1, " + start + ", " + start +
+                " FROM " + window);
+        jdbcTemplate.update("INSERT INTO customers (id, first_name, last_name, phone, phone_normalized, email, notes, tenant_id, created_at, " +
+                "updated_at) SELECT X, CONCAT('First', X), CONCAT('Last', X), CONCAT('07', LPAD(X, 8, '0')), CONCAT('+407', LPAD(X, 8, '0')), " +
+                "CONCAT('customer', X, '@example.com'), 'benchmark', 1, " + start + ", " + start + " FROM " + window);
+    }
+}
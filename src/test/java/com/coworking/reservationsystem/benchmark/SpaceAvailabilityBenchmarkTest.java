@@ -0,0 +1,135 @@
+package com.coworking.reservationsystem.benchmark;
+
+import com.coworking.reservationsystem.repository.AvailabilityRepository;
+import com.coworking.reservationsystem.repository.ReservationRepository;
+import com.coworking.reservationsystem.service.index.SpaceAvailabilityIndex;
+import com.coworking.reservationsystem.service.index.SpaceReservationIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares space availability checks answered by the repository queries with the
+ * in-memory slot bitmaps and interval index. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@Import({SpaceReservationIndex.class, SpaceAvailabilityIndex.class})
+class SpaceAvailabilityBenchmarkTest {
+
+    private static final long SPACE_ID = 1L;
+    private static final int DAYS = 365;
+    private static final int QUERIES = 5_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private AvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private SpaceReservationIndex reservationIndex;
+
+    @Autowired
+    private SpaceAvailabilityIndex availabilityIndex;
+
+    @Test
+    void availabilityCheck_RepositoryVersusSlotBitmaps() {
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        int reservations = seed(firstDay, new Random(1));
+        List<LocalDateTime[]> queries = queries(firstDay, new Random(2));
+
+        // Warm up both paths (JIT, statement cache, lazy index load)
+        runRepository(queries.subList(0, 500));
+        runIndex(queries.subList(0, 500));
+
+        long repositoryStart = System.nanoTime();
+        List<Boolean> repositoryAnswers = runRepository(queries);
+        long repositoryNanos = System.nanoTime() - repositoryStart;
+
+        long indexStart = System.nanoTime();
+        List<Boolean> indexAnswers = runIndex(queries);
+        long indexNanos = System.nanoTime() - indexStart;
+
+        assertEquals(repositoryAnswers, indexAnswers);
+        System.out.printf("Space availability, %d reservations over %d days, %d checks:%n", reservations, DAYS, QUERIES);
+        System.out.printf("  repository queries: %8.2f us/check%n", repositoryNanos / 1_000.0 / QUERIES);
+        System.out.printf("  slot bitmaps      : %8.2f us/check%n", indexNanos / 1_000.0 / QUERIES);
+    }
+
+    private List<Boolean> runRepository(List<LocalDateTime[]> queries) {
+        List<Boolean> answers = new ArrayList<>(queries.size());
+        for (LocalDateTime[] query : queries) {
+            LocalDateTime start = query[0];
+            LocalDateTime end = query[1];
+            boolean open = availabilityRepository.findBySpaceId(SPACE_ID).stream()
+                    .anyMatch(window -> !window.getStartTime().isAfter(start) && !window.getEndTime().isBefore(end));
+            answers.add(open && reservationRepository.findOverlappingReservations(SPACE_ID, start, end, SpaceReservationIndex.ACTIVE_STATUSES).isEmpty());
+        }
+        return answers;
+    }
+
+    private List<Boolean> runIndex(List<LocalDateTime[]> queries) {
+        List<Boolean> answers = new ArrayList<>(queries.size());
+        for (LocalDateTime[] query : queries) {
+            answers.add(availabilityIndex.isOpen(SPACE_ID, query[0], query[1])
+                    && !reservationIndex.hasOverlap(SPACE_ID, query[0], query[1], null));
+        }
+        return answers;
+    }
+
+    private List<LocalDateTime[]> queries(LocalDate firstDay, Random random) {
+        List<LocalDateTime[]> queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            LocalDateTime start = firstDay.plusDays(random.nextInt(DAYS)).atTime(7 + random.nextInt(13), 15 * random.nextInt(4));
+            queries.add(new LocalDateTime[]{start, start.plusMinutes(15L * (1 + random.nextInt(8)))});
+        }
+        return queries;
+    }
+
+    /**
+     * Opening hours 08:00-20:00 every day and a few non-overlapping reservations per day.
+     */
+    private int seed(LocalDate firstDay, Random random) {
+        List<Object[]> availabilities = new ArrayList<>();
+        List<Object[]> reservations = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            LocalDate date = firstDay.plusDays(day);
+            availabilities.add(new Object[]{SPACE_ID, 1L, Timestamp.valueOf(date.atTime(8, 0)), Timestamp.valueOf(date.atTime(20, 0))});
+            LocalDateTime cursor = date.atTime(8, 0);
+            while (true) {
+                LocalDateTime start = cursor.plusMinutes(30L * random.nextInt(4));
+                LocalDateTime end = start.plusMinutes(30L * (1 + random.nextInt(4)));
+                if (end.isAfter(date.atTime(20, 0))) {
+                    break;
+                }
+                reservations.add(new Object[]{1L, 1L, SPACE_ID, 1L, Timestamp.valueOf(start), Timestamp.valueOf(end), 10.0, "PENDING"});
+                cursor = end.plusMinutes(1);
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO availabilities (space_id, tenant_id, start_time, end_time) VALUES (?, ?, ?, ?)", availabilities);
+        jdbcTemplate.batchUpdate("INSERT INTO reservations (customer_id, created_by_user_id, space_id, tenant_id, start_time, end_time, total_price, status) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", reservations);
+        return reservations.size();
+    }
+}
@@ -0,0 +1,168 @@
+package com.coworking.reservationsystem.config;
+
+import com.coworking.reservationsystem.model.dto.CacheRegionStatsDto;
+import com.coworking.reservationsystem.model.entity.Space;
+import com.coworking.reservationsystem.model.entity.Tenant;
+import com.coworking.reservationsystem.repository.LocationRepository;
+import com.coworking.reservationsystem.repository.SpaceRepository;
+import com.coworking.reservationsystem.repository.TenantRepository;
+import com.coworking.reservationsystem.service.CacheStatsService;
+import com.coworking.reservationsystem.service.tenant.TenantDirectory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reference-cache;DB_CLOSE_DELAY=-1",
+        "spring.jpa.defer-datasource-initialization=true"
+})
+class ReferenceCacheConfigTest {
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TenantDirectory tenantDirectory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // data.sql inserts spaces with explicit ids, which does not advance the identity
+        jdbcTemplate.execute("ALTER TABLE spaces ALTER COLUMN id RESTART WITH 1000");
+    }
+
+    @Test
+    void findById_SecondLookupIsServedFromCache() {
+        Space loaded = inTransaction(() -> spaceRepository.findById(1L).orElseThrow());
+
+        long statements = statistics.getPrepareStatementCount();
+        Space space = inTransaction(() -> spaceRepository.findById(1L).orElseThrow());
+
+        assertEquals(loaded.getName(), space.getName());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void update_RefreshesCachedEntry() {
+        inTransaction(() -> spaceRepository.findById(2L).orElseThrow());
+        inTransaction(() -> {
+            Space space = spaceRepository.findById(2L).orElseThrow();
+            space.setName("Sala Renovată");
+            return spaceRepository.save(space);
+        });
+
+        long statements = statistics.getPrepareStatementCount();
+        Space space = inTransaction(() -> spaceRepository.findById(2L).orElseThrow());
+
+        assertEquals("Sala Renovată", space.getName());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void delete_EvictsCachedEntry() {
+        Long id = inTransaction(() -> {
+            Space space = new Space();
+            space.setName("Terasa");
+            space.setDescription("Terasă de vară");
+            space.setCapacity(30);
+            space.setPricePerHour(80.0);
+            space.setLocation(locationRepository.getReferenceById(1L));
+            space.setTenant(tenantRepository.getReferenceById(1L));
+            return spaceRepository.save(space).getId();
+        });
+        assertTrue(inTransaction(() -> spaceRepository.findById(id)).isPresent());
+
+        inTransaction(() -> {
+            spaceRepository.deleteById(id);
+            return null;
+        });
+
+        assertTrue(inTransaction(() -> spaceRepository.findById(id)).isEmpty());
+    }
+
+    @Test
+    void findByIdAndTenantId_UsesQueryCacheUntilSpacesChange() {
+        inTransaction(() -> spaceRepository.findByIdAndTenantId(3L, 1L).orElseThrow());
+
+        long statements = statistics.getPrepareStatementCount();
+        inTransaction(() -> spaceRepository.findByIdAndTenantId(3L, 1L).orElseThrow());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getCacheRegionStatistics(ReferenceCacheConfig.QUERY_RESULTS).getHitCount() >= 1);
+
+        inTransaction(() -> {
+            Space space = spaceRepository.findById(3L).orElseThrow();
+            space.setCapacity(space.getCapacity() + 1);
+            return spaceRepository.save(space);
+        });
+        statements = statistics.getPrepareStatementCount();
+        inTransaction(() -> spaceRepository.findByIdAndTenantId(3L, 1L).orElseThrow());
+        assertEquals(statements + 1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getRegionStats_ReportsHitsAndLimits() {
+        inTransaction(() -> tenantRepository.findById(1L).orElseThrow());
+        inTransaction(() -> tenantRepository.findById(1L).orElseThrow());
+
+        CacheRegionStatsDto tenants = cacheStatsService.getRegionStats().stream()
+                .filter(region -> region.region().equals(ReferenceCacheConfig.TENANTS))
+                .findFirst().orElseThrow();
+
+        assertTrue(tenants.hits() >= 1);
+        assertTrue(tenants.hitRatio() > 0);
+        assertEquals(1_000, tenants.maxSize());
+        assertEquals(3_600, tenants.ttlSeconds());
+    }
+
+    @Test
+    void tenantDirectory_MissIsReadPastTheTenantsRegion() {
+        inTransaction(() -> tenantRepository.findById(2L).orElseThrow());
+        // A change the tenants region never hears about, as made by another node
+        jdbcTemplate.update("UPDATE tenants SET max_spaces = max_spaces + 1 WHERE id = 2");
+        Integer maxSpaces = jdbcTemplate.queryForObject("SELECT max_spaces FROM tenants WHERE id = 2", Integer.class);
+
+        try {
+            assertNotEquals(maxSpaces, inTransaction(() -> tenantRepository.findById(2L).orElseThrow()).getMaxSpaces());
+            tenantDirectory.evict(2L);
+            assertEquals(maxSpaces, tenantDirectory.findById(2L).orElseThrow().maxSpaces());
+        } finally {
+            entityManagerFactory.getCache().evict(Tenant.class, 2L);
+            tenantDirectory.evict(2L);
+        }
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+}
@@ -1,6 +1,8 @@
 package com.coworking.reservationsystem.controller;
 
+import com.coworking.reservationsystem.exception.ValidationException;
 import com.coworking.reservationsystem.model.dto.AvailabilityDto;
+import com.coworking.reservationsystem.model.dto.FreeSlotDto;
 import com.coworking.reservationsystem.service.AvailabilityService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +13,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -131,4 +134,42 @@ class AvailabilityControllerTest {
 
         verify(availabilityService).deleteAvailability(1L);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void isSpaceAvailable_ReturnsServiceAnswer() throws Exception {
+        when(availabilityService.isSpaceAvailable(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(true);
+
+        mockMvc.perform(get("/api/v1/availabilities/space/1/check")
+                .param("startTime", "2030-01-01T09:00:00")
+                .param("endTime", "2030-01-01T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("true"));
+
+        verify(availabilityService).isSpaceAvailable(1L, LocalDateTime.of(2030, 1, 1, 9, 0), LocalDateTime.of(2030, 1, 1, 10, 0));
+    }
+
+    @Test
+    void getFreeSlots_ReturnsSlots() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 9, 0);
+        when(availabilityService.getFreeSlots(1L, start, start.plusHours(8), Duration.ofMinutes(60)))
+                .thenReturn(List.of(FreeSlotDto.of(1L, start, start.plusHours(2))));
+
+        mockMvc.perform(get("/api/v1/availabilities/space/1/free-slots")
+                        .param("startTime", "2030-01-10T09:00:00")
+                        .param("endTime", "2030-01-10T17:00:00")
+                        .param("minDurationMinutes", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].durationMinutes").value(120));
+    }
+
+    @Test
+    void getFreeSlots_InvalidWindow_ReturnsBadRequest() throws Exception {
+        when(availabilityService.getFreeSlots(anyLong(), any(), any(), any()))
+                .thenThrow(new ValidationException("End time must be after start time"));
+
+        mockMvc.perform(get("/api/v1/availabilities/space/1/free-slots")
+                        .param("startTime", "2030-01-10T17:00:00")
+                        .param("endTime", "2030-01-10T09:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,41 @@
+package com.coworking.reservationsystem.controller;
+
+import com.coworking.reservationsystem.model.dto.CacheRegionStatsDto;
+import com.coworking.reservationsystem.service.CacheStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CacheController.class)
+class CacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CacheStatsService cacheStatsService;
+
+    @Test
+    void getRegionStats_Success() throws Exception {
+        when(cacheStatsService.getRegionStats()).thenReturn(List.of(
+                new CacheRegionStatsDto("tenants", 9, 1, 1, 0.9, 1_000, 3_600),
+                new CacheRegionStatsDto("spaces", 0, 0, 0, 0, 20_000, 900)));
+
+        mockMvc.perform(get("/api/v1/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].region").value("tenants"))
+                .andExpect(jsonPath("$[0].hitRatio").value(0.9))
+                .andExpect(jsonPath("$[1].maxSize").value(20_000));
+
+        verify(cacheStatsService).getRegionStats();
+    }
+}
@@ -1,5 +1,7 @@
 package com.coworking.reservationsystem.controller;
 
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
 import com.coworking.reservationsystem.model.dto.CustomerDto;
 import com.coworking.reservationsystem.service.CustomerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -116,6 +118,26 @@ class CustomerControllerTest {
         verify(customerService).getAllCustomersByTenant(1L);
     }
 
+    @Test
+    void getCustomerPageByTenant_ReturnsItemsAndNextCursor() throws Exception {
+        when(customerService.getAllCustomersByTenant(1L, "abc", 20))
+                .thenReturn(new CursorPageDto<>(testCustomers, "def"));
+
+        mockMvc.perform(get("/api/v1/customers/tenant/1/cursor").param("cursor", "abc").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].firstName").value("John"))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+    }
+
+    @Test
+    void getCustomerPageByTenant_InvalidCursor_ReturnsBadRequest() throws Exception {
+        when(customerService.getAllCustomersByTenant(1L, "bad", null))
+                .thenThrow(new ValidationException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/v1/customers/tenant/1/cursor").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void updateCustomer_ValidCustomer_ReturnsUpdatedCustomer() throws Exception {
         CustomerDto updatedCustomer = new CustomerDto();
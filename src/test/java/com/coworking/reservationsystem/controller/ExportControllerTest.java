@@ -0,0 +1,78 @@
+package com.coworking.reservationsystem.controller;
+
+import com.coworking.reservationsystem.exception.ResourceNotFoundException;
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.service.ReservationExportService;
+import com.coworking.reservationsystem.service.export.ExportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReservationExportService exportService;
+
+    @Test
+    void exportReservations_StreamsBodyAsAttachment() throws Exception {
+        StreamingResponseBody body = out -> out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+        when(exportService.exportReservations(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class), eq(ExportFormat.NDJSON)))
+                .thenReturn(body);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/exports/reservations")
+                        .param("tenantId", "1")
+                        .param("startDate", "2024-01-01T00:00:00")
+                        .param("endDate", "2024-12-31T23:59:59"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"reservations.ndjson\""))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void exportTableReservations_InvalidRange_ReturnsBadRequest() throws Exception {
+        when(exportService.exportTableReservations(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class), eq(ExportFormat.CSV)))
+                .thenThrow(new ValidationException("Start date must not be after end date"));
+
+        mockMvc.perform(get("/api/v1/exports/table-reservations")
+                        .param("tenantId", "1")
+                        .param("startDate", "2024-12-31T00:00:00")
+                        .param("endDate", "2024-01-01T00:00:00")
+                        .param("format", "CSV"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportReservations_UnknownTenant_ReturnsNotFound() throws Exception {
+        when(exportService.exportReservations(eq(99L), any(LocalDateTime.class), any(LocalDateTime.class), eq(ExportFormat.NDJSON)))
+                .thenThrow(new ResourceNotFoundException("Tenant not found with id: 99"));
+
+        mockMvc.perform(get("/api/v1/exports/reservations")
+                        .param("tenantId", "99")
+                        .param("startDate", "2024-01-01T00:00:00")
+                        .param("endDate", "2024-12-31T23:59:59"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,15 +1,21 @@
 package com.coworking.reservationsystem.controller;
 
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
+import com.coworking.reservationsystem.model.dto.BatchReservationResultDto;
+import com.coworking.reservationsystem.model.dto.HoldDto;
+import com.coworking.reservationsystem.model.dto.HoldRequestDto;
 import com.coworking.reservationsystem.model.dto.ReservationDto;
 import com.coworking.reservationsystem.model.dto.Status;
+import com.coworking.reservationsystem.repository.IdempotencyRecordRepository;
 import com.coworking.reservationsystem.service.ReservationService;
+import com.coworking.reservationsystem.service.idempotency.IdempotencyStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -23,6 +29,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ReservationController.class)
+@Import(IdempotencyStore.class)
 class ReservationControllerTest {
 
     @Autowired
@@ -31,6 +38,9 @@ class ReservationControllerTest {
     @MockBean
     private ReservationService reservationService;
 
+    @MockBean
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -73,6 +83,44 @@ class ReservationControllerTest {
         verify(reservationService).createReservation(any(ReservationDto.class));
     }
 
+    @Test
+    void createReservation_RetryWithSameIdempotencyKey_ReplaysFirstResponse() throws Exception {
+        when(reservationService.createReservation(any(ReservationDto.class))).thenReturn(testReservationDto);
+        String body = objectMapper.writeValueAsString(testReservationDto);
+
+        mockMvc.perform(post("/api/v1/reservations")
+                .header(IdempotencyStore.HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/v1/reservations")
+                .header(IdempotencyStore.HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(reservationService, times(1)).createReservation(any(ReservationDto.class));
+    }
+
+    @Test
+    void createReservations_ReturnsResultPerItem() throws Exception {
+        when(reservationService.createReservations(anyList())).thenReturn(List.of(
+                BatchReservationResultDto.created(0, 1L),
+                BatchReservationResultDto.conflict(1, "There are overlapping reservations for this space")));
+
+        mockMvc.perform(post("/api/v1/reservations/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testReservationDto, testReservationDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$[0].reservationId").value(1))
+                .andExpect(jsonPath("$[1].outcome").value("CONFLICT"));
+
+        verify(reservationService).createReservations(anyList());
+    }
+
     @Test
     void createReservation_InvalidReservation_ReturnsBadRequest() throws Exception {
         ReservationDto invalidReservation = new ReservationDto(
@@ -196,4 +244,43 @@ class ReservationControllerTest {
 
         verify(reservationService).getReservationsBySpaceId(1L);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getReservationsBySpaceIdBetween_ReturnsOccurrencesInWindow() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 8, 0, 0);
+        when(reservationService.getReservationsBySpaceIdBetween(1L, from, to)).thenReturn(List.of(testReservationDto));
+
+        mockMvc.perform(get("/api/v1/reservations/space/1/range")
+                        .param("startTime", "2030-01-01T00:00:00")
+                        .param("endTime", "2030-01-08T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+
+        verify(reservationService).getReservationsBySpaceIdBetween(1L, from, to);
+    }
+
+    @Test
+    void holdSpace_ReturnsCreatedHold() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 10, 0);
+        HoldDto hold = new HoldDto("abc", "SPACE", 1L, start, start.plusHours(2), LocalDateTime.now().plusMinutes(10));
+        when(reservationService.holdSpace(any(HoldRequestDto.class))).thenReturn(hold);
+
+        mockMvc.perform(post("/api/v1/reservations/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"resourceId\":1,\"startTime\":\"2030-01-10T10:00:00\",\"endTime\":\"2030-01-10T12:00:00\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value("abc"));
+    }
+
+    @Test
+    void createReservationFromHold_ExpiredHold_ReturnsNotFound() throws Exception {
+        when(reservationService.createReservationFromHold(eq("gone"), any(ReservationDto.class)))
+                .thenThrow(new ResourceNotFoundException("Hold not found or expired"));
+
+        mockMvc.perform(post("/api/v1/reservations/holds/gone/reservation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\":1,\"createdByUserId\":1,\"totalPrice\":100.0}"))
+                .andExpect(status().isNotFound());
+    }
+}
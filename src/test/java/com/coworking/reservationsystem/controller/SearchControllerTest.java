@@ -0,0 +1,57 @@
+package com.coworking.reservationsystem.controller;
+
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
+import com.coworking.reservationsystem.model.dto.SearchHitDto;
+import com.coworking.reservationsystem.service.SearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SearchController.class)
+class SearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SearchService searchService;
+
+    @Test
+    void search_Success() throws Exception {
+        when(searchService.search(1L, "vegan OR wheelchair", null, 10)).thenReturn(new CursorPageDto<>(List.of(
+                new SearchHitDto(SearchHitDto.Kind.TABLE_RESERVATION, 7L, "Vegan birthday cake", 2.5),
+                new SearchHitDto(SearchHitDto.Kind.CUSTOMER, 3L, "Wheelchair user", 1.5)), "next"));
+
+        mockMvc.perform(get("/api/v1/search")
+                        .param("tenantId", "1")
+                        .param("q", "vegan OR wheelchair")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].kind").value("TABLE_RESERVATION"))
+                .andExpect(jsonPath("$.items[0].id").value(7))
+                .andExpect(jsonPath("$.items[1].text").value("Wheelchair user"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(searchService).search(1L, "vegan OR wheelchair", null, 10);
+    }
+
+    @Test
+    void search_InvalidQuery_ReturnsBadRequest() throws Exception {
+        when(searchService.search(1L, "the", null, null)).thenThrow(new ValidationException("Search query has no searchable terms"));
+
+        mockMvc.perform(get("/api/v1/search")
+                        .param("tenantId", "1")
+                        .param("q", "the"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,5 +1,6 @@
 package com.coworking.reservationsystem.controller;
 
+import com.coworking.reservationsystem.exception.ValidationException;
 import com.coworking.reservationsystem.model.dto.SpaceDto;
 import com.coworking.reservationsystem.model.entity.Space;
 import com.coworking.reservationsystem.model.entity.Tenant;
@@ -199,4 +200,43 @@ class SpaceControllerTest {
 
         verify(spaceService).getSpacesByCapacity(50);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void searchFreeSpaces_ReturnsRankedSpaces() throws Exception {
+        when(spaceService.searchFreeSpaces(eq(1L), isNull(), eq(8), eq(150.0), any(), any(), eq(20)))
+                .thenReturn(List.of(testSpaceDto));
+
+        mockMvc.perform(get("/api/v1/spaces/search")
+                        .param("tenantId", "1")
+                        .param("capacity", "8")
+                        .param("maxPricePerHour", "150")
+                        .param("startTime", "2030-01-10T10:00:00")
+                        .param("endTime", "2030-01-10T12:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void searchFreeSpaces_InvalidRequest_ReturnsBadRequest() throws Exception {
+        when(spaceService.searchFreeSpaces(any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenThrow(new ValidationException("End time must be after start time"));
+
+        mockMvc.perform(get("/api/v1/spaces/search")
+                        .param("tenantId", "1")
+                        .param("capacity", "8")
+                        .param("startTime", "2030-01-10T12:00:00")
+                        .param("endTime", "2030-01-10T10:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchFreeSpaces_WithoutTenant_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/spaces/search")
+                        .param("capacity", "8")
+                        .param("startTime", "2030-01-10T10:00:00")
+                        .param("endTime", "2030-01-10T12:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(spaceService);
+    }
+}
@@ -2,13 +2,16 @@ package com.coworking.reservationsystem.controller;
 
 import com.coworking.reservationsystem.model.dto.TableReservationDto;
 import com.coworking.reservationsystem.model.entity.TableReservation;
+import com.coworking.reservationsystem.repository.IdempotencyRecordRepository;
 import com.coworking.reservationsystem.service.TableReservationService;
+import com.coworking.reservationsystem.service.idempotency.IdempotencyStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -23,6 +26,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TableReservationController.class)
+@Import(IdempotencyStore.class)
 class TableReservationControllerTest {
 
     @Autowired
@@ -31,6 +35,9 @@ class TableReservationControllerTest {
     @MockBean
     private TableReservationService reservationService;
 
+    @MockBean
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -95,6 +102,24 @@ class TableReservationControllerTest {
         verify(reservationService, never()).createTableReservation(any());
     }
 
+    @Test
+    void createReservation_KeyReusedForDifferentRequest_ReturnsBadRequest() throws Exception {
+        when(reservationService.createTableReservation(any(TableReservationDto.class))).thenReturn(testReservationDto);
+
+        mockMvc.perform(post("/api/v1/table-reservations")
+                .header(IdempotencyStore.HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testReservationDto)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/v1/table-reservations")
+                .header(IdempotencyStore.HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testReservationDto).replace("Test reservation", "Window seat please")))
+                .andExpect(status().isBadRequest());
+
+        verify(reservationService, times(1)).createTableReservation(any(TableReservationDto.class));
+    }
+
     @Test
     void getReservationById_ExistingReservation_ReturnsReservation() throws Exception {
         when(reservationService.getTableReservationById(1L, 1L)).thenReturn(Optional.of(testReservationDto));
@@ -393,4 +418,17 @@ class TableReservationControllerTest {
         mockMvc.perform(get("/api/v1/table-reservations"))
                 .andExpect(status().isBadRequest());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void findBestAvailableTable_NoFreeTable_ReturnsNotFound() throws Exception {
+        when(reservationService.findBestAvailableTable(eq(1L), eq(6), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/table-reservations/best-fit")
+                        .param("tenantId", "1")
+                        .param("partySize", "6")
+                        .param("startTime", LocalDateTime.now().plusHours(1).toString())
+                        .param("endTime", LocalDateTime.now().plusHours(3).toString()))
+                .andExpect(status().isNotFound());
+    }
+}
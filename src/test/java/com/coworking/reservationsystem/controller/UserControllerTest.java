@@ -1,5 +1,6 @@
 package com.coworking.reservationsystem.controller;
 
+import com.coworking.reservationsystem.exception.ValidationException;
 import com.coworking.reservationsystem.model.dto.CreateUserRequest;
 import com.coworking.reservationsystem.model.dto.PasswordDto;
 import com.coworking.reservationsystem.model.dto.UserDto;
@@ -121,6 +122,25 @@ class UserControllerTest {
         verify(userService).getUsersByTenantId(1L);
     }
 
+    @Test
+    void getUsersByTenantId_WithRole_FiltersByRole() throws Exception {
+        when(userService.getUsersByTenantIdAndRole(1L, "ROLE_ADMIN")).thenReturn(List.of(createdUserDto));
+
+        mockMvc.perform(get("/api/v1/users/tenant/1").param("role", "ROLE_ADMIN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].tenantId").value(1));
+
+        verify(userService, never()).getUsersByTenantId(any());
+    }
+
+    @Test
+    void getUsersByTenantId_WithUnknownRole_ReturnsBadRequest() throws Exception {
+        when(userService.getUsersByTenantIdAndRole(1L, "OWNER")).thenThrow(new ValidationException("Unknown role: OWNER"));
+
+        mockMvc.perform(get("/api/v1/users/tenant/1").param("role", "OWNER"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void updateUser_Success() throws Exception {
         UserDto updateDto = new UserDto(
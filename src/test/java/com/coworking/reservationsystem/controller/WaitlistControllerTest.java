@@ -0,0 +1,89 @@
+package com.coworking.reservationsystem.controller;
+
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.WaitlistEntryDto;
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.model.entity.WaitlistEntry;
+import com.coworking.reservationsystem.service.WaitlistService;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(WaitlistController.class)
+class WaitlistControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private WaitlistEntryDto testEntryDto;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        testEntryDto = new WaitlistEntryDto(1L, BookingResource.TABLE, 2L, 3L, null, 2L, 4, start, start.plusHours(2),
+                Customer.CustomerTier.STANDARD, WaitlistEntry.WaitlistStatus.WAITING, null, LocalDateTime.now());
+    }
+
+    @Test
+    void join_ValidEntry_ReturnsCreatedEntry() throws Exception {
+        when(waitlistService.join(any(WaitlistEntryDto.class))).thenReturn(testEntryDto);
+
+        mockMvc.perform(post("/api/v1/waitlist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testEntryDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.resource").value("TABLE"))
+                .andExpect(jsonPath("$.status").value("WAITING"));
+    }
+
+    @Test
+    void join_PartyTooLarge_ReturnsBadRequest() throws Exception {
+        when(waitlistService.join(any(WaitlistEntryDto.class))).thenThrow(new ValidationException("Party size exceeds the seats of the table"));
+
+        mockMvc.perform(post("/api/v1/waitlist")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testEntryDto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getWaitingEntries_ReturnsEntriesOfTheResource() throws Exception {
+        when(waitlistService.getWaitingEntries(BookingResource.TABLE, 2L, 2L)).thenReturn(List.of(testEntryDto));
+
+        mockMvc.perform(get("/api/v1/waitlist")
+                        .param("resource", "TABLE")
+                        .param("resourceId", "2")
+                        .param("tenantId", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void leave_UnknownEntry_ReturnsNotFound() throws Exception {
+        when(waitlistService.leave(9L, 2L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(delete("/api/v1/waitlist/9").param("tenantId", "2"))
+                .andExpect(status().isNotFound());
+    }
+}
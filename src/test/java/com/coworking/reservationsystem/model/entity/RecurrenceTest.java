@@ -0,0 +1,95 @@
+package com.coworking.reservationsystem.model.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceTest {
+
+    private static final LocalDateTime FIRST_START = LocalDateTime.of(2030, 1, 2, 9, 0); // a Wednesday
+    private static final Duration DURATION = Duration.ofHours(2);
+
+    @Test
+    void startsBetween_MatchesDayByDayExpansion() {
+        Random random = new Random(7);
+        for (int run = 0; run < 300; run++) {
+            Recurrence recurrence = new Recurrence();
+            recurrence.setFrequency(random.nextBoolean() ? Recurrence.Frequency.DAILY : Recurrence.Frequency.WEEKLY);
+            recurrence.setInterval(1 + random.nextInt(3));
+            if (recurrence.getFrequency() == Recurrence.Frequency.WEEKLY && random.nextBoolean()) {
+                Set<DayOfWeek> days = EnumSet.of(FIRST_START.getDayOfWeek());
+                days.add(DayOfWeek.of(1 + random.nextInt(7)));
+                recurrence.setDays(days);
+            }
+            if (random.nextBoolean()) {
+                recurrence.setCount(1 + random.nextInt(40));
+            } else {
+                recurrence.setUntil(FIRST_START.toLocalDate().plusDays(random.nextInt(200)));
+            }
+            recurrence.validate(FIRST_START, FIRST_START.plus(DURATION));
+            List<LocalDateTime> all = expandDayByDay(recurrence);
+
+            assertEquals(all.get(all.size() - 1), recurrence.lastStart(FIRST_START));
+            for (int query = 0; query < 20; query++) {
+                LocalDateTime from = FIRST_START.minusDays(3).plusHours(random.nextInt(300 * 24));
+                LocalDateTime to = from.plusHours(random.nextInt(24 * 30));
+                List<LocalDateTime> expected = all.stream()
+                        .filter(start -> start.isBefore(to) && start.plus(DURATION).isAfter(from))
+                        .toList();
+                assertEquals(expected, recurrence.startsBetween(FIRST_START, DURATION, from, to));
+            }
+        }
+    }
+
+    @Test
+    void validate_RejectsUnboundedAndSelfOverlappingSeries() {
+        Recurrence unbounded = new Recurrence();
+        unbounded.setFrequency(Recurrence.Frequency.DAILY);
+        unbounded.setInterval(1);
+        assertThrows(IllegalArgumentException.class, () -> unbounded.validate(FIRST_START, FIRST_START.plus(DURATION)));
+
+        Recurrence daily = new Recurrence();
+        daily.setFrequency(Recurrence.Frequency.DAILY);
+        daily.setInterval(1);
+        daily.setCount(5);
+        assertThrows(IllegalArgumentException.class, () -> daily.validate(FIRST_START, FIRST_START.plusHours(30)));
+
+        Recurrence tooLong = new Recurrence();
+        tooLong.setFrequency(Recurrence.Frequency.DAILY);
+        tooLong.setInterval(1);
+        tooLong.setUntil(FIRST_START.toLocalDate().plusYears(5));
+        assertThrows(IllegalArgumentException.class, () -> tooLong.validate(FIRST_START, FIRST_START.plus(DURATION)));
+    }
+
+    private List<LocalDateTime> expandDayByDay(Recurrence recurrence) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        LocalDate firstDay = FIRST_START.toLocalDate();
+        LocalDate firstMonday = firstDay.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        Set<DayOfWeek> days = recurrence.getDays().isEmpty() ? EnumSet.of(firstDay.getDayOfWeek()) : recurrence.getDays();
+        for (LocalDate day = firstDay; starts.size() < Recurrence.MAX_OCCURRENCES; day = day.plusDays(1)) {
+            if (recurrence.getUntil() != null && day.isAfter(recurrence.getUntil())
+                    || recurrence.getCount() != null && starts.size() == recurrence.getCount()) {
+                break;
+            }
+            boolean matches = recurrence.getFrequency() == Recurrence.Frequency.DAILY
+                    ? ChronoUnit.DAYS.between(firstDay, day) % recurrence.getInterval() == 0
+                    : ChronoUnit.WEEKS.between(firstMonday, day) % recurrence.getInterval() == 0 && days.contains(day.getDayOfWeek());
+            if (matches) {
+                starts.add(day.atTime(FIRST_START.toLocalTime()));
+            }
+        }
+        return starts;
+    }
+}
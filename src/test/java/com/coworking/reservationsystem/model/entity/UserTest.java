@@ -0,0 +1,47 @@
+package com.coworking.reservationsystem.model.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserTest {
+
+    @Test
+    void setRoles_StoresOneBitPerRole() {
+        User user = new User();
+        user.setRoles(List.of("ROLE_ADMIN", "user", "ADMIN"));
+
+        assertEquals(User.Role.USER.bit() | User.Role.ADMIN.bit(), user.getRoleMask());
+        assertTrue(user.hasRole(User.Role.ADMIN));
+        assertTrue(user.hasRole(User.Role.USER));
+        assertFalse(user.hasRole(User.Role.MANAGER));
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), user.getRoles());
+    }
+
+    @Test
+    void masks_ListEveryMaskHoldingTheRole() {
+        assertEquals(List.of(1, 3, 5, 7), User.Role.USER.masks());
+        assertEquals(List.of(4, 5, 6, 7), User.Role.ADMIN.masks());
+    }
+
+    @Test
+    void setRoles_NullOrEmpty_ClearsRoles() {
+        User user = new User();
+        user.setRoles(List.of("MANAGER"));
+        user.setRoles(null);
+
+        assertEquals(0, user.getRoleMask());
+        assertTrue(user.getRoles().isEmpty());
+    }
+
+    @Test
+    void setRoles_UnknownRole_Throws() {
+        User user = new User();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> user.setRoles(List.of("OWNER")));
+        assertEquals("Unknown role: OWNER", exception.getMessage());
+    }
+}
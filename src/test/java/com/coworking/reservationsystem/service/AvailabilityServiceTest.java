@@ -0,0 +1,158 @@
+package com.coworking.reservationsystem.service;
+
+import com.coworking.reservationsystem.exception.ResourceNotFoundException;
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.AvailabilityDto;
+import com.coworking.reservationsystem.model.dto.FreeSlotDto;
+import com.coworking.reservationsystem.model.entity.Availability;
+import com.coworking.reservationsystem.model.entity.Space;
+import com.coworking.reservationsystem.repository.AvailabilityRepository;
+import com.coworking.reservationsystem.repository.SpaceRepository;
+import com.coworking.reservationsystem.service.impl.AvailabilityServiceImpl;
+import com.coworking.reservationsystem.service.index.IntervalTree;
+import com.coworking.reservationsystem.service.index.SpaceAvailabilityIndex;
+import com.coworking.reservationsystem.service.index.SpaceReservationIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceTest {
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+    @Mock
+    private SpaceRepository spaceRepository;
+    @Mock
+    private SpaceAvailabilityIndex availabilityIndex;
+    @Mock
+    private SpaceReservationIndex reservationIndex;
+    @InjectMocks
+    private AvailabilityServiceImpl availabilityService;
+
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        base = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Test
+    void getFreeSlots_SubtractsReservationsFromMergedAvailability() {
+        LocalDateTime from = base.plusHours(8);
+        LocalDateTime to = base.plusHours(20);
+        when(spaceRepository.existsById(1L)).thenReturn(true);
+        when(availabilityRepository.findBySpaceIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTime(1L, to, from))
+                .thenReturn(List.of(window(base.plusHours(7), base.plusHours(12)),
+                        window(base.plusHours(12), base.plusHours(14)),
+                        window(base.plusHours(16), base.plusHours(22))));
+        when(reservationIndex.findOverlapping(1L, from, to))
+                .thenReturn(List.of(new IntervalTree.Interval(1L, base.plusHours(9), base.plusHours(10)),
+                        new IntervalTree.Interval(2L, base.plusHours(10).plusMinutes(15), base.plusHours(11)),
+                        new IntervalTree.Interval(3L, base.plusHours(13), base.plusHours(17))));
+
+        List<FreeSlotDto> slots = availabilityService.getFreeSlots(1L, from, to, Duration.ofMinutes(30));
+
+        assertEquals(List.of(
+                FreeSlotDto.of(1L, base.plusHours(8), base.plusHours(9)),
+                FreeSlotDto.of(1L, base.plusHours(11), base.plusHours(13)),
+                FreeSlotDto.of(1L, base.plusHours(17), base.plusHours(20))), slots);
+        assertEquals(120, slots.get(1).durationMinutes());
+    }
+
+    @Test
+    void getFreeSlots_MatchesMinuteByMinuteComputation() {
+        Random random = new Random(7);
+        LocalDateTime from = base.plusMinutes(100);
+        LocalDateTime to = base.plusMinutes(2_900);
+        List<Availability> windows = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            LocalDateTime start = base.plusMinutes(random.nextInt(3_000));
+            windows.add(window(start, start.plusMinutes(10 + random.nextInt(300))));
+        }
+        windows.sort(Comparator.comparing(Availability::getStartTime));
+        List<IntervalTree.Interval> booked = new ArrayList<>();
+        for (long id = 0; id < 40; id++) {
+            LocalDateTime start = base.plusMinutes(random.nextInt(3_000));
+            booked.add(new IntervalTree.Interval(id, start, start.plusMinutes(5 + random.nextInt(120))));
+        }
+        booked.sort(Comparator.comparing(IntervalTree.Interval::start));
+        when(spaceRepository.existsById(1L)).thenReturn(true);
+        when(availabilityRepository.findBySpaceIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTime(1L, to, from)).thenReturn(windows);
+        when(reservationIndex.findOverlapping(1L, from, to)).thenReturn(booked);
+
+        // Minute m is free when some window covers [m, m+1) and no reservation does
+        List<FreeSlotDto> expected = new ArrayList<>();
+        LocalDateTime slotStart = null;
+        for (LocalDateTime minute = from; !minute.isAfter(to); minute = minute.plusMinutes(1)) {
+            LocalDateTime current = minute;
+            boolean free = current.isBefore(to)
+                    && windows.stream().anyMatch(w -> !w.getStartTime().isAfter(current) && w.getEndTime().isAfter(current))
+                    && booked.stream().noneMatch(b -> !b.start().isAfter(current) && b.end().isAfter(current));
+            if (free && slotStart == null) {
+                slotStart = current;
+            } else if (!free && slotStart != null) {
+                if (Duration.between(slotStart, current).toMinutes() >= 15) {
+                    expected.add(FreeSlotDto.of(1L, slotStart, current));
+                }
+                slotStart = null;
+            }
+        }
+
+        assertEquals(expected, availabilityService.getFreeSlots(1L, from, to, Duration.ofMinutes(15)));
+    }
+
+    @Test
+    void updateAvailability_EvictsOldAndNewSpaceAfterSaving() {
+        Space oldSpace = new Space();
+        oldSpace.setId(1L);
+        Space newSpace = new Space();
+        newSpace.setId(2L);
+        Availability availability = window(base.plusHours(8), base.plusHours(12));
+        availability.setId(5L);
+        availability.setSpace(oldSpace);
+        when(availabilityRepository.findById(5L)).thenReturn(Optional.of(availability));
+        when(spaceRepository.findById(2L)).thenReturn(Optional.of(newSpace));
+        when(availabilityRepository.save(availability)).thenReturn(availability);
+
+        availabilityService.updateAvailability(5L,
+                new AvailabilityDto(5L, 2L, base.plusHours(9), base.plusHours(13), null, null));
+
+        InOrder order = inOrder(availabilityRepository, availabilityIndex);
+        order.verify(availabilityRepository).save(availability);
+        order.verify(availabilityIndex).onChanged(1L);
+        order.verify(availabilityIndex).onChanged(2L);
+    }
+
+    @Test
+    void getFreeSlots_InvalidRequest_Throws() {
+        assertThrows(ValidationException.class,
+                () -> availabilityService.getFreeSlots(1L, base.plusHours(2), base.plusHours(1), Duration.ZERO));
+        when(spaceRepository.existsById(99L)).thenReturn(false);
+        assertThrows(ResourceNotFoundException.class,
+                () -> availabilityService.getFreeSlots(99L, base, base.plusHours(1), Duration.ZERO));
+        verifyNoInteractions(availabilityRepository, reservationIndex);
+    }
+
+    private Availability window(LocalDateTime start, LocalDateTime end) {
+        Availability availability = new Availability();
+        availability.setStartTime(start);
+        availability.setEndTime(end);
+        return availability;
+    }
+}
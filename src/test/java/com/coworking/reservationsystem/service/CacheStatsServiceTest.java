@@ -0,0 +1,72 @@
+package com.coworking.reservationsystem.service;
+
+import com.coworking.reservationsystem.config.ReferenceCacheConfig;
+import com.coworking.reservationsystem.model.dto.CacheRegionStatsDto;
+import com.coworking.reservationsystem.service.impl.CacheStatsServiceImpl;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheStatsServiceTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private CacheManager referenceCacheManager;
+    @Mock
+    private SessionFactory sessionFactory;
+    @Mock
+    private Statistics statistics;
+    @Mock
+    private Cache<Object, Object> boundedCache;
+    @Mock
+    private Cache<Object, Object> unboundedCache;
+
+    private CacheStatsServiceImpl cacheStatsService;
+
+    @BeforeEach
+    void setUp() {
+        // Built by hand: a SessionFactory is an EntityManagerFactory too, so injection could pick either
+        cacheStatsService = new CacheStatsServiceImpl(entityManagerFactory, referenceCacheManager);
+    }
+
+    @Test
+    void getRegionStats_ReportsMissingLimitsAsMinusOne() {
+        CaffeineConfiguration<Object, Object> bounded = new CaffeineConfiguration<>();
+        bounded.setMaximumSize(OptionalLong.of(500));
+        bounded.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(90)));
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(referenceCacheManager.getCache(anyString(), eq(Object.class), eq(Object.class))).thenAnswer(invocation ->
+                ReferenceCacheConfig.TENANTS.equals(invocation.getArgument(0)) ? boundedCache : unboundedCache);
+        when(boundedCache.getConfiguration(any())).thenAnswer(invocation -> bounded);
+        when(unboundedCache.getConfiguration(any())).thenAnswer(invocation -> new CaffeineConfiguration<>());
+
+        List<CacheRegionStatsDto> stats = cacheStatsService.getRegionStats();
+
+        CacheRegionStatsDto tenants = stats.get(0);
+        assertEquals(ReferenceCacheConfig.TENANTS, tenants.region());
+        assertEquals(500, tenants.maxSize());
+        assertEquals(90, tenants.ttlSeconds());
+        assertEquals(0, tenants.hitRatio());
+        assertEquals(-1, stats.get(1).maxSize());
+        assertEquals(-1, stats.get(1).ttlSeconds());
+    }
+}
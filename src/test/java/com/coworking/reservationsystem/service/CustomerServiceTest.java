@@ -2,18 +2,24 @@ package com.coworking.reservationsystem.service;
 
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
 import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
 import com.coworking.reservationsystem.model.dto.CustomerDto;
 import com.coworking.reservationsystem.model.entity.Customer;
 import com.coworking.reservationsystem.model.entity.Tenant;
 import com.coworking.reservationsystem.repository.CustomerRepository;
 import com.coworking.reservationsystem.repository.TenantRepository;
+import com.coworking.reservationsystem.service.counter.StatusCounters;
 import com.coworking.reservationsystem.service.impl.CustomerServiceImpl;
+import com.coworking.reservationsystem.service.index.CustomerNameIndex;
+import com.coworking.reservationsystem.service.index.CustomerPhoneIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -30,6 +36,12 @@ class CustomerServiceTest {
     private CustomerRepository customerRepository;
     @Mock
     private TenantRepository tenantRepository;
+    @Mock
+    private CustomerNameIndex customerNameIndex;
+    @Mock
+    private CustomerPhoneIndex customerPhoneIndex;
+    @Mock
+    private StatusCounters statusCounters;
     @InjectMocks
     private CustomerServiceImpl customerService;
 
@@ -66,10 +78,37 @@ class CustomerServiceTest {
         testCustomerDto.setUpdatedAt(LocalDateTime.now());
     }
 
+    @Test
+    void getAllCustomersByTenant_Cursor_SeeksPastLastRowOfPreviousPage() {
+        CustomerDto older = new CustomerDto(2L, "Jane", "Roe", "0712345679", null, null,
+                Customer.CustomerTier.STANDARD, 1L, testCustomerDto.getCreatedAt().minusDays(1), null);
+        when(customerRepository.findDtoPageByTenantIdAfter(eq(1L), any(LocalDateTime.class), eq(Long.MAX_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(testCustomerDto, older));
+
+        CursorPageDto<CustomerDto> first = customerService.getAllCustomersByTenant(1L, null, 1);
+        assertEquals(1, first.items().size());
+        assertEquals("John", first.items().get(0).getFirstName());
+        assertNotNull(first.nextCursor());
+
+        // The cursor resumes strictly after John's (created_at, id) and the last page has no cursor
+        when(customerRepository.findDtoPageByTenantIdAfter(1L, testCustomerDto.getCreatedAt(), 1L, PageRequest.ofSize(2)))
+                .thenReturn(List.of(older));
+        CursorPageDto<CustomerDto> second = customerService.getAllCustomersByTenant(1L, first.nextCursor(), 1);
+        assertEquals("Jane", second.items().get(0).getFirstName());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void getAllCustomersByTenant_Cursor_RejectsMalformedCursorAndSize() {
+        assertThrows(ValidationException.class, () -> customerService.getAllCustomersByTenant(1L, "not-a-cursor", 10));
+        assertThrows(ValidationException.class, () -> customerService.getAllCustomersByTenant(1L, null, 0));
+        verifyNoInteractions(customerRepository);
+    }
+
     @Test
     void createCustomer_Valid_ReturnsCustomer() {
         when(tenantRepository.findById(1L)).thenReturn(Optional.of(testTenant));
-        when(customerRepository.existsByPhoneAndTenantId("0712345678", 1L)).thenReturn(false);
+        when(customerRepository.existsByPhoneNormalizedAndTenantId("+40712345678", 1L)).thenReturn(false);
         when(customerRepository.existsByEmailAndTenantId("john@example.com", 1L)).thenReturn(false);
         when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
 
@@ -89,7 +128,7 @@ class CustomerServiceTest {
     @Test
     void createCustomer_PhoneExists_ThrowsValidationException() {
         when(tenantRepository.findById(1L)).thenReturn(Optional.of(testTenant));
-        when(customerRepository.existsByPhoneAndTenantId("0712345678", 1L)).thenReturn(true);
+        when(customerRepository.existsByPhoneNormalizedAndTenantId("+40712345678", 1L)).thenReturn(true);
         assertThrows(ValidationException.class, () -> customerService.createCustomer(testCustomerDto));
         verify(customerRepository, never()).save(any());
     }
@@ -97,7 +136,7 @@ class CustomerServiceTest {
     @Test
     void createCustomer_EmailExists_ThrowsValidationException() {
         when(tenantRepository.findById(1L)).thenReturn(Optional.of(testTenant));
-        when(customerRepository.existsByPhoneAndTenantId("0712345678", 1L)).thenReturn(false);
+        when(customerRepository.existsByPhoneNormalizedAndTenantId("+40712345678", 1L)).thenReturn(false);
         when(customerRepository.existsByEmailAndTenantId("john@example.com", 1L)).thenReturn(true);
         assertThrows(ValidationException.class, () -> customerService.createCustomer(testCustomerDto));
         verify(customerRepository, never()).save(any());
@@ -105,7 +144,7 @@ class CustomerServiceTest {
 
     @Test
     void getCustomerById_Existing_ReturnsCustomer() {
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.findDtoById(1L)).thenReturn(Optional.of(testCustomerDto));
         CustomerDto result = customerService.getCustomerById(1L);
         assertNotNull(result);
         assertEquals("John", result.getFirstName());
@@ -113,13 +152,13 @@ class CustomerServiceTest {
 
     @Test
     void getCustomerById_NotFound_ThrowsResourceNotFoundException() {
-        when(customerRepository.findById(1L)).thenReturn(Optional.empty());
+        when(customerRepository.findDtoById(1L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomerById(1L));
     }
 
     @Test
     void getAllCustomersByTenant_ReturnsList() {
-        when(customerRepository.findByTenantIdOrderByCreatedAtDesc(1L)).thenReturn(Arrays.asList(testCustomer));
+        when(customerRepository.findDtosByTenantId(1L)).thenReturn(Arrays.asList(testCustomerDto));
         List<CustomerDto> result = customerService.getAllCustomersByTenant(1L);
         assertEquals(1, result.size());
         assertEquals("John", result.get(0).getFirstName());
@@ -161,10 +200,23 @@ class CustomerServiceTest {
         
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
         when(tenantRepository.findById(1L)).thenReturn(Optional.of(testTenant));
-        when(customerRepository.existsByPhoneAndTenantId("0712345679", 1L)).thenReturn(true);
+        when(customerRepository.existsByPhoneNormalizedAndTenantId("+40712345679", 1L)).thenReturn(true);
         assertThrows(ValidationException.class, () -> customerService.updateCustomer(1L, updateDto));
     }
 
+    @Test
+    void updateCustomer_SameNumberReformatted_SkipsPhoneCheck() {
+        testCustomerDto.setPhone("+40 712 345 678");
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(tenantRepository.findById(1L)).thenReturn(Optional.of(testTenant));
+        when(customerRepository.save(testCustomer)).thenReturn(testCustomer);
+
+        customerService.updateCustomer(1L, testCustomerDto);
+
+        verify(customerRepository, never()).existsByPhoneNormalizedAndTenantId(any(), any());
+        verify(customerPhoneIndex).onSaved(testCustomer);
+    }
+
     @Test
     void updateCustomer_EmailExists_ThrowsValidationException() {
         CustomerDto updateDto = new CustomerDto();
@@ -188,6 +240,8 @@ class CustomerServiceTest {
         doNothing().when(customerRepository).deleteById(1L);
         assertDoesNotThrow(() -> customerService.deleteCustomer(1L));
         verify(customerRepository).deleteById(1L);
+        verify(customerNameIndex).onDeleted(1L);
+        verify(customerPhoneIndex).onDeleted(1L);
     }
 
     @Test
@@ -199,15 +253,35 @@ class CustomerServiceTest {
 
     @Test
     void searchCustomersByName_ReturnsList() {
-        when(customerRepository.findByTenantIdAndNameContainingIgnoreCase(1L, "John")).thenReturn(Arrays.asList(testCustomer));
+        when(customerNameIndex.search(1L, "John")).thenReturn(List.of(1L));
+        when(customerRepository.findDtosByIdIn(List.of(1L))).thenReturn(Arrays.asList(testCustomerDto));
         List<CustomerDto> result = customerService.searchCustomersByName(1L, "John");
         assertEquals(1, result.size());
         assertEquals("John", result.get(0).getFirstName());
     }
 
+    @Test
+    void searchCustomersByName_KeepsIndexOrderAndSkipsVanishedCustomers() {
+        CustomerDto jane = new CustomerDto(2L, "Jane", "Johnson", "0712345679", null, null, null, 1L, null, null);
+        when(customerNameIndex.search(1L, "jo")).thenReturn(List.of(2L, 3L, 1L));
+        when(customerRepository.findDtosByIdIn(List.of(2L, 3L, 1L))).thenReturn(List.of(testCustomerDto, jane));
+
+        List<CustomerDto> result = customerService.searchCustomersByName(1L, "jo");
+
+        assertEquals(List.of(2L, 1L), result.stream().map(CustomerDto::getId).toList());
+    }
+
+    @Test
+    void searchCustomersByName_NoMatches_SkipsDatabase() {
+        when(customerNameIndex.search(1L, "zzz")).thenReturn(List.of());
+        assertTrue(customerService.searchCustomersByName(1L, "zzz").isEmpty());
+        verifyNoInteractions(customerRepository);
+    }
+
     @Test
     void searchCustomersByPhone_ReturnsList() {
-        when(customerRepository.findByTenantIdAndPhoneContaining(1L, "0712")).thenReturn(Arrays.asList(testCustomer));
+        when(customerPhoneIndex.search(1L, "0712")).thenReturn(List.of(1L));
+        when(customerRepository.findDtosByIdIn(List.of(1L))).thenReturn(Arrays.asList(testCustomerDto));
         List<CustomerDto> result = customerService.searchCustomersByPhone(1L, "0712");
         assertEquals(1, result.size());
         assertEquals("John", result.get(0).getFirstName());
@@ -215,7 +289,8 @@ class CustomerServiceTest {
 
     @Test
     void findByPhone_Existing_ReturnsCustomer() {
-        when(customerRepository.findByPhoneAndTenantId("0712345678", 1L)).thenReturn(Optional.of(testCustomer));
+        when(customerPhoneIndex.find(1L, "0712345678")).thenReturn(Optional.of(1L));
+        when(customerRepository.findDtoById(1L)).thenReturn(Optional.of(testCustomerDto));
         CustomerDto result = customerService.findByPhone(1L, "0712345678");
         assertNotNull(result);
         assertEquals("John", result.getFirstName());
@@ -223,13 +298,21 @@ class CustomerServiceTest {
 
     @Test
     void findByPhone_NotFound_ThrowsResourceNotFoundException() {
-        when(customerRepository.findByPhoneAndTenantId("0712345678", 1L)).thenReturn(Optional.empty());
+        when(customerPhoneIndex.find(1L, "0712345678")).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> customerService.findByPhone(1L, "0712345678"));
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void findByPhone_CustomerOfAnotherTenant_ThrowsResourceNotFoundException() {
+        when(customerPhoneIndex.find(2L, "0712345678")).thenReturn(Optional.of(1L));
+        when(customerRepository.findDtoById(1L)).thenReturn(Optional.of(testCustomerDto));
+        assertThrows(ResourceNotFoundException.class, () -> customerService.findByPhone(2L, "0712345678"));
     }
 
     @Test
     void findByEmail_Existing_ReturnsCustomer() {
-        when(customerRepository.findByEmailAndTenantId("john@example.com", 1L)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.findDtoByEmailAndTenantId("john@example.com", 1L)).thenReturn(Optional.of(testCustomerDto));
         CustomerDto result = customerService.findByEmail(1L, "john@example.com");
         assertNotNull(result);
         assertEquals("John", result.getFirstName());
@@ -237,13 +320,13 @@ class CustomerServiceTest {
 
     @Test
     void findByEmail_NotFound_ThrowsResourceNotFoundException() {
-        when(customerRepository.findByEmailAndTenantId("john@example.com", 1L)).thenReturn(Optional.empty());
+        when(customerRepository.findDtoByEmailAndTenantId("john@example.com", 1L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> customerService.findByEmail(1L, "john@example.com"));
     }
 
     @Test
     void existsByPhone_ReturnsBoolean() {
-        when(customerRepository.existsByPhoneAndTenantId("0712345678", 1L)).thenReturn(true);
+        when(customerPhoneIndex.find(1L, "0712345678")).thenReturn(Optional.of(1L));
         assertTrue(customerService.existsByPhone(1L, "0712345678"));
     }
 
@@ -255,7 +338,7 @@ class CustomerServiceTest {
 
     @Test
     void getCustomerCountByTenant_ReturnsCount() {
-        when(customerRepository.countByTenantId(1L)).thenReturn(5L);
+        when(statusCounters.total(StatusCounters.Counter.CUSTOMERS, 1L)).thenReturn(5L);
         assertEquals(5L, customerService.getCustomerCountByTenant(1L));
     }
 } 
\ No newline at end of file
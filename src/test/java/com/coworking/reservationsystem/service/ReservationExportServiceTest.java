@@ -0,0 +1,177 @@
+package com.coworking.reservationsystem.service;
+
+import com.coworking.reservationsystem.exception.ResourceNotFoundException;
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.Status;
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.model.entity.Recurrence;
+import com.coworking.reservationsystem.model.entity.Reservation;
+import com.coworking.reservationsystem.model.entity.RestaurantTable;
+import com.coworking.reservationsystem.model.entity.Space;
+import com.coworking.reservationsystem.model.entity.TableReservation;
+import com.coworking.reservationsystem.model.entity.Tenant;
+import com.coworking.reservationsystem.model.entity.User;
+import com.coworking.reservationsystem.repository.ReservationRepository;
+import com.coworking.reservationsystem.repository.TableReservationRepository;
+import com.coworking.reservationsystem.repository.TenantRepository;
+import com.coworking.reservationsystem.service.export.ExportFormat;
+import com.coworking.reservationsystem.service.impl.ReservationExportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExportServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private TableReservationRepository tableReservationRepository;
+    @Mock
+    private TenantRepository tenantRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReservationExportServiceImpl exportService;
+    private Tenant tenant;
+    private Customer customer;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ReservationExportServiceImpl(reservationRepository, tableReservationRepository,
+                tenantRepository, entityManager, transactionManager, objectMapper);
+        tenant = new Tenant();
+        tenant.setId(1L);
+        customer = new Customer();
+        customer.setId(3L);
+        from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        to = LocalDateTime.of(2024, 12, 31, 23, 59);
+    }
+
+    @Test
+    void exportReservations_Ndjson_WritesOneObjectPerLineAndDetachesRows() throws Exception {
+        Reservation first = reservation(10L, "Quarterly review");
+        Reservation second = reservation(11L, null);
+        when(tenantRepository.existsById(1L)).thenReturn(true);
+        when(reservationRepository.streamByDateRangeAndTenantId(from, to, 1L)).thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportReservations(1L, from, to, ExportFormat.NDJSON).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":10,"));
+        assertTrue(lines[0].contains("\"notes\":\"Quarterly review\""));
+        assertTrue(lines[1].startsWith("{\"id\":11,"));
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void exportReservations_Csv_ExpandsSeriesCrossingTheStartOfTheRange() throws Exception {
+        Reservation series = reservation(12L, null);
+        series.setStartTime(LocalDateTime.of(2023, 12, 18, 9, 0));
+        series.setEndTime(LocalDateTime.of(2023, 12, 18, 10, 0));
+        Recurrence recurrence = new Recurrence();
+        recurrence.setFrequency(Recurrence.Frequency.WEEKLY);
+        recurrence.setInterval(1);
+        recurrence.setDays(Set.of(DayOfWeek.MONDAY));
+        recurrence.setCount(4);
+        series.setRecurrence(recurrence);
+        series.setSeriesEndTime(LocalDateTime.of(2024, 1, 8, 10, 0));
+        when(tenantRepository.existsById(1L)).thenReturn(true);
+        when(reservationRepository.streamByDateRangeAndTenantId(from, to, 1L)).thenReturn(Stream.of(series));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportReservations(1L, from, to, ExportFormat.CSV).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("id,spaceId,customerId,createdByUserId,startTime,endTime,totalPrice,status,notes,recurrence,tenantId,createdAt,updatedAt",
+                lines[0]);
+        // The two occurrences before the range are left out
+        assertEquals(3, lines.length);
+        assertEquals("12,2,3,4,2024-01-01T09:00,2024-01-01T10:00,50.0,CONFIRMED,,FREQ=WEEKLY;INTERVAL=1;BYDAY=MO;COUNT=4,1,,",
+                lines[1]);
+        assertTrue(lines[2].startsWith("12,2,3,4,2024-01-08T09:00,2024-01-08T10:00,"));
+        verify(entityManager).detach(series);
+    }
+
+    @Test
+    void exportTableReservations_Csv_WritesHeaderAndQuotesFields() throws Exception {
+        RestaurantTable table = new RestaurantTable();
+        table.setId(5L);
+        TableReservation reservation = new TableReservation();
+        reservation.setId(7L);
+        reservation.setTable(table);
+        reservation.setCustomer(customer);
+        reservation.setTenant(tenant);
+        reservation.setNumberOfPeople(4);
+        reservation.setRequestedTime(LocalDateTime.of(2024, 3, 20, 18, 30));
+        reservation.setEstimatedArrivalTime(LocalDateTime.of(2024, 3, 20, 18, 45));
+        reservation.setStatus(TableReservation.TableReservationStatus.CONFIRMED);
+        reservation.setSpecialRequests("Window seat, \"quiet\" corner");
+        when(tenantRepository.existsById(1L)).thenReturn(true);
+        when(tableReservationRepository.streamByDateRangeAndTenantId(from, to, 1L)).thenReturn(Stream.of(reservation));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportTableReservations(1L, from, to, ExportFormat.CSV).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("id,tableId,customerId,numberOfPeople,requestedTime,estimatedArrivalTime,status,specialRequests,tenantId,createdAt,updatedAt",
+                lines[0]);
+        assertEquals("7,5,3,4,2024-03-20T18:30,2024-03-20T18:45,CONFIRMED,\"Window seat, \"\"quiet\"\" corner\",1,,",
+                lines[1]);
+        verify(entityManager).detach(reservation);
+    }
+
+    @Test
+    void exportReservations_ValidatesBeforeReadingAnything() {
+        assertThrows(ValidationException.class,
+                () -> exportService.exportReservations(1L, to, from, ExportFormat.NDJSON));
+        when(tenantRepository.existsById(99L)).thenReturn(false);
+        assertThrows(ResourceNotFoundException.class,
+                () -> exportService.exportReservations(99L, from, to, ExportFormat.NDJSON));
+        verifyNoInteractions(reservationRepository, transactionManager);
+    }
+
+    private Reservation reservation(Long id, String notes) {
+        Space space = new Space();
+        space.setId(2L);
+        User user = new User();
+        user.setId(4L);
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setSpace(space);
+        reservation.setCustomer(customer);
+        reservation.setCreatedByUser(user);
+        reservation.setTenant(tenant);
+        reservation.setStartTime(LocalDateTime.of(2024, 5, 1, 9, 0));
+        reservation.setEndTime(LocalDateTime.of(2024, 5, 1, 11, 0));
+        reservation.setTotalPrice(50.0);
+        reservation.setStatus(Status.CONFIRMED);
+        reservation.setNotes(notes);
+        return reservation;
+    }
+}
@@ -1,26 +1,44 @@
 package com.coworking.reservationsystem.service;
 
+import com.coworking.reservationsystem.exception.ConflictException;
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
 import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.BatchReservationResultDto;
+import com.coworking.reservationsystem.model.dto.HoldDto;
+import com.coworking.reservationsystem.model.dto.HoldRequestDto;
+import com.coworking.reservationsystem.model.dto.RecurrenceDto;
 import com.coworking.reservationsystem.model.dto.ReservationDto;
+import com.coworking.reservationsystem.model.dto.SearchHitDto;
 import com.coworking.reservationsystem.model.dto.Status;
 import com.coworking.reservationsystem.model.entity.*;
 import com.coworking.reservationsystem.repository.CustomerRepository;
+import com.coworking.reservationsystem.repository.ReservationBatchRepository;
 import com.coworking.reservationsystem.repository.ReservationRepository;
 import com.coworking.reservationsystem.repository.SpaceRepository;
 import com.coworking.reservationsystem.repository.UserRepository;
+import com.coworking.reservationsystem.repository.WaitlistEntryRepository;
 import com.coworking.reservationsystem.service.impl.ReservationServiceImpl;
+import com.coworking.reservationsystem.service.hold.BookingHoldRegistry;
+import com.coworking.reservationsystem.service.index.IntervalTree;
+import com.coworking.reservationsystem.service.index.SpaceReservationIndex;
+import com.coworking.reservationsystem.service.lock.BookingLockManager;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import com.coworking.reservationsystem.service.search.TextSearchIndex;
+import com.coworking.reservationsystem.service.waitlist.WaitlistQueues;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -41,6 +59,27 @@ class ReservationServiceTest {
     @Mock
     private SpaceRepository spaceRepository;
 
+    @Mock
+    private SpaceReservationIndex reservationIndex;
+
+    @Mock
+    private BookingLockManager bookingLockManager;
+
+    @Mock
+    private ReservationBatchRepository reservationBatchRepository;
+
+    @Mock
+    private WaitlistQueues waitlistQueues;
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private TextSearchIndex textSearchIndex;
+
+    @Spy
+    private BookingHoldRegistry holdRegistry = new BookingHoldRegistry(600, 1800, 1000);
+
     @InjectMocks
     private ReservationServiceImpl reservationService;
 
@@ -111,17 +150,59 @@ class ReservationServiceTest {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(spaceRepository.findById(1L)).thenReturn(Optional.of(testSpace));
-        when(reservationRepository.findOverlappingReservations(anyLong(), any(), any()))
-                .thenReturn(Arrays.asList());
+        when(reservationIndex.hasOverlap(anyLong(), any(), any(), any())).thenReturn(false);
         when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
 
         ReservationDto result = reservationService.createReservation(testReservationDto);
 
         assertNotNull(result);
         assertEquals(1L, result.id());
+        verify(bookingLockManager).lock(BookingResource.SPACE, 1L);
         verify(reservationRepository).save(any(Reservation.class));
     }
 
+    @Test
+    void createReservations_ReportsConflictsWithinBatchAndWithStoredBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        ReservationDto first = batchItem(start, start.plusHours(1));
+        ReservationDto overlapsFirst = batchItem(start.plusMinutes(30), start.plusHours(2));
+        ReservationDto overlapsStored = batchItem(start.plusHours(3), start.plusHours(4));
+        ReservationDto unknownSpace = new ReservationDto(null, 99L, 1L, 1L, start, start.plusHours(1), 10.0,
+                Status.PENDING, null, null, null, 1L);
+        ReservationRepository.ReservationWindow stored = mock(ReservationRepository.ReservationWindow.class);
+        when(stored.getId()).thenReturn(7L);
+        when(stored.getStartTime()).thenReturn(start.plusHours(3).plusMinutes(30));
+        when(stored.getEndTime()).thenReturn(start.plusHours(5));
+
+        when(customerRepository.findAllById(any())).thenReturn(List.of(testCustomer));
+        when(userRepository.findAllById(any())).thenReturn(List.of(testUser));
+        when(spaceRepository.findAllById(any())).thenReturn(List.of(testSpace));
+        when(reservationRepository.findWindowsInRange(eq(1L), any(), eq(start), eq(start.plusHours(4)))).thenReturn(List.of(stored));
+        doAnswer(invocation -> {
+            List<Reservation> inserted = invocation.getArgument(0);
+            inserted.get(0).setId(100L);
+            return null;
+        }).when(reservationBatchRepository).insertAll(anyList());
+
+        List<BatchReservationResultDto> results = reservationService.createReservations(
+                List.of(first, overlapsFirst, overlapsStored, unknownSpace));
+
+        assertEquals(BatchReservationResultDto.created(0, 100L), results.get(0));
+        assertEquals(BatchReservationResultDto.Outcome.CONFLICT, results.get(1).outcome());
+        assertEquals(BatchReservationResultDto.Outcome.CONFLICT, results.get(2).outcome());
+        assertEquals(BatchReservationResultDto.invalid(3, "Space not found"), results.get(3));
+        verify(bookingLockManager).lockAll(BookingResource.SPACE, Set.of(1L));
+        verify(reservationRepository, times(1)).findWindowsInRange(any(), any(), any(), any());
+        verify(reservationIndex).onSaved(any(Reservation.class));
+        verify(textSearchIndex).onSaved(SearchHitDto.Kind.RESERVATION, 100L, 1L, null);
+    }
+
+    @Test
+    void createReservations_EmptyBatch_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> reservationService.createReservations(List.of()));
+        verifyNoInteractions(reservationBatchRepository);
+    }
+
     @Test
     void createReservation_CustomerNotFound_ThrowsResourceNotFoundException() {
         when(customerRepository.findById(1L)).thenReturn(Optional.empty());
@@ -163,20 +244,90 @@ class ReservationServiceTest {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(spaceRepository.findById(1L)).thenReturn(Optional.of(testSpace));
-        when(reservationRepository.findOverlappingReservations(anyLong(), any(), any()))
-                .thenReturn(Arrays.asList(testReservation));
+        when(reservationIndex.hasOverlap(anyLong(), any(), any(), any())).thenReturn(true);
 
         assertThrows(ValidationException.class, () -> {
             reservationService.createReservation(testReservationDto);
         });
 
-        verify(reservationRepository).findOverlappingReservations(anyLong(), any(), any());
+        verify(reservationIndex).hasOverlap(eq(1L), any(), any(), isNull());
         verify(reservationRepository, never()).save(any());
     }
 
+    @Test
+    void holdSpace_BlocksOtherBookingsUntilConvertedIntoAReservation() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(spaceRepository.findById(1L)).thenReturn(Optional.of(testSpace));
+        when(reservationIndex.hasOverlap(anyLong(), any(), any(), any())).thenReturn(false);
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        HoldDto hold = reservationService.holdSpace(
+                new HoldRequestDto(1L, testReservationDto.startTime(), testReservationDto.endTime(), null, 300));
+
+        assertEquals("SPACE", hold.resource());
+        assertThrows(ConflictException.class, () -> reservationService.createReservation(testReservationDto));
+        assertThrows(ConflictException.class, () -> reservationService.holdSpace(
+                new HoldRequestDto(1L, testReservationDto.startTime().plusHours(1), testReservationDto.endTime().plusHours(1), null, null)));
+
+        // The held window wins over whatever window the checkout form sends
+        ReservationDto details = new ReservationDto(null, 9L, 1L, 1L, testReservationDto.startTime().plusDays(3),
+                testReservationDto.endTime().plusDays(3), 100.0, Status.PENDING, "From hold", null, null, 1L);
+        ReservationDto created = reservationService.createReservationFromHold(hold.id(), details);
+
+        assertEquals(1L, created.spaceId());
+        assertEquals(testReservationDto.startTime(), created.startTime());
+        assertEquals(testReservationDto.endTime(), created.endTime());
+        assertEquals(0, holdRegistry.size());
+        verify(reservationRepository, times(1)).save(any(Reservation.class));
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.createReservationFromHold(hold.id(), details));
+    }
+
+    @Test
+    void createReservation_RecurringSeries_ChecksEveryOccurrenceInOneSweep() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime seriesEnd = start.plusWeeks(3).plusHours(2);
+        ReservationDto series = seriesItem(start, new RecurrenceDto(Recurrence.Frequency.WEEKLY, 1, null, 4, null));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(spaceRepository.findById(1L)).thenReturn(Optional.of(testSpace));
+        when(reservationIndex.findOverlapping(1L, start, seriesEnd))
+                .thenReturn(List.of(new IntervalTree.Interval(7L, start.plusDays(1), start.plusDays(1).plusHours(2))))
+                .thenReturn(List.of(new IntervalTree.Interval(7L, start.plusWeeks(2).plusHours(1), start.plusWeeks(2).plusHours(3))));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ReservationDto created = reservationService.createReservation(series);
+
+        assertEquals(Recurrence.Frequency.WEEKLY, created.recurrence().frequency());
+        assertEquals(4, created.recurrence().count());
+        verify(reservationRepository).save(argThat(saved -> seriesEnd.equals(saved.getSeriesEndTime())));
+        assertThrows(ValidationException.class, () -> reservationService.createReservation(series));
+        verify(reservationRepository, times(1)).save(any());
+        verify(reservationIndex, never()).hasOverlap(any(), any(), any(), any());
+    }
+
+    @Test
+    void getReservationsBySpaceIdBetween_ExpandsSeriesInsideWindow() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        testReservation.setStartTime(start);
+        testReservation.setEndTime(start.plusHours(2));
+        testReservation.setRecurrence(RecurrenceDto.Mapper.toEntity(new RecurrenceDto(Recurrence.Frequency.DAILY, 2, null, 10, null)));
+        testReservation.setSeriesEndTime(start.plusDays(18).plusHours(2));
+        LocalDateTime from = start.plusDays(3);
+        LocalDateTime to = start.plusDays(8).plusHours(1);
+        when(reservationRepository.findBySpaceIdInRange(1L, from, to)).thenReturn(List.of(testReservation));
+
+        List<ReservationDto> result = reservationService.getReservationsBySpaceIdBetween(1L, from, to);
+
+        assertEquals(List.of(start.plusDays(4), start.plusDays(6), start.plusDays(8)),
+                result.stream().map(ReservationDto::startTime).toList());
+        assertTrue(result.stream().allMatch(occurrence -> occurrence.id().equals(1L)
+                && occurrence.endTime().equals(occurrence.startTime().plusHours(2))));
+    }
+
     @Test
     void getReservationById_ExistingReservation_ReturnsReservation() {
-        when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
+        when(reservationRepository.findDtoById(1L)).thenReturn(Optional.of(ReservationDto.Mapper.toDto(testReservation)));
 
         ReservationDto result = reservationService.getReservationById(1L);
 
@@ -187,7 +338,7 @@ class ReservationServiceTest {
 
     @Test
     void getReservationById_NonExistentReservation_ThrowsResourceNotFoundException() {
-        when(reservationRepository.findById(999L)).thenReturn(Optional.empty());
+        when(reservationRepository.findDtoById(999L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             reservationService.getReservationById(999L);
@@ -196,8 +347,7 @@ class ReservationServiceTest {
 
     @Test
     void getAllReservations_ReturnsReservationsList() {
-        List<Reservation> reservations = Arrays.asList(testReservation);
-        when(reservationRepository.findAll()).thenReturn(reservations);
+        when(reservationRepository.findAllDtos()).thenReturn(List.of(ReservationDto.Mapper.toDto(testReservation)));
 
         List<ReservationDto> result = reservationService.getAllReservations();
 
@@ -233,8 +383,7 @@ class ReservationServiceTest {
     @Test
     void updateReservation_ValidReservation_ReturnsUpdatedReservation() {
         when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
-        when(reservationRepository.findOverlappingReservations(anyLong(), any(), any()))
-                .thenReturn(Arrays.asList());
+        when(reservationIndex.hasOverlap(anyLong(), any(), any(), any())).thenReturn(false);
         when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
 
         ReservationDto result = reservationService.updateReservation(1L, testReservationDto);
@@ -244,6 +393,17 @@ class ReservationServiceTest {
         verify(reservationRepository).save(any(Reservation.class));
     }
 
+    @Test
+    void updateReservation_ExcludesItselfFromOverlapCheck() {
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
+        when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
+
+        reservationService.updateReservation(1L, testReservationDto);
+
+        verify(reservationIndex).hasOverlap(eq(1L), eq(testReservationDto.startTime()), eq(testReservationDto.endTime()), eq(1L));
+        verify(reservationIndex).onSaved(testReservation);
+    }
+
     @Test
     void updateReservation_NonExistentReservation_ThrowsResourceNotFoundException() {
         when(reservationRepository.findById(999L)).thenReturn(Optional.empty());
@@ -265,6 +425,7 @@ class ReservationServiceTest {
         });
 
         verify(reservationRepository).deleteById(1L);
+        verify(reservationIndex).onDeleted(1L);
     }
 
     @Test
@@ -280,26 +441,103 @@ class ReservationServiceTest {
 
     @Test
     void confirmReservation_ValidReservation_ReturnsConfirmedReservation() {
-        testReservation.setStatus(Status.PENDING);
+        testReservation.setStatus(Status.CONFIRMED);
+        when(reservationRepository.transitionStatus(eq(1L), eq(EnumSet.of(Status.PENDING)), eq(Status.CONFIRMED), any())).thenReturn(1);
         when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
-        when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
 
         ReservationDto result = reservationService.confirmReservation(1L);
 
         assertNotNull(result);
         assertEquals(Status.CONFIRMED, result.status());
-        verify(reservationRepository).save(any(Reservation.class));
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    void confirmReservation_NotPending_ThrowsValidationException() {
+        when(reservationRepository.transitionStatus(eq(1L), any(), eq(Status.CONFIRMED), any())).thenReturn(0);
+        when(reservationRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(ValidationException.class, () -> reservationService.confirmReservation(1L));
+
+        verify(reservationRepository, never()).findById(any());
+        verifyNoInteractions(reservationIndex);
+    }
+
+    @Test
+    void confirmReservation_Missing_ThrowsResourceNotFoundException() {
+        when(reservationRepository.transitionStatus(eq(99L), any(), eq(Status.CONFIRMED), any())).thenReturn(0);
+        when(reservationRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.confirmReservation(99L));
     }
 
     @Test
     void cancelReservation_ValidReservation_ReturnsCancelledReservation() {
+        testReservation.setStatus(Status.CANCELLED);
+        when(reservationRepository.transitionStatus(eq(1L), argThat(from -> !from.contains(Status.CANCELLED)), eq(Status.CANCELLED), any()))
+                .thenReturn(1);
         when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
-        when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
 
         ReservationDto result = reservationService.cancelReservation(1L);
 
         assertNotNull(result);
         assertEquals(Status.CANCELLED, result.status());
-        verify(reservationRepository).save(any(Reservation.class));
+        verify(reservationIndex).onSaved(testReservation);
+    }
+
+    @Test
+    void cancelReservation_WithWaitlist_BooksEveryWaitingWindowThatFitsTheFreedOne() {
+        testSpace.setPricePerHour(20.0);
+        LocalDateTime start = testReservation.getStartTime();
+        LocalDateTime end = testReservation.getEndTime();
+        WaitlistQueues.Waiting first = new WaitlistQueues.Waiting(7L, Customer.CustomerTier.GOLD, 3,
+                LocalDateTime.now().minusDays(1), start, start.plusHours(1));
+        WaitlistQueues.Waiting second = new WaitlistQueues.Waiting(8L, Customer.CustomerTier.STANDARD, 3,
+                LocalDateTime.now().minusDays(1), start.plusHours(1), end);
+        when(reservationRepository.transitionStatus(eq(1L), any(), eq(Status.CANCELLED), any())).thenReturn(1);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
+        when(waitlistQueues.latestEnd(BookingResource.SPACE, 1L)).thenReturn(end);
+        when(waitlistQueues.candidates(BookingResource.SPACE, 1L, start, end)).thenReturn(List.of(first, second));
+        when(waitlistEntryRepository.claimForPromotion(anyLong(), any())).thenReturn(1);
+        WaitlistEntry firstEntry = waitlistEntry(7L, start, start.plusHours(1));
+        WaitlistEntry secondEntry = waitlistEntry(8L, start.plusHours(1), end);
+        when(waitlistEntryRepository.findById(7L)).thenReturn(Optional.of(firstEntry));
+        when(waitlistEntryRepository.findById(8L)).thenReturn(Optional.of(secondEntry));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation saved = invocation.getArgument(0);
+            saved.setId(saved.getStartTime().equals(start) ? 20L : 21L);
+            return saved;
+        });
+
+        reservationService.cancelReservation(1L);
+
+        // The cancelled booking is still in the index until commit, so it is left out of the check
+        verify(reservationIndex).hasOverlap(1L, start, start.plusHours(1), 1L);
+        verify(reservationRepository, times(2)).save(argThat(booked -> booked.getTotalPrice() == 20.0
+                && booked.getStatus() == Status.PENDING));
+        verify(waitlistEntryRepository).setReservation(7L, 20L);
+        verify(waitlistEntryRepository).setReservation(8L, 21L);
+        verify(waitlistQueues).onLeft(List.of(7L, 8L));
+    }
+
+    private WaitlistEntry waitlistEntry(Long id, LocalDateTime start, LocalDateTime end) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(id);
+        entry.setCustomer(testCustomer);
+        entry.setCreatedByUser(testUser);
+        entry.setTenant(testTenant);
+        entry.setPartySize(3);
+        entry.setStartTime(start);
+        entry.setEndTime(end);
+        return entry;
+    }
+
+    private ReservationDto seriesItem(LocalDateTime start, RecurrenceDto recurrence) {
+        return new ReservationDto(null, 1L, 1L, 1L, start, start.plusHours(2), 10.0,
+                Status.PENDING, null, null, null, 1L, recurrence);
+    }
+
+    private ReservationDto batchItem(LocalDateTime startTime, LocalDateTime endTime) {
+        return new ReservationDto(null, 1L, 1L, 1L, startTime, endTime, 10.0, Status.PENDING, null, null, null, 1L);
     }
-} 
\ No newline at end of file
+}
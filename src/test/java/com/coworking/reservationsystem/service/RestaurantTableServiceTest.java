@@ -9,7 +9,9 @@ import com.coworking.reservationsystem.model.entity.Tenant;
 import com.coworking.reservationsystem.repository.RestaurantTableRepository;
 import com.coworking.reservationsystem.repository.SpaceRepository;
 import com.coworking.reservationsystem.repository.TenantRepository;
+import com.coworking.reservationsystem.service.counter.StatusCounters;
 import com.coworking.reservationsystem.service.impl.RestaurantTableServiceImpl;
+import com.coworking.reservationsystem.service.index.TableAvailabilityIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -38,6 +40,12 @@ class RestaurantTableServiceTest {
     @Mock
     private TenantRepository tenantRepository;
 
+    @Mock
+    private TableAvailabilityIndex tableIndex;
+
+    @Mock
+    private StatusCounters statusCounters;
+
     @InjectMocks
     private RestaurantTableServiceImpl tableService;
 
@@ -290,7 +298,7 @@ class RestaurantTableServiceTest {
 
     @Test
     void getTableCountByTenant_ReturnsCount() {
-        when(tableRepository.countByTenantId(1L)).thenReturn(5L);
+        when(statusCounters.total(StatusCounters.Counter.RESTAURANT_TABLES, 1L)).thenReturn(5L);
 
         long result = tableService.getTableCountByTenant(1L);
 
@@ -299,7 +307,7 @@ class RestaurantTableServiceTest {
 
     @Test
     void getTableCountByStatus_ReturnsCount() {
-        when(tableRepository.countByStatusAndTenantId(RestaurantTable.TableStatus.AVAILABLE, 1L)).thenReturn(3L);
+        when(statusCounters.count(StatusCounters.Counter.RESTAURANT_TABLES, 1L, RestaurantTable.TableStatus.AVAILABLE)).thenReturn(3L);
 
         long result = tableService.getTableCountByStatus(RestaurantTable.TableStatus.AVAILABLE, 1L);
 
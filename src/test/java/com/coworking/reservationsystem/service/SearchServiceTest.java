@@ -0,0 +1,61 @@
+package com.coworking.reservationsystem.service;
+
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.CursorPageDto;
+import com.coworking.reservationsystem.model.dto.SearchHitDto;
+import com.coworking.reservationsystem.service.impl.SearchServiceImpl;
+import com.coworking.reservationsystem.service.search.SearchCursor;
+import com.coworking.reservationsystem.service.search.SearchQuery;
+import com.coworking.reservationsystem.service.search.TextSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+    @Mock
+    private TextSearchIndex textSearchIndex;
+    @InjectMocks
+    private SearchServiceImpl searchService;
+
+    private final SearchHitDto first = new SearchHitDto(SearchHitDto.Kind.CUSTOMER, 2L, "Vegan", 2.0);
+    private final SearchHitDto second = new SearchHitDto(SearchHitDto.Kind.SPACE, 1L, "Vegan kitchen", 1.0);
+
+    @Test
+    void search_FullPage_ResumesAfterItsLastHit() {
+        when(textSearchIndex.search(eq(1L), any(SearchQuery.class), eq(SearchCursor.decode(null)), eq(2)))
+                .thenReturn(List.of(first, second));
+
+        CursorPageDto<SearchHitDto> page = searchService.search(1L, "vegan", null, 1);
+
+        assertEquals(List.of(first), page.items());
+        assertEquals(SearchCursor.after(first), SearchCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void search_LastPage_HasNoCursor() {
+        when(textSearchIndex.search(eq(1L), any(SearchQuery.class), eq(SearchCursor.after(first)), eq(51)))
+                .thenReturn(List.of(second));
+
+        CursorPageDto<SearchHitDto> page = searchService.search(1L, "vegan", SearchCursor.after(first).encode(), null);
+
+        assertEquals(List.of(second), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void search_RejectsQueriesWithoutTermsAndMalformedCursors() {
+        assertThrows(ValidationException.class, () -> searchService.search(1L, "the", null, 10));
+        assertThrows(ValidationException.class, () -> searchService.search(1L, "vegan", "not-a-cursor", 10));
+        assertThrows(ValidationException.class, () -> searchService.search(1L, "vegan", null, 0));
+        verifyNoInteractions(textSearchIndex);
+    }
+}
@@ -1,11 +1,15 @@
 package com.coworking.reservationsystem.service;
 
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
+import com.coworking.reservationsystem.exception.ValidationException;
 import com.coworking.reservationsystem.model.dto.SpaceDto;
 import com.coworking.reservationsystem.model.entity.Location;
+import com.coworking.reservationsystem.model.entity.Recurrence;
+import com.coworking.reservationsystem.model.entity.Reservation;
 import com.coworking.reservationsystem.model.entity.Space;
 import com.coworking.reservationsystem.model.entity.Tenant;
 import com.coworking.reservationsystem.repository.LocationRepository;
+import com.coworking.reservationsystem.repository.ReservationRepository;
 import com.coworking.reservationsystem.repository.SpaceRepository;
 import com.coworking.reservationsystem.repository.TenantRepository;
 import com.coworking.reservationsystem.service.impl.SpaceServiceImpl;
@@ -15,13 +19,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +41,8 @@ class SpaceServiceTest {
     private LocationRepository locationRepository;
     @Mock
     private TenantRepository tenantRepository;
+    @Mock
+    private ReservationRepository reservationRepository;
     @InjectMocks
     private SpaceServiceImpl spaceService;
 
@@ -106,18 +116,18 @@ class SpaceServiceTest {
 
     @Test
     void getSpaceById_Success() {
-        when(spaceRepository.findById(1L)).thenReturn(Optional.of(space));
+        when(spaceRepository.findDtoById(1L)).thenReturn(Optional.of(SpaceDto.Mapper.toDto(space)));
         SpaceDto result = spaceService.getSpaceById(1L);
         assertNotNull(result);
         assertEquals(space.getId(), result.id());
-        verify(spaceRepository).findById(1L);
+        verify(spaceRepository).findDtoById(1L);
     }
 
     @Test
     void getSpaceById_NotFound_ThrowsException() {
-        when(spaceRepository.findById(999L)).thenReturn(Optional.empty());
+        when(spaceRepository.findDtoById(999L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> spaceService.getSpaceById(999L));
-        verify(spaceRepository).findById(999L);
+        verify(spaceRepository).findDtoById(999L);
     }
 
     @Test
@@ -127,22 +137,22 @@ class SpaceServiceTest {
         space2.setName("Birou 2");
         space2.setLocation(location);
         space2.setTenant(tenant);
-        List<Space> spaces = Arrays.asList(space, space2);
-        when(spaceRepository.findAll()).thenReturn(spaces);
+        List<SpaceDto> spaces = Arrays.asList(SpaceDto.Mapper.toDto(space), SpaceDto.Mapper.toDto(space2));
+        when(spaceRepository.findAllDtos()).thenReturn(spaces);
         List<SpaceDto> result = spaceService.getAllSpaces();
         assertEquals(2, result.size());
-        verify(spaceRepository).findAll();
+        verify(spaceRepository).findAllDtos();
     }
 
     @Test
     void getSpacesByLocationId_Success() {
         when(locationRepository.existsById(1L)).thenReturn(true);
-        when(spaceRepository.findByLocationId(1L)).thenReturn(List.of(space));
+        when(spaceRepository.findDtosByLocationId(1L)).thenReturn(List.of(SpaceDto.Mapper.toDto(space)));
         List<SpaceDto> result = spaceService.getSpacesByLocationId(1L);
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).locationId());
         verify(locationRepository).existsById(1L);
-        verify(spaceRepository).findByLocationId(1L);
+        verify(spaceRepository).findDtosByLocationId(1L);
     }
 
     @Test
@@ -155,10 +165,60 @@ class SpaceServiceTest {
 
     @Test
     void getSpacesByTenantId_Success() {
-        when(spaceRepository.findByTenantId(1L)).thenReturn(List.of(space));
+        when(spaceRepository.findDtosByTenantId(1L)).thenReturn(List.of(SpaceDto.Mapper.toDto(space)));
         List<SpaceDto> result = spaceService.getSpacesByTenantId(1L);
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).tenantId());
-        verify(spaceRepository).findByTenantId(1L);
+        verify(spaceRepository).findDtosByTenantId(1L);
+    }
+
+    @Test
+    void searchFreeSpaces_DropsSpacesBookedBySeriesAndPagesUntilTheLimitIsFilled() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        Space other = new Space();
+        other.setId(2L);
+        other.setCapacity(12);
+        other.setLocation(location);
+        other.setTenant(tenant);
+        Space third = new Space();
+        third.setId(3L);
+        third.setCapacity(20);
+        third.setLocation(location);
+        third.setTenant(tenant);
+
+        Reservation series = new Reservation();
+        series.setSpace(space);
+        series.setStartTime(start.minusWeeks(1));
+        series.setEndTime(start.minusWeeks(1).plusHours(1));
+        Recurrence recurrence = new Recurrence();
+        recurrence.setFrequency(Recurrence.Frequency.WEEKLY);
+        recurrence.setInterval(1);
+        recurrence.setCount(4);
+        series.setRecurrence(recurrence);
+
+        when(spaceRepository.findFreeSpaces(eq(1L), isNull(), eq(8), isNull(), eq(start), eq(start.plusHours(2)), any(),
+                eq(PageRequest.of(0, 2)))).thenReturn(List.of(space, other));
+        when(spaceRepository.findFreeSpaces(eq(1L), isNull(), eq(8), isNull(), eq(start), eq(start.plusHours(2)), any(),
+                eq(PageRequest.of(1, 2)))).thenReturn(List.of(third));
+        when(reservationRepository.findSeriesInRangeForSpaces(eq(List.of(1L, 2L)), any(), eq(start), eq(start.plusHours(2))))
+                .thenReturn(List.of(series));
+
+        List<SpaceDto> result = spaceService.searchFreeSpaces(1L, null, 8, null, start, start.plusHours(2), 2);
+
+        assertEquals(List.of(2L, 3L), result.stream().map(SpaceDto::id).toList());
+        // The second page came back short, so there is nothing after it
+        verify(spaceRepository, never()).findFreeSpaces(any(), any(), any(), any(), any(), any(), any(), eq(PageRequest.of(2, 2)));
+    }
+
+    @Test
+    void searchFreeSpaces_InvalidWindow_ThrowsValidationException() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        assertThrows(ValidationException.class,
+                () -> spaceService.searchFreeSpaces(1L, null, 8, null, start, start.minusHours(1), 20));
+        assertThrows(ValidationException.class,
+                () -> spaceService.searchFreeSpaces(1L, null, 0, null, start, start.plusHours(1), 20));
+        assertThrows(ValidationException.class,
+                () -> spaceService.searchFreeSpaces(null, null, 8, null, start, start.plusHours(1), 20));
+        verifyNoInteractions(spaceRepository, reservationRepository);
     }
-} 
\ No newline at end of file
+}
@@ -1,22 +1,38 @@
 package com.coworking.reservationsystem.service;
 
+import com.coworking.reservationsystem.exception.ConflictException;
 import com.coworking.reservationsystem.exception.ResourceNotFoundException;
 import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.HoldDto;
+import com.coworking.reservationsystem.model.dto.HoldRequestDto;
+import com.coworking.reservationsystem.model.dto.RestaurantTableDto;
+import com.coworking.reservationsystem.model.dto.TableCombinationRequestDto;
 import com.coworking.reservationsystem.model.dto.TableReservationDto;
 import com.coworking.reservationsystem.model.entity.Customer;
 import com.coworking.reservationsystem.model.entity.RestaurantTable;
+import com.coworking.reservationsystem.model.entity.Space;
 import com.coworking.reservationsystem.model.entity.TableReservation;
 import com.coworking.reservationsystem.model.entity.Tenant;
+import com.coworking.reservationsystem.model.entity.WaitlistEntry;
 import com.coworking.reservationsystem.repository.CustomerRepository;
 import com.coworking.reservationsystem.repository.RestaurantTableRepository;
 import com.coworking.reservationsystem.repository.TableReservationRepository;
-import com.coworking.reservationsystem.repository.TenantRepository;
+import com.coworking.reservationsystem.repository.WaitlistEntryRepository;
 import com.coworking.reservationsystem.service.impl.TableReservationServiceImpl;
+import com.coworking.reservationsystem.service.counter.StatusCounters;
+import com.coworking.reservationsystem.service.expiry.TableReservationExpiryScheduler;
+import com.coworking.reservationsystem.service.hold.BookingHoldRegistry;
+import com.coworking.reservationsystem.service.index.TableAvailabilityIndex;
+import com.coworking.reservationsystem.service.lock.BookingLockManager;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import com.coworking.reservationsystem.service.tenant.TenantDirectory;
+import com.coworking.reservationsystem.service.waitlist.WaitlistQueues;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -25,11 +41,14 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,7 +64,28 @@ class TableReservationServiceTest {
     private CustomerRepository customerRepository;
 
     @Mock
-    private TenantRepository tenantRepository;
+    private TenantDirectory tenantDirectory;
+
+    @Mock
+    private BookingLockManager bookingLockManager;
+
+    @Mock
+    private TableAvailabilityIndex tableIndex;
+
+    @Mock
+    private TableReservationExpiryScheduler expiryScheduler;
+
+    @Mock
+    private WaitlistQueues waitlistQueues;
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private StatusCounters statusCounters;
+
+    @Spy
+    private BookingHoldRegistry holdRegistry = new BookingHoldRegistry(600, 1800, 1000);
 
     @InjectMocks
     private TableReservationServiceImpl reservationService;
@@ -110,7 +150,7 @@ class TableReservationServiceTest {
     void createTableReservation_ValidReservation_ReturnsCreatedReservation() {
         when(tableRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testTable));
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(tenantRepository.findById(1L)).thenReturn(Optional.of(testTenant));
+        when(tenantDirectory.findEntityById(1L)).thenReturn(Optional.of(testTenant));
         when(reservationRepository.findOverlappingReservations(anyLong(), any(), any())).thenReturn(Arrays.asList());
         when(reservationRepository.save(any(TableReservation.class))).thenReturn(testReservation);
 
@@ -119,6 +159,7 @@ class TableReservationServiceTest {
         assertNotNull(result);
         assertEquals(4, result.numberOfPeople());
         assertEquals(TableReservation.TableReservationStatus.PENDING, result.status());
+        verify(bookingLockManager).lock(BookingResource.TABLE, 1L);
         verify(reservationRepository).save(any(TableReservation.class));
     }
 
@@ -149,7 +190,7 @@ class TableReservationServiceTest {
     void createTableReservation_TenantNotFound_ThrowsResourceNotFoundException() {
         when(tableRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testTable));
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(tenantRepository.findById(1L)).thenReturn(Optional.empty());
+        when(tenantDirectory.findEntityById(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             reservationService.createTableReservation(testReservationDto);
@@ -162,7 +203,7 @@ class TableReservationServiceTest {
     void createTableReservation_OverlappingReservation_ThrowsValidationException() {
         when(tableRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testTable));
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(tenantRepository.findById(1L)).thenReturn(Optional.of(testTenant));
+        when(tenantDirectory.findEntityById(1L)).thenReturn(Optional.of(testTenant));
         when(reservationRepository.findOverlappingReservations(anyLong(), any(), any())).thenReturn(Arrays.asList(testReservation));
 
         assertThrows(ValidationException.class, () -> {
@@ -172,6 +213,25 @@ class TableReservationServiceTest {
         verify(reservationRepository, never()).save(any());
     }
 
+    @Test
+    void createTableReservation_HeldTable_ThrowsConflictException() {
+        when(tableRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testTable));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(tenantDirectory.findEntityById(1L)).thenReturn(Optional.of(testTenant));
+        when(reservationRepository.findOverlappingReservations(anyLong(), any(), any())).thenReturn(Arrays.asList());
+        when(reservationRepository.save(any(TableReservation.class))).thenReturn(testReservation);
+        HoldDto hold = reservationService.holdTable(new HoldRequestDto(1L, testReservationDto.requestedTime(),
+                testReservationDto.estimatedArrivalTime(), 1L, null));
+
+        assertThrows(ConflictException.class, () -> reservationService.createTableReservation(testReservationDto));
+        verify(reservationRepository, never()).save(any());
+
+        TableReservationDto result = reservationService.createTableReservationFromHold(hold.id(), testReservationDto);
+
+        assertEquals(TableReservation.TableReservationStatus.PENDING, result.status());
+        assertTrue(holdRegistry.find(hold.id()).isEmpty());
+    }
+
     @Test
     void createTableReservation_PastRequestedTime_ThrowsValidationException() {
         TableReservationDto pastReservationDto = new TableReservationDto(
@@ -190,7 +250,7 @@ class TableReservationServiceTest {
 
         when(tableRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testTable));
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(tenantRepository.findById(1L)).thenReturn(Optional.of(testTenant));
+        when(tenantDirectory.findEntityById(1L)).thenReturn(Optional.of(testTenant));
 
         assertThrows(ValidationException.class, () -> {
             reservationService.createTableReservation(pastReservationDto);
@@ -201,7 +261,7 @@ class TableReservationServiceTest {
 
     @Test
     void getTableReservationById_ExistingReservation_ReturnsReservation() {
-        when(reservationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testReservation));
+        when(reservationRepository.findDtoByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(TableReservationDto.Mapper.toDto(testReservation)));
 
         Optional<TableReservationDto> result = reservationService.getTableReservationById(1L, 1L);
 
@@ -211,7 +271,7 @@ class TableReservationServiceTest {
 
     @Test
     void getTableReservationById_NonExistentReservation_ReturnsEmpty() {
-        when(reservationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.empty());
+        when(reservationRepository.findDtoByIdAndTenantId(1L, 1L)).thenReturn(Optional.empty());
 
         Optional<TableReservationDto> result = reservationService.getTableReservationById(1L, 1L);
 
@@ -220,8 +280,8 @@ class TableReservationServiceTest {
 
     @Test
     void getAllTableReservationsByTenant_ReturnsReservationsList() {
-        List<TableReservation> reservations = Arrays.asList(testReservation);
-        when(reservationRepository.findByTenantIdOrderByCreatedAtDesc(1L)).thenReturn(reservations);
+        List<TableReservationDto> reservations = Arrays.asList(TableReservationDto.Mapper.toDto(testReservation));
+        when(reservationRepository.findDtosByTenantId(1L)).thenReturn(reservations);
 
         List<TableReservationDto> result = reservationService.getAllTableReservationsByTenant(1L);
 
@@ -232,8 +292,8 @@ class TableReservationServiceTest {
 
     @Test
     void getTableReservationsByCustomer_ReturnsReservationsList() {
-        List<TableReservation> reservations = Arrays.asList(testReservation);
-        when(reservationRepository.findByCustomerIdAndTenantIdOrderByCreatedAtDesc(1L, 1L)).thenReturn(reservations);
+        List<TableReservationDto> reservations = Arrays.asList(TableReservationDto.Mapper.toDto(testReservation));
+        when(reservationRepository.findDtosByCustomerIdAndTenantId(1L, 1L)).thenReturn(reservations);
 
         List<TableReservationDto> result = reservationService.getTableReservationsByCustomer(1L, 1L);
 
@@ -244,8 +304,8 @@ class TableReservationServiceTest {
 
     @Test
     void getPendingTableReservations_ReturnsPendingReservations() {
-        List<TableReservation> reservations = Arrays.asList(testReservation);
-        when(reservationRepository.findByStatusAndTenantIdOrderByRequestedTimeAsc(TableReservation.TableReservationStatus.PENDING, 1L)).thenReturn(reservations);
+        List<TableReservationDto> reservations = Arrays.asList(TableReservationDto.Mapper.toDto(testReservation));
+        when(reservationRepository.findDtosByStatusAndTenantIdOrderByRequestedTime(TableReservation.TableReservationStatus.PENDING, 1L)).thenReturn(reservations);
 
         List<TableReservationDto> result = reservationService.getPendingTableReservations(1L);
 
@@ -256,19 +316,24 @@ class TableReservationServiceTest {
 
     @Test
     void confirmTableReservation_ValidReservation_ReturnsConfirmedReservation() {
+        testReservation.setStatus(TableReservation.TableReservationStatus.CONFIRMED);
+        when(reservationRepository.transitionStatus(eq(1L), eq(1L), eq(EnumSet.of(TableReservation.TableReservationStatus.PENDING)),
+                eq(TableReservation.TableReservationStatus.CONFIRMED), any())).thenReturn(1);
         when(reservationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testReservation));
-        when(reservationRepository.save(any(TableReservation.class))).thenReturn(testReservation);
 
         Optional<TableReservationDto> result = reservationService.confirmTableReservation(1L, 1L);
 
         assertTrue(result.isPresent());
-        verify(reservationRepository).save(any(TableReservation.class));
+        assertEquals(TableReservation.TableReservationStatus.CONFIRMED, result.get().status());
+        verify(reservationRepository, never()).save(any());
+        verify(expiryScheduler).onSaved(testReservation);
     }
 
     @Test
     void confirmTableReservation_NonPendingReservation_ThrowsValidationException() {
-        testReservation.setStatus(TableReservation.TableReservationStatus.CONFIRMED);
-        when(reservationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testReservation));
+        when(reservationRepository.transitionStatus(eq(1L), eq(1L), any(), eq(TableReservation.TableReservationStatus.CONFIRMED), any()))
+                .thenReturn(0);
+        when(reservationRepository.existsByIdAndTenantId(1L, 1L)).thenReturn(true);
 
         assertThrows(ValidationException.class, () -> {
             reservationService.confirmTableReservation(1L, 1L);
@@ -277,43 +342,153 @@ class TableReservationServiceTest {
         verify(reservationRepository, never()).save(any());
     }
 
+    @Test
+    void confirmTableReservation_OtherTenant_ReturnsEmpty() {
+        when(reservationRepository.transitionStatus(eq(1L), eq(2L), any(), eq(TableReservation.TableReservationStatus.CONFIRMED), any()))
+                .thenReturn(0);
+        when(reservationRepository.existsByIdAndTenantId(1L, 2L)).thenReturn(false);
+
+        assertTrue(reservationService.confirmTableReservation(1L, 2L).isEmpty());
+    }
+
     @Test
     void rejectTableReservation_ValidReservation_ReturnsRejectedReservation() {
+        when(reservationRepository.transitionStatus(eq(1L), eq(1L), eq(EnumSet.of(TableReservation.TableReservationStatus.PENDING)),
+                eq(TableReservation.TableReservationStatus.REJECTED), any())).thenReturn(1);
         when(reservationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testReservation));
-        when(reservationRepository.save(any(TableReservation.class))).thenReturn(testReservation);
 
         Optional<TableReservationDto> result = reservationService.rejectTableReservation(1L, 1L);
 
         assertTrue(result.isPresent());
-        verify(reservationRepository).save(any(TableReservation.class));
     }
 
     @Test
     void cancelTableReservation_ValidReservation_ReturnsCancelledReservation() {
+        when(reservationRepository.findStatusByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(TableReservation.TableReservationStatus.PENDING));
+        when(reservationRepository.transitionStatus(eq(1L), eq(1L), eq(EnumSet.of(TableReservation.TableReservationStatus.PENDING)),
+                eq(TableReservation.TableReservationStatus.CANCELLED), any())).thenReturn(1);
         when(reservationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testReservation));
-        when(reservationRepository.save(any(TableReservation.class))).thenReturn(testReservation);
 
         Optional<TableReservationDto> result = reservationService.cancelTableReservation(1L, 1L);
 
         assertTrue(result.isPresent());
-        verify(reservationRepository).save(any(TableReservation.class));
+        verify(statusCounters).moved(StatusCounters.Counter.TABLE_RESERVATIONS, 1L,
+                TableReservation.TableReservationStatus.PENDING, TableReservation.TableReservationStatus.CANCELLED);
+    }
+
+    @Test
+    void cancelTableReservation_StatusChangedMeanwhile_RetriesFromTheNewStatus() {
+        when(reservationRepository.findStatusByIdAndTenantId(1L, 1L))
+                .thenReturn(Optional.of(TableReservation.TableReservationStatus.PENDING))
+                .thenReturn(Optional.of(TableReservation.TableReservationStatus.CONFIRMED));
+        when(reservationRepository.transitionStatus(eq(1L), eq(1L), eq(EnumSet.of(TableReservation.TableReservationStatus.PENDING)),
+                eq(TableReservation.TableReservationStatus.CANCELLED), any())).thenReturn(0);
+        when(reservationRepository.transitionStatus(eq(1L), eq(1L), eq(EnumSet.of(TableReservation.TableReservationStatus.CONFIRMED)),
+                eq(TableReservation.TableReservationStatus.CANCELLED), any())).thenReturn(1);
+        when(reservationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testReservation));
+
+        assertTrue(reservationService.cancelTableReservation(1L, 1L).isPresent());
+        verify(statusCounters).moved(StatusCounters.Counter.TABLE_RESERVATIONS, 1L,
+                TableReservation.TableReservationStatus.CONFIRMED, TableReservation.TableReservationStatus.CANCELLED);
+    }
+
+    @Test
+    void cancelTableReservation_AlreadyCancelled_ThrowsWithoutUpdating() {
+        when(reservationRepository.findStatusByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(TableReservation.TableReservationStatus.CANCELLED));
+
+        assertThrows(ValidationException.class, () -> reservationService.cancelTableReservation(1L, 1L));
+        verify(reservationRepository, never()).transitionStatus(any(), any(), any(), any(), any());
+        verifyNoInteractions(statusCounters);
+    }
+
+    @Test
+    void cancelTableReservation_WithWaitlist_BooksBestCandidateWhoseWindowIsFree() {
+        LocalDateTime start = testReservation.getRequestedTime();
+        LocalDateTime end = testReservation.getEstimatedArrivalTime();
+        WaitlistQueues.Waiting stillBooked = new WaitlistQueues.Waiting(7L, Customer.CustomerTier.GOLD, 4,
+                LocalDateTime.now().minusHours(1), start.minusMinutes(30), end);
+        WaitlistQueues.Waiting fits = new WaitlistQueues.Waiting(8L, Customer.CustomerTier.STANDARD, 2,
+                LocalDateTime.now().minusHours(1), start, end);
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(8L);
+        entry.setCustomer(testCustomer);
+        entry.setTenant(testTenant);
+        entry.setPartySize(2);
+        entry.setStartTime(start);
+        entry.setEndTime(end);
+
+        when(reservationRepository.findStatusByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(TableReservation.TableReservationStatus.CONFIRMED));
+        when(reservationRepository.transitionStatus(eq(1L), eq(1L), any(), eq(TableReservation.TableReservationStatus.CANCELLED), any()))
+                .thenReturn(1);
+        when(reservationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testReservation));
+        when(waitlistQueues.candidates(BookingResource.TABLE, 1L, start, end)).thenReturn(List.of(stillBooked, fits));
+        // The earlier part of the first candidate's window belongs to another booking
+        when(reservationRepository.findOverlappingReservations(1L, start.minusMinutes(30), end)).thenReturn(List.of(new TableReservation()));
+        when(reservationRepository.findOverlappingReservations(1L, start, end)).thenReturn(List.of());
+        when(waitlistEntryRepository.claimForPromotion(eq(8L), any())).thenReturn(1);
+        when(waitlistEntryRepository.findById(8L)).thenReturn(Optional.of(entry));
+        when(tableRepository.getReferenceById(1L)).thenReturn(testTable);
+        when(reservationRepository.save(any(TableReservation.class))).thenAnswer(invocation -> {
+            TableReservation saved = invocation.getArgument(0);
+            saved.setId(20L);
+            return saved;
+        });
+
+        reservationService.cancelTableReservation(1L, 1L);
+
+        verify(bookingLockManager).lock(BookingResource.TABLE, 1L);
+        verify(waitlistEntryRepository, never()).claimForPromotion(eq(7L), any());
+        verify(reservationRepository).save(argThat(booked -> booked.getNumberOfPeople() == 2
+                && booked.getStatus() == TableReservation.TableReservationStatus.PENDING));
+        verify(waitlistEntryRepository).setReservation(8L, 20L);
+        verify(waitlistQueues).onLeft(List.of(8L));
+    }
+
+    @Test
+    void updateTableReservation_LocksAndChecksTheReservationsOwnTable() {
+        TableReservationDto movedElsewhere = new TableReservationDto(1L, 9L, 1L, 2,
+                testReservation.getRequestedTime(), testReservation.getEstimatedArrivalTime(),
+                TableReservation.TableReservationStatus.PENDING, null, 1L, null, null);
+        when(reservationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testReservation));
+        // The reservation's current booking overlaps the new window, but it is the same row
+        when(reservationRepository.findOverlappingReservations(eq(1L), any(), any())).thenReturn(List.of(testReservation));
+        when(reservationRepository.save(testReservation)).thenReturn(testReservation);
+
+        assertTrue(reservationService.updateTableReservation(1L, movedElsewhere).isPresent());
+
+        verify(bookingLockManager).lock(BookingResource.TABLE, 1L);
+        verify(bookingLockManager, never()).lock(BookingResource.TABLE, 9L);
+        verify(reservationRepository, never()).findOverlappingReservations(eq(9L), any(), any());
+        assertEquals(2, testReservation.getNumberOfPeople());
+    }
+
+    @Test
+    void updateTableReservation_OverlapsAnotherReservation_ThrowsValidationException() {
+        TableReservation other = new TableReservation();
+        other.setId(2L);
+        when(reservationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testReservation));
+        when(reservationRepository.findOverlappingReservations(eq(1L), any(), any())).thenReturn(List.of(testReservation, other));
+
+        assertThrows(ValidationException.class, () -> reservationService.updateTableReservation(1L, testReservationDto));
+        verify(reservationRepository, never()).save(any());
     }
 
     @Test
     void completeTableReservation_ValidReservation_ReturnsCompletedReservation() {
-        testReservation.setStatus(TableReservation.TableReservationStatus.CONFIRMED);
+        when(reservationRepository.transitionStatus(eq(1L), eq(1L), eq(EnumSet.of(TableReservation.TableReservationStatus.CONFIRMED)),
+                eq(TableReservation.TableReservationStatus.COMPLETED), any())).thenReturn(1);
         when(reservationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testReservation));
-        when(reservationRepository.save(any(TableReservation.class))).thenReturn(testReservation);
 
         Optional<TableReservationDto> result = reservationService.completeTableReservation(1L, 1L);
 
         assertTrue(result.isPresent());
-        verify(reservationRepository).save(any(TableReservation.class));
     }
 
     @Test
     void completeTableReservation_NonConfirmedReservation_ThrowsValidationException() {
-        when(reservationRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testReservation));
+        when(reservationRepository.transitionStatus(eq(1L), eq(1L), any(), eq(TableReservation.TableReservationStatus.COMPLETED), any()))
+                .thenReturn(0);
+        when(reservationRepository.existsByIdAndTenantId(1L, 1L)).thenReturn(true);
 
         assertThrows(ValidationException.class, () -> {
             reservationService.completeTableReservation(1L, 1L);
@@ -345,10 +520,10 @@ class TableReservationServiceTest {
 
     @Test
     void getTableReservationsByDateRange_ReturnsReservationsList() {
-        List<TableReservation> reservations = Arrays.asList(testReservation);
+        List<TableReservationDto> reservations = Arrays.asList(TableReservationDto.Mapper.toDto(testReservation));
         LocalDateTime startDate = LocalDateTime.now();
         LocalDateTime endDate = LocalDateTime.now().plusDays(1);
-        when(reservationRepository.findByDateRangeAndTenantId(startDate, endDate, 1L)).thenReturn(reservations);
+        when(reservationRepository.findDtosByDateRangeAndTenantId(startDate, endDate, 1L)).thenReturn(reservations);
 
         List<TableReservationDto> result = reservationService.getTableReservationsByDateRange(startDate, endDate, 1L);
 
@@ -358,10 +533,10 @@ class TableReservationServiceTest {
 
     @Test
     void getTableReservationsByCustomer_WithPagination_ReturnsPage() {
-        List<TableReservation> reservations = Arrays.asList(testReservation);
-        Page<TableReservation> page = new PageImpl<>(reservations);
+        List<TableReservationDto> reservations = Arrays.asList(TableReservationDto.Mapper.toDto(testReservation));
+        Page<TableReservationDto> page = new PageImpl<>(reservations);
         Pageable pageable = PageRequest.of(0, 10);
-        when(reservationRepository.findByCustomerIdAndTenantId(1L, 1L, pageable)).thenReturn(page);
+        when(reservationRepository.findDtosByCustomerIdAndTenantId(1L, 1L, pageable)).thenReturn(page);
 
         Page<TableReservationDto> result = reservationService.getTableReservationsByCustomer(1L, 1L, pageable);
 
@@ -389,7 +564,7 @@ class TableReservationServiceTest {
 
     @Test
     void getTableReservationCountByStatus_ReturnsCount() {
-        when(reservationRepository.countByStatusAndTenantId(TableReservation.TableReservationStatus.PENDING, 1L)).thenReturn(5L);
+        when(statusCounters.count(StatusCounters.Counter.TABLE_RESERVATIONS, 1L, TableReservation.TableReservationStatus.PENDING)).thenReturn(5L);
 
         long result = reservationService.getTableReservationCountByStatus(TableReservation.TableReservationStatus.PENDING, 1L);
 
@@ -398,10 +573,63 @@ class TableReservationServiceTest {
 
     @Test
     void getTableReservationCountByTenant_ReturnsCount() {
-        when(reservationRepository.countByTenantId(1L)).thenReturn(10L);
+        when(statusCounters.total(StatusCounters.Counter.TABLE_RESERVATIONS, 1L)).thenReturn(10L);
 
         long result = reservationService.getTableReservationCountByTenant(1L);
 
         assertEquals(10L, result);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void findBestAvailableTable_ReturnsTableProposedByIndex() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Space space = new Space();
+        space.setId(1L);
+        testTable.setSpace(space);
+        when(tableIndex.findBestFit(1L, 3, start, start.plusHours(2))).thenReturn(Optional.of(1L));
+        when(tableRepository.findByIdAndTenantId(1L, 1L)).thenReturn(Optional.of(testTable));
+
+        Optional<RestaurantTableDto> result = reservationService.findBestAvailableTable(1L, 3, start, start.plusHours(2));
+
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get().id());
+        assertThrows(ValidationException.class, () -> reservationService.findBestAvailableTable(1L, 0, start, start.plusHours(2)));
+    }
+
+    @Test
+    void createCombinedTableReservation_LocksAndBooksEveryTableOfTheCombination() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        RestaurantTable largeTable = new RestaurantTable();
+        largeTable.setId(2L);
+        largeTable.setName("Large Table");
+        largeTable.setNumberOfSeats(8);
+        TableCombinationRequestDto request = new TableCombinationRequestDto(3L, 1L, 10, start, start.plusHours(2), null, 1L);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(tenantDirectory.findEntityById(1L)).thenReturn(Optional.of(testTenant));
+        when(tableIndex.findCombination(1L, 3L, 10, start, start.plusHours(2))).thenReturn(Optional.of(List.of(1L, 2L)));
+        when(tableRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(testTable, largeTable));
+        when(reservationRepository.findOverlappingReservations(any(), any(), any())).thenReturn(List.of());
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<TableReservationDto> result = reservationService.createCombinedTableReservation(request);
+
+        assertEquals(List.of(2L, 1L), result.stream().map(TableReservationDto::tableId).toList());
+        assertEquals(List.of(8, 2), result.stream().map(TableReservationDto::numberOfPeople).toList());
+        verify(bookingLockManager).lockAll(BookingResource.TABLE, List.of(1L, 2L));
+        verify(tableIndex, times(2)).onSaved(any(TableReservation.class));
+    }
+
+    @Test
+    void createCombinedTableReservation_TableBookedMeanwhile_ThrowsConflictException() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        TableCombinationRequestDto request = new TableCombinationRequestDto(3L, 1L, 4, start, start.plusHours(2), null, 1L);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(tenantDirectory.findEntityById(1L)).thenReturn(Optional.of(testTenant));
+        when(tableIndex.findCombination(1L, 3L, 4, start, start.plusHours(2))).thenReturn(Optional.of(List.of(1L)));
+        when(tableRepository.findAllById(List.of(1L))).thenReturn(List.of(testTable));
+        when(reservationRepository.findOverlappingReservations(eq(1L), any(), any())).thenReturn(List.of(testReservation));
+
+        assertThrows(ConflictException.class, () -> reservationService.createCombinedTableReservation(request));
+        verify(reservationRepository, never()).saveAll(any());
+    }
+}
@@ -5,7 +5,10 @@ import com.coworking.reservationsystem.exception.ValidationException;
 import com.coworking.reservationsystem.model.dto.TenantDto;
 import com.coworking.reservationsystem.model.entity.Tenant;
 import com.coworking.reservationsystem.repository.TenantRepository;
+import com.coworking.reservationsystem.service.counter.StatusCounters;
 import com.coworking.reservationsystem.service.impl.TenantServiceImpl;
+import com.coworking.reservationsystem.service.tenant.ResolvedTenant;
+import com.coworking.reservationsystem.service.tenant.TenantDirectory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +31,12 @@ class TenantServiceTest {
     @Mock
     private TenantRepository tenantRepository;
 
+    @Mock
+    private TenantDirectory tenantDirectory;
+
+    @Mock
+    private StatusCounters statusCounters;
+
     @InjectMocks
     private TenantServiceImpl tenantService;
 
@@ -348,6 +357,7 @@ class TenantServiceTest {
         // Then
         verify(tenantRepository).findById(1L);
         verify(tenantRepository).save(any(Tenant.class));
+        verify(tenantDirectory).evict(1L);
     }
 
     @Test
@@ -396,66 +406,94 @@ class TenantServiceTest {
     void isTenantActive_True() {
         // Given
         validTenant.setStatus(Tenant.TenantStatus.ACTIVE);
-        when(tenantRepository.findById(1L)).thenReturn(Optional.of(validTenant));
+        when(tenantDirectory.findById(1L)).thenReturn(Optional.of(ResolvedTenant.of(validTenant)));
 
         // When
         boolean result = tenantService.isTenantActive(1L);
 
         // Then
         assertTrue(result);
-        verify(tenantRepository).findById(1L);
+        verify(tenantDirectory).findById(1L);
+        verifyNoInteractions(tenantRepository);
     }
 
     @Test
     void isTenantActive_False() {
         // Given
         validTenant.setStatus(Tenant.TenantStatus.SUSPENDED);
-        when(tenantRepository.findById(1L)).thenReturn(Optional.of(validTenant));
+        when(tenantDirectory.findById(1L)).thenReturn(Optional.of(ResolvedTenant.of(validTenant)));
 
         // When
         boolean result = tenantService.isTenantActive(1L);
 
         // Then
         assertFalse(result);
-        verify(tenantRepository).findById(1L);
+        verify(tenantDirectory).findById(1L);
     }
 
     @Test
     void isTenantActive_NotFound_ReturnsFalse() {
         // Given
-        when(tenantRepository.findById(999L)).thenReturn(Optional.empty());
+        when(tenantDirectory.findById(999L)).thenReturn(Optional.empty());
 
         // When
         boolean result = tenantService.isTenantActive(999L);
 
         // Then
         assertFalse(result);
-        verify(tenantRepository).findById(999L);
+        verify(tenantDirectory).findById(999L);
+    }
+
+    @Test
+    void isTenantActive_BySubdomain_True() {
+        // Given
+        validTenant.setStatus(Tenant.TenantStatus.ACTIVE);
+        when(tenantDirectory.findBySubdomain("hotel-exemplu")).thenReturn(Optional.of(ResolvedTenant.of(validTenant)));
+
+        // When
+        boolean result = tenantService.isTenantActive("hotel-exemplu");
+
+        // Then
+        assertTrue(result);
+        verifyNoInteractions(tenantRepository);
+    }
+
+    @Test
+    void checkTenantLimits_Inactive_ThrowsException() {
+        // Given
+        when(tenantDirectory.findById(1L)).thenReturn(Optional.of(ResolvedTenant.of(validTenant)));
+
+        // When & Then
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> tenantService.checkTenantLimits(1L));
+        assertEquals("Tenant is not active", exception.getMessage());
     }
 
     @Test
     void getActiveTenantsCount_Success() {
         // Given
-        when(tenantRepository.countActiveTenants()).thenReturn(5L);
+        when(statusCounters.count(StatusCounters.Counter.TENANT_STATUSES, StatusCounters.ALL_TENANTS, Tenant.TenantStatus.ACTIVE))
+                .thenReturn(5L);
 
         // When
         long result = tenantService.getActiveTenantsCount();
 
         // Then
         assertEquals(5L, result);
-        verify(tenantRepository).countActiveTenants();
+        verify(tenantRepository, never()).countActiveTenants();
     }
 
     @Test
     void getTenantsCountByPlan_Success() {
         // Given
-        when(tenantRepository.countByPlan(Tenant.TenantPlan.PREMIUM)).thenReturn(3L);
+        when(statusCounters.count(StatusCounters.Counter.TENANT_PLANS, StatusCounters.ALL_TENANTS, Tenant.TenantPlan.PREMIUM))
+                .thenReturn(3L);
 
         // When
         long result = tenantService.getTenantsCountByPlan(TenantDto.TenantPlan.PREMIUM);
 
         // Then
         assertEquals(3L, result);
-        verify(tenantRepository).countByPlan(Tenant.TenantPlan.PREMIUM);
+        verify(tenantRepository, never()).countByPlan(any());
     }
 } 
\ No newline at end of file
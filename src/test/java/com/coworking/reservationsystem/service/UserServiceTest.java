@@ -167,6 +167,27 @@ class UserServiceTest {
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    void createUser_UnknownRole_ThrowsException() {
+        // Given
+        UserDto userDtoWithUnknownRole = new UserDto(
+                null,
+                "test@example.com",
+                "John",
+                "Doe",
+                LocalDateTime.now(),
+                Arrays.asList("USER", "OWNER"),
+                1L
+        );
+
+        // When & Then
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> userService.createUser(userDtoWithUnknownRole, validPasswordDto));
+        assertEquals("Unknown role: OWNER", exception.getMessage());
+
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void getUserById_Success() {
         // Given
@@ -249,6 +270,28 @@ class UserServiceTest {
         verify(userRepository).findByTenantId(1L);
     }
 
+    @Test
+    void getUsersByTenantIdAndRole_QueriesTheMasksHoldingTheRole() {
+        User admin = new User();
+        admin.setId(2L);
+        admin.setEmail("admin@example.com");
+        admin.setRoles(List.of("ROLE_ADMIN", "ROLE_USER"));
+        admin.setTenant(validTenant);
+        when(userRepository.findByTenantIdAndRoleMaskIn(1L, List.of(4, 5, 6, 7))).thenReturn(List.of(admin));
+
+        List<UserDto> result = userService.getUsersByTenantIdAndRole(1L, "admin");
+
+        assertEquals(1, result.size());
+        assertEquals("admin@example.com", result.get(0).email());
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), result.get(0).roles());
+    }
+
+    @Test
+    void getUsersByTenantIdAndRole_UnknownRole_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> userService.getUsersByTenantIdAndRole(1L, "OWNER"));
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     void updateUser_Success() {
         // Given
@@ -0,0 +1,130 @@
+package com.coworking.reservationsystem.service;
+
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.WaitlistEntryDto;
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.model.entity.RestaurantTable;
+import com.coworking.reservationsystem.model.entity.Tenant;
+import com.coworking.reservationsystem.model.entity.WaitlistEntry;
+import com.coworking.reservationsystem.repository.CustomerRepository;
+import com.coworking.reservationsystem.repository.RestaurantTableRepository;
+import com.coworking.reservationsystem.repository.SpaceRepository;
+import com.coworking.reservationsystem.repository.UserRepository;
+import com.coworking.reservationsystem.repository.WaitlistEntryRepository;
+import com.coworking.reservationsystem.service.impl.WaitlistServiceImpl;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import com.coworking.reservationsystem.service.tenant.TenantDirectory;
+import com.coworking.reservationsystem.service.waitlist.WaitlistQueues;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistEntryRepository entryRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private TenantDirectory tenantDirectory;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SpaceRepository spaceRepository;
+
+    @Mock
+    private RestaurantTableRepository tableRepository;
+
+    @Mock
+    private WaitlistQueues waitlistQueues;
+
+    @InjectMocks
+    private WaitlistServiceImpl waitlistService;
+
+    private Tenant testTenant;
+    private Customer testCustomer;
+    private RestaurantTable testTable;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        testTenant = new Tenant();
+        testTenant.setId(2L);
+
+        testCustomer = new Customer();
+        testCustomer.setId(3L);
+        testCustomer.setTenant(testTenant);
+        testCustomer.setTier(Customer.CustomerTier.GOLD);
+
+        testTable = new RestaurantTable();
+        testTable.setId(1L);
+        testTable.setNumberOfSeats(4);
+
+        start = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    void join_TableWindow_QueuesEntryWithCustomerTier() {
+        when(tenantDirectory.findEntityById(2L)).thenReturn(Optional.of(testTenant));
+        when(customerRepository.findById(3L)).thenReturn(Optional.of(testCustomer));
+        when(tableRepository.findByIdAndTenantId(1L, 2L)).thenReturn(Optional.of(testTable));
+        when(entryRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        WaitlistEntryDto result = waitlistService.join(request(4));
+
+        assertEquals(Customer.CustomerTier.GOLD, result.tier());
+        assertEquals(WaitlistEntry.WaitlistStatus.WAITING, result.status());
+        verify(waitlistQueues).onJoined(any(WaitlistEntry.class));
+    }
+
+    @Test
+    void join_PartyLargerThanTable_ThrowsValidationException() {
+        when(tenantDirectory.findEntityById(2L)).thenReturn(Optional.of(testTenant));
+        when(customerRepository.findById(3L)).thenReturn(Optional.of(testCustomer));
+        when(tableRepository.findByIdAndTenantId(1L, 2L)).thenReturn(Optional.of(testTable));
+
+        assertThrows(ValidationException.class, () -> waitlistService.join(request(6)));
+        verify(entryRepository, never()).save(any());
+    }
+
+    @Test
+    void leave_AlreadyPromoted_ThrowsValidationException() {
+        WaitlistEntry promoted = new WaitlistEntry();
+        promoted.setStatus(WaitlistEntry.WaitlistStatus.PROMOTED);
+        when(entryRepository.leaveWaiting(eq(1L), eq(2L), eq(WaitlistEntry.WaitlistStatus.CANCELLED), any())).thenReturn(0);
+        when(entryRepository.findByIdAndTenantId(1L, 2L)).thenReturn(Optional.of(promoted));
+
+        assertThrows(ValidationException.class, () -> waitlistService.leave(1L, 2L));
+        verify(waitlistQueues, never()).onLeft(any());
+    }
+
+    @Test
+    void expireStartedEntries_DropsThemFromTheQueues() {
+        when(entryRepository.findStartedWaitingIds(any())).thenReturn(List.of(4L, 5L));
+        when(entryRepository.markExpired(eq(List.of(4L, 5L)), any())).thenReturn(2);
+
+        assertEquals(2, waitlistService.expireStartedEntries());
+        verify(waitlistQueues).onLeft(List.of(4L, 5L));
+    }
+
+    private WaitlistEntryDto request(int partySize) {
+        return new WaitlistEntryDto(null, BookingResource.TABLE, 1L, 3L, null, 2L, partySize, start, start.plusHours(2),
+                null, null, null, null);
+    }
+}
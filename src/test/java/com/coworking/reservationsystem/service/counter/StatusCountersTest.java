@@ -0,0 +1,101 @@
+package com.coworking.reservationsystem.service.counter;
+
+import com.coworking.reservationsystem.model.dto.StatusCountDto;
+import com.coworking.reservationsystem.model.entity.TableReservation;
+import com.coworking.reservationsystem.model.entity.Tenant;
+import com.coworking.reservationsystem.repository.CustomerRepository;
+import com.coworking.reservationsystem.repository.RestaurantTableRepository;
+import com.coworking.reservationsystem.repository.TableReservationRepository;
+import com.coworking.reservationsystem.repository.TenantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatusCountersTest {
+
+    @Mock
+    private TableReservationRepository tableReservationRepository;
+    @Mock
+    private RestaurantTableRepository restaurantTableRepository;
+    @Mock
+    private CustomerRepository customerRepository;
+    @Mock
+    private TenantRepository tenantRepository;
+
+    private StatusCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new StatusCounters(tableReservationRepository, restaurantTableRepository, customerRepository,
+                tenantRepository);
+    }
+
+    @Test
+    void count_LoadsScopeOnceAndFollowsCommittedMoves() {
+        when(tableReservationRepository.countByStatusForTenant(1L)).thenReturn(List.of(
+                new StatusCountDto(TableReservation.TableReservationStatus.PENDING, 3),
+                new StatusCountDto(TableReservation.TableReservationStatus.CONFIRMED, 2)));
+
+        assertEquals(3, counters.count(StatusCounters.Counter.TABLE_RESERVATIONS, 1L, TableReservation.TableReservationStatus.PENDING));
+        assertEquals(0, counters.count(StatusCounters.Counter.TABLE_RESERVATIONS, 1L, TableReservation.TableReservationStatus.EXPIRED));
+
+        counters.moved(StatusCounters.Counter.TABLE_RESERVATIONS, 1L,
+                TableReservation.TableReservationStatus.PENDING, TableReservation.TableReservationStatus.CONFIRMED);
+        counters.add(StatusCounters.Counter.TABLE_RESERVATIONS, 1L, TableReservation.TableReservationStatus.PENDING, 1);
+
+        assertEquals(3, counters.count(StatusCounters.Counter.TABLE_RESERVATIONS, 1L, TableReservation.TableReservationStatus.PENDING));
+        assertEquals(3, counters.count(StatusCounters.Counter.TABLE_RESERVATIONS, 1L, TableReservation.TableReservationStatus.CONFIRMED));
+        assertEquals(6, counters.total(StatusCounters.Counter.TABLE_RESERVATIONS, 1L));
+        verify(tableReservationRepository, times(1)).countByStatusForTenant(1L);
+    }
+
+    @Test
+    void add_NullStatusIsOnlyCountedBySingleCellCounters() {
+        when(tableReservationRepository.countByStatusForTenant(1L)).thenReturn(List.of(
+                new StatusCountDto(TableReservation.TableReservationStatus.PENDING, 3),
+                new StatusCountDto(null, 5)));
+        when(customerRepository.countByTenantId(1L)).thenReturn(2L);
+        counters.total(StatusCounters.Counter.TABLE_RESERVATIONS, 1L);
+        counters.total(StatusCounters.Counter.CUSTOMERS, 1L);
+
+        counters.add(StatusCounters.Counter.TABLE_RESERVATIONS, 1L, null, 1);
+        counters.add(StatusCounters.Counter.CUSTOMERS, 1L, null, 1);
+
+        assertEquals(3, counters.count(StatusCounters.Counter.TABLE_RESERVATIONS, 1L, TableReservation.TableReservationStatus.PENDING));
+        assertEquals(3, counters.total(StatusCounters.Counter.TABLE_RESERVATIONS, 1L));
+        assertEquals(3, counters.total(StatusCounters.Counter.CUSTOMERS, 1L));
+    }
+
+    @Test
+    void add_IgnoresScopesNeverReadAndInvalidateRecounts() {
+        counters.add(StatusCounters.Counter.CUSTOMERS, 2L, null, 1);
+        when(customerRepository.countByTenantId(2L)).thenReturn(4L, 7L);
+
+        assertEquals(4, counters.total(StatusCounters.Counter.CUSTOMERS, 2L));
+        counters.invalidate(StatusCounters.Counter.CUSTOMERS, 2L);
+        assertEquals(7, counters.total(StatusCounters.Counter.CUSTOMERS, 2L));
+    }
+
+    @Test
+    void reconcile_CorrectsDriftLeftByOtherInstances() {
+        when(tenantRepository.countByPlan()).thenReturn(List.of(new StatusCountDto(Tenant.TenantPlan.PREMIUM, 2)));
+        assertEquals(2, counters.count(StatusCounters.Counter.TENANT_PLANS, StatusCounters.ALL_TENANTS, Tenant.TenantPlan.PREMIUM));
+
+        // A plan changed by another instance is only seen at the next reconcile
+        when(tenantRepository.countByPlan()).thenReturn(List.of(
+                new StatusCountDto(Tenant.TenantPlan.PREMIUM, 1), new StatusCountDto(Tenant.TenantPlan.BASIC, 1)));
+        counters.reconcile();
+        assertEquals(1, counters.count(StatusCounters.Counter.TENANT_PLANS, StatusCounters.ALL_TENANTS, Tenant.TenantPlan.PREMIUM));
+        assertEquals(1, counters.count(StatusCounters.Counter.TENANT_PLANS, StatusCounters.ALL_TENANTS, Tenant.TenantPlan.BASIC));
+
+        verify(tenantRepository, times(2)).countByPlan();
+    }
+}
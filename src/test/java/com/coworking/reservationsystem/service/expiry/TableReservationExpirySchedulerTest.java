@@ -0,0 +1,121 @@
+package com.coworking.reservationsystem.service.expiry;
+
+import com.coworking.reservationsystem.model.entity.TableReservation;
+import com.coworking.reservationsystem.repository.TableReservationRepository;
+import com.coworking.reservationsystem.service.counter.StatusCounters;
+import com.coworking.reservationsystem.service.index.TableAvailabilityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TableReservationExpirySchedulerTest {
+
+    @Mock
+    private TableReservationRepository reservationRepository;
+
+    @Mock
+    private TableAvailabilityIndex tableIndex;
+
+    @Mock
+    private StatusCounters statusCounters;
+
+    private TableReservationExpiryScheduler expiryScheduler;
+    private LocalDateTime arrival;
+
+    @BeforeEach
+    void setUp() {
+        expiryScheduler = new TableReservationExpiryScheduler(reservationRepository, tableIndex, statusCounters, 15, 1000);
+        arrival = LocalDateTime.now().plusHours(2).withNano(0);
+    }
+
+    @Test
+    void expireDue_ExpiresRebuiltReservationsOnlyAfterTheGracePeriod() {
+        when(reservationRepository.findArrivalsByStatusIn(any()))
+                .thenReturn(List.of(arrival(1L, arrival), arrival(2L, arrival.plusHours(1))));
+        expiryScheduler.rebuild();
+        when(reservationRepository.expireByIds(eq(List.of(1L)), any(), any(), any())).thenReturn(1);
+        when(reservationRepository.findExpiredIds(List.of(1L))).thenReturn(List.of(1L));
+        when(reservationRepository.findTenantIdsByIdIn(List.of(1L))).thenReturn(List.of(3L));
+
+        assertEquals(0, expiryScheduler.expireDue(millis(arrival.plusMinutes(14))));
+        assertEquals(1, expiryScheduler.expireDue(millis(arrival.plusMinutes(16))));
+
+        verify(reservationRepository).expireByIds(eq(List.of(1L)), any(), eq(arrival.plusMinutes(1)), any());
+        verify(tableIndex).onExpired(List.of(1L));
+        verify(statusCounters).invalidate(StatusCounters.Counter.TABLE_RESERVATIONS, 3L);
+        assertEquals(1, expiryScheduler.scheduledCount());
+    }
+
+    @Test
+    void expireDue_SkipsRescheduledAndClosedReservations() {
+        TableReservation moved = reservation(1L, arrival, TableReservation.TableReservationStatus.CONFIRMED);
+        TableReservation completed = reservation(2L, arrival, TableReservation.TableReservationStatus.PENDING);
+        expiryScheduler.onSaved(moved);
+        expiryScheduler.onSaved(completed);
+
+        moved.setEstimatedArrivalTime(arrival.plusHours(3));
+        expiryScheduler.onSaved(moved);
+        completed.setStatus(TableReservation.TableReservationStatus.COMPLETED);
+        expiryScheduler.onSaved(completed);
+
+        assertEquals(0, expiryScheduler.expireDue(millis(arrival.plusHours(1))));
+        verifyNoInteractions(reservationRepository);
+        assertEquals(1, expiryScheduler.scheduledCount());
+    }
+
+    @Test
+    void expireDue_UpdatesInBatches() {
+        List<TableReservationRepository.TableReservationArrival> arrivals = LongStream.rangeClosed(1, 1_200)
+                .mapToObj(id -> arrival(id, arrival.minusHours(3)))
+                .toList();
+        when(reservationRepository.findArrivalsByStatusIn(any())).thenReturn(arrivals);
+        when(reservationRepository.expireByIds(anyList(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        when(reservationRepository.findExpiredIds(anyList())).thenAnswer(invocation -> new ArrayList<>(invocation.<List<Long>>getArgument(0)));
+        expiryScheduler.rebuild();
+
+        assertEquals(1_200, expiryScheduler.expireDue(System.currentTimeMillis() + 2_000));
+
+        verify(reservationRepository, times(3)).expireByIds(anyList(), any(), any(), any());
+        assertEquals(0, expiryScheduler.scheduledCount());
+    }
+
+    private long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private TableReservation reservation(Long id, LocalDateTime estimatedArrivalTime, TableReservation.TableReservationStatus status) {
+        TableReservation reservation = new TableReservation();
+        reservation.setId(id);
+        reservation.setEstimatedArrivalTime(estimatedArrivalTime);
+        reservation.setStatus(status);
+        return reservation;
+    }
+
+    private TableReservationRepository.TableReservationArrival arrival(Long id, LocalDateTime estimatedArrivalTime) {
+        return new TableReservationRepository.TableReservationArrival() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getEstimatedArrivalTime() {
+                return estimatedArrivalTime;
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.coworking.reservationsystem.service.hold;
+
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingHoldRegistryTest {
+
+    private BookingHoldRegistry holdRegistry;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        holdRegistry = new BookingHoldRegistry(600, 1800, 1000);
+        base = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Test
+    void overlaps_SeesLiveHoldsOfTheSameResourceOnly() {
+        BookingHold hold = holdRegistry.place(BookingResource.SPACE, 1L, base, base.plusHours(2), Duration.ofMinutes(10));
+
+        assertTrue(holdRegistry.overlaps(BookingResource.SPACE, 1L, base.plusHours(1), base.plusHours(3), null));
+        assertFalse(holdRegistry.overlaps(BookingResource.SPACE, 1L, base.plusHours(1), base.plusHours(3), hold.id()));
+        assertFalse(holdRegistry.overlaps(BookingResource.SPACE, 2L, base, base.plusHours(2), null));
+        assertFalse(holdRegistry.overlaps(BookingResource.TABLE, 1L, base, base.plusHours(2), null));
+        assertFalse(holdRegistry.overlaps(BookingResource.SPACE, 1L, base.plusHours(3), base.plusHours(4), null));
+        assertEquals(hold, holdRegistry.find(hold.id()).orElseThrow());
+
+        assertTrue(holdRegistry.release(hold.id()));
+
+        assertFalse(holdRegistry.overlaps(BookingResource.SPACE, 1L, base, base.plusHours(2), null));
+        assertTrue(holdRegistry.find(hold.id()).isEmpty());
+        assertFalse(holdRegistry.release(hold.id()));
+    }
+
+    @Test
+    void sweep_DropsExpiredHoldsAndSkipsReleasedOnes() {
+        long now = System.currentTimeMillis();
+        BookingHold expiring = holdRegistry.place(BookingResource.TABLE, 1L, base, base.plusHours(1), Duration.ofSeconds(5));
+        BookingHold released = holdRegistry.place(BookingResource.TABLE, 2L, base, base.plusHours(1), Duration.ofSeconds(5));
+        BookingHold lasting = holdRegistry.place(BookingResource.TABLE, 3L, base, base.plusHours(1), Duration.ofSeconds(600));
+        holdRegistry.release(released.id());
+
+        assertEquals(0, holdRegistry.sweep(now + 1_000));
+        assertEquals(1, holdRegistry.sweep(now + 7_000));
+
+        assertTrue(holdRegistry.find(expiring.id()).isEmpty());
+        assertTrue(holdRegistry.find(lasting.id()).isPresent());
+        assertEquals(1, holdRegistry.size());
+    }
+
+    @Test
+    void overlaps_IgnoresExpiredHoldsBeforeTheSweep() throws InterruptedException {
+        BookingHold hold = holdRegistry.place(BookingResource.SPACE, 1L, base, base.plusHours(1), Duration.ofMillis(1));
+        Thread.sleep(5);
+
+        assertFalse(holdRegistry.overlaps(BookingResource.SPACE, 1L, base, base.plusHours(1), null));
+        assertTrue(holdRegistry.find(hold.id()).isEmpty());
+    }
+
+    @Test
+    void resolveTtl_AppliesDefaultAndRejectsOutOfRangeValues() {
+        assertEquals(Duration.ofSeconds(600), holdRegistry.resolveTtl(null));
+        assertEquals(Duration.ofSeconds(90), holdRegistry.resolveTtl(90));
+        assertThrows(ValidationException.class, () -> holdRegistry.resolveTtl(0));
+        assertThrows(ValidationException.class, () -> holdRegistry.resolveTtl(1801));
+    }
+}
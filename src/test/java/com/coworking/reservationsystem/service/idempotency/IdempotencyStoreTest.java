@@ -0,0 +1,184 @@
+package com.coworking.reservationsystem.service.idempotency;
+
+import com.coworking.reservationsystem.exception.ConflictException;
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.entity.IdempotencyRecord;
+import com.coworking.reservationsystem.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyRecordRepository recordRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(recordRepository, objectMapper, 24, 2, 2000);
+    }
+
+    @Test
+    void execute_ReplaysFirstResponseWithoutRunningAgain() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ResponseEntity<Map> first = store.execute("reservation", "key-1", Map.of("spaceId", 1), Map.class,
+                () -> new ResponseEntity<>(Map.of("id", calls.incrementAndGet()), HttpStatus.CREATED));
+        ResponseEntity<Map> second = store.execute("reservation", "key-1", Map.of("spaceId", 1), Map.class,
+                () -> new ResponseEntity<>(Map.of("id", calls.incrementAndGet()), HttpStatus.CREATED));
+
+        assertEquals(1, calls.get());
+        assertEquals(HttpStatus.CREATED, second.getStatusCode());
+        assertEquals(first.getBody(), second.getBody());
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        verify(recordRepository, times(1)).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void execute_FallsBackToDatabaseRecord() {
+        ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        store.execute("reservation", "key-1", Map.of("spaceId", 1), Map.class,
+                () -> new ResponseEntity<>(Map.of("id", 7), HttpStatus.CREATED));
+        verify(recordRepository).save(saved.capture());
+
+        // Another node, or this one after a restart, only has the table
+        IdempotencyStore other = new IdempotencyStore(recordRepository, objectMapper, 24, 2, 2000);
+        when(recordRepository.findByScopeAndIdempotencyKey("reservation", "key-1")).thenReturn(Optional.of(saved.getValue()));
+
+        ResponseEntity<Map> replayed = other.execute("reservation", "key-1", Map.of("spaceId", 1), Map.class,
+                () -> fail("must not book again"));
+
+        assertEquals(HttpStatus.CREATED, replayed.getStatusCode());
+        assertEquals(7, replayed.getBody().get("id"));
+        assertEquals(1, other.cachedCount());
+    }
+
+    @Test
+    void execute_KeyRecordedFirstByAnotherNodeReplaysThatNodesResponse() {
+        IdempotencyRecord winner = new IdempotencyRecord();
+        winner.setScope("reservation");
+        winner.setIdempotencyKey("key-1");
+        winner.setStatusCode(201);
+        winner.setResponseBody("{\"id\":5}");
+        winner.setExpiresAt(LocalDateTime.now().plusHours(1));
+        when(recordRepository.findByScopeAndIdempotencyKey("reservation", "key-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner));
+        when(recordRepository.save(any(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> {
+                    winner.setRequestHash(invocation.<IdempotencyRecord>getArgument(0).getRequestHash());
+                    throw new DataIntegrityViolationException("duplicate key");
+                });
+
+        store.execute("reservation", "key-1", Map.of("spaceId", 1), Map.class,
+                () -> new ResponseEntity<>(Map.of("id", 9), HttpStatus.CREATED));
+        ResponseEntity<Map> replayed = store.execute("reservation", "key-1", Map.of("spaceId", 1), Map.class,
+                () -> fail("must not book again"));
+
+        assertEquals(5, replayed.getBody().get("id"));
+    }
+
+    @Test
+    void execute_RejectsKeyReusedForDifferentRequest() {
+        store.execute("reservation", "key-1", Map.of("spaceId", 1), Map.class,
+                () -> new ResponseEntity<>(Map.of("id", 1), HttpStatus.CREATED));
+
+        assertThrows(ValidationException.class, () -> store.execute("reservation", "key-1", Map.of("spaceId", 2), Map.class,
+                () -> new ResponseEntity<>(Map.of("id", 2), HttpStatus.CREATED)));
+    }
+
+    @Test
+    void execute_DoesNotRecordFailuresOrKeylessRequests() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ConflictException.class, () -> store.execute("reservation", "key-1", Map.of(), Map.class, () -> {
+            calls.incrementAndGet();
+            throw new ConflictException("overlap");
+        }));
+        store.execute("reservation", "key-1", Map.of(), Map.class, () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        });
+        store.execute("reservation", null, Map.of(), Map.class, () -> {
+            calls.incrementAndGet();
+            return new ResponseEntity<>(Map.of(), HttpStatus.CREATED);
+        });
+
+        assertEquals(3, calls.get());
+        verify(recordRepository, never()).save(any());
+    }
+
+    @Test
+    void execute_DuplicateArrivingWhileOriginalRunsWaitsForItsResponse() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<ResponseEntity<Map>> original = CompletableFuture.supplyAsync(() ->
+                store.execute("reservation", "key-1", Map.of(), Map.class, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(finish);
+                    return new ResponseEntity<>(Map.of("id", 1), HttpStatus.CREATED);
+                }));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        CompletableFuture<ResponseEntity<Map>> retry = CompletableFuture.supplyAsync(() ->
+                store.execute("reservation", "key-1", Map.of(), Map.class, () -> {
+                    calls.incrementAndGet();
+                    return new ResponseEntity<>(Map.of("id", 2), HttpStatus.CREATED);
+                }));
+        finish.countDown();
+
+        assertEquals(original.get(2, TimeUnit.SECONDS).getBody(), retry.get(2, TimeUnit.SECONDS).getBody());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void cache_EvictsLeastRecentlyUsedAndPurgesExpired() {
+        for (String key : new String[]{"a", "b", "c"}) {
+            store.execute("reservation", key, Map.of(), Map.class, () -> new ResponseEntity<>(Map.of(), HttpStatus.CREATED));
+        }
+        assertEquals(2, store.cachedCount());
+
+        IdempotencyStore expiring = new IdempotencyStore(recordRepository, objectMapper, 0, 2, 2000);
+        expiring.execute("reservation", "a", Map.of(), Map.class, () -> new ResponseEntity<>(Map.of(), HttpStatus.CREATED));
+        expiring.purgeExpired();
+
+        assertEquals(0, expiring.cachedCount());
+        verify(recordRepository, times(1)).deleteExpired(any(LocalDateTime.class));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.coworking.reservationsystem.service.index;
+
+import com.coworking.reservationsystem.model.dto.CustomerNameDto;
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.model.entity.Tenant;
+import com.coworking.reservationsystem.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerNameIndexTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private CustomerNameIndex nameIndex;
+
+    @BeforeEach
+    void setUp() {
+        nameIndex = new CustomerNameIndex(customerRepository, 50);
+    }
+
+    @Test
+    void search_LoadsTenantOnceAndRanksMatches() {
+        when(customerRepository.findNamesByTenantId(1L)).thenReturn(List.of(
+                name(1L, "Ion", "Popescu"),
+                name(2L, "Maria", "Ionescu"),
+                name(3L, "Ana-Ion", "Marin"),
+                name(4L, "Simion", "Dobre"),
+                name(5L, "Ionela", "Stan")));
+
+        assertEquals(List.of(1L, 5L, 2L, 3L, 4L), nameIndex.search(1L, "ION"));
+        assertEquals(List.of(5L, 2L), nameIndex.search(1L, "ionE"));
+        assertEquals(List.of(), nameIndex.search(1L, "xyz"));
+
+        verify(customerRepository, times(1)).findNamesByTenantId(1L);
+    }
+
+    @Test
+    void search_ShortTermsMatchAnywhereInTheName() {
+        when(customerRepository.findNamesByTenantId(1L)).thenReturn(List.of(
+                name(1L, "Ion", "Popescu"),
+                name(2L, "Maria", "Ionescu"),
+                name(3L, "Dan", "Stan")));
+
+        assertEquals(List.of(1L, 2L), nameIndex.search(1L, "io"));
+        assertEquals(List.of(2L, 1L), nameIndex.search(1L, "u"));
+        assertEquals(List.of(3L), nameIndex.search(1L, "an"));
+        assertEquals(List.of(), nameIndex.search(1L, " x"));
+        assertEquals(List.of(3L, 2L, 1L), nameIndex.search(1L, ""));
+    }
+
+    @Test
+    void onSavedAndOnDeleted_KeepLoadedTenantsCurrent() {
+        when(customerRepository.findNamesByTenantId(1L)).thenReturn(List.of(name(1L, "Ion", "Popescu")));
+        when(customerRepository.findNamesByTenantId(2L)).thenReturn(List.of());
+        assertEquals(List.of(1L), nameIndex.search(1L, "pop"));
+        assertEquals(List.of(), nameIndex.search(2L, "pop"));
+
+        nameIndex.onSaved(customer(7L, 1L, "Elena", "Popa"));
+        assertEquals(List.of(7L, 1L), nameIndex.search(1L, "pop"));
+
+        nameIndex.onSaved(customer(1L, 1L, "Ion", "Ionescu"));
+        assertEquals(List.of(7L), nameIndex.search(1L, "pop"));
+
+        nameIndex.onSaved(customer(7L, 2L, "Elena", "Popa"));
+        assertEquals(List.of(), nameIndex.search(1L, "pop"));
+        assertEquals(List.of(7L), nameIndex.search(2L, "pop"));
+
+        nameIndex.onDeleted(7L);
+        assertEquals(List.of(), nameIndex.search(2L, "pop"));
+    }
+
+    @Test
+    void search_MatchesLikeQueryAfterManyUpdates() {
+        Random random = new Random(3);
+        List<String[]> names = new ArrayList<>();
+        List<CustomerNameDto> loaded = new ArrayList<>();
+        for (long id = 0; id < 300; id++) {
+            String[] customer = {randomName(random), randomName(random)};
+            names.add(customer);
+            loaded.add(name(id, customer[0], customer[1]));
+        }
+        when(customerRepository.findNamesByTenantId(1L)).thenReturn(loaded);
+        nameIndex = new CustomerNameIndex(customerRepository, 1_000);
+        nameIndex.search(1L, "a");
+        CustomerNameIndex topTen = new CustomerNameIndex(customerRepository, 10);
+        topTen.search(1L, "a");
+
+        // Enough replacements to rebuild the posting lists more than once
+        for (int i = 0; i < 5_000; i++) {
+            int id = random.nextInt(names.size());
+            String[] customer = {randomName(random), randomName(random)};
+            names.set(id, customer);
+            nameIndex.onSaved(customer(id, 1L, customer[0], customer[1]));
+            topTen.onSaved(customer(id, 1L, customer[0], customer[1]));
+        }
+
+        for (String term : List.of("", "a", "el", "ion", "escu", "ma", "z", "rian", "ana", "de m")) {
+            List<long[]> expected = new ArrayList<>();
+            for (int id = 0; id < names.size(); id++) {
+                String first = names.get(id)[0].toLowerCase(Locale.ROOT);
+                String last = names.get(id)[1].toLowerCase(Locale.ROOT);
+                long[] firstHit = {id, CustomerNameIndex.rank(first, term), first.length()};
+                long[] lastHit = {id, CustomerNameIndex.rank(last, term), last.length()};
+                long[] hit = term.isEmpty() ? new long[]{id, 0, 0}
+                        : firstHit[1] < lastHit[1] || firstHit[1] == lastHit[1] && firstHit[2] <= lastHit[2] ? firstHit : lastHit;
+                if (hit[1] != CustomerNameIndex.NO_MATCH) {
+                    expected.add(hit);
+                }
+            }
+            expected.sort(Comparator.<long[]>comparingLong(hit -> hit[1]).thenComparingLong(hit -> hit[2])
+                    .thenComparing(Comparator.<long[]>comparingLong(hit -> hit[0]).reversed()));
+            List<Long> ranked = expected.stream().map(hit -> hit[0]).toList();
+
+            assertEquals(ranked, nameIndex.search(1L, term), term);
+            assertEquals(ranked.subList(0, Math.min(10, ranked.size())), topTen.search(1L, term), term);
+        }
+    }
+
+    @Test
+    void rank_PrefersExactThenPrefixThenWordStart() {
+        assertEquals(0, CustomerNameIndex.rank("ion", "ion"));
+        assertEquals(1, CustomerNameIndex.rank("ionescu", "ion"));
+        assertEquals(2, CustomerNameIndex.rank("ana-ion", "ion"));
+        assertEquals(3, CustomerNameIndex.rank("simion", "ion"));
+        assertEquals(Integer.MAX_VALUE, CustomerNameIndex.rank("dan", "ion"));
+    }
+
+    private static String randomName(Random random) {
+        String[] parts = {"Ion", "Ma", "ria", "El", "ena", "Pop", "escu", "An", "Dr", "ei", "Ște", "fan", "Mar", "in",
+                "-Ana", " de ", "Ana"};
+        StringBuilder name = new StringBuilder();
+        for (int i = 0, n = 1 + random.nextInt(3); i < n; i++) {
+            name.append(parts[random.nextInt(parts.length)]);
+        }
+        return name.toString();
+    }
+
+    private static Customer customer(long id, long tenantId, String firstName, String lastName) {
+        Tenant tenant = new Tenant();
+        tenant.setId(tenantId);
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setFirstName(firstName);
+        customer.setLastName(lastName);
+        customer.setTenant(tenant);
+        return customer;
+    }
+
+    private static CustomerNameDto name(long id, String firstName, String lastName) {
+        return new CustomerNameDto(id, firstName, lastName);
+    }
+}
@@ -0,0 +1,169 @@
+package com.coworking.reservationsystem.service.index;
+
+import com.coworking.reservationsystem.model.dto.CustomerPhoneDto;
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.model.entity.Tenant;
+import com.coworking.reservationsystem.repository.CustomerRepository;
+import com.coworking.reservationsystem.util.PhoneNumbers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerPhoneIndexTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private CustomerPhoneIndex phoneIndex;
+
+    @BeforeEach
+    void setUp() {
+        phoneIndex = new CustomerPhoneIndex(customerRepository, 50);
+    }
+
+    @Test
+    void find_MatchesTheNumberHoweverItIsTyped() {
+        when(customerRepository.findPhonesByTenantId(1L)).thenReturn(List.of(
+                phone(1L, "+40712345678"),
+                phone(2L, "+33612345678")));
+
+        for (String typed : List.of("+40712345678", "+40 712 345 678", "0040-712-345-678", "(0712) 345 678",
+                "40712345678", "712345678")) {
+            assertEquals(Optional.of(1L), phoneIndex.find(1L, typed), typed);
+        }
+        assertEquals(Optional.of(2L), phoneIndex.find(1L, "0033 6 12 34 56 78"));
+        assertEquals(Optional.empty(), phoneIndex.find(1L, "0712 345 67"));
+        assertEquals(Optional.empty(), phoneIndex.find(1L, "phone"));
+
+        verify(customerRepository, times(1)).findPhonesByTenantId(1L);
+    }
+
+    @Test
+    void search_ListsNumbersStartingWithTheTermInNumberOrder() {
+        when(customerRepository.findPhonesByTenantId(1L)).thenReturn(List.of(
+                phone(1L, "+40712345678"),
+                phone(2L, "+40712"),
+                phone(3L, "+40722000000"),
+                phone(4L, "+33712000000")));
+
+        assertEquals(List.of(2L, 1L), phoneIndex.search(1L, "0712"));
+        assertEquals(List.of(2L, 1L, 3L), phoneIndex.search(1L, "+40 7"));
+        // Bare digits may be the start of a number with or without its country code
+        assertEquals(List.of(2L, 1L, 3L), phoneIndex.search(1L, "7"));
+        assertEquals(List.of(4L, 2L, 1L, 3L), phoneIndex.search(1L, ""));
+        assertEquals(List.of(), phoneIndex.search(1L, "0799"));
+    }
+
+    @Test
+    void onSavedAndOnDeleted_KeepLoadedTenantsCurrent() {
+        when(customerRepository.findPhonesByTenantId(1L)).thenReturn(List.of(phone(1L, "+40712345678")));
+        when(customerRepository.findPhonesByTenantId(2L)).thenReturn(List.of());
+        assertEquals(Optional.of(1L), phoneIndex.find(1L, "0712345678"));
+        assertEquals(Optional.empty(), phoneIndex.find(2L, "0712345678"));
+
+        phoneIndex.onSaved(customer(7L, 1L, "0722 000 000"));
+        assertEquals(Optional.of(7L), phoneIndex.find(1L, "+40722000000"));
+
+        phoneIndex.onSaved(customer(1L, 1L, "0733 000 000"));
+        assertEquals(Optional.empty(), phoneIndex.find(1L, "0712345678"));
+        assertEquals(Optional.of(1L), phoneIndex.find(1L, "0733000000"));
+
+        phoneIndex.onSaved(customer(7L, 2L, "0722 000 000"));
+        assertEquals(Optional.empty(), phoneIndex.find(1L, "0722000000"));
+        assertEquals(Optional.of(7L), phoneIndex.find(2L, "0722000000"));
+
+        phoneIndex.onDeleted(7L);
+        assertEquals(Optional.empty(), phoneIndex.find(2L, "0722000000"));
+    }
+
+    @Test
+    void search_MatchesSortedNumbersAfterManyUpdates() {
+        Random random = new Random(5);
+        Map<Long, String> numbers = new TreeMap<>();
+        List<CustomerPhoneDto> loaded = new ArrayList<>();
+        for (long id = 0; id < 300; id++) {
+            String number = randomNumber(random);
+            if (!numbers.containsValue(number)) {
+                numbers.put(id, number);
+                loaded.add(phone(id, number));
+            }
+        }
+        when(customerRepository.findPhonesByTenantId(1L)).thenReturn(loaded);
+        phoneIndex = new CustomerPhoneIndex(customerRepository, 1_000);
+        phoneIndex.search(1L, "");
+
+        // Enough replacements and deletes to rebuild the trie more than once
+        for (int i = 0; i < 5_000; i++) {
+            long id = random.nextInt(400);
+            String number = randomNumber(random);
+            if (random.nextInt(4) == 0) {
+                numbers.remove(id);
+                phoneIndex.onDeleted(id);
+            } else if (!numbers.containsValue(number)) {
+                numbers.put(id, number);
+                phoneIndex.onSaved(customer(id, 1L, number));
+            }
+        }
+
+        for (String term : List.of("", "+4", "+407", "+40712", "07", "712", "0", "+44")) {
+            TreeMap<String, Long> byNumber = new TreeMap<>();
+            numbers.forEach((id, number) -> byNumber.put(number, id));
+            List<Long> expected = new ArrayList<>();
+            for (String prefix : term.isEmpty() ? List.of("") : PhoneNumbers.prefixes(term)) {
+                byNumber.forEach((number, id) -> {
+                    if (number.startsWith(prefix) && !expected.contains(id)) {
+                        expected.add(id);
+                    }
+                });
+            }
+            assertEquals(expected, phoneIndex.search(1L, term), term);
+        }
+        numbers.forEach((id, number) -> assertEquals(Optional.of(id), phoneIndex.find(1L, number)));
+    }
+
+    @Test
+    void normalize_ReducesNumbersToCountryCodeAndDigits() {
+        assertEquals("+40712345678", PhoneNumbers.normalize(" +40 (712) 345-678 "));
+        assertEquals("+40712345678", PhoneNumbers.normalize("0040 712 345 678"));
+        assertEquals("+40712345678", PhoneNumbers.normalize("0712.345.678"));
+        assertEquals("712345678", PhoneNumbers.normalize("712345678"));
+        assertEquals("", PhoneNumbers.normalize("n/a"));
+        assertNull(PhoneNumbers.normalize(null));
+    }
+
+    private static String randomNumber(Random random) {
+        String[] prefixes = {"+40712", "+40722", "+4071", "+44", "+407"};
+        StringBuilder number = new StringBuilder(prefixes[random.nextInt(prefixes.length)]);
+        for (int i = 0, n = random.nextInt(4); i < n; i++) {
+            number.append(random.nextInt(10));
+        }
+        return number.toString();
+    }
+
+    private static Customer customer(long id, long tenantId, String phone) {
+        Tenant tenant = new Tenant();
+        tenant.setId(tenantId);
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setPhone(phone);
+        customer.setTenant(tenant);
+        return customer;
+    }
+
+    private static CustomerPhoneDto phone(long id, String phoneNormalized) {
+        return new CustomerPhoneDto(id, phoneNormalized);
+    }
+}
@@ -0,0 +1,62 @@
+package com.coworking.reservationsystem.service.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotBitmapTest {
+
+    private final LocalDate day = LocalDate.of(2030, 1, 1);
+
+    @Test
+    void markCovered_OnlyMarksWholeSlots() {
+        SlotBitmap slots = new SlotBitmap(15);
+        slots.markCovered(day.atTime(9, 5), day.atTime(10, 0));
+
+        assertFalse(slots.allOverlappingMarked(day.atTime(9, 0), day.atTime(9, 30)));
+        assertTrue(slots.allOverlappingMarked(day.atTime(9, 15), day.atTime(10, 0)));
+        assertFalse(slots.allOverlappingMarked(day.atTime(9, 15), day.atTime(10, 1)));
+    }
+
+    @Test
+    void markCovered_SpansMidnight() {
+        SlotBitmap slots = new SlotBitmap(15);
+        slots.markCovered(day.atTime(22, 0), day.plusDays(1).atTime(2, 0));
+
+        assertTrue(slots.allOverlappingMarked(day.atTime(23, 0), day.plusDays(1).atTime(1, 0)));
+        assertFalse(slots.isMarked(day.plusDays(1), 8));
+
+        slots.dropBefore(day.plusDays(1));
+        assertFalse(slots.allOverlappingMarked(day.atTime(23, 0), day.plusDays(1).atTime(1, 0)));
+        assertTrue(slots.allOverlappingMarked(day.plusDays(1).atTime(0, 0), day.plusDays(1).atTime(1, 0)));
+    }
+
+    @Test
+    void anyTouched_NeverMissesAnOverlap() {
+        Random random = new Random(7);
+        SlotBitmap slots = new SlotBitmap(15);
+        List<LocalDateTime[]> booked = new ArrayList<>();
+        LocalDateTime base = day.atStartOfDay();
+        for (int i = 0; i < 40; i++) {
+            LocalDateTime start = base.plusMinutes(random.nextInt(4 * 1440));
+            LocalDateTime end = start.plusMinutes(1 + random.nextInt(180));
+            slots.markTouched(start, end);
+            booked.add(new LocalDateTime[]{start, end});
+        }
+
+        for (int i = 0; i < 2_000; i++) {
+            LocalDateTime start = base.plusMinutes(random.nextInt(4 * 1440)).plusSeconds(random.nextInt(60));
+            LocalDateTime end = start.plusMinutes(random.nextInt(90));
+            boolean overlaps = booked.stream().anyMatch(window -> window[0].isBefore(end) && window[1].isAfter(start));
+            if (overlaps) {
+                assertTrue(slots.anyTouched(start, end));
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.coworking.reservationsystem.service.index;
+
+import com.coworking.reservationsystem.model.entity.Availability;
+import com.coworking.reservationsystem.repository.AvailabilityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpaceAvailabilityIndexTest {
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    @InjectMocks
+    private SpaceAvailabilityIndex availabilityIndex;
+
+    private LocalDateTime day;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Test
+    void isOpen_AlignedWindowsAreAnsweredFromTheBitmaps() {
+        when(availabilityRepository.findBySpaceIdAndEndTimeAfter(eq(1L), any()))
+                .thenReturn(List.of(window(day.withHour(9), day.withHour(12))));
+
+        assertTrue(availabilityIndex.isOpen(1L, day.withHour(9), day.withHour(12)));
+        assertTrue(availabilityIndex.isOpen(1L, day.withHour(10).withMinute(5), day.withHour(10).withMinute(50)));
+        assertFalse(availabilityIndex.isOpen(1L, day.withHour(11), day.withHour(13)));
+        assertFalse(availabilityIndex.isOpen(1L, day.withHour(14), day.withHour(15)));
+
+        verify(availabilityRepository, never()).findBySpaceIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTime(any(), any(), any());
+    }
+
+    @Test
+    void isOpen_UnalignedWindowEdgesAreCheckedExactly() {
+        Availability morning = window(day.withHour(9).withMinute(5), day.withHour(11).withMinute(50));
+        Availability afternoon = window(day.withHour(11).withMinute(50), day.withHour(14));
+        when(availabilityRepository.findBySpaceIdAndEndTimeAfter(eq(1L), any())).thenReturn(List.of(morning, afternoon));
+        when(availabilityRepository.findBySpaceIdAndStartTimeBeforeAndEndTimeAfterOrderByStartTime(eq(1L), any(), any()))
+                .thenAnswer(invocation -> {
+                    LocalDateTime before = invocation.getArgument(1);
+                    LocalDateTime after = invocation.getArgument(2);
+                    return List.of(morning, afternoon).stream()
+                            .filter(window -> window.getStartTime().isBefore(before) && window.getEndTime().isAfter(after))
+                            .toList();
+                });
+
+        // Fits the real window although its first slot is only partly open
+        assertTrue(availabilityIndex.isOpen(1L, day.withHour(9).withMinute(5), day.withHour(10)));
+        assertFalse(availabilityIndex.isOpen(1L, day.withHour(9), day.withHour(10)));
+        // Two windows meeting off the grid leave no gap
+        assertTrue(availabilityIndex.isOpen(1L, day.withHour(11), day.withHour(13)));
+        assertFalse(availabilityIndex.isOpen(1L, day.withHour(8).withMinute(50), day.withHour(9).withMinute(10)));
+    }
+
+    private static Availability window(LocalDateTime start, LocalDateTime end) {
+        Availability availability = new Availability();
+        availability.setStartTime(start);
+        availability.setEndTime(end);
+        return availability;
+    }
+}
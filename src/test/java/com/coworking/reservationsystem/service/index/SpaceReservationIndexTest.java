@@ -0,0 +1,192 @@
+package com.coworking.reservationsystem.service.index;
+
+import com.coworking.reservationsystem.model.dto.Status;
+import com.coworking.reservationsystem.model.entity.Recurrence;
+import com.coworking.reservationsystem.model.entity.Reservation;
+import com.coworking.reservationsystem.model.entity.Space;
+import com.coworking.reservationsystem.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpaceReservationIndexTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @InjectMocks
+    private SpaceReservationIndex reservationIndex;
+
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        base = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Test
+    void hasOverlap_LoadsSpaceOnceAndAnswersFromMemory() {
+        when(reservationRepository.findWindowsBySpaceId(eq(1L), any(), any()))
+                .thenReturn(List.of(window(10L, base, base.plusHours(2))));
+
+        assertTrue(reservationIndex.hasOverlap(1L, base.plusHours(1), base.plusHours(3), null));
+        assertFalse(reservationIndex.hasOverlap(1L, base.plusHours(3), base.plusHours(4), null));
+        assertFalse(reservationIndex.hasOverlap(1L, base.plusHours(1), base.plusHours(3), 10L));
+
+        verify(reservationRepository, times(1)).findWindowsBySpaceId(eq(1L), any(), any());
+    }
+
+    @Test
+    void onSaved_AddsActiveAndDropsCancelledReservations() {
+        when(reservationRepository.findWindowsBySpaceId(eq(1L), any(), any())).thenReturn(List.of());
+        assertFalse(reservationIndex.hasOverlap(1L, base, base.plusHours(1), null));
+
+        Reservation reservation = reservation(20L, base, base.plusHours(1), Status.PENDING);
+        reservationIndex.onSaved(reservation);
+        assertTrue(reservationIndex.hasOverlap(1L, base.plusMinutes(30), base.plusHours(2), null));
+
+        reservation.setStatus(Status.CANCELLED);
+        reservationIndex.onSaved(reservation);
+        assertFalse(reservationIndex.hasOverlap(1L, base.plusMinutes(30), base.plusHours(2), null));
+    }
+
+    @Test
+    void onDeleted_RemovesReservationFromItsSpace() {
+        when(reservationRepository.findWindowsBySpaceId(eq(1L), any(), any()))
+                .thenReturn(List.of(window(30L, base, base.plusHours(1))));
+        assertTrue(reservationIndex.hasOverlap(1L, base, base.plusHours(1), null));
+
+        reservationIndex.onDeleted(30L);
+
+        assertFalse(reservationIndex.hasOverlap(1L, base, base.plusHours(1), null));
+    }
+
+    @Test
+    void onDeleted_KeepsSlotsSharedWithOtherReservations() {
+        when(reservationRepository.findWindowsBySpaceId(eq(1L), any(), any()))
+                .thenReturn(List.of(window(50L, base, base.plusMinutes(20)), window(51L, base.plusMinutes(10), base.plusHours(1))));
+        assertTrue(reservationIndex.hasOverlap(1L, base.plusMinutes(30), base.plusMinutes(40), null));
+
+        reservationIndex.onDeleted(51L);
+
+        assertFalse(reservationIndex.hasOverlap(1L, base.plusMinutes(30), base.plusMinutes(40), null));
+        assertTrue(reservationIndex.hasOverlap(1L, base.plusMinutes(15), base.plusMinutes(25), null));
+    }
+
+    @Test
+    void hasOverlap_ExpandsSeriesOnlyInsideTheCheckedWindow() {
+        Reservation series = reservation(60L, base, base.plusHours(1), Status.CONFIRMED);
+        Recurrence recurrence = new Recurrence();
+        recurrence.setFrequency(Recurrence.Frequency.WEEKLY);
+        recurrence.setInterval(1);
+        recurrence.setCount(10);
+        series.setRecurrence(recurrence);
+        series.setSeriesEndTime(base.plusWeeks(9).plusHours(1));
+        when(reservationRepository.findWindowsBySpaceId(eq(1L), any(), any())).thenReturn(List.of());
+        when(reservationRepository.findSeriesBySpaceId(eq(1L), any(), any())).thenReturn(List.of(series));
+
+        assertTrue(reservationIndex.hasOverlap(1L, base.plusWeeks(5).plusMinutes(30), base.plusWeeks(5).plusHours(2), null));
+        assertFalse(reservationIndex.hasOverlap(1L, base.plusWeeks(5).plusDays(1), base.plusWeeks(5).plusDays(2), null));
+        assertFalse(reservationIndex.hasOverlap(1L, base.plusWeeks(10), base.plusWeeks(10).plusHours(1), null));
+        assertFalse(reservationIndex.hasOverlap(1L, base.plusWeeks(5), base.plusWeeks(5).plusHours(1), 60L));
+        assertEquals(2, reservationIndex.findOverlapping(1L, base.plusWeeks(2), base.plusWeeks(3).plusHours(1)).size());
+
+        reservationIndex.onDeleted(60L);
+
+        assertFalse(reservationIndex.hasOverlap(1L, base.plusWeeks(5), base.plusWeeks(5).plusHours(1), null));
+    }
+
+    @Test
+    void verify_ReportsDriftAndRebuildsFromDatabase() {
+        when(reservationRepository.findWindowsBySpaceId(eq(1L), any(), any()))
+                .thenReturn(List.of(window(40L, base, base.plusHours(1))))
+                .thenReturn(List.of(window(41L, base.plusHours(2), base.plusHours(3))));
+        assertTrue(reservationIndex.hasOverlap(1L, base, base.plusHours(1), null));
+
+        SpaceReservationIndex.ConsistencyReport report = reservationIndex.verify(1L);
+
+        assertFalse(report.consistent());
+        assertEquals(List.of(41L), report.missing());
+        assertEquals(List.of(40L), report.stale());
+        assertFalse(reservationIndex.hasOverlap(1L, base, base.plusHours(1), null));
+        assertTrue(reservationIndex.hasOverlap(1L, base.plusHours(2), base.plusHours(3), null));
+    }
+
+    @Test
+    void intervalTree_MatchesBruteForceOverlapChecks() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<IntervalTree.Interval> reference = new ArrayList<>();
+        for (long id = 0; id < 500; id++) {
+            LocalDateTime start = base.plusMinutes(random.nextInt(10_000));
+            LocalDateTime end = start.plusMinutes(1 + random.nextInt(240));
+            tree.put(id, start, end);
+            reference.add(new IntervalTree.Interval(id, start, end));
+        }
+        for (int i = 0; i < 200; i++) {
+            IntervalTree.Interval removed = reference.remove(random.nextInt(reference.size()));
+            assertTrue(tree.remove(removed.id()));
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            LocalDateTime start = base.plusMinutes(random.nextInt(10_000));
+            LocalDateTime end = start.plusMinutes(random.nextInt(120));
+            List<Long> expected = reference.stream()
+                    .filter(interval -> interval.start().isBefore(end) && interval.end().isAfter(start))
+                    .map(IntervalTree.Interval::id)
+                    .sorted()
+                    .toList();
+            List<Long> actual = tree.overlapping(start, end).stream()
+                    .map(IntervalTree.Interval::id)
+                    .sorted()
+                    .toList();
+            assertEquals(expected, actual);
+            assertEquals(!expected.isEmpty(), tree.overlaps(start, end, null));
+        }
+        assertEquals(reference.size(), tree.size());
+    }
+
+    private Reservation reservation(Long id, LocalDateTime start, LocalDateTime end, Status status) {
+        Space space = new Space();
+        space.setId(1L);
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setSpace(space);
+        reservation.setStartTime(start);
+        reservation.setEndTime(end);
+        reservation.setStatus(status);
+        return reservation;
+    }
+
+    private ReservationRepository.ReservationWindow window(Long id, LocalDateTime start, LocalDateTime end) {
+        return new ReservationRepository.ReservationWindow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getStartTime() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEndTime() {
+                return end;
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package com.coworking.reservationsystem.service.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableAdjacencyTest {
+
+    @Test
+    void smallestCombination_MatchesExhaustiveSearch() {
+        Random random = new Random(11);
+        for (int run = 0; run < 200; run++) {
+            int size = 4 + random.nextInt(9);
+            SortedMap<Long, Integer> seats = new TreeMap<>();
+            Map<Long, Set<Long>> adjacent = new HashMap<>();
+            for (long id = 1; id <= size; id++) {
+                seats.put(id, 2 + random.nextInt(5));
+            }
+            for (long a = 1; a <= size; a++) {
+                for (long b = a + 1; b <= size; b++) {
+                    if (random.nextInt(4) == 0) {
+                        adjacent.computeIfAbsent(a, id -> new HashSet<>()).add(b);
+                    }
+                }
+            }
+            BitSet free = new BitSet(size);
+            for (int position = 0; position < size; position++) {
+                free.set(position, random.nextInt(5) != 0);
+            }
+            int partySize = 2 + random.nextInt(20);
+            TableAdjacency adjacency = new TableAdjacency(seats, adjacent);
+
+            Optional<List<Long>> expected = exhaustive(seats, adjacent, free, partySize, 4);
+            Optional<List<Long>> actual = adjacency.smallestCombination(partySize, free, 4, Integer.MAX_VALUE);
+
+            assertEquals(expected.map(List::size), actual.map(List::size));
+            assertEquals(expected.map(ids -> seatsOf(ids, seats)), actual.map(ids -> seatsOf(ids, seats)));
+            actual.ifPresent(ids -> assertTrue(connected(ids, adjacent)));
+        }
+    }
+
+    @Test
+    void smallestCombination_AnswersQuicklyForLargeRooms() {
+        // 12 x 10 grid of 4-seat tables, each next to the tables beside it
+        SortedMap<Long, Integer> seats = new TreeMap<>();
+        Map<Long, Set<Long>> adjacent = new HashMap<>();
+        for (int row = 0; row < 12; row++) {
+            for (int column = 0; column < 10; column++) {
+                long id = row * 10L + column + 1;
+                seats.put(id, 4);
+                if (column < 9) {
+                    adjacent.computeIfAbsent(id, key -> new HashSet<>()).add(id + 1);
+                }
+                if (row < 11) {
+                    adjacent.computeIfAbsent(id, key -> new HashSet<>()).add(id + 10);
+                }
+            }
+        }
+        BitSet free = new BitSet();
+        free.set(0, 120);
+        for (int position = 0; position < 120; position += 3) {
+            free.clear(position);
+        }
+        TableAdjacency adjacency = new TableAdjacency(seats, adjacent);
+
+        Optional<List<Long>> combination = assertTimeoutPreemptively(Duration.ofSeconds(1), () ->
+                adjacency.smallestCombination(22, free, TableAvailabilityIndex.MAX_COMBINED_TABLES,
+                        TableAvailabilityIndex.COMBINATION_SEARCH_BUDGET));
+
+        assertTrue(combination.isPresent());
+        assertEquals(6, combination.get().size());
+        assertTrue(connected(combination.get(), adjacent));
+    }
+
+    private Optional<List<Long>> exhaustive(SortedMap<Long, Integer> seats, Map<Long, Set<Long>> adjacent, BitSet free,
+                                            int partySize, int maxTables) {
+        List<Long> ids = new ArrayList<>(seats.keySet());
+        List<Long> best = null;
+        for (int mask = 1; mask < 1 << ids.size(); mask++) {
+            List<Long> chosen = new ArrayList<>();
+            for (int position = 0; position < ids.size(); position++) {
+                if ((mask & (1 << position)) != 0) {
+                    chosen.add(ids.get(position));
+                }
+            }
+            boolean allFree = chosen.stream().allMatch(id -> free.get(ids.indexOf(id)));
+            if (!allFree || chosen.size() > maxTables || seatsOf(chosen, seats) < partySize || !connected(chosen, adjacent)) {
+                continue;
+            }
+            if (best == null || chosen.size() < best.size()
+                    || chosen.size() == best.size() && seatsOf(chosen, seats) < seatsOf(best, seats)) {
+                best = chosen;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private int seatsOf(List<Long> ids, Map<Long, Integer> seats) {
+        return ids.stream().mapToInt(seats::get).sum();
+    }
+
+    private boolean connected(List<Long> ids, Map<Long, Set<Long>> adjacent) {
+        Set<Long> seen = new HashSet<>();
+        Deque<Long> pending = new ArrayDeque<>(List.of(ids.get(0)));
+        while (!pending.isEmpty()) {
+            Long id = pending.pop();
+            if (seen.add(id)) {
+                for (Long other : ids) {
+                    if (adjacent.getOrDefault(id, Set.of()).contains(other) || adjacent.getOrDefault(other, Set.of()).contains(id)) {
+                        pending.push(other);
+                    }
+                }
+            }
+        }
+        return seen.size() == ids.size();
+    }
+}
@@ -0,0 +1,169 @@
+package com.coworking.reservationsystem.service.index;
+
+import com.coworking.reservationsystem.model.entity.RestaurantTable;
+import com.coworking.reservationsystem.model.entity.Space;
+import com.coworking.reservationsystem.model.entity.TableReservation;
+import com.coworking.reservationsystem.model.entity.Tenant;
+import com.coworking.reservationsystem.repository.RestaurantTableRepository;
+import com.coworking.reservationsystem.repository.TableReservationRepository;
+import com.coworking.reservationsystem.service.hold.BookingHold;
+import com.coworking.reservationsystem.service.hold.BookingHoldRegistry;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TableAvailabilityIndexTest {
+
+    @Mock
+    private RestaurantTableRepository tableRepository;
+
+    @Mock
+    private TableReservationRepository reservationRepository;
+
+    @Spy
+    private BookingHoldRegistry holdRegistry = new BookingHoldRegistry(600, 1800, 1000);
+
+    @InjectMocks
+    private TableAvailabilityIndex tableIndex;
+
+    private LocalDateTime base;
+    private Space space;
+
+    @BeforeEach
+    void setUp() {
+        space = new Space();
+        space.setId(3L);
+        base = LocalDateTime.now().plusDays(1).withHour(19).withMinute(0).withSecond(0).withNano(0);
+        when(tableRepository.findByTenantIdOrderByName(1L)).thenReturn(List.of(
+                table(1L, 6, RestaurantTable.TableStatus.AVAILABLE),
+                table(2L, 2, RestaurantTable.TableStatus.AVAILABLE),
+                table(3L, 4, RestaurantTable.TableStatus.OCCUPIED),
+                table(4L, 4, RestaurantTable.TableStatus.AVAILABLE),
+                table(5L, 4, RestaurantTable.TableStatus.OUT_OF_SERVICE)));
+    }
+
+    @Test
+    void findBestFit_PicksSmallestFreeTableThatSeatsTheParty() {
+        when(reservationRepository.findWindowsByTenantId(eq(1L), any(), any()))
+                .thenReturn(List.of(window(10L, 3L, base, base.plusHours(2))));
+
+        assertEquals(Optional.of(3L), tableIndex.findBestFit(1L, 3, base.plusHours(3), base.plusHours(5)));
+        assertEquals(Optional.of(4L), tableIndex.findBestFit(1L, 3, base.plusHours(1), base.plusHours(3)));
+        assertEquals(Optional.of(2L), tableIndex.findBestFit(1L, 2, base, base.plusHours(2)));
+        assertEquals(Optional.empty(), tableIndex.findBestFit(1L, 8, base, base.plusHours(2)));
+
+        verify(tableRepository, times(1)).findByTenantIdOrderByName(1L);
+    }
+
+    @Test
+    void onSaved_TracksBookingsAndReleasesCancelledOnes() {
+        when(reservationRepository.findWindowsByTenantId(eq(1L), any(), any())).thenReturn(List.of());
+        assertEquals(Optional.of(3L), tableIndex.findBestFit(1L, 4, base, base.plusHours(2)));
+
+        TableReservation booking = reservation(20L, 3L, base, base.plusHours(2));
+        tableIndex.onSaved(booking);
+        assertEquals(Optional.of(4L), tableIndex.findBestFit(1L, 4, base.plusHours(1), base.plusHours(2)));
+
+        booking.setStatus(TableReservation.TableReservationStatus.CANCELLED);
+        tableIndex.onSaved(booking);
+        assertEquals(Optional.of(3L), tableIndex.findBestFit(1L, 4, base.plusHours(1), base.plusHours(2)));
+    }
+
+    @Test
+    void findBestFit_SkipsTablesHeldDuringCheckout() {
+        when(reservationRepository.findWindowsByTenantId(eq(1L), any(), any())).thenReturn(List.of());
+        BookingHold hold = holdRegistry.place(BookingResource.TABLE, 3L, base, base.plusHours(2), Duration.ofMinutes(10));
+
+        assertEquals(Optional.of(4L), tableIndex.findBestFit(1L, 4, base.plusHours(1), base.plusHours(3)));
+        assertEquals(Optional.of(3L), tableIndex.findBestFit(1L, 4, base.plusHours(3), base.plusHours(4)));
+
+        holdRegistry.release(hold.id());
+        assertEquals(Optional.of(3L), tableIndex.findBestFit(1L, 4, base.plusHours(1), base.plusHours(3)));
+    }
+
+    @Test
+    void findCombination_JoinsAdjacentFreeTablesOfTheSpace() {
+        when(reservationRepository.findWindowsByTenantId(eq(1L), any(), any()))
+                .thenReturn(List.of(window(10L, 1L, base, base.plusHours(2))));
+        when(tableRepository.findAdjacencyByTenantId(1L)).thenReturn(List.of(link(1L, 3L), link(3L, 4L), link(4L, 2L)));
+
+        assertEquals(Optional.of(List.of(1L, 3L)), tableIndex.findCombination(1L, 3L, 10, base.plusHours(3), base.plusHours(4)));
+        assertEquals(Optional.of(List.of(2L, 3L, 4L)), tableIndex.findCombination(1L, 3L, 10, base, base.plusHours(1)));
+        assertEquals(Optional.empty(), tableIndex.findCombination(1L, 3L, 20, base, base.plusHours(1)));
+    }
+
+    private RestaurantTable table(Long id, int seats, RestaurantTable.TableStatus status) {
+        RestaurantTable table = new RestaurantTable();
+        table.setId(id);
+        table.setNumberOfSeats(seats);
+        table.setStatus(status);
+        table.setSpace(space);
+        return table;
+    }
+
+    private TableReservation reservation(Long id, Long tableId, LocalDateTime start, LocalDateTime end) {
+        Tenant tenant = new Tenant();
+        tenant.setId(1L);
+        TableReservation reservation = new TableReservation();
+        reservation.setId(id);
+        reservation.setTable(table(tableId, 4, RestaurantTable.TableStatus.AVAILABLE));
+        reservation.setTenant(tenant);
+        reservation.setRequestedTime(start);
+        reservation.setEstimatedArrivalTime(end);
+        reservation.setStatus(TableReservation.TableReservationStatus.CONFIRMED);
+        return reservation;
+    }
+
+    private RestaurantTableRepository.TableLink link(Long tableId, Long adjacentTableId) {
+        return new RestaurantTableRepository.TableLink() {
+            @Override
+            public Long getTableId() {
+                return tableId;
+            }
+
+            @Override
+            public Long getAdjacentTableId() {
+                return adjacentTableId;
+            }
+        };
+    }
+
+    private TableReservationRepository.TableReservationWindow window(Long id, Long tableId, LocalDateTime start, LocalDateTime end) {
+        return new TableReservationRepository.TableReservationWindow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getTableId() {
+                return tableId;
+            }
+
+            @Override
+            public LocalDateTime getStartTime() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEndTime() {
+                return end;
+            }
+        };
+    }
+}
@@ -0,0 +1,149 @@
+package com.coworking.reservationsystem.service.lock;
+
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.ReservationDto;
+import com.coworking.reservationsystem.model.dto.Status;
+import com.coworking.reservationsystem.model.dto.TableReservationDto;
+import com.coworking.reservationsystem.model.entity.TableReservation;
+import com.coworking.reservationsystem.repository.ReservationRepository;
+import com.coworking.reservationsystem.repository.TableReservationRepository;
+import com.coworking.reservationsystem.service.ReservationService;
+import com.coworking.reservationsystem.service.TableReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many threads race to book a handful of spaces and tables for overlapping windows;
+ * afterwards no two active bookings of the same resource may overlap. It takes a while,
+ * so it runs with the benchmarks: {@code mvn test -Pbenchmark -Dtest=BookingLockStressTest}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-lock-stress;DB_CLOSE_DELAY=-1",
+        "spring.jpa.defer-datasource-initialization=true"
+})
+class BookingLockStressTest {
+
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 60;
+    private static final long[] SPACE_IDS = {1L, 2L};
+    private static final long[] TABLE_IDS = {5L, 6L};
+    private static final long TENANT_ID = 1L;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private TableReservationService tableReservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TableReservationRepository tableReservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // data.sql inserts table reservations with explicit ids, which does not advance the identity
+        jdbcTemplate.execute("ALTER TABLE table_reservations ALTER COLUMN id RESTART WITH 1000");
+    }
+
+    @Test
+    void concurrentBookings_NeverOverlap() throws Exception {
+        LocalDateTime opening = LocalDate.now().plusDays(2).atTime(8, 0);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            Random random = new Random(thread);
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                    LocalDateTime from = opening.plusMinutes(30L * random.nextInt(24));
+                    LocalDateTime to = from.plusMinutes(30L * (1 + random.nextInt(3)));
+                    try {
+                        if (random.nextBoolean()) {
+                            bookSpace(SPACE_IDS[random.nextInt(SPACE_IDS.length)], from, to);
+                        } else {
+                            bookTable(TABLE_IDS[random.nextInt(TABLE_IDS.length)], from, to);
+                        }
+                        booked.incrementAndGet();
+                    } catch (ValidationException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        executor.shutdown();
+
+        for (long spaceId : SPACE_IDS) {
+            assertNoOverlaps(reservationRepository.findBySpaceId(spaceId).stream()
+                    .filter(reservation -> reservation.getStartTime().toLocalDate().equals(opening.toLocalDate()))
+                    .map(reservation -> new LocalDateTime[]{reservation.getStartTime(), reservation.getEndTime()})
+                    .toList());
+        }
+        for (long tableId : TABLE_IDS) {
+            assertNoOverlaps(tableReservationRepository.findByTableIdAndTenantIdOrderByCreatedAtDesc(tableId, TENANT_ID).stream()
+                    .filter(reservation -> reservation.getRequestedTime().toLocalDate().equals(opening.toLocalDate()))
+                    .map(reservation -> new LocalDateTime[]{reservation.getRequestedTime(), reservation.getEstimatedArrivalTime()})
+                    .toList());
+        }
+        assertTrue(booked.get() > 0);
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, booked.get() + rejected.get());
+        System.out.printf("%s: %d bookings, %d rejected as overlapping, %.0f attempts/s%n",
+                getClass().getSimpleName(), booked.get(), rejected.get(), (booked.get() + rejected.get()) / seconds);
+    }
+
+    private void bookSpace(long spaceId, LocalDateTime from, LocalDateTime to) {
+        reservationService.createReservation(new ReservationDto(null, spaceId, 1L, 1L, from, to, 10.0, Status.PENDING,
+                null, null, null, TENANT_ID));
+    }
+
+    private void bookTable(long tableId, LocalDateTime from, LocalDateTime to) {
+        tableReservationService.createTableReservation(new TableReservationDto(null, tableId, 1L, 2, from, to,
+                TableReservation.TableReservationStatus.PENDING, null, TENANT_ID, null, null));
+    }
+
+    /**
+     * Windows are half-open ranges, as in the overlap checks: one may start where another ends.
+     */
+    private void assertNoOverlaps(List<LocalDateTime[]> windows) {
+        List<LocalDateTime[]> sorted = new ArrayList<>(windows);
+        sorted.sort(Comparator.comparing(window -> window[0]));
+        for (int i = 1; i < sorted.size(); i++) {
+            assertFalse(sorted.get(i)[0].isBefore(sorted.get(i - 1)[1]),
+                    "Overlapping bookings " + sorted.get(i - 1)[0] + " and " + sorted.get(i)[0]);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.coworking.reservationsystem.service.lock;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Same race with the row-lock backend used for multi-node deployments.
+ */
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-lock-stress-db;DB_CLOSE_DELAY=-1",
+        "booking.lock.backend=database"
+})
+class DatabaseBookingLockStressTest extends BookingLockStressTest {
+}
@@ -0,0 +1,46 @@
+package com.coworking.reservationsystem.service.search;
+
+import com.coworking.reservationsystem.model.dto.BatchReservationResultDto;
+import com.coworking.reservationsystem.model.dto.ReservationDto;
+import com.coworking.reservationsystem.model.dto.SearchHitDto;
+import com.coworking.reservationsystem.model.dto.Status;
+import com.coworking.reservationsystem.service.ReservationService;
+import com.coworking.reservationsystem.service.SearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search-index;DB_CLOSE_DELAY=-1",
+        "spring.jpa.defer-datasource-initialization=true"
+})
+class SearchIndexEntityListenerTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Test
+    void createReservations_BatchNotesAreSearchableOnceCommitted() {
+        // Load the tenant first, so the new row has to be fed in rather than read with the rest
+        assertTrue(searchService.search(1L, "projector", null, 10).items().isEmpty());
+
+        LocalDateTime start = LocalDateTime.now().plusDays(30).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        ReservationDto item = new ReservationDto(null, 2L, 1L, 1L, start, start.plusHours(1), 80.0,
+                Status.PENDING, "Projector and whiteboard for the workshop", null, null, 1L);
+        List<BatchReservationResultDto> results = reservationService.createReservations(List.of(item));
+        Long id = results.get(0).reservationId();
+
+        List<SearchHitDto> hits = searchService.search(1L, "projector", null, 10).items();
+        assertEquals(1, hits.size());
+        assertEquals(SearchHitDto.Kind.RESERVATION, hits.get(0).kind());
+        assertEquals(id, hits.get(0).id());
+    }
+}
@@ -0,0 +1,183 @@
+package com.coworking.reservationsystem.service.search;
+
+import com.coworking.reservationsystem.exception.ValidationException;
+import com.coworking.reservationsystem.model.dto.SearchHitDto;
+import com.coworking.reservationsystem.model.dto.SearchHitDto.Kind;
+import com.coworking.reservationsystem.model.dto.SearchTextDto;
+import com.coworking.reservationsystem.repository.CustomerRepository;
+import com.coworking.reservationsystem.repository.ReservationRepository;
+import com.coworking.reservationsystem.repository.SpaceRepository;
+import com.coworking.reservationsystem.repository.TableReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TextSearchIndexTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private TableReservationRepository tableReservationRepository;
+    @Mock
+    private SpaceRepository spaceRepository;
+
+    private TextSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TextSearchIndex(customerRepository, reservationRepository, tableReservationRepository, spaceRepository);
+    }
+
+    @Test
+    void terms_FoldCaseAndDiacriticsDropStopWordsAndStem() {
+        assertEquals(List.of("prefera", "mesel", "langa", "fereastra", "birthday", "allergy"),
+                TextAnalyzer.terms("Preferă mesele lângă fereastră, for the BIRTHDAYS and allergies!"));
+        assertEquals(TextAnalyzer.stem("seat"), TextAnalyzer.stem("seated"));
+        assertEquals(TextAnalyzer.stem("seat"), TextAnalyzer.stem("seating"));
+        assertEquals(TextAnalyzer.stem("celebrate"), TextAnalyzer.stem("celebrated"));
+        assertEquals("run", TextAnalyzer.stem("running"));
+        assertEquals("string", TextAnalyzer.stem("string"));
+        assertEquals("glass", TextAnalyzer.stem("glass"));
+    }
+
+    @Test
+    void parse_SplitsClausesOnOrAndExcludesNegatedWords() {
+        SearchQuery query = SearchQuery.parse("vegan AND birthday OR wheelchair -terrace NOT smoking");
+
+        assertEquals(List.of(
+                new SearchQuery.Clause(List.of("vegan", "birthday"), List.of()),
+                new SearchQuery.Clause(List.of("wheelchair"), List.of("terrac", "smok"))), query.clauses());
+        assertThrows(ValidationException.class, () -> SearchQuery.parse("the"));
+        assertThrows(ValidationException.class, () -> SearchQuery.parse("-vegan"));
+        assertThrows(ValidationException.class, () -> SearchQuery.parse(null));
+    }
+
+    @Test
+    void search_LoadsTenantOnceAndMatchesEveryKindOfText() {
+        when(customerRepository.findSearchTextsByTenantId(1L)).thenReturn(List.of(
+                text(1L, "Vegan, allergic to nuts"),
+                text(2L, "Wheelchair user")));
+        when(reservationRepository.findSearchTextsByTenantId(1L)).thenReturn(List.of(text(1L, "Birthday party")));
+        when(tableReservationRepository.findSearchTextsByTenantId(1L)).thenReturn(List.of(
+                text(1L, "Vegan birthday cake, vegan menu"),
+                text(2L, "Wheelchair access on the terrace")));
+        when(spaceRepository.findSearchTextsByTenantId(1L)).thenReturn(List.of(text(1L, "Quiet room with wheelchair access")));
+
+        assertEquals(List.of(hit(Kind.TABLE_RESERVATION, 1L), hit(Kind.CUSTOMER, 1L)), keys(search(1L, "vegans")));
+        assertEquals(List.of(hit(Kind.TABLE_RESERVATION, 1L)), keys(search(1L, "vegan birthday")));
+        assertEquals(Set.of(hit(Kind.TABLE_RESERVATION, 1L), hit(Kind.RESERVATION, 1L), hit(Kind.CUSTOMER, 2L),
+                        hit(Kind.SPACE, 1L)),
+                Set.copyOf(keys(search(1L, "birthday OR wheelchair -terrace"))));
+        assertEquals(List.of(), search(1L, "vegan wheelchair"));
+        assertEquals(List.of(), search(1L, "smoking"));
+
+        verify(customerRepository, times(1)).findSearchTextsByTenantId(1L);
+    }
+
+    @Test
+    void onSavedAndOnDeleted_KeepLoadedTenantsCurrent() {
+        when(customerRepository.findSearchTextsByTenantId(anyLong())).thenReturn(List.of(text(1L, "Birthday")));
+        when(reservationRepository.findSearchTextsByTenantId(anyLong())).thenReturn(List.of());
+        when(tableReservationRepository.findSearchTextsByTenantId(anyLong())).thenReturn(List.of());
+        when(spaceRepository.findSearchTextsByTenantId(anyLong())).thenReturn(List.of());
+        search(1L, "birthday");
+        search(2L, "birthday");
+
+        index.onSaved(Kind.TABLE_RESERVATION, 1L, 1L, "Birthday, needs a high chair");
+        assertEquals(Set.of(hit(Kind.CUSTOMER, 1L), hit(Kind.TABLE_RESERVATION, 1L)),
+                Set.copyOf(keys(search(1L, "birthday"))));
+
+        index.onSaved(Kind.CUSTOMER, 1L, 1L, "Vegan");
+        assertEquals(List.of(hit(Kind.TABLE_RESERVATION, 1L)), keys(search(1L, "birthday")));
+        assertEquals(List.of(hit(Kind.CUSTOMER, 1L)), keys(search(1L, "vegan")));
+
+        index.onSaved(Kind.CUSTOMER, 1L, 2L, "Vegan");
+        assertEquals(List.of(), search(1L, "vegan"));
+        assertEquals(List.of(hit(Kind.CUSTOMER, 1L)), keys(search(2L, "vegan")));
+
+        index.onSaved(Kind.CUSTOMER, 1L, 2L, null);
+        assertEquals(List.of(), search(2L, "vegan"));
+
+        index.onDeleted(Kind.TABLE_RESERVATION, 1L);
+        assertEquals(List.of(), search(1L, "birthday"));
+    }
+
+    @Test
+    void search_MatchesBooleanEvaluationAndPagesThroughEveryHit() {
+        String[] words = {"vegan", "birthday", "wheelchair", "window", "terrace", "quiet", "cake", "allergy"};
+        Random random = new Random(7);
+        Map<Long, String> texts = new HashMap<>();
+        List<SearchTextDto> loaded = new ArrayList<>();
+        for (long id = 1; id <= 400; id++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0, n = 1 + random.nextInt(6); i < n; i++) {
+                text.append(words[random.nextInt(words.length)]).append(random.nextBoolean() ? "s " : " ");
+            }
+            texts.put(id, text.toString());
+            loaded.add(text(id, text.toString()));
+        }
+        when(customerRepository.findSearchTextsByTenantId(1L)).thenReturn(loaded);
+        when(reservationRepository.findSearchTextsByTenantId(1L)).thenReturn(List.of());
+        when(tableReservationRepository.findSearchTextsByTenantId(1L)).thenReturn(List.of());
+        when(spaceRepository.findSearchTextsByTenantId(1L)).thenReturn(List.of());
+
+        for (String query : List.of("vegan", "vegan cake", "window OR terrace", "birthday -cake",
+                "quiet NOT allergy OR vegan wheelchair", "cake cake windows")) {
+            SearchQuery parsed = SearchQuery.parse(query);
+            Set<Long> expected = new HashSet<>();
+            texts.forEach((id, text) -> {
+                Set<String> terms = Set.copyOf(TextAnalyzer.terms(text));
+                if (parsed.clauses().stream().anyMatch(clause -> terms.containsAll(clause.required())
+                        && clause.excluded().stream().noneMatch(terms::contains))) {
+                    expected.add(id);
+                }
+            });
+
+            List<SearchHitDto> all = index.search(1L, parsed, SearchCursor.decode(null), 1_000);
+            assertEquals(expected, Set.copyOf(all.stream().map(SearchHitDto::id).toList()), query);
+            for (int i = 1; i < all.size(); i++) {
+                assertTrue(all.get(i - 1).score() >= all.get(i).score(), query);
+            }
+
+            List<SearchHitDto> paged = new ArrayList<>();
+            SearchCursor cursor = SearchCursor.decode(null);
+            for (List<SearchHitDto> page; !(page = index.search(1L, parsed, cursor, 7)).isEmpty(); ) {
+                paged.addAll(page);
+                cursor = SearchCursor.decode(SearchCursor.after(page.get(page.size() - 1)).encode());
+            }
+            assertEquals(all, paged, query);
+        }
+    }
+
+    private List<SearchHitDto> search(Long tenantId, String query) {
+        return index.search(tenantId, SearchQuery.parse(query), SearchCursor.decode(null), 50);
+    }
+
+    private static List<String> keys(List<SearchHitDto> hits) {
+        return hits.stream().map(hit -> hit(hit.kind(), hit.id())).toList();
+    }
+
+    private static String hit(Kind kind, long id) {
+        return kind + "#" + id;
+    }
+
+    private static SearchTextDto text(long id, String text) {
+        return new SearchTextDto(id, text);
+    }
+}
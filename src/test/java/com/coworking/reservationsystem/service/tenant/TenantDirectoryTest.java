@@ -0,0 +1,107 @@
+package com.coworking.reservationsystem.service.tenant;
+
+import com.coworking.reservationsystem.model.entity.Tenant;
+import com.coworking.reservationsystem.repository.TenantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantDirectoryTest {
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    private Tenant palace;
+
+    @BeforeEach
+    void setUp() {
+        palace = new Tenant();
+        palace.setId(2L);
+        palace.setSubdomain("palace");
+        palace.setStatus(Tenant.TenantStatus.ACTIVE);
+        palace.setPlan(Tenant.TenantPlan.PREMIUM);
+        palace.setMaxSpaces(200);
+    }
+
+    @Test
+    void findBySubdomain_LoadsOnceForBothKeys() {
+        TenantDirectory directory = new TenantDirectory(tenantRepository, 60, 10);
+        when(tenantRepository.findResolvedBySubdomain("palace")).thenReturn(Optional.of(ResolvedTenant.of(palace)));
+
+        ResolvedTenant first = directory.findBySubdomain("palace").orElseThrow();
+        ResolvedTenant second = directory.findBySubdomain("palace").orElseThrow();
+        ResolvedTenant byId = directory.findById(2L).orElseThrow();
+
+        assertSame(first, second);
+        assertSame(first, byId);
+        assertEquals(Tenant.TenantPlan.PREMIUM, first.plan());
+        assertTrue(first.isActive());
+        verify(tenantRepository, times(1)).findResolvedBySubdomain("palace");
+        verify(tenantRepository, never()).findResolvedById(any());
+    }
+
+    @Test
+    void findEntityById_ReferencesTheRequestsTenantWithoutLoadingIt() {
+        TenantDirectory directory = new TenantDirectory(tenantRepository, 60, 10);
+        when(tenantRepository.getReferenceById(2L)).thenReturn(palace);
+        Tenant central = new Tenant();
+        central.setId(1L);
+        when(tenantRepository.findById(1L)).thenReturn(Optional.of(central));
+
+        TenantContext.set(ResolvedTenant.of(palace));
+        try {
+            assertSame(palace, directory.findEntityById(2L).orElseThrow());
+            assertSame(central, directory.findEntityById(1L).orElseThrow());
+        } finally {
+            TenantContext.clear();
+        }
+
+        verify(tenantRepository, never()).findById(2L);
+    }
+
+    @Test
+    void evict_ForgetsTenantUnderEveryKey() {
+        TenantDirectory directory = new TenantDirectory(tenantRepository, 60, 10);
+        when(tenantRepository.findResolvedById(2L)).thenAnswer(invocation -> Optional.of(ResolvedTenant.of(palace)));
+        directory.findById(2L);
+
+        palace.setStatus(Tenant.TenantStatus.SUSPENDED);
+        palace.setSubdomain("grand-palace");
+        directory.evict(2L);
+        when(tenantRepository.findResolvedBySubdomain("palace")).thenReturn(Optional.empty());
+
+        assertFalse(directory.findById(2L).orElseThrow().isActive());
+        assertTrue(directory.findBySubdomain("palace").isEmpty());
+        verify(tenantRepository, times(2)).findResolvedById(2L);
+    }
+
+    @Test
+    void findById_ExpiredEntryIsReloaded() {
+        TenantDirectory directory = new TenantDirectory(tenantRepository, 0, 10);
+        when(tenantRepository.findResolvedById(2L)).thenReturn(Optional.of(ResolvedTenant.of(palace)));
+
+        directory.findById(2L);
+        directory.findById(2L);
+
+        verify(tenantRepository, times(2)).findResolvedById(2L);
+    }
+
+    @Test
+    void findById_UnknownTenantIsNotCached() {
+        TenantDirectory directory = new TenantDirectory(tenantRepository, 60, 10);
+        when(tenantRepository.findResolvedById(9L)).thenReturn(Optional.empty());
+
+        assertTrue(directory.findById(9L).isEmpty());
+        assertTrue(directory.findById(9L).isEmpty());
+
+        verify(tenantRepository, times(2)).findResolvedById(9L);
+    }
+}
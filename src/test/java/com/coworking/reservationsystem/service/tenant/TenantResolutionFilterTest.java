@@ -0,0 +1,130 @@
+package com.coworking.reservationsystem.service.tenant;
+
+import com.coworking.reservationsystem.model.entity.Tenant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantResolutionFilterTest {
+
+    private static final ResolvedTenant PALACE = new ResolvedTenant(2L, "palace", Tenant.TenantStatus.ACTIVE,
+            Tenant.TenantPlan.PREMIUM, 50, 200, 5000);
+
+    @Mock
+    private TenantDirectory tenantDirectory;
+
+    @Test
+    void header_ResolvesSubdomainForTheRequestOnly() throws Exception {
+        when(tenantDirectory.findBySubdomain("palace")).thenReturn(Optional.of(PALACE));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/spaces");
+        request.addHeader(TenantResolutionFilter.HEADER, " palace ");
+
+        Optional<ResolvedTenant> seen = filter(new TenantResolutionFilter(tenantDirectory, ""), request,
+                new MockHttpServletResponse());
+
+        assertEquals(Optional.of(PALACE), seen);
+        assertTrue(TenantContext.current().isEmpty());
+    }
+
+    @Test
+    void header_KeepsTheCaseOfTheSubdomain() throws Exception {
+        ResolvedTenant mixedCase = new ResolvedTenant(3L, "GrandHotel", Tenant.TenantStatus.ACTIVE,
+                Tenant.TenantPlan.BASIC, 10, 20, 100);
+        when(tenantDirectory.findBySubdomain("GrandHotel")).thenReturn(Optional.of(mixedCase));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/spaces");
+        request.addHeader(TenantResolutionFilter.HEADER, "GrandHotel");
+
+        Optional<ResolvedTenant> seen = filter(new TenantResolutionFilter(tenantDirectory, ""), request,
+                new MockHttpServletResponse());
+
+        assertEquals(Optional.of(mixedCase), seen);
+    }
+
+    @Test
+    void header_ResolvesNumericId() throws Exception {
+        when(tenantDirectory.findById(2L)).thenReturn(Optional.of(PALACE));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/spaces");
+        request.addHeader(TenantResolutionFilter.HEADER, "2");
+
+        Optional<ResolvedTenant> seen = filter(new TenantResolutionFilter(tenantDirectory, ""), request,
+                new MockHttpServletResponse());
+
+        assertEquals(Optional.of(PALACE), seen);
+        verify(tenantDirectory, never()).findBySubdomain(any());
+    }
+
+    @Test
+    void host_ResolvesSubdomainUnderBaseDomain() throws Exception {
+        when(tenantDirectory.findBySubdomain("palace")).thenReturn(Optional.of(PALACE));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/spaces");
+        request.setServerName("palace.rezervari.ro");
+
+        Optional<ResolvedTenant> seen = filter(new TenantResolutionFilter(tenantDirectory, "rezervari.ro"), request,
+                new MockHttpServletResponse());
+
+        assertEquals(Optional.of(PALACE), seen);
+    }
+
+    @Test
+    void noTenantNamed_PassesThroughWithoutLookup() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/spaces");
+        request.setServerName("rezervari.ro");
+
+        Optional<ResolvedTenant> seen = filter(new TenantResolutionFilter(tenantDirectory, "rezervari.ro"), request,
+                new MockHttpServletResponse());
+
+        assertTrue(seen.isEmpty());
+        verifyNoInteractions(tenantDirectory);
+    }
+
+    @Test
+    void context_AdmitsOnlyTheResolvedTenantsRows() throws Exception {
+        when(tenantDirectory.findById(2L)).thenReturn(Optional.of(PALACE));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/spaces");
+        request.addHeader(TenantResolutionFilter.HEADER, "2");
+        AtomicReference<Boolean> ownAdmitted = new AtomicReference<>();
+        AtomicReference<Boolean> otherAdmitted = new AtomicReference<>();
+
+        new TenantResolutionFilter(tenantDirectory, "").doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> {
+                    ownAdmitted.set(TenantContext.admits(2L));
+                    otherAdmitted.set(TenantContext.admits(1L));
+                });
+
+        assertTrue(ownAdmitted.get());
+        assertFalse(otherAdmitted.get());
+        assertTrue(TenantContext.admits(1L));
+    }
+
+    @Test
+    void unknownTenant_Returns404() throws Exception {
+        when(tenantDirectory.findBySubdomain("missing")).thenReturn(Optional.empty());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/spaces");
+        request.addHeader(TenantResolutionFilter.HEADER, "missing");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Boolean> reached = new AtomicReference<>(false);
+
+        new TenantResolutionFilter(tenantDirectory, "").doFilter(request, response, (req, res) -> reached.set(true));
+
+        assertEquals(404, response.getStatus());
+        assertFalse(reached.get());
+    }
+
+    private Optional<ResolvedTenant> filter(TenantResolutionFilter filter, MockHttpServletRequest request,
+                                            MockHttpServletResponse response) throws Exception {
+        AtomicReference<Optional<ResolvedTenant>> seen = new AtomicReference<>();
+        filter.doFilter(request, response, (req, res) -> seen.set(TenantContext.current()));
+        return seen.get();
+    }
+}
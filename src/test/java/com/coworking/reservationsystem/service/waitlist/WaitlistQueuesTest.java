@@ -0,0 +1,108 @@
+package com.coworking.reservationsystem.service.waitlist;
+
+import com.coworking.reservationsystem.model.entity.Customer;
+import com.coworking.reservationsystem.model.entity.WaitlistEntry;
+import com.coworking.reservationsystem.repository.WaitlistEntryRepository;
+import com.coworking.reservationsystem.service.lock.BookingResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistQueuesTest {
+
+    @Mock
+    private WaitlistEntryRepository entryRepository;
+
+    private WaitlistQueues queues;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        queues = new WaitlistQueues(entryRepository);
+        base = LocalDateTime.now().plusDays(1).withHour(18).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Test
+    void candidates_OrderByTierThenPartySizeThenJoinTime() {
+        when(entryRepository.findByStatus(WaitlistEntry.WaitlistStatus.WAITING)).thenReturn(List.of(
+                entry(1L, 1L, Customer.CustomerTier.STANDARD, 2, base.minusDays(3), base, base.plusHours(2)),
+                entry(2L, 1L, Customer.CustomerTier.STANDARD, 4, base.minusDays(1), base, base.plusHours(2)),
+                entry(3L, 1L, Customer.CustomerTier.GOLD, 2, base.minusHours(1), base, base.plusHours(2)),
+                entry(4L, 1L, Customer.CustomerTier.STANDARD, 4, base.minusDays(2), base, base.plusHours(2))));
+
+        // Only the head of a queue is offered: its window is the same for everyone behind it
+        assertEquals(List.of(3L), ids(queues.candidates(BookingResource.TABLE, 1L, base, base.plusHours(2))));
+
+        queues.remove(3L);
+        assertEquals(List.of(4L), ids(queues.candidates(BookingResource.TABLE, 1L, base, base.plusHours(2))));
+        queues.remove(4L);
+        queues.remove(2L);
+        assertEquals(List.of(1L), ids(queues.candidates(BookingResource.TABLE, 1L, base, base.plusHours(2))));
+    }
+
+    @Test
+    void candidates_HeadsOfEveryOverlappingWindowOfTheResource() {
+        when(entryRepository.findByStatus(WaitlistEntry.WaitlistStatus.WAITING)).thenReturn(List.of(
+                entry(1L, 1L, Customer.CustomerTier.STANDARD, 2, base.minusDays(1), base, base.plusHours(1)),
+                entry(2L, 1L, Customer.CustomerTier.SILVER, 2, base.minusDays(1), base.plusHours(1), base.plusHours(2)),
+                entry(3L, 1L, Customer.CustomerTier.GOLD, 2, base.minusDays(1), base.plusHours(2), base.plusHours(3)),
+                entry(4L, 2L, Customer.CustomerTier.GOLD, 2, base.minusDays(1), base, base.plusHours(1))));
+
+        // Back-to-back windows do not overlap; other tables are not considered
+        assertEquals(List.of(2L, 1L), ids(queues.candidates(BookingResource.TABLE, 1L, base, base.plusHours(2))));
+        assertTrue(queues.candidates(BookingResource.SPACE, 1L, base, base.plusHours(2)).isEmpty());
+        assertEquals(base.plusHours(3), queues.latestEnd(BookingResource.TABLE, 1L));
+    }
+
+    @Test
+    void addAndRemove_KeepQueuesAndWindowsInStep() {
+        when(entryRepository.findByStatus(WaitlistEntry.WaitlistStatus.WAITING)).thenReturn(List.of());
+        assertEquals(0, queues.size());
+
+        queues.add(BookingResource.SPACE, 5L, waiting(1L, Customer.CustomerTier.STANDARD, base, base.plusHours(2)));
+        queues.add(BookingResource.SPACE, 5L, waiting(2L, Customer.CustomerTier.GOLD, base, base.plusHours(2)));
+        queues.add(BookingResource.SPACE, 5L, waiting(2L, Customer.CustomerTier.GOLD, base, base.plusHours(2)));
+        assertEquals(2, queues.size());
+        assertEquals(List.of(2L), ids(queues.candidates(BookingResource.SPACE, 5L, base, base.plusHours(1))));
+
+        queues.remove(2L);
+        queues.remove(1L);
+        queues.remove(1L);
+
+        assertEquals(0, queues.size());
+        assertTrue(queues.candidates(BookingResource.SPACE, 5L, base, base.plusHours(2)).isEmpty());
+        assertNull(queues.latestEnd(BookingResource.SPACE, 5L));
+        verify(entryRepository, times(1)).findByStatus(WaitlistEntry.WaitlistStatus.WAITING);
+    }
+
+    private List<Long> ids(List<WaitlistQueues.Waiting> candidates) {
+        return candidates.stream().map(WaitlistQueues.Waiting::id).toList();
+    }
+
+    private WaitlistQueues.Waiting waiting(Long id, Customer.CustomerTier tier, LocalDateTime start, LocalDateTime end) {
+        return new WaitlistQueues.Waiting(id, tier, 2, base.minusDays(1), start, end);
+    }
+
+    private WaitlistEntry entry(Long id, Long tableId, Customer.CustomerTier tier, int partySize, LocalDateTime joinedAt,
+                                LocalDateTime start, LocalDateTime end) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(id);
+        entry.setResource(BookingResource.TABLE);
+        entry.setResourceId(tableId);
+        entry.setTier(tier);
+        entry.setPartySize(partySize);
+        entry.setJoinedAt(joinedAt);
+        entry.setStartTime(start);
+        entry.setEndTime(end);
+        return entry;
+    }
+}
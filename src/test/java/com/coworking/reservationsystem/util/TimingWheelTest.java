@@ -0,0 +1,84 @@
+package com.coworking.reservationsystem.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void advance_ShortHorizonReturnsEveryItemOnceWithinOneTickOfItsDeadline() {
+        Random random = new Random(11);
+        long start = 1_000_000;
+        TimingWheel<Integer> wheel = new TimingWheel<>(100, 16, start);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        Map<Integer, Long> latestDue = new HashMap<>();
+        long now = start;
+        int nextItem = 0;
+        List<Integer> expired = new ArrayList<>();
+        while (now < start + 50_000) {
+            for (int i = random.nextInt(4); i > 0; i--) {
+                // Some deadlines lie several rotations ahead, some already passed
+                long deadline = now - 50 + random.nextInt(5_000);
+                deadlines.put(nextItem, deadline);
+                latestDue.put(nextItem, Math.max(deadline, now) + 100);
+                wheel.schedule(nextItem++, deadline);
+            }
+            long previous = now;
+            now += random.nextInt(10) == 0 ? 2_000 + random.nextInt(3_000) : random.nextInt(150);
+            long current = now;
+            List<Integer> due = wheel.advance(now);
+            for (Integer item : due) {
+                assertTrue(deadlines.get(item) <= current);
+            }
+            long overdue = latestDue.entrySet().stream()
+                    .filter(entry -> entry.getValue() <= current && !expired.contains(entry.getKey()) && !due.contains(entry.getKey()))
+                    .count();
+            assertEquals(0, overdue, "item overdue at " + previous + " was not returned");
+            expired.addAll(due);
+        }
+        assertEquals(expired.size(), expired.stream().distinct().count());
+        assertEquals(deadlines.size() - expired.size(), wheel.size());
+    }
+
+    @Test
+    void advance_FarDeadlinesCascadeAndFireOnceWithinOneTickOfTheirDeadline() {
+        Random random = new Random(3);
+        long tick = 1_000;
+        long now = 5_000_000;
+        TimingWheel<Integer> wheel = new TimingWheel<>(tick, 8, now);
+        Map<Integer, Long> latestFire = new HashMap<>();
+        Map<Integer, Long> deadlines = new HashMap<>();
+        Set<Integer> fired = new HashSet<>();
+        int nextItem = 0;
+        for (int step = 0; step < 3_000; step++) {
+            for (int i = random.nextInt(3); i > 0; i--) {
+                // From already overdue to several levels up (8^4 ticks is over an hour)
+                long deadline = now - 2_000 + (long) (Math.pow(random.nextDouble(), 3) * 8_000_000);
+                deadlines.put(nextItem, deadline);
+                latestFire.put(nextItem, Math.max(deadline, now) + tick);
+                wheel.schedule(nextItem++, deadline);
+            }
+            now += random.nextInt(20) == 0 ? random.nextInt(200_000) : random.nextInt(3_000);
+            long current = now;
+            for (Integer item : wheel.advance(now)) {
+                assertTrue(deadlines.get(item) <= current, "fired before its deadline");
+                assertTrue(fired.add(item), "fired twice");
+            }
+            latestFire.forEach((item, latest) -> {
+                if (latest <= current) {
+                    assertTrue(fired.contains(item), "item " + item + " fired late");
+                }
+            });
+        }
+        assertEquals(nextItem - fired.size(), wheel.size());
+    }
+}